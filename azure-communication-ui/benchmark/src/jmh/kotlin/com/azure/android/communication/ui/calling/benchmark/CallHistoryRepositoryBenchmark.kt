@@ -0,0 +1,86 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.calling.benchmark
+
+import com.azure.android.communication.ui.calling.data.CallHistoryContract
+import com.azure.android.communication.ui.calling.data.CallHistoryRepositoryImpl
+import com.azure.android.communication.ui.calling.data.JdbcCallHistoryConnection
+import com.azure.android.communication.ui.calling.data.model.CallHistoryRecordData
+import com.azure.android.communication.ui.calling.logger.Logger
+import kotlinx.coroutines.runBlocking
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Level
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.TearDown
+import org.threeten.bp.OffsetDateTime
+import java.io.File
+import java.nio.file.Files
+import java.util.concurrent.TimeUnit
+
+// The call history database in a temporary file, with the journal of the device database
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+internal open class CallHistoryRepositoryBenchmark {
+    private object SilentLogger : Logger {
+        override fun info(message: String) {}
+        override fun debug(message: String) {}
+        override fun warning(message: String) {}
+        override fun error(message: String, error: Throwable?) {}
+    }
+
+    @Param("1", "16", "64")
+    @JvmField
+    var batchSize = 0
+
+    private val callDateTime = OffsetDateTime.now()
+    private lateinit var directory: File
+    private lateinit var connection: JdbcCallHistoryConnection
+    private lateinit var repository: CallHistoryRepositoryImpl
+    private var sequence = 0
+
+    @Setup(Level.Trial)
+    fun setUp() {
+        directory = Files.createTempDirectory("call-history").toFile()
+        connection = JdbcCallHistoryConnection("jdbc:sqlite:${File(directory, "call-history.db").path}")
+        repository = CallHistoryRepositoryImpl(SilentLogger, { connection })
+    }
+
+    @TearDown(Level.Trial)
+    fun tearDown() {
+        connection.close()
+        directory.deleteRecursively()
+    }
+
+    // Keeps the table the size of a month of calls
+    @TearDown(Level.Iteration)
+    fun trim() {
+        runBlocking { repository.getAll() }
+        connection.execute("DELETE FROM ${CallHistoryContract.TABLE_NAME}")
+    }
+
+    // What the call start path waits for, the record is queued and written in the background
+    @Benchmark
+    fun callStart() = runBlocking {
+        repository.insert("call${sequence++}", callDateTime)
+    }
+
+    // batchSize calls started at once, until their records are written and read back as the debug
+    // info reads them, the table is emptied again so every invocation reads batchSize records
+    @Benchmark
+    fun insertThroughput(): List<CallHistoryRecordData> = runBlocking {
+        repeat(batchSize) {
+            repository.insert("call${sequence++}", callDateTime)
+        }
+        repository.getAll().also {
+            connection.execute("DELETE FROM ${CallHistoryContract.TABLE_NAME}")
+        }
+    }
+}
@@ -0,0 +1,114 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.calling.benchmark
+
+import com.azure.android.communication.ui.calling.models.ParticipantInfoModel
+import com.azure.android.communication.ui.calling.models.ParticipantStatus
+import com.azure.android.communication.ui.calling.models.StreamType
+import com.azure.android.communication.ui.calling.models.VideoStreamModel
+import com.azure.android.communication.ui.calling.presentation.fragment.calling.participant.grid.ParticipantGridCellViewModel
+import com.azure.android.communication.ui.calling.presentation.fragment.calling.participant.grid.ParticipantGridViewModel
+import com.azure.android.communication.ui.calling.presentation.fragment.factories.ParticipantGridCellViewModelFactory
+import com.azure.android.communication.ui.calling.redux.state.CaptionsState
+import com.azure.android.communication.ui.calling.redux.state.DeviceConfigurationState
+import com.azure.android.communication.ui.calling.redux.state.RttState
+import com.azure.android.communication.ui.calling.redux.state.VisibilityStatus
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.util.concurrent.TimeUnit
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+internal open class ParticipantGridViewModelBenchmark {
+    companion object {
+        private const val MAX_REMOTE_PARTICIPANTS = 6
+        private const val DOMINANT_SPEAKERS = 4
+    }
+
+    @Param("10", "50", "100", "500")
+    @JvmField
+    var participantCount = 0
+
+    private val rttState = RttState()
+    private val deviceConfigurationState = DeviceConfigurationState()
+    private val captionsState = CaptionsState()
+
+    private lateinit var viewModel: ParticipantGridViewModel
+    private lateinit var participants: Map<String, ParticipantInfoModel>
+    private lateinit var participantIds: List<String>
+    private var participantsTimestamp = 0L
+    private var dominantSpeakersTimestamp = 0L
+    private var sequence = 0
+
+    @Setup
+    fun setUp() {
+        participantIds = List(participantCount) { "participant$it" }
+        participants = participantIds.associateWith { participant(it, isMuted = true, version = 1) }
+        viewModel = ParticipantGridViewModel(ParticipantGridCellViewModelFactory(), MAX_REMOTE_PARTICIPANTS)
+        viewModel.init(rttState, isOverlayDisplayedOverGrid = false, deviceConfigurationState, captionsState)
+        update(participants, dominantSpeakers())
+    }
+
+    // A participant outside the grid starts speaking and takes a cell
+    @Benchmark
+    fun dominantSpeakerChanged(): List<ParticipantGridCellViewModel> {
+        sequence++
+        dominantSpeakersTimestamp++
+        return update(participants, dominantSpeakers())
+    }
+
+    // One participant toggles mute, every other participant is the same snapshot
+    @Benchmark
+    fun participantUpdated(): List<ParticipantGridCellViewModel> {
+        sequence++
+        val id = participantIds[sequence % participantCount]
+        val updated = HashMap(participants)
+        updated[id] = participant(id, isMuted = sequence % 2 == 0, version = sequence.toLong() + 1)
+        participantsTimestamp++
+        return update(updated, dominantSpeakers())
+    }
+
+    private fun dominantSpeakers() = List(minOf(DOMINANT_SPEAKERS, participantCount)) {
+        participantIds[(sequence + it * MAX_REMOTE_PARTICIPANTS) % participantCount]
+    }
+
+    private fun update(
+        remoteParticipants: Map<String, ParticipantInfoModel>,
+        dominantSpeakers: List<String>,
+    ): List<ParticipantGridCellViewModel> {
+        viewModel.update(
+            participantsTimestamp,
+            remoteParticipants,
+            dominantSpeakers,
+            dominantSpeakersTimestamp,
+            VisibilityStatus.VISIBLE,
+            rttState,
+            isOverlayDisplayedOverGrid = false,
+            deviceConfigurationState,
+            captionsState,
+        )
+        return viewModel.getRemoteParticipantsUpdateStateFlow().value
+    }
+
+    private fun participant(id: String, isMuted: Boolean, version: Long) = ParticipantInfoModel(
+        displayName = "Participant $id",
+        userIdentifier = id,
+        isMuted = isMuted,
+        isCameraDisabled = false,
+        isSpeaking = false,
+        isTypingRtt = false,
+        participantStatus = ParticipantStatus.CONNECTED,
+        screenShareVideoStreamModel = null,
+        cameraVideoStreamModel = VideoStreamModel("$id-camera", StreamType.VIDEO),
+        modifiedTimestamp = version,
+        version = version,
+    )
+}
@@ -0,0 +1,85 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.chat.benchmark
+
+import com.azure.android.communication.ui.chat.models.ParticipantTimestampInfoModel
+import com.azure.android.communication.ui.chat.redux.action.ChatAction
+import com.azure.android.communication.ui.chat.redux.action.ParticipantAction
+import com.azure.android.communication.ui.chat.redux.reducer.AppStateReducer
+import com.azure.android.communication.ui.chat.redux.reducer.ChatReducerImpl
+import com.azure.android.communication.ui.chat.redux.reducer.ErrorReducerImpl
+import com.azure.android.communication.ui.chat.redux.reducer.LifecycleReducerImpl
+import com.azure.android.communication.ui.chat.redux.reducer.NavigationReducerImpl
+import com.azure.android.communication.ui.chat.redux.reducer.NetworkReducerImpl
+import com.azure.android.communication.ui.chat.redux.reducer.ParticipantsReducerImpl
+import com.azure.android.communication.ui.chat.redux.reducer.RepositoryReducerImpl
+import com.azure.android.communication.ui.chat.redux.state.AppReduxState
+import com.azure.android.communication.ui.chat.redux.state.ReduxState
+import com.azure.android.communication.ui.chat.service.sdk.wrapper.CommunicationIdentifier
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.util.concurrent.TimeUnit
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+internal open class AppStateReducerBenchmark {
+    @Param("10", "50", "100", "500")
+    @JvmField
+    var participantCount = 0
+
+    private val reducer = AppStateReducer(
+        chatReducer = ChatReducerImpl(),
+        participantReducer = ParticipantsReducerImpl(),
+        lifecycleReducer = LifecycleReducerImpl(),
+        errorReducer = ErrorReducerImpl(),
+        navigationReducer = NavigationReducerImpl(),
+        repositoryReducer = RepositoryReducerImpl(),
+        networkReducer = NetworkReducerImpl(),
+    )
+
+    private lateinit var state: ReduxState
+    private lateinit var identifiers: List<CommunicationIdentifier>
+    private var sequence = 0L
+
+    // Every participant in the thread and with a read receipt
+    @Setup
+    fun setUp() {
+        val participants = BenchmarkData.participants(participantCount)
+        identifiers = participants.map { it.userIdentifier }
+        state = reducer.reduce(
+            AppReduxState("thread", BenchmarkData.LOCAL_USER_ID, "User 0"),
+            ParticipantAction.ParticipantsAdded(participants)
+        )
+        identifiers.forEach { state = reducer.reduce(state, ParticipantAction.ReadReceiptReceived(timestamp(it))) }
+    }
+
+    // Each receipt moves one participant forward, the slowest reader moves every participantCount calls
+    @Benchmark
+    fun readReceiptReceived(): ReduxState {
+        state = reducer.reduce(state, ParticipantAction.ReadReceiptReceived(timestamp(nextParticipant())))
+        return state
+    }
+
+    @Benchmark
+    fun participantTyping(): ReduxState {
+        state = reducer.reduce(state, ParticipantAction.AddParticipantTyping(timestamp(nextParticipant())))
+        return state
+    }
+
+    // An action no slice reacts to, the fixed cost of every dispatch
+    @Benchmark
+    fun unhandledAction(): ReduxState = reducer.reduce(state, ChatAction.TypingIndicator())
+
+    private fun nextParticipant() = identifiers[(sequence % participantCount).toInt()]
+
+    private fun timestamp(identifier: CommunicationIdentifier) =
+        ParticipantTimestampInfoModel(identifier, BenchmarkData.START.plusSeconds(++sequence))
+}
@@ -0,0 +1,51 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.chat.benchmark
+
+import com.azure.android.communication.ui.chat.models.MessageInfoModel
+import com.azure.android.communication.ui.chat.models.RemoteParticipantInfoModel
+import com.azure.android.communication.ui.chat.service.sdk.wrapper.ChatMessageType
+import com.azure.android.communication.ui.chat.service.sdk.wrapper.CommunicationIdentifier
+import org.threeten.bp.OffsetDateTime
+import org.threeten.bp.ZoneOffset
+
+// Deterministic chat data, the same for every fork and run so results stay comparable
+internal object BenchmarkData {
+    const val LOCAL_USER_ID = "user0"
+    const val FIRST_MESSAGE_ID = 1_000_000L
+
+    // Fixed offset so no time zone rules are loaded
+    val START: OffsetDateTime = OffsetDateTime.of(2022, 1, 3, 9, 0, 0, 0, ZoneOffset.UTC)
+
+    private const val SENDERS = 10
+
+    fun userId(index: Int) = "user$index"
+
+    // A conversation of SENDERS people with one message a minute, every fourth from the local user
+    fun messages(count: Int, firstId: Long = FIRST_MESSAGE_ID): List<MessageInfoModel> =
+        List(count) { message(firstId + it, it) }
+
+    fun message(id: Long, index: Int): MessageInfoModel {
+        val sender = if (index % 4 == 0) 0 else 1 + index % (SENDERS - 1)
+        val createdOn = START.plusMinutes(index.toLong())
+        return MessageInfoModel(
+            id = id.toString(),
+            messageType = ChatMessageType.TEXT,
+            content = "Message $index from ${userId(sender)}",
+            version = createdOn.toInstant().toEpochMilli().toString(),
+            senderDisplayName = "User $sender",
+            createdOn = createdOn,
+            senderCommunicationIdentifier = CommunicationIdentifier.CommunicationUserIdentifier(userId(sender)),
+            isCurrentUser = sender == 0,
+        )
+    }
+
+    fun participants(count: Int): List<RemoteParticipantInfoModel> =
+        List(count) {
+            RemoteParticipantInfoModel(
+                userIdentifier = CommunicationIdentifier.CommunicationUserIdentifier(userId(it + 1)),
+                displayName = "User ${it + 1}",
+            )
+        }
+}
@@ -0,0 +1,119 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.chat.benchmark
+
+import android.content.Context
+import com.azure.android.communication.ui.chat.presentation.ui.viewmodel.ChatScreenViewModel
+import com.azure.android.communication.ui.chat.presentation.ui.viewmodel.MessageViewModelCache
+import com.azure.android.communication.ui.chat.presentation.ui.viewmodel.buildChatScreenViewModel
+import com.azure.android.communication.ui.chat.redux.AppStore
+import com.azure.android.communication.ui.chat.redux.action.Action
+import com.azure.android.communication.ui.chat.redux.reducer.Reducer
+import com.azure.android.communication.ui.chat.redux.state.AppReduxState
+import com.azure.android.communication.ui.chat.redux.state.ReduxState
+import com.azure.android.communication.ui.chat.repository.MessageRepository
+import com.azure.android.communication.ui.chat.repository.MessageWatermarks
+import kotlinx.coroutines.Dispatchers
+import org.mockito.kotlin.any
+import org.mockito.kotlin.doReturn
+import org.mockito.kotlin.mock
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Level
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.threeten.bp.ZoneOffset
+import java.util.concurrent.TimeUnit
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+internal open class ChatScreenViewModelBenchmark {
+    @Param("100", "1000", "10000", "50000")
+    @JvmField
+    var messageCount = 0
+
+    // Only the date headers read strings
+    private val context = mock<Context> {
+        on { getString(any()) } doReturn "Today"
+    }
+
+    private lateinit var store: AppStore<ReduxState>
+    internal lateinit var watermarks: MessageWatermarks
+    private lateinit var watermarksWithReceivedMessage: MessageWatermarks
+    private lateinit var messageViewModelCache: MessageViewModelCache
+    private var withReceivedMessage = false
+
+    @Setup
+    fun setUp() {
+        store = AppStore(
+            initialState = AppReduxState("thread", BenchmarkData.LOCAL_USER_ID, "User 0"),
+            reducer = object : Reducer<ReduxState> {
+                override fun reduce(state: ReduxState, action: Action) = state
+            },
+            middlewares = mutableListOf(),
+            dispatcher = Dispatchers.Unconfined,
+        )
+        val repository = MessageRepository.createOrderStatisticTreeBackedRepository()
+        repository.addPage(BenchmarkData.messages(messageCount))
+        repository.refreshSnapshot()
+        watermarks = repository.watermarks
+        repository.addMessage(BenchmarkData.message(BenchmarkData.FIRST_MESSAGE_ID + messageCount, messageCount))
+        repository.refreshSnapshot()
+        watermarksWithReceivedMessage = repository.watermarks
+
+        messageViewModelCache = newMessageViewModelCache()
+        build(watermarks, messageViewModelCache)
+    }
+
+    // First build of the screen, every message view model is created
+    @Benchmark
+    fun coldBuild(): ChatScreenViewModel = build(watermarks, newMessageViewModelCache())
+
+    // Rebuild for a state change that left the messages alone
+    @Benchmark
+    fun unchangedRebuild(): ChatScreenViewModel = build(watermarks, messageViewModelCache)
+
+    // Rebuild for one received message, the cache is reset to the snapshot before it first
+    @Benchmark
+    fun receivedMessageRebuild(state: BeforeReceivedMessage): ChatScreenViewModel =
+        build(watermarksWithReceivedMessage, state.messageViewModelCache)
+
+    // Rebuild for a state change that left the messages alone, alternating between the snapshots
+    // with and without one received message so neither follows the other
+    @Benchmark
+    fun unrelatedSnapshotRebuild(): ChatScreenViewModel {
+        withReceivedMessage = !withReceivedMessage
+        return build(if (withReceivedMessage) watermarksWithReceivedMessage else watermarks, messageViewModelCache)
+    }
+
+    @State(Scope.Thread)
+    open class BeforeReceivedMessage {
+        internal lateinit var messageViewModelCache: MessageViewModelCache
+
+        @Setup(Level.Invocation)
+        fun setUp(benchmark: ChatScreenViewModelBenchmark) {
+            if (!::messageViewModelCache.isInitialized) {
+                messageViewModelCache = benchmark.newMessageViewModelCache()
+            }
+            benchmark.build(benchmark.watermarks, messageViewModelCache)
+        }
+    }
+
+    internal fun newMessageViewModelCache() = MessageViewModelCache(context) { ZoneOffset.UTC }
+
+    internal fun build(messageWatermarks: MessageWatermarks, cache: MessageViewModelCache) =
+        buildChatScreenViewModel(
+            context = context,
+            store = store,
+            messageWatermarks = messageWatermarks,
+            localUserIdentifier = BenchmarkData.LOCAL_USER_ID,
+            dispatch = {},
+            messageViewModelCache = cache,
+        )
+}
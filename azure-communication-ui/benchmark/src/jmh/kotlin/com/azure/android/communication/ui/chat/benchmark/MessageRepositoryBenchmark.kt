@@ -0,0 +1,72 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.chat.benchmark
+
+import com.azure.android.communication.ui.chat.models.MessageInfoModel
+import com.azure.android.communication.ui.chat.repository.MessageRepository
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.util.concurrent.TimeUnit
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+internal open class MessageRepositoryBenchmark {
+    companion object {
+        // Coprime with every message count, so the reads visit the whole repository
+        private const val READ_STRIDE = 7919
+    }
+
+    @Param("100", "1000", "10000", "50000")
+    @JvmField
+    var messageCount = 0
+
+    @Param("skipList", "tree", "orderStatisticTree")
+    @JvmField
+    var storage = ""
+
+    private lateinit var repository: MessageRepository
+    private lateinit var receivedMessage: MessageInfoModel
+    private var readIndex = 0
+
+    @Setup
+    fun setUp() {
+        repository = when (storage) {
+            "skipList" -> MessageRepository.createSkipListBackedRepository()
+            "tree" -> MessageRepository.createTreeBackedRepository()
+            "orderStatisticTree" -> MessageRepository.createOrderStatisticTreeBackedRepository()
+            else -> throw IllegalArgumentException(storage)
+        }
+        repository.addPage(BenchmarkData.messages(messageCount))
+        repository.refreshSnapshot()
+        receivedMessage = BenchmarkData.message(BenchmarkData.FIRST_MESSAGE_ID + messageCount, messageCount)
+    }
+
+    // Positional reads as the message list binds rows
+    @Benchmark
+    fun get(): MessageInfoModel {
+        readIndex = (readIndex + READ_STRIDE) % messageCount
+        return repository.get(readIndex)
+    }
+
+    @Benchmark
+    fun buildSnapshotList(): List<MessageInfoModel> = repository.buildSnapshotList()
+
+    // A received message patched into the published snapshot and removed again
+    @Benchmark
+    fun receiveMessage(): List<MessageInfoModel> {
+        repository.addMessage(receivedMessage)
+        repository.refreshSnapshot()
+        val snapshot = repository.snapshotList
+        repository.removeMessage(receivedMessage)
+        repository.refreshSnapshot()
+        return snapshot
+    }
+}
@@ -0,0 +1,86 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.chat.benchmark
+
+import com.azure.android.communication.ui.chat.models.MessageInfoModel
+import com.azure.android.communication.ui.chat.repository.MessageRepository
+import com.azure.android.communication.ui.chat.repository.MessageWatermarks
+import com.azure.android.communication.ui.chat.service.sdk.wrapper.ChatMessageType
+import com.azure.android.communication.ui.chat.utilities.findMessageIdxById
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.threeten.bp.OffsetDateTime
+import java.util.concurrent.TimeUnit
+
+// The values the chat screen derives from the messages on every rebuild, read from the
+// watermarks against the scans they replaced
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+internal open class MessageWatermarksBenchmark {
+    @Param("100", "1000", "10000", "50000")
+    @JvmField
+    var messageCount = 0
+
+    private lateinit var watermarks: MessageWatermarks
+    private lateinit var readUpTo: OffsetDateTime
+    private lateinit var lastReadId: String
+
+    @Setup
+    fun setUp() {
+        val repository = MessageRepository.createOrderStatisticTreeBackedRepository()
+        repository.addPage(BenchmarkData.messages(messageCount))
+        repository.refreshSnapshot()
+        watermarks = repository.watermarks
+        // Remote participants read the first half of the conversation
+        val lastRead = watermarks.messages[messageCount / 2]
+        readUpTo = lastRead.createdOn!!
+        lastReadId = lastRead.normalizedID.toString()
+    }
+
+    // A rebuild for a state change that left the messages and the read receipts alone
+    @Benchmark
+    fun watermarks(): Long =
+        (watermarks.latestLocalUserMessageId ?: 0L) +
+            watermarks.getLastMessageIdReadByRemoteParticipants(readUpTo) +
+            watermarks.getUnreadMessagesCount(lastReadId)
+
+    @Benchmark
+    fun fullScan(): Long {
+        val messages = watermarks.messages
+        return (messages.findLast { it.isCurrentUser }?.normalizedID ?: 0L) +
+            getLastMessageIdReadByRemoteParticipantsByScan(messages) +
+            getUnreadMessagesCountByScan(messages)
+    }
+
+    private fun getLastMessageIdReadByRemoteParticipantsByScan(messages: List<MessageInfoModel>): Long {
+        messages.asReversed().forEach {
+            if ((it.messageType == ChatMessageType.TEXT || it.messageType == ChatMessageType.HTML) &&
+                it.isCurrentUser
+            ) {
+                val currentMessageTime = it.editedOn ?: it.createdOn
+                if (currentMessageTime != null && currentMessageTime <= readUpTo) {
+                    return it.normalizedID
+                }
+            }
+        }
+        return 0
+    }
+
+    private fun getUnreadMessagesCountByScan(messages: List<MessageInfoModel>): Int {
+        var internalLastReadIndex = messages.findMessageIdxById(lastReadId.toLong())
+        var selfCount = 0
+        while (internalLastReadIndex >= 0 && messages[internalLastReadIndex].isCurrentUser) {
+            internalLastReadIndex--
+            selfCount++
+        }
+        return if (internalLastReadIndex == -1) 0 else messages.size - internalLastReadIndex - 1 - selfCount
+    }
+}
@@ -26,6 +26,8 @@ import com.azure.android.communication.ui.calling.models.NetworkCallDiagnosticMo
 import com.azure.android.communication.ui.calling.models.NetworkQualityCallDiagnosticModel
 import com.azure.android.communication.ui.calling.models.ParticipantCapability
 import com.azure.android.communication.ui.calling.models.ParticipantCapabilityType
+import com.azure.android.communication.ui.calling.models.ParticipantChangedField
+import com.azure.android.communication.ui.calling.models.ParticipantDelta
 import com.azure.android.communication.ui.calling.models.ParticipantInfoModel
 import com.azure.android.communication.ui.calling.models.StreamType
 import com.azure.android.communication.ui.calling.models.VideoStreamModel
@@ -44,9 +46,9 @@ import com.azure.android.communication.ui.calling.service.sdk.RemoteParticipant
 import com.azure.android.communication.ui.calling.utilities.CoroutineContextProvider
 import java9.util.concurrent.CompletableFuture
 import kotlinx.coroutines.CoroutineScope
-import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.MutableSharedFlow
 import kotlinx.coroutines.flow.SharedFlow
+import kotlinx.coroutines.flow.onSubscription
 import kotlinx.coroutines.launch
 import java.util.concurrent.atomic.AtomicBoolean
 import kotlinx.coroutines.flow.MutableStateFlow
@@ -88,8 +90,7 @@ internal class TestCallingSDK(private val callEvents: CallEvents, coroutineConte
     private val coroutineScope = CoroutineScope(coroutineContextProvider.Default)
     private var callingStateWrapperSharedFlow = MutableSharedFlow<CallingStateWrapper>()
     private var callIdStateFlow = MutableStateFlow<String?>(null)
-    private var remoteParticipantsInfoModelSharedFlow =
-        MutableSharedFlow<Map<String, ParticipantInfoModel>>()
+    private val remoteParticipantDeltaSharedFlow = MutableSharedFlow<ParticipantDelta>()
     private var isMutedSharedFlow = MutableSharedFlow<Boolean>()
     private var isRecordingSharedFlow = MutableSharedFlow<Boolean>()
     private var dominantSpeakersSharedFlow = MutableSharedFlow<DominantSpeakersInfo>()
@@ -150,7 +151,7 @@ internal class TestCallingSDK(private val callEvents: CallEvents, coroutineConte
             remoteParticipantsMap[id.id] = rpi
         }
 
-        emitRemoteParticipantFlow()
+        emitRemoteParticipantDelta(id.id) { ParticipantDelta.Added(it) }
     }
 
     suspend fun addSpokenLanguages() {
@@ -202,7 +203,9 @@ internal class TestCallingSDK(private val callEvents: CallEvents, coroutineConte
                 state = state
             )
         }
-        emitRemoteParticipantFlow()
+        emitRemoteParticipantDelta(id) {
+            ParticipantDelta.Changed(it, ParticipantChangedField.PARTICIPANT_STATUS)
+        }
     }
 
     fun setLobbyResultCompletableFuture(lobbyResultCompletableFuture: CompletableFuture<CallCompositeLobbyErrorCode?>) {
@@ -236,7 +239,9 @@ internal class TestCallingSDK(private val callEvents: CallEvents, coroutineConte
                 remoteParticipantsMap.remove(userIdentifier)
             }
             isMutedSharedFlow.emit(true)
-            emitRemoteParticipantFlow()
+            if (callStarted.get()) {
+                remoteParticipantDeltaSharedFlow.emit(ParticipantDelta.Removed(userIdentifier))
+            }
         }
     }
 
@@ -260,7 +265,14 @@ internal class TestCallingSDK(private val callEvents: CallEvents, coroutineConte
                 state = state ?: rpi.state
             )
         }
-        emitRemoteParticipantFlow()
+        emitRemoteParticipantDelta(id) {
+            ParticipantDelta.Changed(
+                it,
+                ParticipantChangedField.IS_MUTED or
+                    ParticipantChangedField.IS_SPEAKING or
+                    ParticipantChangedField.PARTICIPANT_STATUS
+            )
+        }
     }
 
     suspend fun setLowNetworkRecieveQuality(lowNetworkReceiveQuality: Boolean) {
@@ -389,7 +401,7 @@ internal class TestCallingSDK(private val callEvents: CallEvents, coroutineConte
             callStarted.compareAndSet(false, true)
             callIdStateFlow.emit("callid")
             callingStateWrapperSharedFlow.emit(CallingStateWrapper(CallState.CONNECTED, 0, 0))
-            emitRemoteParticipantFlow()
+            remoteParticipantDeltaSharedFlow.emit(getRemoteParticipantsResynced())
         }
         return startCallCompletableFuture
     }
@@ -446,13 +458,9 @@ internal class TestCallingSDK(private val callEvents: CallEvents, coroutineConte
 
     override fun getCallIdStateFlow(): StateFlow<String?> = callIdStateFlow
 
-    override fun getRemoteParticipantInfoModelSharedFlow(): Flow<Map<String, ParticipantInfoModel>> {
-        coroutineScope.launch {
-            emitRemoteParticipantFlow()
-        }
-
-        return remoteParticipantsInfoModelSharedFlow
-    }
+    // Subscribers are resynced with the current list, then get the changes as they happen
+    override fun getRemoteParticipantDeltaSharedFlow(): SharedFlow<ParticipantDelta> =
+        remoteParticipantDeltaSharedFlow.onSubscription { emit(getRemoteParticipantsResynced()) }
 
     /*  <CALL_START_TIME>
     override fun getCallStartTimeSharedFlow(): SharedFlow<Date> {
@@ -575,14 +583,24 @@ internal class TestCallingSDK(private val callEvents: CallEvents, coroutineConte
         )
     }
 
-    private suspend fun emitRemoteParticipantFlow() {
-        remoteParticipantsInfoModelSharedFlow.emit(
+    private fun getRemoteParticipantsResynced(): ParticipantDelta {
+        return ParticipantDelta.Resynced(
             synchronized(this) {
                 this.getRemoteParticipantsMap().mapValues { it.value.asParticipantInfoModel() }
             }
         )
     }
 
+    private suspend fun emitRemoteParticipantDelta(
+        id: String,
+        delta: (ParticipantInfoModel) -> ParticipantDelta,
+    ) {
+        val participant = synchronized(this) {
+            this.getRemoteParticipantsMap()[id]?.asParticipantInfoModel()
+        } ?: return
+        remoteParticipantDeltaSharedFlow.emit(delta(participant))
+    }
+
     private fun RemoteParticipant.asParticipantInfoModel(): ParticipantInfoModel {
         return ParticipantInfoModel(
             displayName = this.displayName,
@@ -5,13 +5,12 @@ package com.azure.android.communication.ui.calling
 
 import android.content.Context
 import com.azure.android.communication.ui.calling.data.CallHistoryRepositoryImpl
-import com.azure.android.communication.ui.calling.logger.DefaultLogger
 import com.azure.android.communication.ui.calling.presentation.manager.DebugInfoManager
 import com.azure.android.communication.ui.calling.presentation.manager.DebugInfoManagerImpl
 import java.io.File
 
 internal fun createDebugInfoManager(context: Context, getLogFiles: () -> List<File>): DebugInfoManager {
-    return DebugInfoManagerImpl(CallHistoryRepositoryImpl(context, DefaultLogger()), getLogFiles)
+    return DebugInfoManagerImpl(CallHistoryRepositoryImpl.getInstance(context), getLogFiles)
 }
 
 internal fun CallComposite.getDiContainer() =
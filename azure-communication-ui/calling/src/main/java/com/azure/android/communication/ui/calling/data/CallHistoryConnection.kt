@@ -0,0 +1,73 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.calling.data
+
+import android.database.Cursor
+import android.database.sqlite.SQLiteDatabase
+import android.database.sqlite.SQLiteStatement
+
+internal interface CallHistoryRow {
+    fun getInt(column: Int): Int
+    fun getLong(column: Int): Long
+    fun getString(column: Int): String
+}
+
+// The SQL the call history repository runs, so it can run on a JVM SQLite driver in tests
+internal interface CallHistoryConnection {
+    fun <T> transaction(block: () -> T): T
+
+    // arguments are Long, Int or String
+    fun execute(sql: String, vararg args: Any)
+
+    fun <T> query(sql: String, vararg args: Any, mapRow: (CallHistoryRow) -> T): List<T>
+}
+
+internal class SQLiteCallHistoryConnection(private val db: SQLiteDatabase) : CallHistoryConnection {
+    private class CursorRow(private val cursor: Cursor) : CallHistoryRow {
+        override fun getInt(column: Int) = cursor.getInt(column)
+        override fun getLong(column: Int) = cursor.getLong(column)
+        override fun getString(column: Int): String = cursor.getString(column)
+    }
+
+    override fun <T> transaction(block: () -> T): T {
+        // readers are not blocked in WAL mode
+        db.beginTransactionNonExclusive()
+        try {
+            val result = block()
+            db.setTransactionSuccessful()
+            return result
+        } finally {
+            db.endTransaction()
+        }
+    }
+
+    override fun execute(sql: String, vararg args: Any) {
+        // compiled statements are cached by the connection
+        db.compileStatement(sql).use {
+            bind(it, args)
+            it.execute()
+        }
+    }
+
+    override fun <T> query(sql: String, vararg args: Any, mapRow: (CallHistoryRow) -> T): List<T> {
+        return db.rawQuery(sql, Array(args.size) { args[it].toString() }).use {
+            val row = CursorRow(it)
+            val items = ArrayList<T>(it.count)
+            while (it.moveToNext()) {
+                items.add(mapRow(row))
+            }
+            items
+        }
+    }
+
+    private fun bind(statement: SQLiteStatement, args: Array<out Any>) {
+        args.forEachIndexed { index, arg ->
+            when (arg) {
+                is Long -> statement.bindLong(index + 1, arg)
+                is Int -> statement.bindLong(index + 1, arg.toLong())
+                else -> statement.bindString(index + 1, arg.toString())
+            }
+        }
+    }
+}
@@ -3,100 +3,149 @@
 
 package com.azure.android.communication.ui.calling.data
 
-import android.content.ContentValues
 import android.content.Context
-import android.database.sqlite.SQLiteDatabase
 import com.azure.android.communication.ui.calling.data.model.CallHistoryRecordData
+import com.azure.android.communication.ui.calling.logger.DefaultLogger
 import com.azure.android.communication.ui.calling.logger.Logger
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.launch
 import kotlinx.coroutines.withContext
 import org.threeten.bp.Instant
 import org.threeten.bp.OffsetDateTime
 import org.threeten.bp.ZoneId
+import java.util.concurrent.atomic.AtomicInteger
 
 internal interface CallHistoryRepository {
+    // Queues the record, it is written in the background and visible to the reads that follow
     suspend fun insert(callId: String, callDateTime: OffsetDateTime)
     suspend fun getAll(): List<CallHistoryRecordData>
+
+    // Records of the last 31 days from the oldest, after the record with id afterId
+    suspend fun getPage(afterId: Int = 0, limit: Int): List<CallHistoryRecordData>
 }
 
+// Reads and writes go through one long-lived connection, the database is in WAL mode so reads do
+// not wait for the writer. Inserts are written by a single writer, the inserts queued while it
+// writes are written together with the cleanup of old records in one transaction.
+//
+// The app uses the one instance of getInstance, so there is one writer for the process and reads
+// wait for the inserts queued by every composite.
 internal class CallHistoryRepositoryImpl(
-    private val context: Context,
-    private val logger: Logger
+    private val logger: Logger,
+    openConnection: () -> CallHistoryConnection,
+    private val dispatcher: CoroutineDispatcher = Dispatchers.IO,
+    private val currentTimeMillis: () -> Long = System::currentTimeMillis,
 ) : CallHistoryRepository {
 
-    override suspend fun insert(callId: String, callDateTime: OffsetDateTime) {
-        return withContext(Dispatchers.IO) {
-            // SQLite does not allow concurrent writes. Need to queue them via lock.
-            synchronized(dbAccessLock) {
-                // Using a new db instance instead of caching one as we do not have a
-                // reliable event when to dispose it.
-                DbHelper(context).writableDatabase
-                    .use { db ->
-                        val values = ContentValues().apply {
-                            put(CallHistoryContract.COLUMN_NAME_CALL_ID, callId)
-                            put(CallHistoryContract.COLUMN_NAME_CALL_DATE, callDateTime.toInstant().toEpochMilli())
-                        }
-
-                        val result = db.insert(CallHistoryContract.TABLE_NAME, null, values)
-                        if (result == -1L) {
-                            logger.warning("Failed to save call history record.")
-                        }
-
-                        // Execute cleanup separately (not in one transaction) in case of it fails,
-                        // so it does not affect insert.
-                        cleanupOldRecords(db)
-                    }
+    companion object {
+        private const val MAX_BATCH_SIZE = 64
+        private const val RETENTION_MILLIS = 31L * 24 * 60 * 60 * 1000
+
+        @Volatile
+        private var instance: CallHistoryRepositoryImpl? = null
+
+        // One repository for the process, next to the DbHelper it writes through
+        fun getInstance(context: Context): CallHistoryRepositoryImpl =
+            instance ?: synchronized(this) {
+                instance ?: CallHistoryRepositoryImpl(
+                    DefaultLogger(),
+                    { SQLiteCallHistoryConnection(DbHelper.getInstance(context).writableDatabase) },
+                ).also { instance = it }
             }
-        }
+    }
+
+    private sealed class WriteRequest {
+        class Insert(val callId: String, val callDateMillis: Long) : WriteRequest()
+        class Flush(val done: CompletableDeferred<Unit>) : WriteRequest()
+    }
+
+    private val connection by lazy(openConnection)
+    private val coroutineScope = CoroutineScope(SupervisorJob() + dispatcher)
+    private val writeRequests = Channel<WriteRequest>(Channel.UNLIMITED)
+    private val pendingInserts = AtomicInteger()
+
+    init {
+        coroutineScope.launch { write() }
+    }
+
+    override suspend fun insert(callId: String, callDateTime: OffsetDateTime) {
+        pendingInserts.incrementAndGet()
+        writeRequests.trySend(WriteRequest.Insert(callId, callDateTime.toInstant().toEpochMilli()))
     }
 
     override suspend fun getAll(): List<CallHistoryRecordData> {
-        return withContext(Dispatchers.IO) {
-            // Using a new db instance instead of caching one as we do not have a
-            // reliable event when to dispose it.
-            DbHelper(context).writableDatabase.use { db ->
-                synchronized(dbAccessLock) {
-                    cleanupOldRecords(db)
-                }
-                val items = mutableListOf<CallHistoryRecordData>()
-                db.rawQuery(
-                    "SELECT ${CallHistoryContract.COLUMN_NAME_ID}, " +
-                        "${CallHistoryContract.COLUMN_NAME_CALL_DATE}, " +
-                        "${CallHistoryContract.COLUMN_NAME_CALL_ID} " +
-                        "FROM ${CallHistoryContract.TABLE_NAME}",
-                    null
-                ).use {
-                    if (it.moveToFirst()) {
-                        val idColumnIndex = it.getColumnIndexOrThrow(CallHistoryContract.COLUMN_NAME_ID)
-                        val nameColumnIndex = it.getColumnIndexOrThrow(CallHistoryContract.COLUMN_NAME_CALL_ID)
-                        val dateColumnIndex = it.getColumnIndexOrThrow(CallHistoryContract.COLUMN_NAME_CALL_DATE)
-                        do {
-                            items.add(
-                                CallHistoryRecordData(
-                                    id = it.getInt(idColumnIndex),
-                                    callId = it.getString(nameColumnIndex),
-                                    callStartedOn = OffsetDateTime.ofInstant(
-                                        Instant.ofEpochMilli(it.getLong(dateColumnIndex)), ZoneId.systemDefault()
-                                    ),
-                                )
-                            )
-                        } while (it.moveToNext())
-                    }
+        flush()
+        return withContext(dispatcher) {
+            connection.query(CallHistoryContract.SQL_SELECT_ALL, retentionStartMillis(), mapRow = ::toRecord)
+        }
+    }
+
+    override suspend fun getPage(afterId: Int, limit: Int): List<CallHistoryRecordData> {
+        flush()
+        return withContext(dispatcher) {
+            connection.query(
+                CallHistoryContract.SQL_SELECT_PAGE,
+                retentionStartMillis(),
+                afterId,
+                limit,
+                mapRow = ::toRecord,
+            )
+        }
+    }
+
+    // Waits for the queued inserts to be written
+    private suspend fun flush() {
+        if (pendingInserts.get() == 0) return
+        val done = CompletableDeferred<Unit>()
+        writeRequests.trySend(WriteRequest.Flush(done))
+        done.await()
+    }
+
+    private suspend fun write() {
+        val batch = mutableListOf<WriteRequest.Insert>()
+        val flushes = mutableListOf<WriteRequest.Flush>()
+        for (request in writeRequests) {
+            var next: WriteRequest? = request
+            while (next != null) {
+                when (next) {
+                    is WriteRequest.Insert -> batch.add(next)
+                    is WriteRequest.Flush -> flushes.add(next)
                 }
-                return@withContext items
+                next = if (batch.size < MAX_BATCH_SIZE) writeRequests.tryReceive().getOrNull() else null
+            }
+            if (batch.isNotEmpty()) {
+                writeBatch(batch)
+                pendingInserts.addAndGet(-batch.size)
+                batch.clear()
             }
+            flushes.forEach { it.done.complete(Unit) }
+            flushes.clear()
         }
     }
 
-    private fun cleanupOldRecords(db: SQLiteDatabase) {
-        val threshold = OffsetDateTime.now().minusDays(31).toInstant().toEpochMilli()
-        db.delete(
-            CallHistoryContract.TABLE_NAME,
-            "${CallHistoryContract.COLUMN_NAME_CALL_DATE} < ?", arrayOf(threshold.toString())
-        )
+    private fun writeBatch(batch: List<WriteRequest.Insert>) {
+        try {
+            connection.transaction {
+                batch.forEach {
+                    connection.execute(CallHistoryContract.SQL_INSERT, it.callId, it.callDateMillis)
+                }
+                connection.execute(CallHistoryContract.SQL_DELETE_OLDER_THAN, retentionStartMillis())
+            }
+        } catch (e: Exception) {
+            logger.warning("Failed to save ${batch.size} call history records: ${e.message}")
+        }
     }
 
-    private companion object {
-        val dbAccessLock = Any()
-    }
+    private fun retentionStartMillis() = currentTimeMillis() - RETENTION_MILLIS
+
+    private fun toRecord(row: CallHistoryRow) = CallHistoryRecordData(
+        id = row.getInt(0),
+        callId = row.getString(1),
+        callStartedOn = OffsetDateTime.ofInstant(Instant.ofEpochMilli(row.getLong(2)), ZoneId.systemDefault()),
+    )
 }
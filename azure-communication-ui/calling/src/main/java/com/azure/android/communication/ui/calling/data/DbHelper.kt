@@ -8,7 +8,13 @@ import android.database.sqlite.SQLiteDatabase
 import android.database.sqlite.SQLiteOpenHelper
 import android.provider.BaseColumns
 
-internal class DbHelper(context: Context) : SQLiteOpenHelper(context, DATABASE_NAME, null, DATABASE_VERSION) {
+internal class DbHelper private constructor(context: Context) :
+    SQLiteOpenHelper(context, DATABASE_NAME, null, DATABASE_VERSION) {
+
+    init {
+        setWriteAheadLoggingEnabled(true)
+    }
+
     override fun onCreate(db: SQLiteDatabase) {
         db.execSQL(CallHistoryContract.SQL_CREATE_CALL_HISTORY)
         db.execSQL(CallHistoryContract.SQL_CREATE_CALL_HISTORY_INDEX)
@@ -24,6 +30,15 @@ internal class DbHelper(context: Context) : SQLiteOpenHelper(context, DATABASE_N
         // If you change the database schema, you must increment the database version.
         const val DATABASE_VERSION = 1
         const val DATABASE_NAME = "com.azure.android.communication.ui.calling.CallHistoryReader.db"
+
+        @Volatile
+        private var instance: DbHelper? = null
+
+        // One helper for the process, its database stays open until the process ends
+        fun getInstance(context: Context): DbHelper =
+            instance ?: synchronized(this) {
+                instance ?: DbHelper(context.applicationContext).also { instance = it }
+            }
     }
 }
 
@@ -43,4 +58,19 @@ internal object CallHistoryContract {
 
     const val SQL_CREATE_CALL_HISTORY_INDEX =
         "CREATE INDEX IF NOT EXISTS call_dateindex ON $TABLE_NAME($COLUMN_NAME_CALL_DATE);"
+
+    const val SQL_INSERT =
+        "INSERT INTO $TABLE_NAME ($COLUMN_NAME_CALL_ID, $COLUMN_NAME_CALL_DATE) VALUES (?, ?)"
+
+    const val SQL_DELETE_OLDER_THAN =
+        "DELETE FROM $TABLE_NAME WHERE $COLUMN_NAME_CALL_DATE < ?"
+
+    // columns in the order CallHistoryRepositoryImpl reads them
+    private const val SQL_SELECT =
+        "SELECT $COLUMN_NAME_ID, $COLUMN_NAME_CALL_ID, $COLUMN_NAME_CALL_DATE FROM $TABLE_NAME " +
+            "WHERE $COLUMN_NAME_CALL_DATE >= ?"
+
+    const val SQL_SELECT_ALL = "$SQL_SELECT ORDER BY $COLUMN_NAME_ID"
+
+    const val SQL_SELECT_PAGE = "$SQL_SELECT AND $COLUMN_NAME_ID > ? ORDER BY $COLUMN_NAME_ID LIMIT ?"
 }
@@ -4,6 +4,7 @@
 package com.azure.android.communication.ui.calling.di
 
 import android.content.Context
+import android.content.pm.PackageManager
 import com.azure.android.communication.ui.calling.CallComposite
 import com.azure.android.communication.ui.calling.data.CallHistoryRepositoryImpl
 import com.azure.android.communication.ui.calling.error.ErrorHandler
@@ -11,6 +12,7 @@ import com.azure.android.communication.ui.calling.getCallingSDKInitializer
 import com.azure.android.communication.ui.calling.getConfig
 import com.azure.android.communication.ui.calling.handlers.CallStateHandler
 import com.azure.android.communication.ui.calling.handlers.RemoteParticipantHandler
+import com.azure.android.communication.ui.calling.implementation.R
 import com.azure.android.communication.ui.calling.logger.Logger
 import com.azure.android.communication.ui.calling.models.CallCompositeAudioVideoMode
 import com.azure.android.communication.ui.calling.presentation.CallCompositeActivity
@@ -41,6 +43,7 @@ import com.azure.android.communication.ui.calling.presentation.manager.Updatable
 import com.azure.android.communication.ui.calling.presentation.navigation.NavigationRouterImpl
 import com.azure.android.communication.ui.calling.redux.AppStore
 import com.azure.android.communication.ui.calling.redux.Middleware
+import com.azure.android.communication.ui.calling.redux.StoreMetrics
 import com.azure.android.communication.ui.calling.redux.middleware.CallingMiddlewareImpl
 import com.azure.android.communication.ui.calling.redux.middleware.handler.CallingMiddlewareActionHandlerImpl
 import com.azure.android.communication.ui.calling.redux.reducer.AppStateReducer
@@ -67,6 +70,8 @@ import com.azure.android.communication.ui.calling.service.CallHistoryService
 import com.azure.android.communication.ui.calling.service.CallHistoryServiceImpl
 import com.azure.android.communication.ui.calling.service.CallingService
 import com.azure.android.communication.ui.calling.service.NotificationService
+import com.azure.android.communication.ui.calling.service.ParticipantUpdateSamplingPolicy
+import com.azure.android.communication.ui.calling.service.ParticipantUpdateScheduler
 import com.azure.android.communication.ui.calling.service.sdk.CallingSDK
 import com.azure.android.communication.ui.calling.service.sdk.CallingSDKEventHandler
 import com.azure.android.communication.ui.calling.service.sdk.CallingSDKWrapper
@@ -112,7 +117,14 @@ internal class DependencyInjectionContainerImpl(
             coroutineContextProvider,
             configuration,
             capabilitiesManager,
-            localOptions = configuration.callCompositeLocalOptions
+            localOptions = configuration.callCompositeLocalOptions,
+            participantUpdateScheduler = participantUpdateScheduler,
+        )
+    }
+
+    override val participantUpdateScheduler by lazy {
+        ParticipantUpdateScheduler(
+            ParticipantUpdateSamplingPolicy.from(localOptions?.participantUpdateOptions)
         )
     }
 
@@ -135,7 +147,9 @@ internal class DependencyInjectionContainerImpl(
         VideoViewManager(
             callingSDKWrapper,
             applicationContext,
-            customVideoStreamRendererFactory ?: VideoStreamRendererFactoryImpl()
+            customVideoStreamRendererFactory ?: VideoStreamRendererFactoryImpl(),
+            maxWarmRemoteRenderers = applicationContext.resources
+                .getInteger(R.integer.azure_communication_ui_calling_max_warm_remote_renderers),
         )
     }
 
@@ -182,6 +196,8 @@ internal class DependencyInjectionContainerImpl(
         DebugInfoManagerImpl(
             callHistoryRepository,
             getLogFiles = callingService::getLogFiles,
+            storeMetrics = storeMetrics,
+            getRendererPoolMetrics = { videoViewManager.getRendererPoolMetrics() },
         )
     }
 
@@ -228,7 +244,17 @@ internal class DependencyInjectionContainerImpl(
             initialState,
             appReduxStateReducer,
             appMiddleware,
-            storeDispatcher
+            storeDispatcher,
+            metrics = storeMetrics,
+        )
+    }
+
+    // Timings are only taken when the app opts in through its manifest
+    private val storeMetrics by lazy {
+        StoreMetrics(
+            isEnabled = applicationContext.packageManager
+                .getApplicationInfo(applicationContext.packageName, PackageManager.GET_META_DATA)
+                .metaData?.getBoolean(StoreMetrics.ENABLED_META_DATA) == true
         )
     }
 
@@ -241,7 +267,7 @@ internal class DependencyInjectionContainerImpl(
     }
 
     override val callHistoryRepository by lazy {
-        CallHistoryRepositoryImpl(applicationContext, logger)
+        CallHistoryRepositoryImpl.getInstance(applicationContext)
     }
 
     override val capabilitiesManager by lazy {
@@ -41,6 +41,7 @@ public final class CallCompositeLocalOptions {
 
     private CallCompositeSetupScreenOptions setupScreenOptions = null;
     private CallCompositeCallScreenOptions callScreenOptions = null;
+    private CallCompositeParticipantUpdateOptions participantUpdateOptions = null;
     /* <END_CALL_FOR_ALL>
     private boolean onCallEndTerminateForAll = false;
     </END_CALL_FOR_ALL> */
@@ -238,6 +239,25 @@ public final class CallCompositeLocalOptions {
         return this;
     }
 
+    /**
+     * Get the {@link CallCompositeParticipantUpdateOptions}.
+     * @return The {@link CallCompositeParticipantUpdateOptions} that is currently set.
+     */
+    public CallCompositeParticipantUpdateOptions getParticipantUpdateOptions() {
+        return participantUpdateOptions;
+    }
+
+    /**
+     * Set a {@link CallCompositeParticipantUpdateOptions} to be used.
+     * @param participantUpdateOptions The participant update options object to be used.
+     * @return The current {@link CallCompositeLocalOptions}.
+     */
+    public CallCompositeLocalOptions setParticipantUpdateOptions(
+            final CallCompositeParticipantUpdateOptions participantUpdateOptions) {
+        this.participantUpdateOptions = participantUpdateOptions;
+        return this;
+    }
+
     /* <END_CALL_FOR_ALL>
     \**
      * Get the value for if call should end for all participants when current user hangs up.
@@ -0,0 +1,58 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.calling.models;
+
+/**
+ * The options for how often remote participant changes are applied to the call screen.
+ *
+ * <p>
+ *     Changes to participants shown on the call screen, like muting or speaking, are applied after
+ *     {@link #getMinUpdateIntervalMillis()} in small calls. The interval grows towards
+ *     {@link #getMaxUpdateIntervalMillis()} as the call gets larger or the participants change more often.
+ *     Changes to participants that are not shown are applied after {@link #getMaxUpdateIntervalMillis()}.
+ *     Participants joining or leaving are always applied right away.
+ * </p>
+ */
+public final class CallCompositeParticipantUpdateOptions {
+    private long minUpdateIntervalMillis = 0;
+    private long maxUpdateIntervalMillis = 1000;
+
+    /**
+     * Get the interval used for participants shown on the call screen in small calls.
+     * @return The interval in milliseconds.
+     */
+    public long getMinUpdateIntervalMillis() {
+        return minUpdateIntervalMillis;
+    }
+
+    /**
+     * Set the interval used for participants shown on the call screen in small calls.
+     * The default value is 0, changes are applied right away.
+     * @param minUpdateIntervalMillis The interval in milliseconds.
+     * @return The {@link CallCompositeParticipantUpdateOptions} object itself.
+     */
+    public CallCompositeParticipantUpdateOptions setMinUpdateIntervalMillis(final long minUpdateIntervalMillis) {
+        this.minUpdateIntervalMillis = minUpdateIntervalMillis;
+        return this;
+    }
+
+    /**
+     * Get the interval used for participants that are not shown, and the upper bound of the interval.
+     * @return The interval in milliseconds.
+     */
+    public long getMaxUpdateIntervalMillis() {
+        return maxUpdateIntervalMillis;
+    }
+
+    /**
+     * Set the interval used for participants that are not shown, and the upper bound of the interval.
+     * The default value is 1000.
+     * @param maxUpdateIntervalMillis The interval in milliseconds.
+     * @return The {@link CallCompositeParticipantUpdateOptions} object itself.
+     */
+    public CallCompositeParticipantUpdateOptions setMaxUpdateIntervalMillis(final long maxUpdateIntervalMillis) {
+        this.maxUpdateIntervalMillis = maxUpdateIntervalMillis;
+        return this;
+    }
+}
@@ -0,0 +1,38 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.calling.models
+
+// Change to a single remote participant, or the full list to resync with
+//
+// The participants carried by the deltas are snapshots taken when the event happened, they
+// are not mutated afterwards. Resynced goes through the same flow as the other deltas, so it
+// is never applied after a change that happened after it.
+internal sealed class ParticipantDelta {
+    class Added(val participant: ParticipantInfoModel) : ParticipantDelta() {
+        val userIdentifier get() = participant.userIdentifier
+    }
+
+    class Removed(val userIdentifier: String) : ParticipantDelta()
+
+    class Changed(
+        val participant: ParticipantInfoModel,
+        // ParticipantChangedField flags
+        val changedFields: Int,
+    ) : ParticipantDelta() {
+        val userIdentifier get() = participant.userIdentifier
+
+        fun hasChanged(field: Int) = changedFields and field != 0
+    }
+
+    class Resynced(val participants: Map<String, ParticipantInfoModel>) : ParticipantDelta()
+}
+
+internal object ParticipantChangedField {
+    const val DISPLAY_NAME = 1
+    const val IS_MUTED = 1 shl 1
+    const val IS_SPEAKING = 1 shl 2
+    const val IS_TYPING_RTT = 1 shl 3
+    const val PARTICIPANT_STATUS = 1 shl 4
+    const val VIDEO_STREAMS = 1 shl 5
+}
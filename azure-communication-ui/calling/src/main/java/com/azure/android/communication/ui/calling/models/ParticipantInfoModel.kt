@@ -14,15 +14,29 @@ internal enum class ParticipantStatus {
     RINGING,
 }
 
+// Immutable snapshot of a remote participant
+//
+// Built by the single participant writer in CallingSDKEventHandler, every change produces
+// a new instance with a new version. Versions come from one sequence per call and are never
+// reused, so two snapshots with the same non zero version are the same snapshot.
+// Version 0 is an unversioned model and only matches itself.
+// joinOrder is the version of the participant's first snapshot, it orders the participants
+// by the time they joined and is kept by every later snapshot of the participant.
 internal data class ParticipantInfoModel(
-    var displayName: String,
+    val displayName: String,
     val userIdentifier: String,
-    var isMuted: Boolean,
-    var isCameraDisabled: Boolean,
-    var isSpeaking: Boolean,
-    var isTypingRtt: Boolean,
-    var participantStatus: ParticipantStatus?,
-    var screenShareVideoStreamModel: VideoStreamModel?,
-    var cameraVideoStreamModel: VideoStreamModel?,
-    var modifiedTimestamp: Number,
-)
+    val isMuted: Boolean,
+    val isCameraDisabled: Boolean,
+    val isSpeaking: Boolean,
+    val isTypingRtt: Boolean,
+    val participantStatus: ParticipantStatus?,
+    val screenShareVideoStreamModel: VideoStreamModel?,
+    val cameraVideoStreamModel: VideoStreamModel?,
+    val modifiedTimestamp: Number,
+    val version: Long = 0,
+    val joinOrder: Long = 0,
+) {
+    fun isSameSnapshot(other: ParticipantInfoModel?): Boolean =
+        this === other ||
+            (other != null && version != 0L && version == other.version && userIdentifier == other.userIdentifier)
+}
@@ -86,6 +86,7 @@ internal open class CallCompositeActivity : AppCompatActivity() {
     private val videoViewManager get() = container.videoViewManager
     private val instanceId get() = intent.getIntExtra(KEY_INSTANCE_ID, -1)
     private val callHistoryService get() = container.callHistoryService
+    private val debugInfoManager get() = container.debugInfoManager
     private val logger get() = container.logger
     private val compositeExitManager get() = container.compositeExitManager
     private val captionsDataManager get() = container.captionsRttDataManager
@@ -402,6 +403,8 @@ internal open class CallCompositeActivity : AppCompatActivity() {
 
             NavigationStatus.EXIT -> {
                 notificationService.removeNotification()
+                // only when the app opted in to store metrics
+                debugInfoManager.dumpMetrics()?.let { logger.debug(it) }
                 store.end()
                 callingMiddlewareActionHandler.dispose()
                 videoViewManager.destroy()
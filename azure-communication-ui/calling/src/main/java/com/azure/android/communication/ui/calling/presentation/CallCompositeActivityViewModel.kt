@@ -85,6 +85,7 @@ internal class CallCompositeActivityViewModel(
                 callScreenControlBarOptions = container.configuration.callScreenOptions?.controlBarOptions,
                 isCaptionsEnabled = container.appStore.getCurrentState().captionsState.isCaptionsUIEnabled,
                 logger = container.logger,
+                participantUpdateScheduler = container.participantUpdateScheduler,
             ),
             networkManager = container.networkManager,
             callScreenOptions = container.configuration.callScreenOptions,
@@ -11,6 +11,7 @@ import com.azure.android.communication.calling.ScalingMode
 import com.azure.android.communication.calling.CreateViewOptions
 import com.azure.android.communication.ui.calling.service.sdk.CallingSDK
 import com.azure.android.communication.ui.calling.service.sdk.LocalVideoStream
+import com.azure.android.communication.ui.calling.service.sdk.RemoteParticipant
 import com.azure.android.communication.ui.calling.service.sdk.RemoteVideoStream
 import com.azure.android.communication.ui.calling.service.sdk.VideoStreamRenderer
 import com.azure.android.communication.ui.calling.service.sdk.VideoStreamRendererLocalWrapper
@@ -18,15 +19,34 @@ import com.azure.android.communication.ui.calling.service.sdk.VideoStreamRendere
 import com.azure.android.communication.ui.calling.service.sdk.VideoStreamRendererRemoteWrapper
 import com.azure.android.communication.ui.calling.utilities.isAndroidTV
 
+// Remote renderers are pooled
+//
+// Renderers of displayed streams are kept for as long as they are displayed. Renderers of streams
+// that are no longer displayed stay warm, up to maxWarmRemoteRenderers, and the least recently
+// used warm renderer is disposed first. Showing a warm stream again reuses its renderer instead
+// of setting up a new decoder and surface.
 internal class VideoViewManager(
     private val callingSDKWrapper: CallingSDK,
     private val context: Context,
     private val videoStreamRendererFactory: VideoStreamRendererFactory,
+    private val maxWarmRemoteRenderers: Int = DEFAULT_MAX_WARM_REMOTE_RENDERERS,
 ) {
-    private val remoteParticipantVideoRendererMap: HashMap<String, VideoRenderer> = HashMap()
+    companion object {
+        const val DEFAULT_MAX_WARM_REMOTE_RENDERERS = 3
+    }
+
+    // access ordered, iteration starts with the least recently used renderer
+    private val remoteParticipantVideoRendererMap: LinkedHashMap<String, VideoRenderer> =
+        LinkedHashMap(16, 0.75f, true)
     private val localParticipantVideoRendererMap: HashMap<String, VideoRenderer> = HashMap()
+    private var displayedRemoteVideoStreamKeys: Set<String> = emptySet()
     private val isAndroidTV = isAndroidTV(context)
 
+    private var rendererPoolHits = 0
+    private var rendererPoolMisses = 0
+    private var rendererPoolEvictions = 0
+    private var rendererPoolPrewarms = 0
+
     private class VideoRenderer(
         var rendererView: VideoStreamRendererView?,
         var videoStreamRenderer: VideoStreamRenderer?,
@@ -35,10 +55,11 @@ internal class VideoViewManager(
 
     fun updateScalingForRemoteStream() {
         val remoteParticipants = callingSDKWrapper.getRemoteParticipantsMap()
+        val displayedRenderers = getDisplayedRemoteRenderers()
         // for TV, on new participant join, change first remote participant scaling from fit to crop
-        if (isAndroidTV && remoteParticipants.size > 1 && remoteParticipantVideoRendererMap.size == 1) {
-            if (!remoteParticipantVideoRendererMap.values.first().isScreenShareView) {
-                remoteParticipantVideoRendererMap.values.first().rendererView?.let {
+        if (isAndroidTV && remoteParticipants.size > 1 && displayedRenderers.size == 1) {
+            if (!displayedRenderers.first().isScreenShareView) {
+                displayedRenderers.first().rendererView?.let {
                     it.updateScalingMode(ScalingMode.CROP)
                 }
             }
@@ -46,7 +67,7 @@ internal class VideoViewManager(
     }
 
     fun getScreenShareVideoStreamRenderer(): VideoStreamRenderer? {
-        remoteParticipantVideoRendererMap.values.forEach {
+        getDisplayedRemoteRenderers().forEach {
             if (it.isScreenShareView) {
                 return it.videoStreamRenderer
             }
@@ -54,6 +75,14 @@ internal class VideoViewManager(
         return null
     }
 
+    fun getRendererPoolMetrics() = VideoRendererPoolMetrics(
+        hits = rendererPoolHits,
+        misses = rendererPoolMisses,
+        evictions = rendererPoolEvictions,
+        prewarms = rendererPoolPrewarms,
+        pooledRenderers = remoteParticipantVideoRendererMap.size,
+    )
+
     fun destroy() {
         localParticipantVideoRendererMap.values.map { videoRenderer ->
             destroyVideoRenderer(videoRenderer)
@@ -63,27 +92,62 @@ internal class VideoViewManager(
         }
         remoteParticipantVideoRendererMap.clear()
         localParticipantVideoRendererMap.clear()
+        displayedRemoteVideoStreamKeys = emptySet()
     }
 
-    fun removeRemoteParticipantVideoRenderer(
+    // Streams that are no longer in userVideoStreams move to the warm set
+    fun updateDisplayedRemoteParticipantVideoStreams(
         userVideoStreams: List<Pair<String, String>>,
     ) {
-        removeRemoteParticipantRenderer(userVideoStreams)
+        displayedRemoteVideoStreamKeys = userVideoStreams.mapTo(HashSet()) { (userID, streamID) ->
+            generateUniqueKey(userID, streamID)
+        }
+        trimRemoteParticipantRenderers()
         val remoteParticipants = callingSDKWrapper.getRemoteParticipantsMap()
+        val displayedRenderers = getDisplayedRemoteRenderers()
 
         // for TV, for last participant, change last remote participant scaling from crop to fit
         if (isAndroidTV && userVideoStreams.isNotEmpty() &&
-            remoteParticipantVideoRendererMap.size == 1 &&
+            displayedRenderers.size == 1 &&
             remoteParticipants.size == 1
         ) {
-            if (!remoteParticipantVideoRendererMap.values.first().isScreenShareView) {
-                remoteParticipantVideoRendererMap.values.first().rendererView?.let {
+            if (!displayedRenderers.first().isScreenShareView) {
+                displayedRenderers.first().rendererView?.let {
                     it.updateScalingMode(ScalingMode.FIT)
                 }
             }
         }
     }
 
+    // Moves the renderers of a participant whose grid cell was recycled to the warm set
+    fun releaseRemoteParticipantVideoRenderers(participantID: String) {
+        val keyPrefix = generateUniqueKey(participantID, "")
+        if (displayedRemoteVideoStreamKeys.any { it.startsWith(keyPrefix) }) {
+            displayedRemoteVideoStreamKeys = displayedRemoteVideoStreamKeys.filterTo(HashSet()) {
+                !it.startsWith(keyPrefix)
+            }
+            trimRemoteParticipantRenderers()
+        }
+    }
+
+    // Creates renderers for streams that are likely to be displayed next, the likely next
+    // dominant speakers, as long as there is room in the warm set
+    fun prewarmRemoteParticipantVideoRenderers(
+        userVideoStreams: List<Pair<String, String>>,
+    ) {
+        userVideoStreams.forEach { (userID, streamID) ->
+            if (getWarmRemoteRendererCount() >= maxWarmRemoteRenderers) {
+                return
+            }
+            val uniqueID = generateUniqueKey(userID, streamID)
+            if (!remoteParticipantVideoRendererMap.containsKey(uniqueID) &&
+                updateRemoteParticipantVideoRenderer(userID, streamID, context)
+            ) {
+                rendererPoolPrewarms++
+            }
+        }
+    }
+
     fun updateLocalVideoRenderer(videoStreamID: String?) {
         removeLocalParticipantRenderer(videoStreamID)
         if (videoStreamID != null) {
@@ -122,6 +186,7 @@ internal class VideoViewManager(
         val uniqueID = generateUniqueKey(participantID, videoStreamId)
         if (remoteParticipantVideoRendererMap.containsKey(uniqueID)) {
             rendererView = remoteParticipantVideoRendererMap[uniqueID]?.rendererView
+            rendererPoolHits++
         } else if (updateRemoteParticipantVideoRenderer(
                 participantID,
                 videoStreamId,
@@ -129,6 +194,7 @@ internal class VideoViewManager(
             )
         ) {
             rendererView = remoteParticipantVideoRendererMap[uniqueID]?.rendererView
+            rendererPoolMisses++
         }
 
         detachFromParentView(rendererView?.getView())
@@ -200,24 +266,44 @@ internal class VideoViewManager(
         }
     }
 
-    private fun removeRemoteParticipantRenderer(userWithVideoStreamList: List<Pair<String, String>>) {
-        var uniqueIDStreamList: List<String> = mutableListOf()
-        userWithVideoStreamList.forEach { (userID, streamID) ->
-            uniqueIDStreamList = uniqueIDStreamList.plus(generateUniqueKey(userID, streamID))
-        }
-        val removedRemoteStreams = remoteParticipantVideoRendererMap.filter { (streamID, _) ->
-            streamID !in uniqueIDStreamList
+    // Disposes warm renderers that can not be shown again, screen share renderers and renderers
+    // of streams that ended, then the least recently used ones above maxWarmRemoteRenderers
+    private fun trimRemoteParticipantRenderers() {
+        val remoteParticipants = callingSDKWrapper.getRemoteParticipantsMap()
+        val warmRenderers = remoteParticipantVideoRendererMap.filterKeys { it !in displayedRemoteVideoStreamKeys }
+        val (keptRenderers, endedRenderers) = warmRenderers.entries.partition { (uniqueID, videoRenderer) ->
+            !videoRenderer.isScreenShareView && isRemoteVideoStreamAvailable(remoteParticipants, uniqueID)
         }
 
-        removedRemoteStreams.values.forEach { videoStream ->
-            destroyVideoRenderer(videoStream)
+        endedRenderers.forEach { (uniqueID, videoRenderer) ->
+            destroyVideoRenderer(videoRenderer)
+            remoteParticipantVideoRendererMap.remove(uniqueID)
         }
 
-        removedRemoteStreams.keys.forEach { streamID ->
-            remoteParticipantVideoRendererMap.remove(streamID)
-        }
+        keptRenderers.take(maxOf(0, keptRenderers.size - maxWarmRemoteRenderers))
+            .forEach { (uniqueID, videoRenderer) ->
+                destroyVideoRenderer(videoRenderer)
+                remoteParticipantVideoRendererMap.remove(uniqueID)
+                rendererPoolEvictions++
+            }
+    }
+
+    private fun isRemoteVideoStreamAvailable(
+        remoteParticipants: Map<String, RemoteParticipant>,
+        uniqueID: String,
+    ): Boolean {
+        val separatorIndex = uniqueID.lastIndexOf(':')
+        val userID = uniqueID.substring(0, separatorIndex)
+        val videoStreamID = uniqueID.substring(separatorIndex + 1)
+        return remoteParticipants[userID]?.videoStreams?.any { it.id.toString() == videoStreamID } == true
     }
 
+    private fun getWarmRemoteRendererCount() =
+        remoteParticipantVideoRendererMap.keys.count { it !in displayedRemoteVideoStreamKeys }
+
+    private fun getDisplayedRemoteRenderers(): List<VideoRenderer> =
+        remoteParticipantVideoRendererMap.filterKeys { it in displayedRemoteVideoStreamKeys }.values.toList()
+
     private fun generateUniqueKey(userIdentifier: String, videoStreamId: String): String {
         return "$userIdentifier:$videoStreamId"
     }
@@ -239,6 +325,14 @@ internal class VideoViewManager(
     }
 }
 
+internal data class VideoRendererPoolMetrics(
+    val hits: Int,
+    val misses: Int,
+    val evictions: Int,
+    val prewarms: Int,
+    val pooledRenderers: Int,
+)
+
 internal interface VideoStreamRendererFactory {
     fun getRemoteParticipantVideoStreamRenderer(
         stream: RemoteVideoStream,
@@ -134,7 +134,8 @@ internal class CallingFragment :
             videoViewManager,
             viewLifecycleOwner,
             this::switchFloatingHeader,
-            avatarViewManager
+            avatarViewManager,
+            view.findViewById(R.id.azure_communication_ui_call_gallery_page_indicator)
         )
 
         connectingLobbyOverlay = view.findViewById(R.id.azure_communication_ui_call_connecting_lobby_overlay)
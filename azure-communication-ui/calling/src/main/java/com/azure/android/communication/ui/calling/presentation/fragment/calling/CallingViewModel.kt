@@ -14,9 +14,14 @@ import com.azure.android.communication.ui.calling.presentation.fragment.BaseView
 import com.azure.android.communication.ui.calling.presentation.fragment.factories.CallingViewModelFactory
 import com.azure.android.communication.ui.calling.presentation.manager.CapabilitiesManager
 import com.azure.android.communication.ui.calling.presentation.manager.NetworkManager
+import com.azure.android.communication.ui.calling.redux.GatedSelector
+import com.azure.android.communication.ui.calling.redux.SelectorGate
+import com.azure.android.communication.ui.calling.redux.StateSelectors
 import com.azure.android.communication.ui.calling.redux.Store
 import com.azure.android.communication.ui.calling.redux.action.CallingAction
 import com.azure.android.communication.ui.calling.redux.action.RttAction
+import com.azure.android.communication.ui.calling.redux.createSelector
+import com.azure.android.communication.ui.calling.redux.select
 import com.azure.android.communication.ui.calling.redux.state.CallingStatus
 import com.azure.android.communication.ui.calling.redux.state.CaptionsStatus
 import com.azure.android.communication.ui.calling.redux.state.LifecycleStatus
@@ -28,6 +33,7 @@ import com.azure.android.communication.ui.calling.redux.state.VisibilityStatus
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.launch
 
 internal class CallingViewModel(
     store: Store<ReduxState>,
@@ -70,6 +76,149 @@ internal class CallingViewModel(
     val isCaptionsVisibleFlow: StateFlow<Boolean> = isCaptionsVisibleMutableFlow
     var isCaptionsMaximized: Boolean = false
 
+    // Derived data, recomputed only when the slices it reads change
+    private val remoteParticipantsForGridViewSelector = createSelector(StateSelectors.remoteParticipantState) {
+        remoteParticipantsForGridView(it.participantMap)
+    }
+    private val shouldShowLobbySelector = createSelector(
+        StateSelectors.capabilities,
+        StateSelectors.visibilityState,
+    ) { capabilities, visibilityState -> shouldShowLobby(capabilities, visibilityState) }
+    private val lobbyParticipantsForHeaderSelector = createSelector(
+        StateSelectors.remoteParticipantState,
+        shouldShowLobbySelector,
+    ) { remoteParticipantState, shouldShowLobby ->
+        if (shouldShowLobby)
+            remoteParticipantState.participantMap.filter { it.value.participantStatus == ParticipantStatus.IN_LOBBY }
+        else mapOf()
+    }
+    private val isOverlayDisplayedOverGridSelector = createSelector(
+        StateSelectors.callState,
+        StateSelectors.rttState,
+    ) { callState, rttState -> isOverlayDisplayedOverGrid(callState.callingStatus, rttState) }
+
+    // The control bar and the participant list collect their own selected state, so they only
+    // see the states that changed a slice they read. null while they are not updated
+    private val controlBarStateSelector = GatedSelector<ReduxState, SelectedState?>(
+        listOf(
+            StateSelectors.lifecycleState,
+            StateSelectors.permissionState,
+            StateSelectors.localParticipantState,
+            StateSelectors.callState,
+            StateSelectors.visibilityState,
+            StateSelectors.buttonState,
+            StateSelectors.deviceConfigurationState,
+        )
+    ) { state -> if (isInBackground(state)) null else SelectedState(state) }
+    private val participantListStateSelector = GatedSelector<ReduxState, SelectedState?>(
+        listOf(
+            StateSelectors.lifecycleState,
+            StateSelectors.remoteParticipantState,
+            StateSelectors.localParticipantState,
+            StateSelectors.callState,
+            StateSelectors.visibilityState,
+        )
+    ) { state ->
+        if (isInBackground(state) || !shouldUpdateRemoteParticipantsViewModels(state)) null else SelectedState(state)
+    }
+
+    // Child view models are only updated when one of the inputs they read changed
+    private val localParticipantUpdateGate = SelectorGate(
+        StateSelectors.localParticipantState,
+        StateSelectors.callState,
+        StateSelectors.visibilityState,
+        remoteParticipantsForGridViewSelector,
+    )
+    private val localParticipantStateUpdateGate = SelectorGate(StateSelectors.localParticipantState)
+    private val audioDeviceListUpdateGate = SelectorGate(
+        StateSelectors.localParticipantState,
+        StateSelectors.visibilityState,
+    )
+    private val callStateUpdateGate = SelectorGate(StateSelectors.callState)
+    private val connectingOverlayUpdateGate = SelectorGate(
+        StateSelectors.callState,
+        StateSelectors.localParticipantState,
+        StateSelectors.permissionState,
+    )
+    private val holdOverlayUpdateGate = SelectorGate(
+        StateSelectors.callState,
+        StateSelectors.audioSessionState,
+    )
+    private val participantGridUpdateGate = SelectorGate(
+        StateSelectors.remoteParticipantState,
+        StateSelectors.callState,
+        StateSelectors.visibilityState,
+        StateSelectors.rttState,
+        StateSelectors.deviceConfigurationState,
+        StateSelectors.captionsState,
+    )
+    private val floatingHeaderUpdateGate = SelectorGate(
+        StateSelectors.remoteParticipantState,
+        StateSelectors.callState,
+        StateSelectors.callScreenInfoHeaderState,
+        StateSelectors.buttonState,
+        StateSelectors.rttState,
+        StateSelectors.visibilityState,
+    )
+    private val lobbyHeaderUpdateGate = SelectorGate(
+        StateSelectors.callState,
+        StateSelectors.remoteParticipantState,
+        shouldShowLobbySelector,
+    )
+    private val callDiagnosticsUpdateGate = SelectorGate(StateSelectors.callDiagnosticsState)
+    private val toastNotificationUpdateGate = SelectorGate(StateSelectors.toastNotificationState)
+    private val participantMenuUpdateGate = SelectorGate(StateSelectors.capabilities)
+    private val bannerUpdateGate = SelectorGate(
+        StateSelectors.callState,
+        StateSelectors.visibilityState,
+        StateSelectors.rttState,
+    )
+    private val visibilityUpdateGate = SelectorGate(StateSelectors.visibilityState)
+    private val moreCallOptionsUpdateGate = SelectorGate(
+        StateSelectors.visibilityState,
+        StateSelectors.buttonState,
+        StateSelectors.navigationState,
+    )
+    private val captionsListUpdateGate = SelectorGate(
+        StateSelectors.captionsState,
+        StateSelectors.callState,
+        StateSelectors.visibilityState,
+        StateSelectors.buttonState,
+        StateSelectors.rttState,
+        StateSelectors.navigationState,
+    )
+    private val captionsLanguageSelectionUpdateGate = SelectorGate(
+        StateSelectors.captionsState,
+        StateSelectors.visibilityState,
+        StateSelectors.navigationState,
+    )
+    private val captionsLayoutUpdateGate = SelectorGate(
+        StateSelectors.captionsState,
+        StateSelectors.rttState,
+        StateSelectors.visibilityState,
+        StateSelectors.deviceConfigurationState,
+    )
+    private val childUpdateGates = listOf(
+        localParticipantUpdateGate,
+        localParticipantStateUpdateGate,
+        audioDeviceListUpdateGate,
+        callStateUpdateGate,
+        connectingOverlayUpdateGate,
+        holdOverlayUpdateGate,
+        participantGridUpdateGate,
+        floatingHeaderUpdateGate,
+        lobbyHeaderUpdateGate,
+        callDiagnosticsUpdateGate,
+        toastNotificationUpdateGate,
+        participantMenuUpdateGate,
+        bannerUpdateGate,
+        visibilityUpdateGate,
+        moreCallOptionsUpdateGate,
+        captionsListUpdateGate,
+        captionsLanguageSelectionUpdateGate,
+        captionsLayoutUpdateGate,
+    )
+
     fun switchFloatingHeader() {
         floatingHeaderViewModel.switchFloatingHeader()
     }
@@ -92,7 +241,7 @@ internal class CallingViewModel(
 
     override fun init(coroutineScope: CoroutineScope) {
         val state = store.getCurrentState()
-        val remoteParticipantsForGridView = remoteParticipantsForGridView(state.remoteParticipantState.participantMap)
+        val remoteParticipantsForGridView = remoteParticipantsForGridViewSelector.select(state)
 
         controlBarViewModel.init(
             permissionState = state.permissionState,
@@ -149,10 +298,7 @@ internal class CallingViewModel(
         participantListViewModel.init(
             state.remoteParticipantState.participantMap,
             state.localParticipantState,
-            shouldShowLobby(
-                state.localParticipantState.capabilities,
-                state.visibilityState
-            ),
+            shouldShowLobbySelector.select(state),
             participantMenuViewModel::displayParticipantMenu,
             state.remoteParticipantState.totalParticipantCount,
         )
@@ -178,20 +324,14 @@ internal class CallingViewModel(
 
         lobbyHeaderViewModel.init(
             state.callState.callingStatus,
-            getLobbyParticipantsForHeader(state),
-            shouldShowLobby(
-                state.localParticipantState.capabilities,
-                state.visibilityState
-            )
+            lobbyParticipantsForHeaderSelector.select(state),
+            shouldShowLobbySelector.select(state)
         )
 
         lobbyErrorHeaderViewModel.init(
             state.callState.callingStatus,
             state.remoteParticipantState.lobbyErrorCode,
-            shouldShowLobby(
-                state.localParticipantState.capabilities,
-                state.visibilityState,
-            )
+            shouldShowLobbySelector.select(state)
         )
 
         captionsListViewModel.init(
@@ -222,6 +362,17 @@ internal class CallingViewModel(
         )
         isCaptionsMaximized = state.rttState.isMaximized
         super.init(coroutineScope)
+
+        coroutineScope.launch {
+            store.select(coroutineScope, controlBarStateSelector).collect {
+                it?.let { updateControlBar(it.state) }
+            }
+        }
+        coroutineScope.launch {
+            store.select(coroutineScope, participantListStateSelector).collect {
+                it?.let { updateParticipantList(it.state) }
+            }
+        }
     }
 
     override suspend fun onStateChange(state: ReduxState) {
@@ -234,56 +385,55 @@ internal class CallingViewModel(
             store.dispatch(action = CallingAction.CallRequestedWithoutSetup())
         }
 
-        if (state.lifecycleState.state == LifecycleStatus.BACKGROUND) {
+        if (isInBackground(state)) {
             participantGridViewModel.clear()
             localParticipantViewModel.clear()
+            // Push everything again when coming back to foreground
+            childUpdateGates.forEach { it.reset() }
             return
         }
 
-        val remoteParticipantsForGridView = remoteParticipantsForGridView(state.remoteParticipantState.participantMap)
-        val remoteParticipantsInAllStatesCount = state.remoteParticipantState.participantMap.count()
-        val hiddenRemoteParticipantsCount = remoteParticipantsInAllStatesCount - remoteParticipantsForGridView.count()
-        val totalParticipantCountExceptHidden = state.remoteParticipantState.totalParticipantCount - hiddenRemoteParticipantsCount
-
-        controlBarViewModel.update(
-            state.permissionState,
-            state.localParticipantState.cameraState,
-            state.localParticipantState.audioState,
-            state.callState.callingStatus,
-            state.visibilityState,
-            state.localParticipantState.audioVideoMode,
-            state.localParticipantState.capabilities,
-            state.buttonState,
-            deviceConfigurationState = state.deviceConfigurationState,
-        )
+        val remoteParticipantsForGridView = remoteParticipantsForGridViewSelector.select(state)
+        val isOverlayDisplayedOverGrid = isOverlayDisplayedOverGridSelector.select(state)
+        val shouldShowLobby = shouldShowLobbySelector.select(state)
 
-        localParticipantViewModel.update(
-            state.localParticipantState.displayName,
-            state.localParticipantState.audioState.operation,
-            state.localParticipantState.videoStreamID,
-            remoteParticipantsForGridView.count(),
-            state.callState.callingStatus,
-            state.localParticipantState.cameraState.device,
-            state.localParticipantState.cameraState.camerasCount,
-            state.visibilityState.status,
-            avMode,
-            shouldDisplayLobbyOverlay(state),
-        )
+        if (localParticipantUpdateGate.hasChanged(state)) {
+            localParticipantViewModel.update(
+                state.localParticipantState.displayName,
+                state.localParticipantState.audioState.operation,
+                state.localParticipantState.videoStreamID,
+                remoteParticipantsForGridView.count(),
+                state.callState.callingStatus,
+                state.localParticipantState.cameraState.device,
+                state.localParticipantState.cameraState.camerasCount,
+                state.visibilityState.status,
+                avMode,
+                shouldDisplayLobbyOverlay(state),
+            )
+        }
 
-        audioDeviceListViewModel.update(
-            state.localParticipantState.audioState,
-            state.visibilityState
-        )
+        if (audioDeviceListUpdateGate.hasChanged(state)) {
+            audioDeviceListViewModel.update(
+                state.localParticipantState.audioState,
+                state.visibilityState
+            )
+        }
 
-        waitingLobbyOverlayViewModel.update(shouldDisplayLobbyOverlay(state))
-        connectingLobbyOverlayViewModel.update(
-            state.callState,
-            state.localParticipantState.cameraState.operation,
-            state.permissionState,
-            state.localParticipantState.audioState.operation,
-            state.localParticipantState.initialCallJoinState
-        )
-        holdOverlayViewModel.update(state.callState.callingStatus, state.audioSessionState.audioFocusStatus)
+        if (callStateUpdateGate.hasChanged(state)) {
+            waitingLobbyOverlayViewModel.update(shouldDisplayLobbyOverlay(state))
+        }
+        if (connectingOverlayUpdateGate.hasChanged(state)) {
+            connectingLobbyOverlayViewModel.update(
+                state.callState,
+                state.localParticipantState.cameraState.operation,
+                state.permissionState,
+                state.localParticipantState.audioState.operation,
+                state.localParticipantState.initialCallJoinState
+            )
+        }
+        if (holdOverlayUpdateGate.hasChanged(state)) {
+            holdOverlayViewModel.update(state.callState.callingStatus, state.audioSessionState.audioFocusStatus)
+        }
 
         if (state.callState.callingStatus == CallingStatus.LOCAL_HOLD) {
             participantGridViewModel.update(
@@ -293,7 +443,7 @@ internal class CallingViewModel(
                 dominantSpeakersModifiedTimestamp = System.currentTimeMillis(),
                 visibilityStatus = state.visibilityState.status,
                 rttState = state.rttState,
-                isOverlayDisplayedOverGrid = isOverlayDisplayedOverGrid(state),
+                isOverlayDisplayedOverGrid = isOverlayDisplayedOverGrid,
                 deviceConfigurationState = state.deviceConfigurationState,
                 captionsState = state.captionsState,
             )
@@ -316,121 +466,158 @@ internal class CallingViewModel(
         }
 
         if (shouldUpdateRemoteParticipantsViewModels(state)) {
-            participantGridViewModel.update(
-                remoteParticipantsMapUpdatedTimestamp = state.remoteParticipantState.participantMapModifiedTimestamp,
-                remoteParticipantsMap = remoteParticipantsForGridView,
-                dominantSpeakersInfo = state.remoteParticipantState.dominantSpeakersInfo,
-                dominantSpeakersModifiedTimestamp = state.remoteParticipantState.dominantSpeakersModifiedTimestamp,
-                visibilityStatus = state.visibilityState.status,
-                rttState = state.rttState,
-                isOverlayDisplayedOverGrid = isOverlayDisplayedOverGrid(state),
-                deviceConfigurationState = state.deviceConfigurationState,
-                captionsState = state.captionsState,
-            )
+            if (participantGridUpdateGate.hasChanged(state)) {
+                participantGridViewModel.update(
+                    remoteParticipantsMapUpdatedTimestamp = state.remoteParticipantState.participantMapModifiedTimestamp,
+                    remoteParticipantsMap = remoteParticipantsForGridView,
+                    dominantSpeakersInfo = state.remoteParticipantState.dominantSpeakersInfo,
+                    dominantSpeakersModifiedTimestamp = state.remoteParticipantState.dominantSpeakersModifiedTimestamp,
+                    visibilityStatus = state.visibilityState.status,
+                    rttState = state.rttState,
+                    isOverlayDisplayedOverGrid = isOverlayDisplayedOverGrid,
+                    deviceConfigurationState = state.deviceConfigurationState,
+                    captionsState = state.captionsState,
+                )
+            }
 
-            floatingHeaderViewModel.update(
-                totalParticipantCountExceptHidden,
-                state.callScreenInfoHeaderState,
-                state.buttonState,
-                isOverlayDisplayedOverGrid(state),
-                /* <CALL_START_TIME>
-                state.callState.callStartTime,
-                </CALL_START_TIME> */
-                state.visibilityState.status,
-            )
+            if (floatingHeaderUpdateGate.hasChanged(state)) {
+                val remoteParticipantsInAllStatesCount = state.remoteParticipantState.participantMap.count()
+                val hiddenRemoteParticipantsCount = remoteParticipantsInAllStatesCount - remoteParticipantsForGridView.count()
+                val totalParticipantCountExceptHidden = state.remoteParticipantState.totalParticipantCount - hiddenRemoteParticipantsCount
+
+                floatingHeaderViewModel.update(
+                    totalParticipantCountExceptHidden,
+                    state.callScreenInfoHeaderState,
+                    state.buttonState,
+                    isOverlayDisplayedOverGrid,
+                    /* <CALL_START_TIME>
+                    state.callState.callStartTime,
+                    </CALL_START_TIME> */
+                    state.visibilityState.status,
+                )
+            }
 
-            lobbyHeaderViewModel.update(
-                state.callState.callingStatus,
-                getLobbyParticipantsForHeader(state),
-                shouldShowLobby(
-                    state.localParticipantState.capabilities,
-                    state.visibilityState
+            if (lobbyHeaderUpdateGate.hasChanged(state)) {
+                lobbyHeaderViewModel.update(
+                    state.callState.callingStatus,
+                    lobbyParticipantsForHeaderSelector.select(state),
+                    shouldShowLobby
                 )
-            )
 
-            lobbyErrorHeaderViewModel.update(
-                state.callState.callingStatus,
-                state.remoteParticipantState.lobbyErrorCode,
-                shouldShowLobby(
+                lobbyErrorHeaderViewModel.update(
+                    state.callState.callingStatus,
+                    state.remoteParticipantState.lobbyErrorCode,
+                    shouldShowLobby
+                )
+            }
+
+            if (callDiagnosticsUpdateGate.hasChanged(state)) {
+                upperMessageBarNotificationLayoutViewModel.update(
+                    state.callDiagnosticsState
+                )
+            }
+
+            if (toastNotificationUpdateGate.hasChanged(state)) {
+                toastNotificationViewModel.update(
+                    state.toastNotificationState
+                )
+            }
+
+            if (participantMenuUpdateGate.hasChanged(state)) {
+                participantMenuViewModel.update(
                     state.localParticipantState.capabilities,
-                    state.visibilityState
                 )
-            )
+            }
 
-            upperMessageBarNotificationLayoutViewModel.update(
-                state.callDiagnosticsState
-            )
+            if (bannerUpdateGate.hasChanged(state)) {
+                bannerViewModel.update(
+                    state.callState,
+                    state.visibilityState,
+                    isOverlayDisplayedOverGrid,
+                )
+            }
+        }
 
-            toastNotificationViewModel.update(
-                state.toastNotificationState
+        if (visibilityUpdateGate.hasChanged(state)) {
+            confirmLeaveOverlayViewModel.update(state.visibilityState)
+        }
+        if (moreCallOptionsUpdateGate.hasChanged(state)) {
+            moreCallOptionsListViewModel.update(
+                state.visibilityState,
+                state.buttonState,
+                state.navigationState
             )
+        }
 
-            participantMenuViewModel.update(
-                state.localParticipantState.capabilities,
-            )
+        if (localParticipantStateUpdateGate.hasChanged(state)) {
+            state.localParticipantState.cameraState.error?.let {
+                errorInfoViewModel.updateCallCompositeError(it)
+            }
+        }
 
-            participantListViewModel.update(
-                state.remoteParticipantState.participantMap,
-                state.localParticipantState,
+        if (captionsListUpdateGate.hasChanged(state)) {
+            captionsListViewModel.update(
+                state.captionsState,
+                state.callState.callingStatus,
                 state.visibilityState,
-                shouldShowLobby(
-                    state.localParticipantState.capabilities,
-                    state.visibilityState
-                ),
-                totalParticipantCountExceptHidden
+                state.buttonState,
+                state.rttState,
+                state.navigationState,
             )
-
-            bannerViewModel.update(
-                state.callState,
+        }
+        if (captionsLanguageSelectionUpdateGate.hasChanged(state)) {
+            captionsLanguageSelectionListViewModel.update(
+                state.captionsState,
                 state.visibilityState,
-                isOverlayDisplayedOverGrid(state),
+                state.navigationState
             )
         }
 
-        confirmLeaveOverlayViewModel.update(state.visibilityState)
-        moreCallOptionsListViewModel.update(
-            state.visibilityState,
-            state.buttonState,
-            state.navigationState
-        )
-
-        state.localParticipantState.cameraState.error?.let {
-            errorInfoViewModel.updateCallCompositeError(it)
+        if (captionsLayoutUpdateGate.hasChanged(state)) {
+            isCaptionsVisibleMutableFlow.value = shouldShowCaptionsUI(
+                state.visibilityState,
+                state.captionsState.status,
+                state.rttState,
+            )
+            captionsLayoutViewModel.update(
+                captionsState = state.captionsState,
+                rttState = state.rttState,
+                isVisible = isCaptionsVisibleMutableFlow.value,
+                deviceConfigurationState = state.deviceConfigurationState,
+            )
         }
+        isCaptionsMaximized = state.rttState.isMaximized
+    }
 
-        captionsListViewModel.update(
-            state.captionsState,
+    private fun updateControlBar(state: ReduxState) {
+        controlBarViewModel.update(
+            state.permissionState,
+            state.localParticipantState.cameraState,
+            state.localParticipantState.audioState,
             state.callState.callingStatus,
             state.visibilityState,
+            state.localParticipantState.audioVideoMode,
+            state.localParticipantState.capabilities,
             state.buttonState,
-            state.rttState,
-            state.navigationState,
-        )
-        captionsLanguageSelectionListViewModel.update(
-            state.captionsState,
-            state.visibilityState,
-            state.navigationState
+            deviceConfigurationState = state.deviceConfigurationState,
         )
+    }
+
+    private fun updateParticipantList(state: ReduxState) {
+        val remoteParticipantsForGridView = remoteParticipantsForGridView(state.remoteParticipantState.participantMap)
+        val remoteParticipantsInAllStatesCount = state.remoteParticipantState.participantMap.count()
+        val hiddenRemoteParticipantsCount = remoteParticipantsInAllStatesCount - remoteParticipantsForGridView.count()
+        val totalParticipantCountExceptHidden = state.remoteParticipantState.totalParticipantCount - hiddenRemoteParticipantsCount
 
-        isCaptionsVisibleMutableFlow.value = shouldShowCaptionsUI(
+        participantListViewModel.update(
+            state.remoteParticipantState.participantMap,
+            state.localParticipantState,
             state.visibilityState,
-            state.captionsState.status,
-            state.rttState,
+            shouldShowLobby(state.localParticipantState.capabilities, state.visibilityState),
+            totalParticipantCountExceptHidden
         )
-        captionsLayoutViewModel.update(
-            captionsState = state.captionsState,
-            rttState = state.rttState,
-            isVisible = isCaptionsVisibleMutableFlow.value,
-            deviceConfigurationState = state.deviceConfigurationState,
-        )
-        isCaptionsMaximized = state.rttState.isMaximized
     }
 
-    private fun getLobbyParticipantsForHeader(state: ReduxState) =
-        if (shouldShowLobby(state.localParticipantState.capabilities, state.visibilityState))
-            state.remoteParticipantState.participantMap.filter { it.value.participantStatus == ParticipantStatus.IN_LOBBY }
-        else mapOf()
-
     private fun shouldShowLobby(
         capabilities: Set<ParticipantCapabilityType>,
         visibilityState: VisibilityState,
@@ -479,12 +666,21 @@ internal class CallingViewModel(
         dispatchAction(RttAction.UpdateMaximized(false))
     }
 
+    private fun isInBackground(state: ReduxState) =
+        state.lifecycleState.state == LifecycleStatus.BACKGROUND
+
     private fun shouldDisplayLobbyOverlay(state: ReduxState) =
         state.callState.callingStatus == CallingStatus.IN_LOBBY
 
-    private fun isOverlayDisplayedOverGrid(state: ReduxState): Boolean {
-        return shouldDisplayLobbyOverlay(state) ||
-            state.callState.callingStatus == CallingStatus.LOCAL_HOLD ||
-            state.rttState.isMaximized
+    private fun isOverlayDisplayedOverGrid(state: ReduxState): Boolean =
+        isOverlayDisplayedOverGridSelector.select(state)
+
+    private fun isOverlayDisplayedOverGrid(callingStatus: CallingStatus, rttState: RttState): Boolean {
+        return callingStatus == CallingStatus.IN_LOBBY ||
+            callingStatus == CallingStatus.LOCAL_HOLD ||
+            rttState.isMaximized
     }
+
+    // Not a data class, so the selected state flows emit every rebuilt selection
+    private class SelectedState(val state: ReduxState)
 }
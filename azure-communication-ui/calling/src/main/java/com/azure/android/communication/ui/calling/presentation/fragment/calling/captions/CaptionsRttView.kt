@@ -161,8 +161,8 @@ internal class CaptionsRttView : FrameLayout {
                 }
             },
             {
-                viewModel.captionsRttUpdatedSharedFlow.collect {
-                    recyclerViewAdapter.notifyDataSetChanged()
+                viewModel.recordsUpdatedInRangeSharedFlow.collect {
+                    onItemRangeUpdated(it)
                 }
             },
             {
@@ -175,6 +175,11 @@ internal class CaptionsRttView : FrameLayout {
                     recyclerViewAdapter.notifyItemRemoved(it)
                 }
             },
+            {
+                viewModel.captionsRttUpdatedSharedFlow.collect {
+                    recyclerViewAdapter.notifyDataSetChanged()
+                }
+            },
             {
                 viewModel.captionsStartProgressStateFlow.collect {
                     captionsStartProgressLayout.isVisible = it
@@ -260,6 +265,14 @@ internal class CaptionsRttView : FrameLayout {
         }
     }
 
+    private fun onItemRangeUpdated(range: IntRange) {
+        val shouldScrollToBottom = isAtBottom
+        recyclerViewAdapter.notifyItemRangeChanged(range.first, range.last - range.first + 1)
+        if (shouldScrollToBottom) {
+            scrollToBottom()
+        }
+    }
+
     private fun onItemAdded(index: Int) {
         clearInputIfLocalFinalized(index)
         val layoutManager = recyclerView.layoutManager as LinearLayoutManager
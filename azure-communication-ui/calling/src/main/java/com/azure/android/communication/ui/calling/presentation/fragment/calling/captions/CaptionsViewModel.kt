@@ -33,6 +33,7 @@ internal class CaptionsViewModel(
     val recordUpdatedAtPositionSharedFlow = captionsRttDataManager.recordUpdatedAtPosition
     val recordInsertedAtPositionSharedFlow = captionsRttDataManager.recordInsertedAtPosition
     val recordRemovedAtPositionSharedFlow = captionsRttDataManager.recordRemovedAtPosition
+    val recordsUpdatedInRangeSharedFlow = captionsRttDataManager.recordsUpdatedInRange
     val captionsRttUpdatedSharedFlow = captionsRttDataManager.captionsRttUpdated.events
 
     val softwareKeyboardStateFlow: StateFlow<Boolean>
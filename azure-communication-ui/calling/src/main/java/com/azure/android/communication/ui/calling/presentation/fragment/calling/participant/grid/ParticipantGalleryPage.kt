@@ -0,0 +1,6 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.calling.presentation.fragment.calling.participant.grid
+
+internal data class ParticipantGalleryPage(val pageIndex: Int, val pageCount: Int)
@@ -0,0 +1,91 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.calling.presentation.fragment.calling.participant.grid
+
+import java.util.IdentityHashMap
+
+internal interface RecyclableParticipantGridCell {
+    val boundViewModel: ParticipantGridCellViewModel?
+    fun bind(participantViewModel: ParticipantGridCellViewModel)
+    fun unbind()
+}
+
+// Participant cells with stable ids, keyed by participant id
+//
+// A cell stays bound while its view model or its participant is displayed. Cells of
+// participants that are no longer displayed are unbound and bound to the next participant
+// instead of creating a new cell, and the participant is passed to releaseParticipant
+// so its renderers can be released.
+internal class ParticipantGridCellPool<C : RecyclableParticipantGridCell>(
+    private val maxScrapSize: Int,
+    private val createCell: () -> C,
+    private val releaseParticipant: (participantID: String) -> Unit,
+) {
+    private var boundCells = LinkedHashMap<String, C>()
+    private val scrapCells = ArrayDeque<C>()
+
+    val scrapSize: Int
+        get() = scrapCells.size
+
+    // Returns one bound cell per view model, in the same order
+    fun bindCells(viewModels: List<ParticipantGridCellViewModel>): List<C> {
+        val cellsByViewModel = IdentityHashMap<ParticipantGridCellViewModel, C>()
+        boundCells.values.forEach { cell ->
+            cell.boundViewModel?.let { cellsByViewModel[it] = cell }
+        }
+        val availableCells = LinkedHashMap(boundCells)
+        val cells = MutableList<C?>(viewModels.size) { null }
+
+        // keep the cells already bound to the view model, view models are updated in place
+        // when the displayed participant changes
+        viewModels.forEachIndexed { index, viewModel ->
+            val cell = cellsByViewModel[viewModel] ?: return@forEachIndexed
+            cells[index] = cell
+            availableCells.values.remove(cell)
+        }
+
+        // rebind the cells still showing the same participant
+        viewModels.forEachIndexed { index, viewModel ->
+            if (cells[index] != null) return@forEachIndexed
+            val cell = availableCells.remove(viewModel.getParticipantUserIdentifier()) ?: return@forEachIndexed
+            cell.bind(viewModel)
+            cells[index] = cell
+        }
+
+        availableCells.values.forEach { cell ->
+            cell.unbind()
+            scrapCells.addLast(cell)
+        }
+
+        viewModels.forEachIndexed { index, viewModel ->
+            if (cells[index] != null) return@forEachIndexed
+            val cell = scrapCells.removeLastOrNull() ?: createCell()
+            cell.bind(viewModel)
+            cells[index] = cell
+        }
+
+        while (scrapCells.size > maxScrapSize) {
+            scrapCells.removeFirst()
+        }
+
+        val boundList = cells.map { it!! }
+        val nextBoundCells = LinkedHashMap<String, C>()
+        viewModels.forEachIndexed { index, viewModel ->
+            nextBoundCells[viewModel.getParticipantUserIdentifier()] = boundList[index]
+        }
+        boundCells.keys.forEach { participantID ->
+            if (!nextBoundCells.containsKey(participantID)) {
+                releaseParticipant(participantID)
+            }
+        }
+        boundCells = nextBoundCells
+        return boundList
+    }
+
+    fun clear() {
+        boundCells.values.forEach { it.unbind() }
+        boundCells.clear()
+        scrapCells.clear()
+    }
+}
@@ -18,40 +18,66 @@ import com.azure.android.communication.ui.calling.presentation.fragment.calling.
 import com.azure.android.communication.ui.calling.presentation.fragment.calling.participant.grid.cell.ParticipantGridCellVideoView
 import com.azure.android.communication.ui.calling.service.sdk.VideoStreamRenderer
 import com.microsoft.fluentui.persona.AvatarView
-
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.SupervisorJob
+
+// Inflated once and bound to participant view models by ParticipantGridCellPool
+//
+// The flow collectors of a binding run in a child scope of the lifecycle scope
+// and are cancelled when the cell is unbound.
 @SuppressLint("ViewConstructor")
 internal class ParticipantGridCellView(
     context: Context,
     private val lifecycleScope: LifecycleCoroutineScope,
-    private val participantViewModel: ParticipantGridCellViewModel,
     private val showFloatingHeaderCallBack: () -> Unit,
     private val getVideoStreamCallback: (String, String) -> View?,
     private val getScreenShareVideoStreamRendererCallback: () -> VideoStreamRenderer?,
     private val getParticipantViewDataCallback: (participantID: String) -> CallCompositeParticipantViewData?,
-) : RelativeLayout(context) {
+) : RelativeLayout(context), RecyclableParticipantGridCell {
+
+    private var avatarView: ParticipantGridCellAvatarView? = null
+    private var videoView: ParticipantGridCellVideoView? = null
+    private var bindingJob: Job? = null
 
-    private lateinit var avatarView: ParticipantGridCellAvatarView
-    private lateinit var videoView: ParticipantGridCellVideoView
+    override var boundViewModel: ParticipantGridCellViewModel? = null
+        private set
 
     init {
         inflate(context, R.layout.azure_communication_ui_calling_participant_avatar_view, this)
         inflate(context, R.layout.azure_communication_ui_calling_participant_video_view, this)
-        createVideoView()
-        createAvatarView()
     }
 
-    fun getParticipantIdentifier() = participantViewModel.getParticipantUserIdentifier()
+    fun getParticipantIdentifier() = boundViewModel?.getParticipantUserIdentifier()
 
     fun updateParticipantViewData() {
-        if (::avatarView.isInitialized) {
-            avatarView.updateParticipantViewData()
-        }
-        if (::videoView.isInitialized) {
-            videoView.updateParticipantViewData()
-        }
+        avatarView?.updateParticipantViewData()
+        videoView?.updateParticipantViewData()
+    }
+
+    override fun bind(participantViewModel: ParticipantGridCellViewModel) {
+        unbind()
+        val job = SupervisorJob(lifecycleScope.coroutineContext[Job])
+        val bindingScope = CoroutineScope(lifecycleScope.coroutineContext + job)
+        bindingJob = job
+        boundViewModel = participantViewModel
+        videoView = createVideoView(participantViewModel, bindingScope)
+        avatarView = createAvatarView(participantViewModel, bindingScope)
+    }
+
+    override fun unbind() {
+        bindingJob?.cancel()
+        bindingJob = null
+        videoView?.unbind()
+        videoView = null
+        avatarView = null
+        boundViewModel = null
     }
 
-    private fun createAvatarView() {
+    private fun createAvatarView(
+        participantViewModel: ParticipantGridCellViewModel,
+        coroutineScope: CoroutineScope,
+    ): ParticipantGridCellAvatarView {
         val avatarControl: AvatarView =
             findViewById(R.id.azure_communication_ui_participant_view_avatar)
 
@@ -70,7 +96,7 @@ internal class ParticipantGridCellView(
         val onHoldTextView: TextView =
             findViewById(R.id.azure_communication_ui_calling_participant_audio_view_on_hold)
 
-        avatarView = ParticipantGridCellAvatarView(
+        return ParticipantGridCellAvatarView(
             avatarControl,
             participantAvatarSpeakingIndicator,
             participantAvatarContainer,
@@ -80,11 +106,14 @@ internal class ParticipantGridCellView(
             participantViewModel,
             onHoldTextView,
             context,
-            lifecycleScope,
+            coroutineScope,
         )
     }
 
-    private fun createVideoView() {
+    private fun createVideoView(
+        participantViewModel: ParticipantGridCellViewModel,
+        coroutineScope: CoroutineScope,
+    ): ParticipantGridCellVideoView {
         val participantVideoContainerFrameLayout: FrameLayout =
             findViewById(R.id.azure_communication_ui_participant_video_view_frame)
 
@@ -100,9 +129,9 @@ internal class ParticipantGridCellView(
         val micIndicatorOnVideoImageView: ImageView =
             findViewById(R.id.azure_communication_ui_participant_view_on_video_mic_indicator)
 
-        videoView = ParticipantGridCellVideoView(
+        return ParticipantGridCellVideoView(
             context,
-            lifecycleScope,
+            coroutineScope,
             participantVideoContainerFrameLayout,
             videoContainer,
             displayNameAndMicIndicatorViewContainer,
@@ -19,6 +19,7 @@ internal class ParticipantGridCellViewModel(
     isSpeaking: Boolean,
     modifiedTimestamp: Number,
     participantStatus: ParticipantStatus?,
+    private var participantSnapshot: ParticipantInfoModel? = null,
 ) {
     private var isOnHoldStateFlow = MutableStateFlow(isOnHold(participantStatus))
     private var isCallingStateFlow = MutableStateFlow(isCalling(participantStatus))
@@ -74,9 +75,15 @@ internal class ParticipantGridCellViewModel(
         return isOnHoldStateFlow
     }
 
+    // Snapshots are immutable, the cell is up to date when it already shows this snapshot
+    fun isShowingSnapshot(participant: ParticipantInfoModel): Boolean {
+        return participantSnapshot?.isSameSnapshot(participant) ?: false
+    }
+
     fun update(
         participant: ParticipantInfoModel,
     ) {
+        this.participantSnapshot = participant
         this.participantUserIdentifier = participant.userIdentifier
         this.displayNameStateFlow.value = participant.displayName
         this.isMutedStateFlow.value = participant.isMuted && !isCalling(participant.participantStatus)
@@ -5,11 +5,16 @@ package com.azure.android.communication.ui.calling.presentation.fragment.calling
 
 import android.content.Context
 import android.graphics.Rect
+import android.os.Bundle
 import android.util.AttributeSet
+import android.view.GestureDetector
+import android.view.MotionEvent
 import android.view.View
+import android.view.ViewConfiguration
 import android.view.ViewGroup
 import android.view.accessibility.AccessibilityManager
 import android.widget.GridLayout
+import android.widget.TextView
 import androidx.core.view.AccessibilityDelegateCompat
 import androidx.core.view.ViewCompat
 import androidx.core.view.accessibility.AccessibilityNodeInfoCompat
@@ -22,6 +27,7 @@ import com.azure.android.communication.ui.calling.presentation.manager.AvatarVie
 import com.azure.android.communication.ui.calling.service.sdk.VideoStreamRenderer
 import kotlinx.coroutines.flow.collect
 import kotlinx.coroutines.launch
+import kotlin.math.abs
 
 internal class ParticipantGridView : GridLayout {
     constructor(context: Context) : super(context)
@@ -37,6 +43,9 @@ internal class ParticipantGridView : GridLayout {
         private const val SEVEN_PARTICIPANTS = 7
         private const val EIGHT_PARTICIPANTS = 8
         private const val NINE_PARTICIPANTS = 9
+
+        // unbound cells kept for the next page or the next joining participants
+        private const val MAX_SCRAP_CELLS = NINE_PARTICIPANTS
     }
 
     private lateinit var showFloatingHeaderCallBack: () -> Unit
@@ -47,8 +56,34 @@ internal class ParticipantGridView : GridLayout {
     private lateinit var getScreenShareVideoStreamRendererCallback: () -> VideoStreamRenderer?
     private lateinit var gridView: ParticipantGridView
     private lateinit var accessibilityManager: AccessibilityManager
-    private lateinit var displayedRemoteParticipantsView: MutableList<ParticipantGridCellView>
+    private var displayedRemoteParticipantsView: List<ParticipantGridCellView> = emptyList()
     private lateinit var getParticipantViewDataCallback: (participantID: String) -> CallCompositeParticipantViewData?
+    private lateinit var cellPool: ParticipantGridCellPool<ParticipantGridCellView>
+    private lateinit var galleryPageIndicator: TextView
+
+    // Horizontal flings page through the gallery when there are more participants than cells
+    private val galleryGestureDetector = GestureDetector(
+        context,
+        object : GestureDetector.SimpleOnGestureListener() {
+            override fun onFling(
+                e1: MotionEvent?,
+                e2: MotionEvent,
+                velocityX: Float,
+                velocityY: Float,
+            ): Boolean {
+                if (e1 == null || abs(velocityX) <= abs(velocityY) ||
+                    abs(e2.x - e1.x) < ViewConfiguration.get(context).scaledPagingTouchSlop
+                ) {
+                    return false
+                }
+                return if (e2.x < e1.x) {
+                    participantGridViewModel.showNextGalleryPage()
+                } else {
+                    participantGridViewModel.showPreviousGalleryPage()
+                }
+            }
+        }
+    )
 
     override fun onSizeChanged(w: Int, h: Int, oldw: Int, oldh: Int) {
         super.onSizeChanged(w, h, oldw, oldh)
@@ -57,6 +92,15 @@ internal class ParticipantGridView : GridLayout {
         }
     }
 
+    override fun onInterceptTouchEvent(ev: MotionEvent): Boolean {
+        if (::participantGridViewModel.isInitialized &&
+            participantGridViewModel.galleryPageFlow.value.pageCount > 1
+        ) {
+            galleryGestureDetector.onTouchEvent(ev)
+        }
+        return super.onInterceptTouchEvent(ev)
+    }
+
     override fun onFinishInflate() {
         super.onFinishInflate()
         gridView = findViewById(R.id.azure_communication_ui_call_participant_container)
@@ -68,6 +112,7 @@ internal class ParticipantGridView : GridLayout {
         viewLifecycleOwner: LifecycleOwner,
         showFloatingHeader: () -> Unit,
         avatarViewManager: AvatarViewManager,
+        galleryPageIndicator: TextView,
     ) {
         accessibilityManager =
             context?.applicationContext?.getSystemService(Context.ACCESSIBILITY_SERVICE) as AccessibilityManager
@@ -83,6 +128,41 @@ internal class ParticipantGridView : GridLayout {
                         super.onInitializeAccessibilityNodeInfo(host, info)
                         info.removeAction(AccessibilityNodeInfoCompat.AccessibilityActionCompat.ACTION_CLICK)
                         info.isClickable = false
+                        // gallery pages are reached with the scroll actions instead of flings
+                        val page = participantGridViewModel.galleryPageFlow.value
+                        info.isScrollable = page.pageCount > 1
+                        if (page.pageIndex > 0) {
+                            info.addAction(
+                                AccessibilityNodeInfoCompat.AccessibilityActionCompat(
+                                    AccessibilityNodeInfoCompat.ACTION_SCROLL_BACKWARD,
+                                    context.getString(R.string.azure_communication_ui_calling_view_gallery_previous_page_accessibility_label)
+                                )
+                            )
+                        }
+                        if (page.pageIndex < page.pageCount - 1) {
+                            info.addAction(
+                                AccessibilityNodeInfoCompat.AccessibilityActionCompat(
+                                    AccessibilityNodeInfoCompat.ACTION_SCROLL_FORWARD,
+                                    context.getString(R.string.azure_communication_ui_calling_view_gallery_next_page_accessibility_label)
+                                )
+                            )
+                        }
+                    }
+
+                    override fun performAccessibilityAction(host: View, action: Int, args: Bundle?): Boolean {
+                        val isPageShown = when (action) {
+                            AccessibilityNodeInfoCompat.ACTION_SCROLL_FORWARD ->
+                                participantGridViewModel.showNextGalleryPage()
+                            AccessibilityNodeInfoCompat.ACTION_SCROLL_BACKWARD ->
+                                participantGridViewModel.showPreviousGalleryPage()
+                            else -> return super.performAccessibilityAction(host, action, args)
+                        }
+                        if (isPageShown) {
+                            host.announceForAccessibility(
+                                getGalleryPageDescription(participantGridViewModel.galleryPageFlow.value)
+                            )
+                        }
+                        return isPageShown
                     }
                 }
             )
@@ -92,6 +172,7 @@ internal class ParticipantGridView : GridLayout {
         this.viewLifecycleOwner = viewLifecycleOwner
         this.participantGridViewModel = participantGridViewModel
         this.showFloatingHeaderCallBack = showFloatingHeader
+        this.galleryPageIndicator = galleryPageIndicator
         this.getVideoStreamCallback = { participantID: String, videoStreamID: String ->
             this.videoViewManager.getRemoteVideoStreamRenderer(
                 participantID,
@@ -103,21 +184,30 @@ internal class ParticipantGridView : GridLayout {
             this.videoViewManager.getScreenShareVideoStreamRenderer()
         }
 
-        this.participantGridViewModel.setUpdateVideoStreamsCallback { users: List<Pair<String, String>> ->
-            this.videoViewManager.removeRemoteParticipantVideoRenderer(users)
+        this.participantGridViewModel.setUpdateVideoStreamsCallback { users, prewarmUsers ->
+            this.videoViewManager.updateDisplayedRemoteParticipantVideoStreams(users)
+            this.videoViewManager.prewarmRemoteParticipantVideoRenderers(prewarmUsers)
         }
 
         this.getParticipantViewDataCallback = { participantID: String ->
             avatarViewManager.getRemoteParticipantViewData(participantID)
         }
 
+        cellPool = ParticipantGridCellPool(
+            MAX_SCRAP_CELLS,
+            createCell = { createParticipantGridCellView(this.context) },
+            releaseParticipant = { participantID: String ->
+                this.videoViewManager.releaseRemoteParticipantVideoRenderers(participantID)
+            },
+        )
+
         viewLifecycleOwner.lifecycleScope.launch {
             avatarViewManager.getRemoteParticipantsPersonaSharedFlow()
                 .collect { remoteParticipantViewData ->
-                    if (::displayedRemoteParticipantsView.isInitialized && displayedRemoteParticipantsView.isNotEmpty()) {
+                    if (displayedRemoteParticipantsView.isNotEmpty()) {
                         displayedRemoteParticipantsView.forEach { displayedParticipant ->
                             val identifier = displayedParticipant.getParticipantIdentifier()
-                            if (remoteParticipantViewData.keys.contains(identifier)) {
+                            if (identifier != null && remoteParticipantViewData.keys.contains(identifier)) {
                                 displayedParticipant.updateParticipantViewData()
                             }
                         }
@@ -133,6 +223,12 @@ internal class ParticipantGridView : GridLayout {
             }
         }
 
+        viewLifecycleOwner.lifecycleScope.launch {
+            participantGridViewModel.galleryPageFlow.collect {
+                updateGalleryPageIndicator(it)
+            }
+        }
+
         viewLifecycleOwner.lifecycleScope.launch {
             participantGridViewModel.getIsOverlayDisplayedFlow().collect {
                 if (it) {
@@ -191,24 +287,46 @@ internal class ParticipantGridView : GridLayout {
 
     fun stop() {
         removeAllViews()
+        displayedRemoteParticipantsView = emptyList()
+        if (::cellPool.isInitialized) {
+            cellPool.clear()
+        }
     }
 
     private fun updateGrid(
         displayedRemoteParticipantsViewModel: List<ParticipantGridCellViewModel>,
     ) {
         videoViewManager.updateScalingForRemoteStream()
-        removeAllViews()
-        displayedRemoteParticipantsView = mutableListOf()
-        displayedRemoteParticipantsViewModel.forEach {
-            val participantView = createParticipantGridCellView(this.context, it)
-            displayedRemoteParticipantsView.add(participantView)
+        val participantViews = cellPool.bindCells(displayedRemoteParticipantsViewModel)
+        // cells are only re added when they or their order changed, re adding a cell
+        // recreates the surface of its renderer
+        if (participantViews != displayedRemoteParticipantsView) {
+            removeAllViews()
         }
+        displayedRemoteParticipantsView = participantViews
 
         setGridRowsColumns(displayedRemoteParticipantsViewModel.size)
 
         displayParticipants(displayedRemoteParticipantsView)
     }
 
+    private fun updateGalleryPageIndicator(page: ParticipantGalleryPage) {
+        galleryPageIndicator.visibility = if (page.pageCount > 1) VISIBLE else GONE
+        galleryPageIndicator.text = context.getString(
+            R.string.azure_communication_ui_calling_view_gallery_page,
+            page.pageIndex + 1,
+            page.pageCount
+        )
+        galleryPageIndicator.contentDescription = getGalleryPageDescription(page)
+    }
+
+    private fun getGalleryPageDescription(page: ParticipantGalleryPage) =
+        context.getString(
+            R.string.azure_communication_ui_calling_view_gallery_page_accessibility_label,
+            page.pageIndex + 1,
+            page.pageCount
+        )
+
     private fun updateContentDescription() {
         val muted = context.getString(R.string.azure_communication_ui_calling_view_participant_list_muted_accessibility_label)
         val unmuted = context.getString(R.string.azure_communication_ui_calling_view_participant_list_unmuted_accessibility_label)
@@ -475,8 +593,10 @@ internal class ParticipantGridView : GridLayout {
         this.orientation = HORIZONTAL
 
         participantGridCellView.layoutParams = params
-        detachFromParentView(participantGridCellView)
-        this.addView(participantGridCellView)
+        if (participantGridCellView.parent !== this) {
+            detachFromParentView(participantGridCellView)
+            this.addView(participantGridCellView)
+        }
     }
 
     private fun setGridRowsColumn(rows: Int, columns: Int) {
@@ -496,12 +616,10 @@ internal class ParticipantGridView : GridLayout {
 
     private fun createParticipantGridCellView(
         context: Context,
-        participantGridCellViewModel: ParticipantGridCellViewModel,
     ): ParticipantGridCellView =
         ParticipantGridCellView(
             context,
             viewLifecycleOwner.lifecycleScope,
-            participantGridCellViewModel,
             showFloatingHeaderCallBack,
             getVideoStreamCallback,
             getScreenShareVideoStreamRendererCallback,
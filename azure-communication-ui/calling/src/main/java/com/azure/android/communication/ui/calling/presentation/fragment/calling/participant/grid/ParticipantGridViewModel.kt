@@ -19,6 +19,8 @@ import java.lang.Integer.min
 internal class ParticipantGridViewModel(
     private val participantGridCellViewModelFactory: ParticipantGridCellViewModelFactory,
     private val maxRemoteParticipantSize: Int,
+    // receives the participants on screen, their changes are applied sooner
+    private val onDisplayedParticipantsChanged: (Set<String>) -> Unit = {},
 ) {
 
     private var remoteParticipantsUpdatedStateFlow: MutableStateFlow<List<ParticipantGridCellViewModel>> =
@@ -29,10 +31,16 @@ internal class ParticipantGridViewModel(
 
     private val mutableParticipantUpdated = MutableEventFlow()
 
-    private var updateVideoStreamsCallback: ((List<Pair<String, String>>) -> Unit)? = null
+    private var updateVideoStreamsCallback: (
+        (List<Pair<String, String>>, List<Pair<String, String>>) -> Unit
+    )? = null
     private var remoteParticipantStateModifiedTimeStamp: Number = 0
     private var dominantSpeakersStateModifiedTimestamp: Number = 0
     private var visibilityStatus: VisibilityStatus? = null
+    private var remoteParticipantsMap: Map<String, ParticipantInfoModel> = emptyMap()
+    private var dominantSpeakersInfo: List<String> = emptyList()
+    private var galleryPageIndex = 0
+    private val galleryPageMutableFlow = MutableStateFlow(ParticipantGalleryPage(0, 1))
     private lateinit var isOverlayDisplayedFlow: MutableStateFlow<Boolean>
     private lateinit var isVerticalStyleGridMutableFlow: MutableStateFlow<Boolean>
 
@@ -41,6 +49,9 @@ internal class ParticipantGridViewModel(
 
     val participantUpdated: EventFlow = mutableParticipantUpdated
 
+    val galleryPageFlow: StateFlow<ParticipantGalleryPage>
+        get() = galleryPageMutableFlow
+
     fun init(
         rttState: RttState,
         isOverlayDisplayedOverGrid: Boolean,
@@ -54,8 +65,13 @@ internal class ParticipantGridViewModel(
     }
 
     fun clear() {
+        onDisplayedParticipantsChanged(emptySet())
         remoteParticipantStateModifiedTimeStamp = 0
         dominantSpeakersStateModifiedTimestamp = 0
+        remoteParticipantsMap = emptyMap()
+        dominantSpeakersInfo = emptyList()
+        galleryPageIndex = 0
+        galleryPageMutableFlow.value = ParticipantGalleryPage(0, 1)
         displayedRemoteParticipantsViewModelMap.clear()
         remoteParticipantsUpdatedStateFlow.value = mutableListOf()
     }
@@ -64,7 +80,10 @@ internal class ParticipantGridViewModel(
         return remoteParticipantsUpdatedStateFlow
     }
 
-    fun setUpdateVideoStreamsCallback(callback: (List<Pair<String, String>>) -> Unit) {
+    // callback receives the displayed video streams and the video streams worth pre-warming
+    fun setUpdateVideoStreamsCallback(
+        callback: (List<Pair<String, String>>, List<Pair<String, String>>) -> Unit,
+    ) {
         this.updateVideoStreamsCallback = callback
     }
 
@@ -75,6 +94,14 @@ internal class ParticipantGridViewModel(
 
     fun getIsOverlayDisplayedFlow(): StateFlow<Boolean> = isOverlayDisplayedFlow
 
+    // The first page shows the dominant speakers, the gallery pages after it hold every participant
+    // in join order, getMaxRemoteParticipantsSize() per page, so a participant stays on the same
+    // page while the speakers change. Only the participants of the current page have cell view
+    // models and video streams
+    fun showNextGalleryPage(): Boolean = showGalleryPage(galleryPageIndex + 1)
+
+    fun showPreviousGalleryPage(): Boolean = showGalleryPage(galleryPageIndex - 1)
+
     fun update(
         remoteParticipantsMapUpdatedTimestamp: Number,
         remoteParticipantsMap: Map<String, ParticipantInfoModel>,
@@ -100,14 +127,44 @@ internal class ParticipantGridViewModel(
         remoteParticipantStateModifiedTimeStamp = remoteParticipantsMapUpdatedTimestamp
         dominantSpeakersStateModifiedTimestamp = dominantSpeakersModifiedTimestamp
         this.visibilityStatus = visibilityStatus
+        this.remoteParticipantsMap = remoteParticipantsMap
+        this.dominantSpeakersInfo = dominantSpeakersInfo
 
+        updateRemoteParticipants()
+    }
+
+    private fun showGalleryPage(pageIndex: Int): Boolean {
+        if (pageIndex < 0 || pageIndex >= galleryPageMutableFlow.value.pageCount) {
+            return false
+        }
+        galleryPageIndex = pageIndex
+        updateRemoteParticipants()
+        return true
+    }
+
+    private fun updateRemoteParticipants() {
         var remoteParticipantsMapSorted = remoteParticipantsMap
         val participantSharingScreen = getParticipantSharingScreen(remoteParticipantsMap)
+        val pageSize = getMaxRemoteParticipantsSize()
+        // picture in picture only shows the first participant of the first page
+        val pageCount = if (participantSharingScreen.isNullOrEmpty() &&
+            visibilityStatus == VisibilityStatus.VISIBLE &&
+            remoteParticipantsMap.size > pageSize
+        ) {
+            1 + (remoteParticipantsMap.size + pageSize - 1) / pageSize
+        } else {
+            1
+        }
+        val pageIndex = galleryPageIndex.coerceAtMost(pageCount - 1)
+        if (visibilityStatus == VisibilityStatus.VISIBLE) {
+            galleryPageIndex = pageIndex
+        }
+        galleryPageMutableFlow.value = ParticipantGalleryPage(pageIndex, pageCount)
 
         if (participantSharingScreen.isNullOrEmpty()) {
-            if (remoteParticipantsMap.size > getMaxRemoteParticipantsSize()) {
+            if (remoteParticipantsMap.size > pageSize) {
                 remoteParticipantsMapSorted =
-                    sortRemoteParticipants(remoteParticipantsMap, dominantSpeakersInfo)
+                    sortRemoteParticipants(getPageParticipants(pageIndex, pageSize), dominantSpeakersInfo)
             }
         } else {
             remoteParticipantsMapSorted = mapOf(
@@ -118,7 +175,17 @@ internal class ParticipantGridViewModel(
             )
         }
 
-        updateRemoteParticipantsVideoStreams(remoteParticipantsMapSorted)
+        onDisplayedParticipantsChanged(
+            if (visibilityStatus == VisibilityStatus.VISIBLE || visibilityStatus == VisibilityStatus.PIP_MODE_ENTERED)
+                remoteParticipantsMapSorted.keys else emptySet()
+        )
+
+        updateRemoteParticipantsVideoStreams(
+            remoteParticipantsMapSorted,
+            if (participantSharingScreen.isNullOrEmpty() && pageIndex == 0)
+                getNextLikelyDisplayedParticipants(remoteParticipantsMapSorted)
+            else emptyMap(),
+        )
 
         updateDisplayedParticipants(remoteParticipantsMapSorted.toMutableMap())
     }
@@ -158,9 +225,7 @@ internal class ParticipantGridViewModel(
         }.toMutableList()
 
         alreadyDisplayedParticipants.forEach { (id, participantViewModel) ->
-            if (participantViewModel.getParticipantModifiedTimestamp()
-                != remoteParticipantsMapSorted[id]!!.modifiedTimestamp
-            ) {
+            if (!participantViewModel.isShowingSnapshot(remoteParticipantsMapSorted[id]!!)) {
                 participantViewModel.update(
                     remoteParticipantsMapSorted[id]!!,
                 )
@@ -212,8 +277,22 @@ internal class ParticipantGridViewModel(
         mutableParticipantUpdated.emit()
     }
 
+    // The participants the page is picked from, all of them for the first page
+    // The later pages are slices in join order, the participant map iterates in hash order,
+    // which changes as participants join and leave
+    private fun getPageParticipants(pageIndex: Int, pageSize: Int): List<Pair<String, ParticipantInfoModel>> {
+        return if (pageIndex == 0) {
+            remoteParticipantsMap.toList()
+        } else {
+            remoteParticipantsMap.toList()
+                .sortedBy { it.second.joinOrder }
+                .drop((pageIndex - 1) * pageSize)
+                .take(pageSize)
+        }
+    }
+
     private fun sortRemoteParticipants(
-        remoteParticipantsMap: Map<String, ParticipantInfoModel>,
+        participants: List<Pair<String, ParticipantInfoModel>>,
         dominantSpeakersInfo: List<String>,
     ): Map<String, ParticipantInfoModel> {
 
@@ -255,13 +334,30 @@ internal class ParticipantGridViewModel(
                 return@Comparator 1
         }
 
-        return remoteParticipantsMap.toList()
+        return participants
             .sortedWith(lengthComparator)
             .take(getMaxRemoteParticipantsSize()).toMap()
     }
 
+    // Recent dominant speakers that are not displayed are the participants most likely to be
+    // displayed on the next update
+    private fun getNextLikelyDisplayedParticipants(
+        displayedParticipants: Map<String, ParticipantInfoModel>,
+    ): Map<String, ParticipantInfoModel> {
+        if (visibilityStatus != VisibilityStatus.VISIBLE) {
+            return emptyMap()
+        }
+        return dominantSpeakersInfo.asSequence()
+            .filter { !displayedParticipants.containsKey(it) }
+            .mapNotNull { id -> remoteParticipantsMap[id]?.let { Pair(id, it) } }
+            .filter { (_, participant) -> participant.cameraVideoStreamModel != null }
+            .take(MAX_PREWARM_PARTICIPANTS)
+            .toMap()
+    }
+
     private fun updateRemoteParticipantsVideoStreams(
         participantViewModelMap: Map<String, ParticipantInfoModel>,
+        nextLikelyDisplayedParticipants: Map<String, ParticipantInfoModel>,
     ) {
         val usersVideoStream: MutableList<Pair<String, String>> = mutableListOf()
         participantViewModelMap.forEach { (participantId, participant) ->
@@ -282,6 +378,13 @@ internal class ParticipantGridViewModel(
                 )
             }
         }
-        updateVideoStreamsCallback?.invoke(usersVideoStream)
+        val prewarmUsersVideoStream = nextLikelyDisplayedParticipants.map { (participantId, participant) ->
+            Pair(participantId, participant.cameraVideoStreamModel!!.videoStreamID)
+        }
+        updateVideoStreamsCallback?.invoke(usersVideoStream, prewarmUsersVideoStream)
+    }
+
+    companion object {
+        private const val MAX_PREWARM_PARTICIPANTS = 2
     }
 }
@@ -12,11 +12,11 @@ import android.widget.ImageView
 import android.widget.TextView
 import androidx.constraintlayout.widget.ConstraintLayout
 import androidx.core.content.ContextCompat
-import androidx.lifecycle.LifecycleCoroutineScope
 import com.azure.android.communication.ui.calling.implementation.R
 import com.azure.android.communication.ui.calling.models.CallCompositeParticipantViewData
 import com.azure.android.communication.ui.calling.presentation.fragment.calling.participant.grid.ParticipantGridCellViewModel
 import com.microsoft.fluentui.persona.AvatarView
+import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.flow.collect
 import kotlinx.coroutines.launch
 
@@ -30,12 +30,12 @@ internal class ParticipantGridCellAvatarView(
     private val participantViewModel: ParticipantGridCellViewModel,
     private val onHoldTextView: TextView,
     private val context: Context,
-    lifecycleScope: LifecycleCoroutineScope,
+    coroutineScope: CoroutineScope,
 ) {
     private var lastParticipantViewData: CallCompositeParticipantViewData? = null
 
     init {
-        lifecycleScope.launch {
+        coroutineScope.launch {
             participantViewModel.getDisplayNameStateFlow().collect {
                 lastParticipantViewData = null
                 setDisplayName(it)
@@ -43,20 +43,20 @@ internal class ParticipantGridCellAvatarView(
             }
         }
 
-        lifecycleScope.launch {
+        coroutineScope.launch {
             participantViewModel.showCallingTextStateFlow().collect {
                 lastParticipantViewData = null
                 updateParticipantViewData()
             }
         }
 
-        lifecycleScope.launch {
+        coroutineScope.launch {
             participantViewModel.getIsMutedStateFlow().collect {
                 setMicButtonVisibility(it)
             }
         }
 
-        lifecycleScope.launch {
+        coroutineScope.launch {
             participantViewModel.getIsOnHoldStateFlow().collect {
                 if (it) {
                     onHoldTextView.visibility = VISIBLE
@@ -70,13 +70,13 @@ internal class ParticipantGridCellAvatarView(
             }
         }
 
-        lifecycleScope.launch {
+        coroutineScope.launch {
             participantViewModel.getIsSpeakingStateFlow().collect {
                 setSpeakingIndicator(it)
             }
         }
 
-        lifecycleScope.launch {
+        coroutineScope.launch {
             participantViewModel.getVideoViewModelStateFlow().collect {
                 if (it != null) {
                     participantContainer.visibility = INVISIBLE
@@ -14,7 +14,6 @@ import android.widget.ImageView
 import android.widget.TextView
 import androidx.constraintlayout.widget.ConstraintLayout
 import androidx.core.content.ContextCompat
-import androidx.lifecycle.LifecycleCoroutineScope
 import com.azure.android.communication.ui.calling.implementation.R
 import com.azure.android.communication.ui.calling.models.StreamType
 import com.azure.android.communication.ui.calling.models.CallCompositeParticipantViewData
@@ -23,12 +22,13 @@ import com.azure.android.communication.ui.calling.presentation.fragment.calling.
 import com.azure.android.communication.ui.calling.presentation.fragment.calling.participant.grid.screenshare.ScreenShareViewManager
 import com.azure.android.communication.ui.calling.presentation.fragment.calling.participant.grid.screenshare.ScreenShareZoomFrameLayout
 import com.azure.android.communication.ui.calling.service.sdk.VideoStreamRenderer
+import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.flow.collect
 import kotlinx.coroutines.launch
 
 internal class ParticipantGridCellVideoView(
     private val context: Context,
-    lifecycleScope: LifecycleCoroutineScope,
+    coroutineScope: CoroutineScope,
     private val participantVideoContainerSpeakingFrameLayout: FrameLayout,
     private val videoContainer: ConstraintLayout,
     private val displayNameAndMicIndicatorViewContainer: View,
@@ -45,7 +45,7 @@ internal class ParticipantGridCellVideoView(
     private var lastParticipantViewData: CallCompositeParticipantViewData? = null
 
     init {
-        lifecycleScope.launch {
+        coroutineScope.launch {
             participantViewModel.getDisplayNameStateFlow().collect {
                 lastParticipantViewData = null
                 setDisplayName(it)
@@ -53,31 +53,31 @@ internal class ParticipantGridCellVideoView(
             }
         }
 
-        lifecycleScope.launch {
+        coroutineScope.launch {
             participantViewModel.showCallingTextStateFlow().collect {
                 lastParticipantViewData = null
                 updateParticipantViewData()
             }
         }
 
-        lifecycleScope.launch {
+        coroutineScope.launch {
             participantViewModel.getIsMutedStateFlow().collect {
                 setMicButtonVisibility(it)
             }
         }
 
-        lifecycleScope.launch {
+        coroutineScope.launch {
             participantViewModel.getIsNameIndicatorVisibleStateFlow().collect {
                 setNameAndMicIndicatorViewVisibility(it)
             }
         }
 
-        lifecycleScope.launch {
+        coroutineScope.launch {
             participantViewModel.getIsSpeakingStateFlow().collect {
                 setSpeakingIndicator(it)
             }
         }
-        lifecycleScope.launch {
+        coroutineScope.launch {
             participantViewModel.getVideoViewModelStateFlow().collect {
                 updateVideoStream(it)
                 if (it != null) {
@@ -102,6 +102,13 @@ internal class ParticipantGridCellVideoView(
         }
     }
 
+    // Detaches the renderer so the cell can be bound to another participant
+    fun unbind() {
+        detachFromParentView(videoStream)
+        videoStream = null
+        removeScreenShareZoomView()
+    }
+
     private fun updateVideoStream(
         videoViewModel: VideoViewModel?,
     ) {
@@ -32,6 +32,7 @@ import com.azure.android.communication.ui.calling.presentation.manager.DebugInfo
 import com.azure.android.communication.ui.calling.presentation.manager.UpdatableOptionsManager
 import com.azure.android.communication.ui.calling.redux.Store
 import com.azure.android.communication.ui.calling.redux.state.ReduxState
+import com.azure.android.communication.ui.calling.service.ParticipantUpdateScheduler
 
 internal class CallingViewModelFactory(
     private val store: Store<ReduxState>,
@@ -48,6 +49,7 @@ internal class CallingViewModelFactory(
     private val callScreenControlBarOptions: CallCompositeCallScreenControlBarOptions?,
     private val isCaptionsEnabled: Boolean = false,
     private val logger: Logger,
+    private val participantUpdateScheduler: ParticipantUpdateScheduler? = null,
 ) : BaseViewModelFactory(store) {
 
     val moreCallOptionsListViewModel by lazy {
@@ -68,7 +70,9 @@ internal class CallingViewModelFactory(
     }
 
     val participantGridViewModel by lazy {
-        ParticipantGridViewModel(participantGridCellViewModelFactory, maxRemoteParticipants)
+        ParticipantGridViewModel(participantGridCellViewModelFactory, maxRemoteParticipants) {
+            participantUpdateScheduler?.setDisplayedParticipants(it)
+        }
     }
 
     val controlBarViewModel by lazy {
@@ -20,5 +20,6 @@ internal class ParticipantGridCellViewModelFactory {
             participantInfoModel.isSpeaking,
             participantInfoModel.modifiedTimestamp,
             participantInfoModel.participantStatus,
+            participantInfoModel,
         )
 }
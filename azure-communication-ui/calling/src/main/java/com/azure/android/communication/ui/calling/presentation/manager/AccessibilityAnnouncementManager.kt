@@ -16,8 +16,11 @@ import com.azure.android.communication.ui.calling.redux.state.CameraDeviceSelect
 import com.azure.android.communication.ui.calling.redux.state.CameraOperationalStatus
 import com.azure.android.communication.ui.calling.redux.state.CaptionsStatus
 import com.azure.android.communication.ui.calling.redux.state.ReduxState
+import com.azure.android.communication.ui.calling.redux.state.StateSlice
 import com.azure.android.communication.ui.calling.redux.state.ToastNotificationKind
+import com.azure.android.communication.ui.calling.redux.state.changedSlicesSince
 import kotlinx.coroutines.flow.collect
+import java.util.EnumSet
 
 // Manager to hook into accessibility and provide announcements
 // To add a Hook, extend AccessibilityHook and add to the "Hooks" list at the bottom of this file
@@ -31,8 +34,9 @@ internal class AccessibilityAnnouncementManager(
     suspend fun start(activity: Activity) {
         lastState = store.getCurrentState()
         store.getStateFlow().collect { newState ->
+            val changedSlices = newState.changedSlicesSince(lastState)
             accessibilityHooks.forEach {
-                if (it.shouldTrigger(lastState, newState)) {
+                if (it.slices.any(changedSlices::contains) && it.shouldTrigger(lastState, newState)) {
                     val message = it.message(lastState, newState, activity)
                     if (message.isNotBlank()) {
                         announce(activity, message)
@@ -57,12 +61,16 @@ internal class AccessibilityAnnouncementManager(
 // Accessibility Hook
 // shouldTrigger -> detect if we should announce something
 // message -> get the text tp read
+// slices -> state slices read by shouldTrigger, the hook is skipped when none of them changed
 internal abstract class AccessibilityHook {
+    open val slices: Set<StateSlice> = StateSlice.ALL
     abstract fun shouldTrigger(lastState: ReduxState, newState: ReduxState): Boolean
     abstract fun message(lastState: ReduxState, newState: ReduxState, context: Context): String
 }
 
 internal class ParticipantAddedOrRemovedHook : AccessibilityHook() {
+    override val slices: Set<StateSlice> = EnumSet.of(StateSlice.CALL, StateSlice.REMOTE_PARTICIPANTS)
+
     private var callJoinTime = System.currentTimeMillis()
     override fun shouldTrigger(lastState: ReduxState, newState: ReduxState): Boolean {
         if (lastState.callState.callingStatus != CallingStatus.CONNECTED && newState.callState.callingStatus == CallingStatus.CONNECTED) {
@@ -106,6 +114,8 @@ internal class ParticipantAddedOrRemovedHook : AccessibilityHook() {
 }
 
 internal class MeetingJoinedHook : AccessibilityHook() {
+    override val slices: Set<StateSlice> = EnumSet.of(StateSlice.CALL)
+
     override fun shouldTrigger(lastState: ReduxState, newState: ReduxState) =
         (lastState.callState.callingStatus != CallingStatus.CONNECTED && newState.callState.callingStatus == CallingStatus.CONNECTED)
 
@@ -114,6 +124,8 @@ internal class MeetingJoinedHook : AccessibilityHook() {
 }
 
 internal class SwitchCameraStatusHook : AccessibilityHook() {
+    override val slices: Set<StateSlice> = EnumSet.of(StateSlice.LOCAL_PARTICIPANT)
+
     override fun shouldTrigger(lastState: ReduxState, newState: ReduxState): Boolean =
         (lastState.localParticipantState.cameraState.device != newState.localParticipantState.cameraState.device)
 
@@ -127,6 +139,8 @@ internal class SwitchCameraStatusHook : AccessibilityHook() {
 }
 
 internal class CameraStatusHook : AccessibilityHook() {
+    override val slices: Set<StateSlice> = EnumSet.of(StateSlice.LOCAL_PARTICIPANT)
+
     override fun shouldTrigger(lastState: ReduxState, newState: ReduxState): Boolean =
         (lastState.localParticipantState.cameraState.operation != newState.localParticipantState.cameraState.operation)
 
@@ -140,6 +154,8 @@ internal class CameraStatusHook : AccessibilityHook() {
 }
 
 internal class CaptionsStatusHook : AccessibilityHook() {
+    override val slices: Set<StateSlice> = EnumSet.of(StateSlice.CAPTIONS)
+
     override fun shouldTrigger(lastState: ReduxState, newState: ReduxState) =
         (lastState.captionsState.status != newState.captionsState.status)
 
@@ -152,6 +168,8 @@ internal class CaptionsStatusHook : AccessibilityHook() {
 }
 
 internal class NotificationStatusHook : AccessibilityHook() {
+    override val slices: Set<StateSlice> = EnumSet.of(StateSlice.TOAST_NOTIFICATION)
+
     override fun shouldTrigger(lastState: ReduxState, newState: ReduxState) =
         newState.toastNotificationState.kinds
             .any { kind -> kind !in lastState.toastNotificationState.kinds }
@@ -19,11 +19,11 @@ import com.azure.android.communication.ui.calling.utilities.EventFlow
 import com.azure.android.communication.ui.calling.utilities.MutableEventFlow
 import com.azure.android.communication.ui.calling.utilities.launchAll
 import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.channels.Channel
 import kotlinx.coroutines.delay
 import kotlinx.coroutines.flow.MutableSharedFlow
 import kotlinx.coroutines.flow.SharedFlow
 import kotlinx.coroutines.flow.collect
-import kotlinx.coroutines.isActive
 import kotlinx.coroutines.sync.Mutex
 import kotlinx.coroutines.sync.withLock
 import java.time.Duration
@@ -31,27 +31,41 @@ import java.time.Instant
 import java.util.Date
 import kotlin.math.min
 
+// Records are kept in a ring buffer indexed by speaker and RTT sequence id. A partial record is
+// finalized once it has not been updated for PARTIAL_RECORD_TIMEOUT_MILLIS, timed from the
+// oldest partial record rather than by sweeping the records.
 internal class CaptionsRttDataManager(
     private val callingService: CallingService,
     private val appStore: AppStore<ReduxState>,
     private val avatarViewManager: AvatarViewManager,
     private val localParticipantIdentifier: CommunicationIdentifier?,
     private val localParticipantDisplayName: String?,
+    private val currentTimeMillis: () -> Long = System::currentTimeMillis,
 ) {
+    companion object {
+        private const val PARTIAL_RECORD_TIMEOUT_MILLIS = 10000L
+    }
+
     private val mutex = Mutex()
     private var isCaptionsOn = false
-    private val captionsAndRttMutableList = mutableListOf<CaptionsRttRecord>()
+    private val captionsAndRttRecords = CaptionsRttRecordBuffer(CallingFragment.MAX_CAPTIONS_DATA_SIZE)
     private val mutableRecordRemovedAtPosition = MutableSharedFlow<Int>()
     private val mutableRecordUpdatedAtPosition = MutableSharedFlow<Int>()
     private val mutableRecordInsertedAtPosition = MutableSharedFlow<Int>()
-    private var isRttInfoItemAdded = false
+    private val mutableRecordsUpdatedInRange = MutableSharedFlow<IntRange>()
     private val captionsRttUpdatedMutableEventFlow = MutableEventFlow()
+    private val partialRecordAdded = Channel<Unit>(Channel.CONFLATED)
+    private var isRttInfoItemAdded = false
 
-    val captionsAndRttData: List<CaptionsRttRecord> = captionsAndRttMutableList
+    val captionsAndRttData: List<CaptionsRttRecord> = captionsAndRttRecords
     val recordUpdatedAtPosition: SharedFlow<Int> = mutableRecordUpdatedAtPosition
     val recordInsertedAtPosition: SharedFlow<Int> = mutableRecordInsertedAtPosition
     val recordRemovedAtPosition: SharedFlow<Int> = mutableRecordRemovedAtPosition
 
+    // several adjacent records changed at once, single records are sent by position
+    val recordsUpdatedInRange: SharedFlow<IntRange> = mutableRecordsUpdatedInRange
+
+    // the records were changed in several places at once, the whole list is rebound
     val captionsRttUpdated: EventFlow = captionsRttUpdatedMutableEventFlow
 
     fun start(coroutineScope: CoroutineScope) {
@@ -66,7 +80,7 @@ internal class CaptionsRttDataManager(
                 startStateConsumption()
             },
             {
-                startCleanupProcessing(coroutineScope)
+                startPartialRecordExpiry()
             }
         )
     }
@@ -91,11 +105,10 @@ internal class CaptionsRttDataManager(
                     languageCode = languageCode,
                     isFinal = captionData.resultType == CaptionsResultType.FINAL,
                     timestamp = captionData.timestamp,
-                    lastUpdated = Date(),
+                    lastUpdated = Date(currentTimeMillis()),
                     type = CaptionsRttType.CAPTIONS,
                 )
 
-                removeOverflownCaptionsFromCache()
                 handleCaptionData(record)
             }
         }
@@ -117,13 +130,12 @@ internal class CaptionsRttDataManager(
                     languageCode = null,
                     isFinal = rttRecord.isFinalized,
                     timestamp = rttRecord.localCreatedTime,
-                    lastUpdated = Date(),
+                    lastUpdated = Date(currentTimeMillis()),
                     type = CaptionsRttType.RTT,
                     isLocal = rttRecord.isLocal,
                     rttSequenceId = rttRecord.sequenceId,
                 )
 
-                removeOverflownCaptionsFromCache()
                 handleRttData(captionsRecord)
             }
         }
@@ -146,14 +158,14 @@ internal class CaptionsRttDataManager(
         }
     }
 
-    private suspend fun startCleanupProcessing(
-        coroutineScope1: CoroutineScope
-    ) {
-        while (coroutineScope1.isActive) {
-            mutex.withLock {
-                cleanDeadRecords()
+    private suspend fun startPartialRecordExpiry() {
+        while (true) {
+            val nextExpiryInMillis = mutex.withLock { finalizeExpiredRecords() }
+            if (nextExpiryInMillis == null) {
+                partialRecordAdded.receive()
+            } else {
+                delay(nextExpiryInMillis)
             }
-            delay(timeMillis = 10000)
         }
     }
 
@@ -163,12 +175,6 @@ internal class CaptionsRttDataManager(
         return !activeCaptionLanguage.isNullOrEmpty() && captionData.captionLanguage.isNullOrEmpty()
     }
 
-    private suspend fun removeOverflownCaptionsFromCache() {
-        if (captionsAndRttMutableList.size >= CallingFragment.MAX_CAPTIONS_DATA_SIZE) {
-            removeAtIndex(0)
-        }
-    }
-
     private fun getCaptionTextAndLanguage(captionData: CallCompositeCaptionsData): Pair<String, String?> {
         return if (!captionData.captionText.isNullOrEmpty()) {
             captionData.captionText to captionData.captionLanguage
@@ -179,16 +185,13 @@ internal class CaptionsRttDataManager(
 
     private suspend fun handleRttData(newCaptionsRecord: CaptionsRttRecord) {
         ensureRttMessageIsDisplayed()
-        val lastCaptionFromSameUser = captionsAndRttMutableList.lastOrNull {
-            it.rttSequenceId == newCaptionsRecord.rttSequenceId
-        }
+        val lastCaptionIndex = newCaptionsRecord.rttSequenceId?.let { captionsAndRttRecords.indexOfRtt(it) } ?: -1
 
-        if (lastCaptionFromSameUser != null) {
+        if (lastCaptionIndex >= 0) {
             if (newCaptionsRecord.displayText.isEmpty()) {
-                val indexToBeRemoved = captionsAndRttMutableList.indexOf(lastCaptionFromSameUser)
-                removeAtIndex(indexToBeRemoved)
+                removeAtIndex(lastCaptionIndex)
             } else {
-                updateCaptionsRttRecord(lastCaptionFromSameUser, newCaptionsRecord)
+                updateCaptionsRttRecord(lastCaptionIndex, newCaptionsRecord)
             }
         } else {
             if (newCaptionsRecord.displayText.isNotEmpty()) {
@@ -222,23 +225,19 @@ internal class CaptionsRttDataManager(
         ) {
             return // Skip this duplicate caption
         }
-        var lastCaptionFromSameUser = getLastCaptionFromUser(newCaptionsRecord.speakerRawId, CaptionsRttType.CAPTIONS)
+        val lastCaptionIndex = captionsAndRttRecords.indexOfCaptionsFrom(newCaptionsRecord.speakerRawId)
 
-        if (lastCaptionFromSameUser != null && shouldFinalizeLastCaption(lastCaptionFromSameUser, newCaptionsRecord)) {
-            lastCaptionFromSameUser = finalizeLastCaption(lastCaptionFromSameUser)
+        if (lastCaptionIndex >= 0 && shouldFinalizeLastCaption(captionsAndRttRecords[lastCaptionIndex], newCaptionsRecord)) {
+            finalizeAtIndex(lastCaptionIndex)
         }
 
-        if (lastCaptionFromSameUser?.isFinal == false) {
-            updateCaptionsRttRecord(lastCaptionFromSameUser, newCaptionsRecord)
+        if (lastCaptionIndex >= 0 && !captionsAndRttRecords[lastCaptionIndex].isFinal) {
+            updateCaptionsRttRecord(lastCaptionIndex, newCaptionsRecord)
         } else {
             addNewCaption(newCaptionsRecord)
         }
     }
 
-    private fun getLastCaptionFromUser(speakerRawId: String?, type: CaptionsRttType): CaptionsRttRecord? {
-        return captionsAndRttMutableList.lastOrNull { it.type == type && it.speakerRawId == speakerRawId }
-    }
-
     private fun shouldFinalizeLastCaption(lastCaption: CaptionsRttRecord, newCaptionsRecord: CaptionsRttRecord): Boolean {
         val duration = Duration.between(
             Instant.ofEpochMilli(lastCaption.timestamp.time),
@@ -250,14 +249,12 @@ internal class CaptionsRttDataManager(
     private suspend fun addNewCaption(data: CaptionsRttRecord) {
         var index = 0
         if (data.type == CaptionsRttType.CAPTIONS) {
-            index = captionsAndRttMutableList.indexOfLast {
-                it.type == CaptionsRttType.CAPTIONS || it.isFinal
-            } + 1
+            index = captionsAndRttRecords.settledEnd
         } else {
-            index = captionsAndRttMutableList.size
+            index = captionsAndRttRecords.size
 
-            if (captionsAndRttMutableList.lastOrNull()?.isLocal == true &&
-                captionsAndRttMutableList.lastOrNull()?.isFinal == false
+            if (captionsAndRttRecords.lastOrNull()?.isLocal == true &&
+                captionsAndRttRecords.lastOrNull()?.isFinal == false
             ) {
                 index -= 1
             }
@@ -266,32 +263,21 @@ internal class CaptionsRttDataManager(
         insertCaption(index, data)
     }
 
-    private suspend fun updateCaptionsRttRecord(lastCaptionFromSameUser: CaptionsRttRecord, captionsRecord: CaptionsRttRecord) {
-        val lastCaptionIndex = captionsAndRttMutableList.indexOf(lastCaptionFromSameUser)
-
-        if (captionsRecord.type == CaptionsRttType.RTT) {
-            var moveToIndex = captionsAndRttMutableList.indexOfLast {
-                it.type == CaptionsRttType.CAPTIONS || it.isFinal
-            } + 1
-            moveToIndex = min(moveToIndex, captionsAndRttMutableList.size)
-
-            if (captionsRecord.isFinal && lastCaptionIndex != moveToIndex) {
-                insertCaption(moveToIndex, captionsRecord)
+    private suspend fun updateCaptionsRttRecord(lastCaptionIndex: Int, captionsRecord: CaptionsRttRecord) {
+        if (captionsRecord.type == CaptionsRttType.RTT && captionsRecord.isFinal) {
+            // only a finalized message moves, partial updates stay in place
+            val moveToIndex = captionsAndRttRecords.settledEnd
+            if (lastCaptionIndex != moveToIndex) {
                 removeAtIndex(lastCaptionIndex)
-            } else {
-                updateAtIndex(lastCaptionIndex, captionsRecord)
+                insertCaption(if (lastCaptionIndex < moveToIndex) moveToIndex - 1 else moveToIndex, captionsRecord)
+                return
             }
-        } else {
-            updateAtIndex(lastCaptionIndex, captionsRecord)
         }
+        updateAtIndex(lastCaptionIndex, captionsRecord)
     }
 
-    private suspend fun finalizeLastCaption(captionsRecord: CaptionsRttRecord): CaptionsRttRecord {
-        val captionIndex = captionsAndRttMutableList.indexOf(captionsRecord)
-        val finalizedCaptionsRecord = captionsRecord.copy(isFinal = true)
-        captionsAndRttMutableList[captionIndex] = finalizedCaptionsRecord
-        mutableRecordUpdatedAtPosition.emit(captionIndex)
-        return finalizedCaptionsRecord
+    private suspend fun finalizeAtIndex(index: Int) {
+        updateAtIndex(index, captionsAndRttRecords[index].copy(isFinal = true))
     }
 
     private fun getRttSenderDisplayName(rttRecord: RttMessage): String? {
@@ -326,38 +312,75 @@ internal class CaptionsRttDataManager(
     }
 
     private suspend fun insertCaption(index: Int, data: CaptionsRttRecord) {
-        captionsAndRttMutableList.add(index, data)
-        mutableRecordInsertedAtPosition.emit(index)
+        var insertAt = index
+        if (captionsAndRttRecords.isFull) {
+            captionsAndRttRecords.dropFirst()
+            mutableRecordRemovedAtPosition.emit(0)
+            insertAt = maxOf(0, insertAt - 1)
+        }
+        captionsAndRttRecords.insert(insertAt, data)
+        mutableRecordInsertedAtPosition.emit(insertAt)
+        if (!data.isFinal) {
+            partialRecordAdded.trySend(Unit)
+        }
     }
 
     private suspend fun updateAtIndex(index: Int, data: CaptionsRttRecord) {
-        captionsAndRttMutableList[index] = data
+        captionsAndRttRecords.replace(index, data)
         mutableRecordUpdatedAtPosition.emit(index)
+        if (!data.isFinal) {
+            partialRecordAdded.trySend(Unit)
+        }
     }
 
     private suspend fun removeAtIndex(index: Int) {
-        captionsAndRttMutableList.removeAt(index)
+        captionsAndRttRecords.removeRecordAt(index)
         mutableRecordRemovedAtPosition.emit(index)
     }
 
+    // Stopping captions is rare, a single rebind keeps the adapter count in step with the list
     private fun removeCaptions() {
-        captionsAndRttMutableList.removeAll { it.type == CaptionsRttType.CAPTIONS }
-        captionsRttUpdatedMutableEventFlow.emit()
+        if (captionsAndRttRecords.removeRecords { it.type == CaptionsRttType.CAPTIONS }.isNotEmpty()) {
+            captionsRttUpdatedMutableEventFlow.emit()
+        }
     }
 
-    private suspend fun cleanDeadRecords() {
-        for (i in captionsAndRttData.indices) {
-            val item = captionsAndRttData[i]
-            if (!item.isFinal && item.lastUpdated < Date.from(Instant.now().minusSeconds(10))) {
-                updateAtIndex(i, item.copy(isFinal = true))
+    // Returns the time until the next partial record expires, null when none is partial
+    private suspend fun finalizeExpiredRecords(): Long? {
+        val now = currentTimeMillis()
+        var nextExpiryInMillis: Long? = null
+        val expiredIndices = mutableListOf<Int>()
+        captionsAndRttRecords.partialIndices().forEach {
+            val expiresInMillis = captionsAndRttRecords[it].lastUpdated.time + PARTIAL_RECORD_TIMEOUT_MILLIS - now
+            if (expiresInMillis <= 0) {
+                expiredIndices.add(it)
+            } else {
+                nextExpiryInMillis = min(nextExpiryInMillis ?: expiresInMillis, expiresInMillis)
+            }
+        }
+        expiredIndices.forEach {
+            captionsAndRttRecords.replace(it, captionsAndRttRecords[it].copy(isFinal = true))
+        }
+        var rangeStart = 0
+        while (rangeStart < expiredIndices.size) {
+            var rangeEnd = rangeStart
+            while (rangeEnd + 1 < expiredIndices.size && expiredIndices[rangeEnd + 1] == expiredIndices[rangeEnd] + 1) {
+                rangeEnd++
+            }
+            if (rangeStart == rangeEnd) {
+                mutableRecordUpdatedAtPosition.emit(expiredIndices[rangeStart])
+            } else {
+                mutableRecordsUpdatedInRange.emit(expiredIndices[rangeStart]..expiredIndices[rangeEnd])
             }
+            rangeStart = rangeEnd + 1
         }
+        return nextExpiryInMillis
     }
 
     private fun isDuplicateRttAndCaption(
         newCaptionsRecord: CaptionsRttRecord
     ): Boolean {
-        val lastFinalRtt = captionsAndRttMutableList
+        val lastFinalRtt = captionsAndRttRecords
             .lastOrNull {
                 it.type == CaptionsRttType.RTT && it.isFinal && newCaptionsRecord.speakerRawId?.contains(it.speakerRawId ?: "") == true
             }
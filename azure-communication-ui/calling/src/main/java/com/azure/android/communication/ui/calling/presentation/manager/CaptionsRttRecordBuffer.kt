@@ -0,0 +1,218 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.calling.presentation.manager
+
+import com.azure.android.communication.ui.calling.presentation.fragment.calling.captions.CaptionsRttRecord
+import com.azure.android.communication.ui.calling.presentation.fragment.calling.captions.CaptionsRttType
+
+// Fixed capacity ring buffer of the captions and RTT records, in display order
+//
+// Records are indexed by key, the speaker for captions and the sequence id for RTT, to the
+// position of the last record with that key, so the partial record to update is found in O(1).
+// Dropping the first record is O(1), inserts and removals shift the records after them, which
+// are the few RTT records still being typed at the end of the list. The position after the last
+// captions or final record, where new captions and finalized RTT go, is kept up to date as well.
+internal class CaptionsRttRecordBuffer(private val capacity: Int) : AbstractList<CaptionsRttRecord>() {
+    private data class CaptionsKey(val speakerRawId: String?)
+    private data class RttKey(val sequenceId: Int)
+
+    private val slots = arrayOfNulls<CaptionsRttRecord>(capacity)
+    private var head = 0
+    private var count = 0
+
+    // absolute position of the first record, the index holds absolute positions so dropping the
+    // first record leaves the other entries valid
+    private var firstPosition = 0L
+    private val lastPositionByKey = HashMap<Any, Long>()
+
+    // keys whose last record is partial, only the last record of a key is ever partial
+    private val partialKeys = HashSet<Any>()
+
+    override val size: Int get() = count
+
+    // Index after the last captions or final record, only RTT still being typed follows it
+    var settledEnd = 0
+        private set
+
+    val isFull: Boolean get() = count == capacity
+
+    override fun get(index: Int): CaptionsRttRecord {
+        checkIndex(index, count)
+        return slots[slotOf(index)]!!
+    }
+
+    fun indexOfCaptionsFrom(speakerRawId: String?) = indexOfKey(CaptionsKey(speakerRawId))
+
+    fun indexOfRtt(sequenceId: Int) = indexOfKey(RttKey(sequenceId))
+
+    // Ascending
+    fun partialIndices(): List<Int> = partialKeys.map { indexOfKey(it) }.sorted()
+
+    fun insert(index: Int, record: CaptionsRttRecord) {
+        check(!isFull) { "Buffer is full, drop the first record before inserting" }
+        checkIndex(index, count + 1)
+        for (i in count downTo index + 1) {
+            move(i - 1, i)
+        }
+        count++
+        slots[slotOf(index)] = record
+        keyOf(record)?.let { index(it, absolute(index), record) }
+        if (index < settledEnd) {
+            settledEnd++
+        } else if (isSettled(record)) {
+            settledEnd = index + 1
+        }
+    }
+
+    fun replace(index: Int, record: CaptionsRttRecord): CaptionsRttRecord {
+        val previous = get(index)
+        slots[slotOf(index)] = record
+        val previousKey = keyOf(previous)
+        val key = keyOf(record)
+        if (previousKey != null && previousKey != key) {
+            unindex(previousKey, absolute(index))
+        }
+        key?.let { index(it, absolute(index), record) }
+        if (isSettled(record)) {
+            settledEnd = maxOf(settledEnd, index + 1)
+        } else if (index == settledEnd - 1) {
+            settledEnd = settledEndBefore(index)
+        }
+        return previous
+    }
+
+    fun dropFirst(): CaptionsRttRecord {
+        val record = get(0)
+        keyOf(record)?.let {
+            // no record before the first one can take its place
+            if (lastPositionByKey[it] == firstPosition) {
+                lastPositionByKey.remove(it)
+                partialKeys.remove(it)
+            }
+        }
+        slots[head] = null
+        head = (head + 1) % capacity
+        firstPosition++
+        count--
+        settledEnd = maxOf(0, settledEnd - 1)
+        return record
+    }
+
+    fun removeRecordAt(index: Int): CaptionsRttRecord {
+        val record = get(index)
+        keyOf(record)?.let { unindex(it, absolute(index)) }
+        if (index == settledEnd - 1) {
+            settledEnd = settledEndBefore(index)
+        } else if (index < settledEnd) {
+            settledEnd--
+        }
+        for (i in index until count - 1) {
+            move(i + 1, i)
+        }
+        slots[slotOf(count - 1)] = null
+        count--
+        return record
+    }
+
+    // Returns the removed ranges from the last one, so each range is valid once the ranges after it
+    // are removed
+    fun removeRecords(predicate: (CaptionsRttRecord) -> Boolean): List<IntRange> {
+        val kept = ArrayList<CaptionsRttRecord>(count)
+        val removed = mutableListOf<IntRange>()
+        var removedFrom = -1
+        for (i in 0 until count) {
+            val record = get(i)
+            if (predicate(record)) {
+                if (removedFrom < 0) removedFrom = i
+            } else {
+                if (removedFrom >= 0) {
+                    removed.add(removedFrom until i)
+                    removedFrom = -1
+                }
+                kept.add(record)
+            }
+        }
+        if (removedFrom >= 0) {
+            removed.add(removedFrom until count)
+        }
+        if (removed.isNotEmpty()) {
+            clear()
+            kept.forEach { insert(count, it) }
+        }
+        return removed.asReversed()
+    }
+
+    private fun clear() {
+        slots.fill(null)
+        head = 0
+        count = 0
+        firstPosition = 0
+        lastPositionByKey.clear()
+        partialKeys.clear()
+        settledEnd = 0
+    }
+
+    private fun isSettled(record: CaptionsRttRecord) =
+        record.type == CaptionsRttType.CAPTIONS || record.isFinal
+
+    // Walks back to the previous captions or final record, usually the record right before index
+    private fun settledEndBefore(index: Int): Int {
+        for (i in index - 1 downTo 0) {
+            if (isSettled(get(i))) return i + 1
+        }
+        return 0
+    }
+
+    private fun indexOfKey(key: Any): Int =
+        lastPositionByKey[key]?.let { (it - firstPosition).toInt() } ?: -1
+
+    private fun index(key: Any, position: Long, record: CaptionsRttRecord) {
+        val lastPosition = lastPositionByKey[key]
+        if (lastPosition == null || lastPosition <= position) {
+            lastPositionByKey[key] = position
+            if (record.isFinal) partialKeys.remove(key) else partialKeys.add(key)
+        }
+    }
+
+    // The record at position no longer has the key, the last record before it with the key takes its
+    // place in the index
+    private fun unindex(key: Any, position: Long) {
+        if (lastPositionByKey[key] != position) return
+        lastPositionByKey.remove(key)
+        partialKeys.remove(key)
+        for (i in (position - firstPosition).toInt() - 1 downTo 0) {
+            val record = get(i)
+            if (keyOf(record) == key) {
+                index(key, absolute(i), record)
+                return
+            }
+        }
+    }
+
+    private fun move(from: Int, to: Int) {
+        val record = slots[slotOf(from)]!!
+        slots[slotOf(to)] = record
+        keyOf(record)?.let {
+            if (lastPositionByKey[it] == absolute(from)) {
+                lastPositionByKey[it] = absolute(to)
+            }
+        }
+    }
+
+    private fun keyOf(record: CaptionsRttRecord): Any? = when (record.type) {
+        CaptionsRttType.CAPTIONS -> CaptionsKey(record.speakerRawId)
+        CaptionsRttType.RTT -> record.rttSequenceId?.let { RttKey(it) }
+        CaptionsRttType.RTT_INFO -> null
+    }
+
+    private fun absolute(index: Int) = firstPosition + index
+
+    private fun slotOf(index: Int) = (head + index) % capacity
+
+    private fun checkIndex(index: Int, size: Int) {
+        if (index < 0 || index >= size) {
+            throw IndexOutOfBoundsException("index: $index, size: $size")
+        }
+    }
+}
@@ -8,6 +8,8 @@ import com.azure.android.communication.ui.calling.models.CallCompositeCallHistor
 import com.azure.android.communication.ui.calling.models.CallCompositeDebugInfo
 import com.azure.android.communication.ui.calling.models.buildCallCompositeDebugInfo
 import com.azure.android.communication.ui.calling.models.buildCallHistoryRecord
+import com.azure.android.communication.ui.calling.presentation.VideoRendererPoolMetrics
+import com.azure.android.communication.ui.calling.redux.StoreMetrics
 import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.runBlocking
 import kotlinx.coroutines.withContext
@@ -15,11 +17,17 @@ import java.io.File
 
 internal interface DebugInfoManager {
     fun getDebugInfo(): CallCompositeDebugInfo
+
+    // Store metrics, the trace of the last actions and the video renderer pool counters, null when
+    // metrics are disabled
+    fun dumpMetrics(): String?
 }
 
 internal class DebugInfoManagerImpl(
     private val callHistoryRepository: CallHistoryRepository,
     private val getLogFiles: () -> List<File>,
+    private val storeMetrics: StoreMetrics? = null,
+    private val getRendererPoolMetrics: () -> VideoRendererPoolMetrics? = { null },
 ) : DebugInfoManager {
 
     override fun getDebugInfo(): CallCompositeDebugInfo {
@@ -29,6 +37,15 @@ internal class DebugInfoManagerImpl(
         return buildCallCompositeDebugInfo(callHistory, getLogFiles)
     }
 
+    override fun dumpMetrics(): String? {
+        val storeMetricsDump = storeMetrics?.takeIf { it.isEnabled }?.dump() ?: return null
+        val rendererPool = getRendererPoolMetrics() ?: return storeMetricsDump
+        return storeMetricsDump +
+            "Renderer pool: ${rendererPool.hits} hits, ${rendererPool.misses} misses, " +
+            "${rendererPool.evictions} evictions, ${rendererPool.prewarms} prewarms, " +
+            "${rendererPool.pooledRenderers} pooled renderers"
+    }
+
     private suspend fun getCallHistory(): List<CallCompositeCallHistoryRecord> {
         return callHistoryRepository.getAll()
             .groupBy {
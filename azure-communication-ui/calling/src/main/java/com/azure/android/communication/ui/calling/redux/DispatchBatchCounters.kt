@@ -0,0 +1,36 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.calling.redux
+
+// Counters for batched dispatch
+// Written from the store dispatcher only, read from any thread
+internal class DispatchBatchCounters {
+    @Volatile
+    var batchCount: Long = 0
+        private set
+
+    @Volatile
+    var actionCount: Long = 0
+        private set
+
+    @Volatile
+    var maxActionsPerBatch: Int = 0
+        private set
+
+    @Volatile
+    var totalReduceTimeNanos: Long = 0
+        private set
+
+    val averageActionsPerBatch: Double
+        get() = if (batchCount == 0L) 0.0 else actionCount.toDouble() / batchCount
+
+    fun onBatchReduced(actions: Int, reduceTimeNanos: Long) {
+        batchCount++
+        actionCount += actions
+        if (actions > maxActionsPerBatch) {
+            maxActionsPerBatch = actions
+        }
+        totalReduceTimeNanos += reduceTimeNanos
+    }
+}
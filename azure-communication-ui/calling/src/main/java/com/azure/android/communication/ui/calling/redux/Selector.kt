@@ -0,0 +1,147 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.calling.redux
+
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.flow.SharingStarted
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.stateIn
+
+// Derives a value from the state
+internal fun interface Selector<in S, out R> {
+    fun select(state: S): R
+}
+
+// Memoized selector
+//
+// The combiner only runs when one of the inputs returns a different instance than on
+// the previous call, otherwise the previous result instance is returned.
+// Reducers carry untouched slices over by reference, so identity is an exact change check
+// for slices and for other memoized selectors used as inputs.
+//
+// Selectors keep the last inputs, create one per consumer rather than sharing across threads.
+internal class MemoizedSelector<in S, out R>(
+    private val inputs: Array<out Selector<S, Any?>>,
+    private val combiner: (Array<Any?>) -> R,
+) : Selector<S, R> {
+    private val lastInputs = arrayOfNulls<Any?>(inputs.size)
+    private var lastResult: Any? = null
+    private var hasResult = false
+
+    var recomputations = 0
+        private set
+
+    override fun select(state: S): R {
+        var changed = !hasResult
+        for (i in inputs.indices) {
+            val value = inputs[i].select(state)
+            if (value !== lastInputs[i]) {
+                lastInputs[i] = value
+                changed = true
+            }
+        }
+        if (changed) {
+            lastResult = combiner(lastInputs.copyOf())
+            hasResult = true
+            recomputations++
+        }
+        @Suppress("UNCHECKED_CAST")
+        return lastResult as R
+    }
+
+    fun reset() {
+        lastInputs.fill(null)
+        lastResult = null
+        hasResult = false
+    }
+}
+
+@Suppress("UNCHECKED_CAST")
+internal fun <S, A, R> createSelector(
+    input: Selector<S, A>,
+    combiner: (A) -> R,
+): MemoizedSelector<S, R> =
+    MemoizedSelector(arrayOf(input)) { combiner(it[0] as A) }
+
+@Suppress("UNCHECKED_CAST")
+internal fun <S, A, B, R> createSelector(
+    inputA: Selector<S, A>,
+    inputB: Selector<S, B>,
+    combiner: (A, B) -> R,
+): MemoizedSelector<S, R> =
+    MemoizedSelector(arrayOf(inputA, inputB)) { combiner(it[0] as A, it[1] as B) }
+
+@Suppress("UNCHECKED_CAST")
+internal fun <S, A, B, C, R> createSelector(
+    inputA: Selector<S, A>,
+    inputB: Selector<S, B>,
+    inputC: Selector<S, C>,
+    combiner: (A, B, C) -> R,
+): MemoizedSelector<S, R> =
+    MemoizedSelector(arrayOf(inputA, inputB, inputC)) { combiner(it[0] as A, it[1] as B, it[2] as C) }
+
+@Suppress("UNCHECKED_CAST")
+internal fun <S, A, B, C, D, R> createSelector(
+    inputA: Selector<S, A>,
+    inputB: Selector<S, B>,
+    inputC: Selector<S, C>,
+    inputD: Selector<S, D>,
+    combiner: (A, B, C, D) -> R,
+): MemoizedSelector<S, R> =
+    MemoizedSelector(arrayOf(inputA, inputB, inputC, inputD)) {
+        combiner(it[0] as A, it[1] as B, it[2] as C, it[3] as D)
+    }
+
+// Any number of inputs, the combiner receives the input values in order
+internal fun <S, R> createSelector(
+    inputs: List<Selector<S, Any?>>,
+    combiner: (Array<Any?>) -> R,
+): MemoizedSelector<S, R> =
+    MemoizedSelector(inputs.toTypedArray(), combiner)
+
+// Reports whether any of the inputs changed since the previous call
+//
+// Used to skip pushing state into a child view model when none of the slices it reads changed
+internal class SelectorGate<in S>(vararg inputs: Selector<S, Any?>) {
+    private val selector = createSelector(inputs.toList()) { }
+
+    fun hasChanged(state: S): Boolean {
+        val recomputations = selector.recomputations
+        selector.select(state)
+        return selector.recomputations != recomputations
+    }
+
+    fun reset() {
+        selector.reset()
+    }
+}
+
+// Result built from the whole state, only rebuilt when one of the inputs changed
+//
+// For results that read more slices than a combiner over the input values takes comfortably
+internal class GatedSelector<S, R>(
+    inputs: List<Selector<S, Any?>>,
+    private val build: (S) -> R,
+) : Selector<S, R> {
+    private val gate = SelectorGate(*inputs.toTypedArray())
+    private var result: R? = null
+
+    override fun select(state: S): R {
+        if (gate.hasChanged(state)) {
+            result = build(state)
+        }
+        @Suppress("UNCHECKED_CAST")
+        return result as R
+    }
+}
+
+// StateFlow of the selected value, emits only when the selected value changes
+internal fun <S, R> Store<S>.select(
+    coroutineScope: CoroutineScope,
+    selector: Selector<S, R>,
+): StateFlow<R> =
+    getStateFlow()
+        .map { selector.select(it) }
+        .stateIn(coroutineScope, SharingStarted.Eagerly, selector.select(getCurrentState()))
@@ -0,0 +1,42 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.calling.redux
+
+import com.azure.android.communication.ui.calling.models.ParticipantCapabilityType
+import com.azure.android.communication.ui.calling.redux.state.AudioSessionState
+import com.azure.android.communication.ui.calling.redux.state.ButtonState
+import com.azure.android.communication.ui.calling.redux.state.CallDiagnosticsState
+import com.azure.android.communication.ui.calling.redux.state.CallScreenInfoHeaderState
+import com.azure.android.communication.ui.calling.redux.state.CallingState
+import com.azure.android.communication.ui.calling.redux.state.CaptionsState
+import com.azure.android.communication.ui.calling.redux.state.DeviceConfigurationState
+import com.azure.android.communication.ui.calling.redux.state.LifecycleState
+import com.azure.android.communication.ui.calling.redux.state.LocalUserState
+import com.azure.android.communication.ui.calling.redux.state.NavigationState
+import com.azure.android.communication.ui.calling.redux.state.PermissionState
+import com.azure.android.communication.ui.calling.redux.state.ReduxState
+import com.azure.android.communication.ui.calling.redux.state.RemoteParticipantsState
+import com.azure.android.communication.ui.calling.redux.state.RttState
+import com.azure.android.communication.ui.calling.redux.state.ToastNotificationState
+import com.azure.android.communication.ui.calling.redux.state.VisibilityState
+
+// Input selectors for the top level slices, stateless and safe to share
+internal object StateSelectors {
+    val callState = Selector<ReduxState, CallingState> { it.callState }
+    val remoteParticipantState = Selector<ReduxState, RemoteParticipantsState> { it.remoteParticipantState }
+    val localParticipantState = Selector<ReduxState, LocalUserState> { it.localParticipantState }
+    val capabilities = Selector<ReduxState, Set<ParticipantCapabilityType>> { it.localParticipantState.capabilities }
+    val permissionState = Selector<ReduxState, PermissionState> { it.permissionState }
+    val navigationState = Selector<ReduxState, NavigationState> { it.navigationState }
+    val audioSessionState = Selector<ReduxState, AudioSessionState> { it.audioSessionState }
+    val visibilityState = Selector<ReduxState, VisibilityState> { it.visibilityState }
+    val callDiagnosticsState = Selector<ReduxState, CallDiagnosticsState> { it.callDiagnosticsState }
+    val toastNotificationState = Selector<ReduxState, ToastNotificationState> { it.toastNotificationState }
+    val captionsState = Selector<ReduxState, CaptionsState> { it.captionsState }
+    val callScreenInfoHeaderState = Selector<ReduxState, CallScreenInfoHeaderState> { it.callScreenInfoHeaderState }
+    val buttonState = Selector<ReduxState, ButtonState> { it.buttonState }
+    val rttState = Selector<ReduxState, RttState> { it.rttState }
+    val deviceConfigurationState = Selector<ReduxState, DeviceConfigurationState> { it.deviceConfigurationState }
+    val lifecycleState = Selector<ReduxState, LifecycleState> { it.lifecycleState }
+}
@@ -8,6 +8,9 @@ import com.azure.android.communication.ui.calling.models.ParticipantInfoModel
 
 internal sealed class ParticipantAction : Action {
     class ListUpdated(val participantMap: Map<String, ParticipantInfoModel>) : ParticipantAction()
+    class ParticipantAdded(val participant: ParticipantInfoModel) : ParticipantAction()
+    class ParticipantRemoved(val userIdentifier: String) : ParticipantAction()
+    class ParticipantChanged(val participant: ParticipantInfoModel, val changedFields: Int) : ParticipantAction()
     class DominantSpeakersUpdated(val dominantSpeakersInfo: List<String>) : ParticipantAction()
     class AdmitAll : ParticipantAction()
     class Admit(val userIdentifier: String) : ParticipantAction()
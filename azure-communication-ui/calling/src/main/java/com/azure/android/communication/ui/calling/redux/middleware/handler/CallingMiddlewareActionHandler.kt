@@ -26,6 +26,7 @@ import com.azure.android.communication.ui.calling.models.NetworkCallDiagnostic
 import com.azure.android.communication.ui.calling.models.NetworkCallDiagnosticModel
 import com.azure.android.communication.ui.calling.models.NetworkQualityCallDiagnosticModel
 import com.azure.android.communication.ui.calling.models.ParticipantCapabilityType
+import com.azure.android.communication.ui.calling.models.ParticipantDelta
 import com.azure.android.communication.ui.calling.models.buildCallCompositeAudioSelectionChangedEvent
 import com.azure.android.communication.ui.calling.models.into
 import com.azure.android.communication.ui.calling.presentation.manager.CapabilitiesManager
@@ -42,6 +43,7 @@ import com.azure.android.communication.ui.calling.redux.action.ParticipantAction
 import com.azure.android.communication.ui.calling.redux.action.PermissionAction
 import com.azure.android.communication.ui.calling.redux.action.RttAction
 import com.azure.android.communication.ui.calling.redux.action.ToastNotificationAction
+import com.azure.android.communication.ui.calling.redux.batchWhileBusy
 import com.azure.android.communication.ui.calling.redux.state.AudioDeviceSelectionStatus
 import com.azure.android.communication.ui.calling.redux.state.AudioOperationalStatus
 import com.azure.android.communication.ui.calling.redux.state.CallingStatus
@@ -52,10 +54,13 @@ import com.azure.android.communication.ui.calling.redux.state.PermissionStatus
 import com.azure.android.communication.ui.calling.redux.state.ReduxState
 import com.azure.android.communication.ui.calling.redux.state.ToastNotificationKind
 import com.azure.android.communication.ui.calling.service.CallingService
+import com.azure.android.communication.ui.calling.service.ParticipantUpdateScheduler
 import com.azure.android.communication.ui.calling.utilities.CoroutineContextProvider
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.cancel
 import kotlinx.coroutines.flow.collect
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.merge
 import kotlinx.coroutines.isActive
 import kotlinx.coroutines.launch
 
@@ -116,7 +121,8 @@ internal class CallingMiddlewareActionHandlerImpl(
     coroutineContextProvider: CoroutineContextProvider,
     private val configuration: CallCompositeConfiguration,
     private val capabilitiesManager: CapabilitiesManager,
-    private val localOptions: CallCompositeLocalOptions? = null
+    private val localOptions: CallCompositeLocalOptions? = null,
+    private val participantUpdateScheduler: ParticipantUpdateScheduler = ParticipantUpdateScheduler(),
 ) :
     CallingMiddlewareActionHandler {
     private val coroutineScope = CoroutineScope((coroutineContextProvider.Default))
@@ -756,10 +762,11 @@ internal class CallingMiddlewareActionHandlerImpl(
         store: Store<ReduxState>,
     ) {
         coroutineScope.launch {
-            callingService.getParticipantsInfoModelSharedFlow().collect {
+            participantUpdateScheduler.schedule(callingService.getParticipantDeltaSharedFlow()) {
+                store.getCurrentState().remoteParticipantState.participantMap.size
+            }.collect { deltas ->
                 if (isActive) {
-                    val participantUpdateAction = ParticipantAction.ListUpdated(HashMap(it))
-                    store.dispatch(participantUpdateAction)
+                    store.dispatchBatch(deltas.map { it.toParticipantAction() })
                 }
             }
         }
@@ -840,25 +847,18 @@ internal class CallingMiddlewareActionHandlerImpl(
         }
     }
 
+    // Diagnostics often change together, the ones that arrive while a batch is dispatched go in the next one
     private fun subscribeToUserFacingDiagnosticsUpdates(store: Store<ReduxState>) {
         coroutineScope.launch {
-            callingService.getNetworkQualityCallDiagnosticsFlow().collect {
-                val action = CallDiagnosticsAction.NetworkQualityCallDiagnosticsUpdated(it)
-                store.dispatch(action)
-            }
-        }
-
-        coroutineScope.launch {
-            callingService.getNetworkCallDiagnosticsFlow().collect {
-                val action = CallDiagnosticsAction.NetworkCallDiagnosticsUpdated(it)
-                store.dispatch(action)
-            }
-        }
-
-        coroutineScope.launch {
-            callingService.getMediaCallDiagnosticsFlow().collect {
-                val action = CallDiagnosticsAction.MediaCallDiagnosticsUpdated(it)
-                store.dispatch(action)
+            merge(
+                callingService.getNetworkQualityCallDiagnosticsFlow()
+                    .map { CallDiagnosticsAction.NetworkQualityCallDiagnosticsUpdated(it) },
+                callingService.getNetworkCallDiagnosticsFlow()
+                    .map { CallDiagnosticsAction.NetworkCallDiagnosticsUpdated(it) },
+                callingService.getMediaCallDiagnosticsFlow()
+                    .map { CallDiagnosticsAction.MediaCallDiagnosticsUpdated(it) },
+            ).batchWhileBusy().collect {
+                store.dispatchBatch(it)
             }
         }
     }
@@ -1057,3 +1057,10 @@ internal class CallingMiddlewareActionHandlerImpl(
     }
     </CALL_START_TIME> */
 }
+
+private fun ParticipantDelta.toParticipantAction(): ParticipantAction = when (this) {
+    is ParticipantDelta.Added -> ParticipantAction.ParticipantAdded(participant)
+    is ParticipantDelta.Removed -> ParticipantAction.ParticipantRemoved(userIdentifier)
+    is ParticipantDelta.Changed -> ParticipantAction.ParticipantChanged(participant, changedFields)
+    is ParticipantDelta.Resynced -> ParticipantAction.ListUpdated(participants)
+}
@@ -0,0 +1,66 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.calling.redux.reducer
+
+import com.azure.android.communication.ui.calling.redux.action.Action
+import com.azure.android.communication.ui.calling.redux.action.AudioSessionAction
+import com.azure.android.communication.ui.calling.redux.action.ButtonViewDataAction
+import com.azure.android.communication.ui.calling.redux.action.CallDiagnosticsAction
+import com.azure.android.communication.ui.calling.redux.action.CallScreenInfoHeaderAction
+import com.azure.android.communication.ui.calling.redux.action.CallingAction
+import com.azure.android.communication.ui.calling.redux.action.CaptionsAction
+import com.azure.android.communication.ui.calling.redux.action.DeviceConfigurationAction
+import com.azure.android.communication.ui.calling.redux.action.ErrorAction
+import com.azure.android.communication.ui.calling.redux.action.LifecycleAction
+import com.azure.android.communication.ui.calling.redux.action.LocalParticipantAction
+import com.azure.android.communication.ui.calling.redux.action.NavigationAction
+import com.azure.android.communication.ui.calling.redux.action.ParticipantAction
+import com.azure.android.communication.ui.calling.redux.action.PermissionAction
+import com.azure.android.communication.ui.calling.redux.action.PipAction
+import com.azure.android.communication.ui.calling.redux.action.RttAction
+import com.azure.android.communication.ui.calling.redux.action.ToastNotificationAction
+import com.azure.android.communication.ui.calling.redux.state.StateSlice
+import java.util.EnumSet
+
+// Routing table from action family to the slices whose reducers handle it
+//
+// When a reducer starts handling an action of another family (e.g. LocalParticipantReducer
+// and NavigationAction), the slice must be added here or the reducer will not see the action.
+// Actions not listed run every reducer.
+internal fun Action.routedSlices(): Set<StateSlice> = when (this) {
+    is CallingAction -> CALL_SLICES
+    is ParticipantAction -> REMOTE_PARTICIPANTS_SLICES
+    is LocalParticipantAction -> LOCAL_PARTICIPANT_SLICES
+    is PermissionAction -> PERMISSION_SLICES
+    is LifecycleAction -> LIFECYCLE_SLICES
+    is ErrorAction -> ERROR_SLICES
+    is NavigationAction -> NAVIGATION_SLICES
+    is AudioSessionAction -> AUDIO_SESSION_SLICES
+    is PipAction -> VISIBILITY_SLICES
+    is CallDiagnosticsAction -> CALL_DIAGNOSTICS_SLICES
+    is ToastNotificationAction -> TOAST_NOTIFICATION_SLICES
+    is CaptionsAction -> CAPTIONS_SLICES
+    is CallScreenInfoHeaderAction -> CALL_SCREEN_INFO_HEADER_SLICES
+    is ButtonViewDataAction -> BUTTON_SLICES
+    is RttAction -> RTT_SLICES
+    is DeviceConfigurationAction -> DEVICE_CONFIGURATION_SLICES
+    else -> StateSlice.ALL
+}
+
+private val CALL_SLICES = EnumSet.of(StateSlice.CALL)
+private val REMOTE_PARTICIPANTS_SLICES = EnumSet.of(StateSlice.REMOTE_PARTICIPANTS)
+private val LOCAL_PARTICIPANT_SLICES = EnumSet.of(StateSlice.LOCAL_PARTICIPANT)
+private val PERMISSION_SLICES = EnumSet.of(StateSlice.PERMISSION)
+private val LIFECYCLE_SLICES = EnumSet.of(StateSlice.LIFECYCLE)
+private val ERROR_SLICES = EnumSet.of(StateSlice.ERROR)
+private val NAVIGATION_SLICES = EnumSet.of(StateSlice.NAVIGATION, StateSlice.LOCAL_PARTICIPANT)
+private val AUDIO_SESSION_SLICES = EnumSet.of(StateSlice.AUDIO_SESSION)
+private val VISIBILITY_SLICES = EnumSet.of(StateSlice.VISIBILITY)
+private val CALL_DIAGNOSTICS_SLICES = EnumSet.of(StateSlice.CALL_DIAGNOSTICS)
+private val TOAST_NOTIFICATION_SLICES = EnumSet.of(StateSlice.TOAST_NOTIFICATION)
+private val CAPTIONS_SLICES = EnumSet.of(StateSlice.CAPTIONS)
+private val CALL_SCREEN_INFO_HEADER_SLICES = EnumSet.of(StateSlice.CALL_SCREEN_INFO_HEADER)
+private val BUTTON_SLICES = EnumSet.of(StateSlice.BUTTON)
+private val RTT_SLICES = EnumSet.of(StateSlice.RTT)
+private val DEVICE_CONFIGURATION_SLICES = EnumSet.of(StateSlice.DEVICE_CONFIGURATION)
@@ -5,6 +5,8 @@ package com.azure.android.communication.ui.calling.redux.reducer
 
 import com.azure.android.communication.ui.calling.redux.action.Action
 import com.azure.android.communication.ui.calling.redux.state.AppReduxState
+import com.azure.android.communication.ui.calling.redux.state.StateSlice
+import com.azure.android.communication.ui.calling.redux.state.changedSlicesSince
 
 internal class AppStateReducer(
     private val callStateReducer: CallStateReducer,
@@ -26,37 +28,63 @@ internal class AppStateReducer(
 ) : Reducer<AppReduxState> {
 
     override fun reduce(state: AppReduxState, action: Action): AppReduxState {
-
-        val appState = state.copy()
-
-        appState.callState = callStateReducer.reduce(
-            state.callState,
-            action
-        )
-
-        appState.remoteParticipantState = participantStateReducer.reduce(
-            state.remoteParticipantState,
-            action
+        val slices = action.routedSlices()
+        val appState = state.copy(
+            callState = slices.reduceSlice(StateSlice.CALL, state.callState) {
+                callStateReducer.reduce(it, action)
+            },
+            remoteParticipantState = slices.reduceSlice(StateSlice.REMOTE_PARTICIPANTS, state.remoteParticipantState) {
+                participantStateReducer.reduce(it, action)
+            },
+            localParticipantState = slices.reduceSlice(StateSlice.LOCAL_PARTICIPANT, state.localParticipantState) {
+                localParticipantReducer.reduce(it, action)
+            },
+            permissionState = slices.reduceSlice(StateSlice.PERMISSION, state.permissionState) {
+                permissionStateReducer.reduce(it, action)
+            },
+            lifecycleState = slices.reduceSlice(StateSlice.LIFECYCLE, state.lifecycleState) {
+                lifecycleReducer.reduce(it, action)
+            },
+            errorState = slices.reduceSlice(StateSlice.ERROR, state.errorState) {
+                errorReducer.reduce(it, action)
+            },
+            navigationState = slices.reduceSlice(StateSlice.NAVIGATION, state.navigationState) {
+                navigationReducer.reduce(it, action)
+            },
+            audioSessionState = slices.reduceSlice(StateSlice.AUDIO_SESSION, state.audioSessionState) {
+                audioSessionReducer.reduce(it, action)
+            },
+            visibilityState = slices.reduceSlice(StateSlice.VISIBILITY, state.visibilityState) {
+                pipReducer.reduce(it, action)
+            },
+            callDiagnosticsState = slices.reduceSlice(StateSlice.CALL_DIAGNOSTICS, state.callDiagnosticsState) {
+                callDiagnosticsReducer.reduce(it, action)
+            },
+            toastNotificationState = slices.reduceSlice(StateSlice.TOAST_NOTIFICATION, state.toastNotificationState) {
+                toastNotificationReducer.reduce(it, action)
+            },
+            captionsState = slices.reduceSlice(StateSlice.CAPTIONS, state.captionsState) {
+                captionsReducer.reduce(it, action)
+            },
+            callScreenInfoHeaderState = slices.reduceSlice(StateSlice.CALL_SCREEN_INFO_HEADER, state.callScreenInfoHeaderState) {
+                callScreenInformationHeaderReducer.reduce(it, action)
+            },
+            buttonState = slices.reduceSlice(StateSlice.BUTTON, state.buttonState) {
+                buttonViewDataReducer.reduce(it, action)
+            },
+            rttState = slices.reduceSlice(StateSlice.RTT, state.rttState) {
+                rttReducer.reduce(it, action)
+            },
+            deviceConfigurationState = slices.reduceSlice(StateSlice.DEVICE_CONFIGURATION, state.deviceConfigurationState) {
+                deviceConfigurationReducer.reduce(it, action)
+            },
         )
 
-        appState.localParticipantState = localParticipantReducer.reduce(
-            state.localParticipantState,
-            action
-        )
-
-        appState.permissionState = permissionStateReducer.reduce(state.permissionState, action)
-        appState.lifecycleState = lifecycleReducer.reduce(state.lifecycleState, action)
-        appState.errorState = errorReducer.reduce(state.errorState, action)
-        appState.navigationState = navigationReducer.reduce(state.navigationState, action)
-        appState.audioSessionState = audioSessionReducer.reduce(state.audioSessionState, action)
-        appState.visibilityState = pipReducer.reduce(state.visibilityState, action)
-        appState.callDiagnosticsState = callDiagnosticsReducer.reduce(state.callDiagnosticsState, action)
-        appState.toastNotificationState = toastNotificationReducer.reduce(state.toastNotificationState, action)
-        appState.captionsState = captionsReducer.reduce(state.captionsState, action)
-        appState.callScreenInfoHeaderState = callScreenInformationHeaderReducer.reduce(state.callScreenInfoHeaderState, action)
-        appState.buttonState = buttonViewDataReducer.reduce(state.buttonState, action)
-        appState.rttState = rttReducer.reduce(state.rttState, action)
-        appState.deviceConfigurationState = deviceConfigurationReducer.reduce(state.deviceConfigurationState, action)
-        return appState
+        // Nothing changed, keep the previous instance so the state flow does not emit
+        return if (appState.changedSlicesSince(state).isEmpty()) state else appState
     }
+
+    // The slice is only reduced when the action is routed to it, otherwise the instance is kept
+    private inline fun <T> Set<StateSlice>.reduceSlice(slice: StateSlice, state: T, reduce: (T) -> T): T =
+        if (slice in this) reduce(state) else state
 }
@@ -6,6 +6,7 @@ package com.azure.android.communication.ui.calling.redux.reducer
 import com.azure.android.communication.ui.calling.redux.action.Action
 import com.azure.android.communication.ui.calling.redux.action.ParticipantAction
 import com.azure.android.communication.ui.calling.redux.state.RemoteParticipantsState
+import com.azure.android.communication.ui.calling.redux.state.toPersistentMap
 
 internal interface ParticipantStateReducer : Reducer<RemoteParticipantsState>
 
@@ -14,7 +15,46 @@ internal class ParticipantStateReducerImpl :
     override fun reduce(state: RemoteParticipantsState, action: Action): RemoteParticipantsState {
         return when (action) {
             is ParticipantAction.ListUpdated -> {
-                state.copy(participantMap = action.participantMap, participantMapModifiedTimestamp = System.currentTimeMillis())
+                // entries older than the applied ones keep the applied version
+                val participantMap = if (state.participantMap.isEmpty()) {
+                    action.participantMap
+                } else {
+                    action.participantMap.mapValues { (id, participant) ->
+                        state.participantMap[id]?.takeIf { it.version > participant.version } ?: participant
+                    }
+                }
+                state.copy(participantMap = participantMap, participantMapModifiedTimestamp = System.currentTimeMillis())
+            }
+            is ParticipantAction.ParticipantAdded -> {
+                state.copy(
+                    participantMap = state.participantMap.toPersistentMap()
+                        .put(action.participant.userIdentifier, action.participant),
+                    participantMapModifiedTimestamp = System.currentTimeMillis()
+                )
+            }
+            is ParticipantAction.ParticipantChanged -> {
+                // a change that was held back can be older than a full list received since, and a
+                // change of a participant that left since must not add them back
+                val current = state.participantMap[action.participant.userIdentifier]
+                if (current == null || current.version > action.participant.version) {
+                    state
+                } else {
+                    state.copy(
+                        participantMap = state.participantMap.toPersistentMap()
+                            .put(action.participant.userIdentifier, action.participant),
+                        participantMapModifiedTimestamp = System.currentTimeMillis()
+                    )
+                }
+            }
+            is ParticipantAction.ParticipantRemoved -> {
+                if (state.participantMap.containsKey(action.userIdentifier)) {
+                    state.copy(
+                        participantMap = state.participantMap.toPersistentMap().remove(action.userIdentifier),
+                        participantMapModifiedTimestamp = System.currentTimeMillis()
+                    )
+                } else {
+                    state
+                }
             }
             is ParticipantAction.DominantSpeakersUpdated -> {
                 state.copy(
@@ -7,41 +7,47 @@ import com.azure.android.communication.ui.calling.models.CallCompositeAudioVideo
 import com.azure.android.communication.ui.calling.models.CallCompositeLocalOptions
 import com.azure.android.communication.ui.calling.models.ParticipantCapabilityType
 
-internal class AppReduxState(
-    displayName: String?,
-    cameraOnByDefault: Boolean = false,
-    microphoneOnByDefault: Boolean = false,
-    skipSetupScreen: Boolean = false,
-    avMode: CallCompositeAudioVideoMode = CallCompositeAudioVideoMode.AUDIO_AND_VIDEO,
-    showCaptionsUI: Boolean = true,
-    private val localOptions: CallCompositeLocalOptions? = null
+// Slices are immutable, states built from another one share the slices they do not change
+internal class AppReduxState private constructor(
+    private val localOptions: CallCompositeLocalOptions?,
+    override var callState: CallingState,
+    override var remoteParticipantState: RemoteParticipantsState,
+    override var localParticipantState: LocalUserState,
+    override var permissionState: PermissionState,
+    override var lifecycleState: LifecycleState,
+    override var errorState: ErrorState,
+    override var navigationState: NavigationState,
+    override var audioSessionState: AudioSessionState,
+    override var visibilityState: VisibilityState,
+    override var callDiagnosticsState: CallDiagnosticsState,
+    override var toastNotificationState: ToastNotificationState,
+    override var captionsState: CaptionsState,
+    override var callScreenInfoHeaderState: CallScreenInfoHeaderState,
+    override var rttState: RttState,
+    override var buttonState: ButtonState,
+    override var deviceConfigurationState: DeviceConfigurationState,
 ) : ReduxState {
 
-    fun copy(): AppReduxState {
-        return AppReduxState(
-            displayName = localParticipantState.displayName,
-            cameraOnByDefault = localParticipantState.initialCallJoinState.startWithCameraOn,
-            microphoneOnByDefault = localParticipantState.initialCallJoinState.startWithMicrophoneOn,
-            skipSetupScreen = localParticipantState.initialCallJoinState.skipSetupScreen,
-            avMode = localParticipantState.audioVideoMode,
-            showCaptionsUI = captionsState.isCaptionsUIEnabled,
-            localOptions = localOptions
-        )
-    }
-
-    override var callState: CallingState = CallingState()
-
-    override var remoteParticipantState: RemoteParticipantsState = RemoteParticipantsState(
-        participantMap = HashMap(),
-        participantMapModifiedTimestamp = 0,
-        dominantSpeakersInfo = emptyList(),
-        dominantSpeakersModifiedTimestamp = 0,
-        lobbyErrorCode = null,
-        totalParticipantCount = 0,
-    )
-
-    override var localParticipantState: LocalUserState =
-        LocalUserState(
+    constructor(
+        displayName: String?,
+        cameraOnByDefault: Boolean = false,
+        microphoneOnByDefault: Boolean = false,
+        skipSetupScreen: Boolean = false,
+        avMode: CallCompositeAudioVideoMode = CallCompositeAudioVideoMode.AUDIO_AND_VIDEO,
+        showCaptionsUI: Boolean = true,
+        localOptions: CallCompositeLocalOptions? = null
+    ) : this(
+        localOptions = localOptions,
+        callState = CallingState(),
+        remoteParticipantState = RemoteParticipantsState(
+            participantMap = HashMap(),
+            participantMapModifiedTimestamp = 0,
+            dominantSpeakersInfo = emptyList(),
+            dominantSpeakersModifiedTimestamp = 0,
+            lobbyErrorCode = null,
+            totalParticipantCount = 0,
+        ),
+        localParticipantState = LocalUserState(
             CameraState(
                 operation = CameraOperationalStatus.OFF,
                 device = CameraDeviceSelectionStatus.FRONT,
@@ -69,114 +75,143 @@ internal class AppReduxState(
                 ParticipantCapabilityType.UNMUTE_MICROPHONE
             ),
             currentCapabilitiesAreDefault = true,
-        )
-
-    override var permissionState: PermissionState =
-        PermissionState(PermissionStatus.UNKNOWN, PermissionStatus.UNKNOWN)
-
-    override var lifecycleState = LifecycleState(LifecycleStatus.FOREGROUND)
-
-    override var errorState = ErrorState(fatalError = null, callStateError = null)
-
-    override var navigationState = NavigationState(NavigationStatus.NONE)
-
-    override var audioSessionState = AudioSessionState(audioFocusStatus = null)
-
-    override var visibilityState = VisibilityState(status = VisibilityStatus.VISIBLE)
-
-    override var callDiagnosticsState = CallDiagnosticsState(
-        networkQualityCallDiagnostic = null,
-        networkCallDiagnostic = null,
-        mediaCallDiagnostic = null
-    )
-
-    override var toastNotificationState: ToastNotificationState = ToastNotificationState(emptyList())
-
-    override var captionsState: CaptionsState = CaptionsState(isCaptionsUIEnabled = showCaptionsUI)
-
-    override var callScreenInfoHeaderState: CallScreenInfoHeaderState = CallScreenInfoHeaderState(
-        title = localOptions?.callScreenOptions?.headerViewData?.title,
-        subtitle = localOptions?.callScreenOptions?.headerViewData?.subtitle,
-        /* <CALL_START_TIME>
-        // By default display call duration until Contoso set to false
-        showCallDuration = localOptions?.callScreenOptions?.headerViewData?.showCallDuration ?: true,
-        </CALL_START_TIME> */
-    )
-
-    override var rttState = RttState()
-
-    override var buttonState: ButtonState = ButtonState(
-        callScreenCameraButtonState = DefaultButtonState(
-            isEnabled = localOptions?.callScreenOptions?.controlBarOptions?.cameraButton?.isEnabled,
-            isVisible = localOptions?.callScreenOptions?.controlBarOptions?.cameraButton?.isVisible,
-        ),
-        callScreenMicButtonState = DefaultButtonState(
-            isEnabled = localOptions?.callScreenOptions?.controlBarOptions?.microphoneButton?.isEnabled,
-            isVisible = localOptions?.callScreenOptions?.controlBarOptions?.microphoneButton?.isVisible,
-        ),
-        callScreenAudioDeviceButtonState = DefaultButtonState(
-            isEnabled = localOptions?.callScreenOptions?.controlBarOptions?.audioDeviceButton?.isEnabled,
-            isVisible = localOptions?.callScreenOptions?.controlBarOptions?.audioDeviceButton?.isVisible,
         ),
-        liveCaptionsButton = DefaultButtonState(
-            isEnabled = localOptions?.callScreenOptions?.controlBarOptions?.liveCaptionsButton?.isEnabled,
-            isVisible = localOptions?.callScreenOptions?.controlBarOptions?.liveCaptionsButton?.isVisible,
+        permissionState = PermissionState(PermissionStatus.UNKNOWN, PermissionStatus.UNKNOWN),
+        lifecycleState = LifecycleState(LifecycleStatus.FOREGROUND),
+        errorState = ErrorState(fatalError = null, callStateError = null),
+        navigationState = NavigationState(NavigationStatus.NONE),
+        audioSessionState = AudioSessionState(audioFocusStatus = null),
+        visibilityState = VisibilityState(status = VisibilityStatus.VISIBLE),
+        callDiagnosticsState = CallDiagnosticsState(
+            networkQualityCallDiagnostic = null,
+            networkCallDiagnostic = null,
+            mediaCallDiagnostic = null
         ),
-        liveCaptionsToggleButton = DefaultButtonState(
-            isEnabled = localOptions?.callScreenOptions?.controlBarOptions?.liveCaptionsButton?.isEnabled,
-            isVisible = localOptions?.callScreenOptions?.controlBarOptions?.liveCaptionsToggleButton?.isVisible,
+        toastNotificationState = ToastNotificationState(emptyList()),
+        captionsState = CaptionsState(isCaptionsUIEnabled = showCaptionsUI),
+        callScreenInfoHeaderState = CallScreenInfoHeaderState(
+            title = localOptions?.callScreenOptions?.headerViewData?.title,
+            subtitle = localOptions?.callScreenOptions?.headerViewData?.subtitle,
+            /* <CALL_START_TIME>
+            // By default display call duration until Contoso set to false
+            showCallDuration = localOptions?.callScreenOptions?.headerViewData?.showCallDuration ?: true,
+            </CALL_START_TIME> */
         ),
-        spokenLanguageButton = DefaultButtonState(
-            isEnabled = localOptions?.callScreenOptions?.controlBarOptions?.spokenLanguageButton?.isEnabled,
-            isVisible = localOptions?.callScreenOptions?.controlBarOptions?.spokenLanguageButton?.isVisible,
+        rttState = RttState(),
+        buttonState = defaultButtonState(localOptions),
+        deviceConfigurationState = DeviceConfigurationState(
+            isSoftwareKeyboardVisible = false,
+            isTablet = false,
+            isPortrait = false,
         ),
-        captionsLanguageButton = DefaultButtonState(
-            isEnabled = localOptions?.callScreenOptions?.controlBarOptions?.captionsLanguageButton?.isEnabled,
-            isVisible = localOptions?.callScreenOptions?.controlBarOptions?.captionsLanguageButton?.isVisible,
-        ),
-        shareDiagnosticsButton = DefaultButtonState(
-            isEnabled = localOptions?.callScreenOptions?.controlBarOptions?.shareDiagnosticsButton?.isEnabled,
-            isVisible = localOptions?.callScreenOptions?.controlBarOptions?.shareDiagnosticsButton?.isVisible,
-        ),
-        reportIssueButton = DefaultButtonState(
-            isEnabled = localOptions?.callScreenOptions?.controlBarOptions?.reportIssueButton?.isEnabled,
-            isVisible = localOptions?.callScreenOptions?.controlBarOptions?.reportIssueButton?.isVisible,
-        ),
-        setupScreenAudioDeviceButtonState = DefaultButtonState(
-            isEnabled = localOptions?.setupScreenOptions?.audioDeviceButton?.isEnabled,
-            isVisible = localOptions?.setupScreenOptions?.audioDeviceButton?.isVisible,
-        ),
-        setupScreenCameraButtonState = DefaultButtonState(
-            isEnabled = localOptions?.setupScreenOptions?.cameraButton?.isEnabled,
-            isVisible = localOptions?.setupScreenOptions?.cameraButton?.isVisible,
-        ),
-        setupScreenMicButtonState = DefaultButtonState(
-            isEnabled = localOptions?.setupScreenOptions?.microphoneButton?.isEnabled,
-            isVisible = localOptions?.setupScreenOptions?.microphoneButton?.isVisible,
-        ),
-        callScreenCustomButtonsState = localOptions?.callScreenOptions?.controlBarOptions?.customButtons?.map {
-            CustomButtonState(
-                id = it.id,
-                isEnabled = it.isEnabled,
-                isVisible = it.isVisible,
-                title = it.title,
-                drawableId = it.drawableId,
-            )
-        } ?: emptyList(),
-        callScreenHeaderCustomButtonsState = localOptions?.callScreenOptions?.headerViewData?.customButtons?.map {
-            CustomButtonState(
-                id = it.id,
-                isEnabled = it.isEnabled,
-                isVisible = it.isVisible,
-                title = it.title,
-                drawableId = it.drawableId,
-            )
-        } ?: emptyList()
     )
 
-    override var deviceConfigurationState = DeviceConfigurationState(
-        isSoftwareKeyboardVisible = false,
-        isTablet = false,
-        isPortrait = false,
+    companion object {
+        private fun defaultButtonState(localOptions: CallCompositeLocalOptions?) = ButtonState(
+            callScreenCameraButtonState = DefaultButtonState(
+                isEnabled = localOptions?.callScreenOptions?.controlBarOptions?.cameraButton?.isEnabled,
+                isVisible = localOptions?.callScreenOptions?.controlBarOptions?.cameraButton?.isVisible,
+            ),
+            callScreenMicButtonState = DefaultButtonState(
+                isEnabled = localOptions?.callScreenOptions?.controlBarOptions?.microphoneButton?.isEnabled,
+                isVisible = localOptions?.callScreenOptions?.controlBarOptions?.microphoneButton?.isVisible,
+            ),
+            callScreenAudioDeviceButtonState = DefaultButtonState(
+                isEnabled = localOptions?.callScreenOptions?.controlBarOptions?.audioDeviceButton?.isEnabled,
+                isVisible = localOptions?.callScreenOptions?.controlBarOptions?.audioDeviceButton?.isVisible,
+            ),
+            liveCaptionsButton = DefaultButtonState(
+                isEnabled = localOptions?.callScreenOptions?.controlBarOptions?.liveCaptionsButton?.isEnabled,
+                isVisible = localOptions?.callScreenOptions?.controlBarOptions?.liveCaptionsButton?.isVisible,
+            ),
+            liveCaptionsToggleButton = DefaultButtonState(
+                isEnabled = localOptions?.callScreenOptions?.controlBarOptions?.liveCaptionsButton?.isEnabled,
+                isVisible = localOptions?.callScreenOptions?.controlBarOptions?.liveCaptionsToggleButton?.isVisible,
+            ),
+            spokenLanguageButton = DefaultButtonState(
+                isEnabled = localOptions?.callScreenOptions?.controlBarOptions?.spokenLanguageButton?.isEnabled,
+                isVisible = localOptions?.callScreenOptions?.controlBarOptions?.spokenLanguageButton?.isVisible,
+            ),
+            captionsLanguageButton = DefaultButtonState(
+                isEnabled = localOptions?.callScreenOptions?.controlBarOptions?.captionsLanguageButton?.isEnabled,
+                isVisible = localOptions?.callScreenOptions?.controlBarOptions?.captionsLanguageButton?.isVisible,
+            ),
+            shareDiagnosticsButton = DefaultButtonState(
+                isEnabled = localOptions?.callScreenOptions?.controlBarOptions?.shareDiagnosticsButton?.isEnabled,
+                isVisible = localOptions?.callScreenOptions?.controlBarOptions?.shareDiagnosticsButton?.isVisible,
+            ),
+            reportIssueButton = DefaultButtonState(
+                isEnabled = localOptions?.callScreenOptions?.controlBarOptions?.reportIssueButton?.isEnabled,
+                isVisible = localOptions?.callScreenOptions?.controlBarOptions?.reportIssueButton?.isVisible,
+            ),
+            setupScreenAudioDeviceButtonState = DefaultButtonState(
+                isEnabled = localOptions?.setupScreenOptions?.audioDeviceButton?.isEnabled,
+                isVisible = localOptions?.setupScreenOptions?.audioDeviceButton?.isVisible,
+            ),
+            setupScreenCameraButtonState = DefaultButtonState(
+                isEnabled = localOptions?.setupScreenOptions?.cameraButton?.isEnabled,
+                isVisible = localOptions?.setupScreenOptions?.cameraButton?.isVisible,
+            ),
+            setupScreenMicButtonState = DefaultButtonState(
+                isEnabled = localOptions?.setupScreenOptions?.microphoneButton?.isEnabled,
+                isVisible = localOptions?.setupScreenOptions?.microphoneButton?.isVisible,
+            ),
+            callScreenCustomButtonsState = localOptions?.callScreenOptions?.controlBarOptions?.customButtons?.map {
+                CustomButtonState(
+                    id = it.id,
+                    isEnabled = it.isEnabled,
+                    isVisible = it.isVisible,
+                    title = it.title,
+                    drawableId = it.drawableId,
+                )
+            } ?: emptyList(),
+            callScreenHeaderCustomButtonsState = localOptions?.callScreenOptions?.headerViewData?.customButtons?.map {
+                CustomButtonState(
+                    id = it.id,
+                    isEnabled = it.isEnabled,
+                    isVisible = it.isVisible,
+                    title = it.title,
+                    drawableId = it.drawableId,
+                )
+            } ?: emptyList()
+        )
+    }
+
+    // Built in one step from the given slices, the others are shared with this state
+    fun copy(
+        callState: CallingState = this.callState,
+        remoteParticipantState: RemoteParticipantsState = this.remoteParticipantState,
+        localParticipantState: LocalUserState = this.localParticipantState,
+        permissionState: PermissionState = this.permissionState,
+        lifecycleState: LifecycleState = this.lifecycleState,
+        errorState: ErrorState = this.errorState,
+        navigationState: NavigationState = this.navigationState,
+        audioSessionState: AudioSessionState = this.audioSessionState,
+        visibilityState: VisibilityState = this.visibilityState,
+        callDiagnosticsState: CallDiagnosticsState = this.callDiagnosticsState,
+        toastNotificationState: ToastNotificationState = this.toastNotificationState,
+        captionsState: CaptionsState = this.captionsState,
+        callScreenInfoHeaderState: CallScreenInfoHeaderState = this.callScreenInfoHeaderState,
+        rttState: RttState = this.rttState,
+        buttonState: ButtonState = this.buttonState,
+        deviceConfigurationState: DeviceConfigurationState = this.deviceConfigurationState,
+    ) = AppReduxState(
+        localOptions = localOptions,
+        callState = callState,
+        remoteParticipantState = remoteParticipantState,
+        localParticipantState = localParticipantState,
+        permissionState = permissionState,
+        lifecycleState = lifecycleState,
+        errorState = errorState,
+        navigationState = navigationState,
+        audioSessionState = audioSessionState,
+        visibilityState = visibilityState,
+        callDiagnosticsState = callDiagnosticsState,
+        toastNotificationState = toastNotificationState,
+        captionsState = captionsState,
+        callScreenInfoHeaderState = callScreenInfoHeaderState,
+        rttState = rttState,
+        buttonState = buttonState,
+        deviceConfigurationState = deviceConfigurationState,
     )
 }
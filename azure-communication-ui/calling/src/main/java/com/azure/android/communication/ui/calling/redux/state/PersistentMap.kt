@@ -0,0 +1,71 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.calling.redux.state
+
+// Immutable map split in hash buckets
+//
+// put/remove copy a single bucket plus the bucket array and share every other bucket
+// with the previous map, so patching one entry of a large map does not copy the whole map.
+internal class PersistentMap<K, V> private constructor(
+    private val buckets: Array<Map<K, V>>,
+    override val size: Int,
+) : AbstractMap<K, V>() {
+
+    override val entries: Set<Map.Entry<K, V>> = object : AbstractSet<Map.Entry<K, V>>() {
+        override val size: Int
+            get() = this@PersistentMap.size
+
+        override fun iterator(): Iterator<Map.Entry<K, V>> =
+            buckets.asSequence().flatMap { it.entries.asSequence() }.iterator()
+    }
+
+    override fun get(key: K): V? = buckets[bucketIndexOf(key)][key]
+
+    override fun containsKey(key: K): Boolean = buckets[bucketIndexOf(key)].containsKey(key)
+
+    fun put(key: K, value: V): PersistentMap<K, V> {
+        val index = bucketIndexOf(key)
+        val bucket = buckets[index]
+        val isNewKey = !bucket.containsKey(key)
+        if (!isNewKey && bucket[key] === value) {
+            return this
+        }
+        val newBuckets = buckets.copyOf()
+        newBuckets[index] = HashMap(bucket).apply { put(key, value) }
+        return PersistentMap(newBuckets, if (isNewKey) size + 1 else size)
+    }
+
+    fun remove(key: K): PersistentMap<K, V> {
+        val index = bucketIndexOf(key)
+        val bucket = buckets[index]
+        if (!bucket.containsKey(key)) {
+            return this
+        }
+        val newBuckets = buckets.copyOf()
+        newBuckets[index] = HashMap(bucket).apply { remove(key) }
+        return PersistentMap(newBuckets, size - 1)
+    }
+
+    private fun bucketIndexOf(key: K) = ((key?.hashCode() ?: 0) and Int.MAX_VALUE) % BUCKET_COUNT
+
+    companion object {
+        private const val BUCKET_COUNT = 32
+
+        fun <K, V> empty(): PersistentMap<K, V> =
+            PersistentMap(Array(BUCKET_COUNT) { emptyMap() }, 0)
+
+        fun <K, V> of(map: Map<K, V>): PersistentMap<K, V> {
+            if (map is PersistentMap<K, V>) {
+                return map
+            }
+            val buckets = Array<HashMap<K, V>>(BUCKET_COUNT) { HashMap() }
+            map.forEach { (key, value) ->
+                buckets[((key?.hashCode() ?: 0) and Int.MAX_VALUE) % BUCKET_COUNT][key] = value
+            }
+            return PersistentMap(Array(BUCKET_COUNT) { buckets[it] }, map.size)
+        }
+    }
+}
+
+internal fun <K, V> Map<K, V>.toPersistentMap(): PersistentMap<K, V> = PersistentMap.of(this)
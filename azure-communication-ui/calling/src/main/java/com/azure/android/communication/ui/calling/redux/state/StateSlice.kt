@@ -0,0 +1,65 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.calling.redux.state
+
+import java.util.EnumSet
+
+// Top level slices of ReduxState, one per sub-reducer
+internal enum class StateSlice {
+    CALL,
+    REMOTE_PARTICIPANTS,
+    LOCAL_PARTICIPANT,
+    PERMISSION,
+    LIFECYCLE,
+    ERROR,
+    NAVIGATION,
+    AUDIO_SESSION,
+    VISIBILITY,
+    CALL_DIAGNOSTICS,
+    TOAST_NOTIFICATION,
+    CAPTIONS,
+    CALL_SCREEN_INFO_HEADER,
+    BUTTON,
+    RTT,
+    DEVICE_CONFIGURATION;
+
+    companion object {
+        val ALL: Set<StateSlice> = EnumSet.allOf(StateSlice::class.java)
+    }
+}
+
+internal fun ReduxState.slice(slice: StateSlice): Any = when (slice) {
+    StateSlice.CALL -> callState
+    StateSlice.REMOTE_PARTICIPANTS -> remoteParticipantState
+    StateSlice.LOCAL_PARTICIPANT -> localParticipantState
+    StateSlice.PERMISSION -> permissionState
+    StateSlice.LIFECYCLE -> lifecycleState
+    StateSlice.ERROR -> errorState
+    StateSlice.NAVIGATION -> navigationState
+    StateSlice.AUDIO_SESSION -> audioSessionState
+    StateSlice.VISIBILITY -> visibilityState
+    StateSlice.CALL_DIAGNOSTICS -> callDiagnosticsState
+    StateSlice.TOAST_NOTIFICATION -> toastNotificationState
+    StateSlice.CAPTIONS -> captionsState
+    StateSlice.CALL_SCREEN_INFO_HEADER -> callScreenInfoHeaderState
+    StateSlice.BUTTON -> buttonState
+    StateSlice.RTT -> rttState
+    StateSlice.DEVICE_CONFIGURATION -> deviceConfigurationState
+}
+
+// The reducer carries untouched slices over by reference,
+// so a slice changed if and only if its instance changed
+internal fun ReduxState.hasSliceChanged(previous: ReduxState, slice: StateSlice): Boolean =
+    this.slice(slice) !== previous.slice(slice)
+
+internal fun ReduxState.changedSlicesSince(previous: ReduxState): Set<StateSlice> {
+    if (this === previous) return emptySet()
+    val changed = EnumSet.noneOf(StateSlice::class.java)
+    StateSlice.values().forEach {
+        if (hasSliceChanged(previous, it)) {
+            changed.add(it)
+        }
+    }
+    return changed
+}
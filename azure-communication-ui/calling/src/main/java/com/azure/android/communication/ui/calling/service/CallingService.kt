@@ -13,7 +13,7 @@ import com.azure.android.communication.ui.calling.models.MediaCallDiagnosticMode
 import com.azure.android.communication.ui.calling.models.NetworkCallDiagnosticModel
 import com.azure.android.communication.ui.calling.models.NetworkQualityCallDiagnosticModel
 import com.azure.android.communication.ui.calling.models.ParticipantCapabilityType
-import com.azure.android.communication.ui.calling.models.ParticipantInfoModel
+import com.azure.android.communication.ui.calling.models.ParticipantDelta
 import com.azure.android.communication.ui.calling.models.ParticipantRole
 import com.azure.android.communication.ui.calling.models.RttMessage
 import com.azure.android.communication.ui.calling.redux.state.AudioState
@@ -44,8 +44,6 @@ internal class CallingService(
         private const val LOCAL_VIDEO_STREAM_ID = "BuiltInCameraVideoStream"
     }
 
-    private val participantsInfoModelSharedFlow =
-        MutableSharedFlow<Map<String, ParticipantInfoModel>>()
     private val dominantSpeakersSharedFlow = MutableSharedFlow<List<String>>()
     private var callInfoModelSharedFlow = MutableSharedFlow<CallInfoModel>()
 
@@ -106,8 +104,8 @@ internal class CallingService(
     fun getCallStartTimeSharedFlow(): SharedFlow<Date> = callingSdk.getCallStartTimeSharedFlow()
     </CALL_START_TIME> */
 
-    fun getParticipantsInfoModelSharedFlow(): SharedFlow<Map<String, ParticipantInfoModel>> {
-        return participantsInfoModelSharedFlow
+    fun getParticipantDeltaSharedFlow(): SharedFlow<ParticipantDelta> {
+        return callingSdk.getRemoteParticipantDeltaSharedFlow()
     }
 
     fun getLocalParticipantRoleSharedFlow(): SharedFlow<ParticipantRole?> {
@@ -172,12 +170,6 @@ internal class CallingService(
             }
         }
 
-        coroutineScope.launch {
-            callingSdk.getRemoteParticipantInfoModelSharedFlow().collect {
-                participantsInfoModelSharedFlow.emit(it)
-            }
-        }
-
         coroutineScope.launch {
             callingSdk.getDominantSpeakersSharedFlow().collect {
                 dominantSpeakersSharedFlow.emit(it.speakers)
@@ -0,0 +1,157 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.calling.service
+
+import com.azure.android.communication.ui.calling.models.CallCompositeParticipantUpdateOptions
+import com.azure.android.communication.ui.calling.models.ParticipantDelta
+import kotlinx.coroutines.FlowPreview
+import kotlinx.coroutines.channels.ChannelResult
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.channelFlow
+import kotlinx.coroutines.flow.produceIn
+import kotlinx.coroutines.selects.select
+
+// How long a participant change may wait before it is applied
+//
+// Changes to displayed participants are applied after minIntervalMillis in small, quiet calls.
+// The interval grows with the call size or the event rate, whichever is higher, up to
+// maxIntervalMillis. Changes to participants that are not displayed wait maxIntervalMillis.
+internal class ParticipantUpdateSamplingPolicy(
+    val minIntervalMillis: Long = DEFAULT_MIN_INTERVAL_MILLIS,
+    val maxIntervalMillis: Long = DEFAULT_MAX_INTERVAL_MILLIS,
+) {
+    companion object {
+        private const val DEFAULT_MIN_INTERVAL_MILLIS = 0L
+        private const val DEFAULT_MAX_INTERVAL_MILLIS = 1000L
+        private const val SMALL_CALL_PARTICIPANT_COUNT = 6
+        private const val LARGE_CALL_PARTICIPANT_COUNT = 50
+        private const val QUIET_EVENTS_PER_SECOND = 10
+        private const val BUSY_EVENTS_PER_SECOND = 100
+
+        fun from(options: CallCompositeParticipantUpdateOptions?): ParticipantUpdateSamplingPolicy {
+            if (options == null) {
+                return ParticipantUpdateSamplingPolicy()
+            }
+            val minIntervalMillis = options.minUpdateIntervalMillis.coerceAtLeast(0)
+            return ParticipantUpdateSamplingPolicy(
+                minIntervalMillis,
+                options.maxUpdateIntervalMillis.coerceAtLeast(minIntervalMillis),
+            )
+        }
+    }
+
+    fun getIntervalMillis(participantCount: Int, eventsPerSecond: Int, isDisplayed: Boolean): Long {
+        if (!isDisplayed) {
+            return maxIntervalMillis
+        }
+        if (participantCount <= SMALL_CALL_PARTICIPANT_COUNT && eventsPerSecond <= QUIET_EVENTS_PER_SECOND) {
+            return minIntervalMillis
+        }
+        val load = maxOf(
+            participantCount.toFloat() / LARGE_CALL_PARTICIPANT_COUNT,
+            eventsPerSecond.toFloat() / BUSY_EVENTS_PER_SECOND,
+        ).coerceAtMost(1f)
+        return minIntervalMillis + ((maxIntervalMillis - minIntervalMillis) * load).toLong()
+    }
+}
+
+// Coalesces participant changes per participant and releases them on the interval of the policy
+//
+// Joins and leaves are structural, they are released right away together with the changes
+// pending before them so the order of the deltas is kept. A resync is released right away and
+// replaces the pending changes, its snapshot was taken after them. Pending changes for the same
+// participant are merged into one delta with the latest snapshot. Each release is one list, so it
+// can be dispatched to the store as one batch.
+internal class ParticipantUpdateScheduler(
+    private val policy: ParticipantUpdateSamplingPolicy = ParticipantUpdateSamplingPolicy(),
+    private val currentTimeMillis: () -> Long = System::currentTimeMillis,
+) {
+    companion object {
+        private const val EVENT_RATE_WINDOW_MILLIS = 1000L
+    }
+
+    @Volatile
+    private var displayedParticipantIds: Set<String> = emptySet()
+
+    // Called by the participant grid with the participants it displays
+    fun setDisplayedParticipants(participantIds: Set<String>) {
+        displayedParticipantIds = participantIds
+    }
+
+    @OptIn(FlowPreview::class)
+    fun schedule(
+        deltas: Flow<ParticipantDelta>,
+        getParticipantCount: () -> Int,
+    ): Flow<List<ParticipantDelta>> = channelFlow {
+        val input = deltas.produceIn(this)
+        val pendingChanges = LinkedHashMap<String, ParticipantDelta.Changed>()
+        val recentEventTimestamps = ArrayDeque<Long>()
+        var flushAtMillis = Long.MAX_VALUE
+
+        // Releases the pending changes, followed by delta if any
+        suspend fun flush(delta: ParticipantDelta? = null) {
+            val batch = ArrayList<ParticipantDelta>(pendingChanges.size + 1)
+            batch.addAll(pendingChanges.values)
+            delta?.let { batch.add(it) }
+            pendingChanges.clear()
+            flushAtMillis = Long.MAX_VALUE
+            if (batch.isNotEmpty()) {
+                send(batch)
+            }
+        }
+
+        while (true) {
+            val waitMillis = flushAtMillis - currentTimeMillis()
+            if (pendingChanges.isNotEmpty() && waitMillis <= 0) {
+                flush()
+                continue
+            }
+            // select keeps a received delta from being lost when the timeout wins
+            val result = select<ChannelResult<ParticipantDelta>?> {
+                input.onReceiveCatching { it }
+                if (pendingChanges.isNotEmpty()) {
+                    onTimeout(waitMillis) { null }
+                }
+            }
+            if (result == null) {
+                flush()
+                continue
+            }
+            result.exceptionOrNull()?.let { throw it }
+            val delta = result.getOrNull() ?: break
+
+            val now = currentTimeMillis()
+            recentEventTimestamps.addLast(now)
+            while (recentEventTimestamps.first() <= now - EVENT_RATE_WINDOW_MILLIS) {
+                recentEventTimestamps.removeFirst()
+            }
+
+            if (delta is ParticipantDelta.Changed) {
+                val pending = pendingChanges[delta.userIdentifier]
+                pendingChanges[delta.userIdentifier] = if (pending == null) {
+                    delta
+                } else {
+                    ParticipantDelta.Changed(delta.participant, pending.changedFields or delta.changedFields)
+                }
+                val isDisplayed = displayedParticipantIds.contains(delta.userIdentifier)
+                // Only displayed changes bring the release forward, other changes go out with it
+                // or wait the maximum interval when nothing else is pending
+                if (isDisplayed || flushAtMillis == Long.MAX_VALUE) {
+                    val intervalMillis = policy.getIntervalMillis(
+                        getParticipantCount(),
+                        recentEventTimestamps.size,
+                        isDisplayed,
+                    )
+                    flushAtMillis = minOf(flushAtMillis, now + intervalMillis)
+                }
+            } else if (delta is ParticipantDelta.Resynced) {
+                pendingChanges.clear()
+                flush(delta)
+            } else {
+                flush(delta)
+            }
+        }
+        flush()
+    }
+}
@@ -42,25 +42,27 @@ import com.azure.android.communication.ui.calling.models.MediaCallDiagnosticMode
 import com.azure.android.communication.ui.calling.models.NetworkCallDiagnostic
 import com.azure.android.communication.ui.calling.models.NetworkCallDiagnosticModel
 import com.azure.android.communication.ui.calling.models.NetworkQualityCallDiagnosticModel
+import com.azure.android.communication.ui.calling.models.ParticipantChangedField
+import com.azure.android.communication.ui.calling.models.ParticipantDelta
 import com.azure.android.communication.ui.calling.models.ParticipantInfoModel
 import com.azure.android.communication.ui.calling.models.ParticipantRole
 import com.azure.android.communication.ui.calling.models.RttMessage
 import com.azure.android.communication.ui.calling.models.into
 import com.azure.android.communication.ui.calling.utilities.CoroutineContextProvider
 import kotlinx.coroutines.CoroutineScope
-import kotlinx.coroutines.FlowPreview
 import kotlinx.coroutines.cancel
-import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.channels.Channel
 import kotlinx.coroutines.flow.MutableSharedFlow
 import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.flow.SharedFlow
 import kotlinx.coroutines.flow.StateFlow
-import kotlinx.coroutines.flow.sample
 import kotlinx.coroutines.launch
 /*  <CALL_START_TIME>
 import java.util.Date
 </CALL_START_TIME> */
 import java.util.concurrent.CompletableFuture
+import java.util.concurrent.Executors
+import java.util.concurrent.RejectedExecutionException
 import com.azure.android.communication.calling.CapabilitiesChangedEvent as SdkCapabilitiesChangedEvent
 
 internal class CallingSDKEventHandler(
@@ -68,7 +70,9 @@ internal class CallingSDKEventHandler(
     private val avMode: CallCompositeAudioVideoMode,
 ) {
     companion object {
-        private const val SAMPLING_PERIOD_MILLIS: Long = 1000
+        // Deltas must not be dropped, the buffer only grows while the collector is behind
+        private fun createParticipantDeltaSharedFlow() =
+            MutableSharedFlow<ParticipantDelta>(extraBufferCapacity = Channel.UNLIMITED)
     }
 
     private val coroutineScope = CoroutineScope((coroutineContextProvider.Default))
@@ -84,7 +88,7 @@ internal class CallingSDKEventHandler(
     private var callParticipantRoleSharedFlow = MutableSharedFlow<ParticipantRole?>()
     private var totalRemoteParticipantCountSharedFlow = MutableSharedFlow<Int>()
     private var callIdSharedFlow = MutableStateFlow<String?>(null)
-    private var remoteParticipantsInfoModelSharedFlow = MutableSharedFlow<Map<String, ParticipantInfoModel>>()
+    private var remoteParticipantDeltaSharedFlow = createParticipantDeltaSharedFlow()
     private var callCapabilitiesEventSharedFlow = MutableSharedFlow<CapabilitiesChangedEvent>()
 
     //region Call Diagnostics
@@ -93,7 +97,12 @@ internal class CallingSDKEventHandler(
     private var mediaCallDiagnosticsSharedFlow = MutableSharedFlow<MediaCallDiagnosticModel>()
     //endregion
 
+    // Participant snapshots are only read and written on participantWriter, SDK listeners
+    // read the SDK values on their own thread and post the update. Snapshots are immutable,
+    // so they can be handed to the store and the UI without copying.
+    private val participantWriter = Executors.newSingleThreadExecutor()
     private val remoteParticipantsInfoModelMap = mutableMapOf<String, ParticipantInfoModel>()
+    private var participantSnapshotVersion = 0L
     private val videoStreamsUpdatedListenersMap =
         mutableMapOf<String, RemoteVideoStreamsUpdatedListener>()
     private val mutedChangedListenersMap = mutableMapOf<String, PropertyChangedListener>()
@@ -204,12 +213,13 @@ internal class CallingSDKEventHandler(
     </CALL_START_TIME> */
     // endregion
 
-    @OptIn(FlowPreview::class)
-    fun getRemoteParticipantInfoModelFlow(): Flow<Map<String, ParticipantInfoModel>> =
-        remoteParticipantsInfoModelSharedFlow.sample(SAMPLING_PERIOD_MILLIS)
+    // Per participant changes, emitted in the order they happened and without sampling, with a
+    // full list resync on call state changes
+    fun getRemoteParticipantDeltaSharedFlow(): SharedFlow<ParticipantDelta> = remoteParticipantDeltaSharedFlow
 
     fun dispose() {
         coroutineScope.cancel()
+        participantWriter.shutdown()
         call = null
     }
 
@@ -526,8 +536,10 @@ internal class CallingSDKEventHandler(
 
             // Update participant's typing status
             id?.let {
-                remoteParticipantsInfoModelMap[id]?.isTypingRtt = !rttMessage.isFinalized && rttMessage.message.isNotEmpty()
-                onRemoteParticipantPropertyChange(id)
+                val isTypingRtt = !rttMessage.isFinalized && rttMessage.message.isNotEmpty()
+                updateParticipant(id, ParticipantChangedField.IS_TYPING_RTT) { participant ->
+                    participant.copy(isTypingRtt = isTypingRtt)
+                }
             }
 
             rttTextSharedFlow.emit(rttMessage)
@@ -623,23 +635,41 @@ internal class CallingSDKEventHandler(
             } else {
                 // Update the participant status
                 // Noticed a race condition where the participant status update is in progress and UI subscription is in progress
-                remoteParticipantsInfoModelMap[id]?.participantStatus =
-                    remoteParticipantsCacheMap[id]!!.state.into()
-                onRemoteParticipantPropertyChange(id)
+                val participantStatus = remoteParticipantsCacheMap[id]!!.state.into()
+                updateParticipant(id, ParticipantChangedField.PARTICIPANT_STATUS) { participant ->
+                    participant.copy(participantStatus = participantStatus)
+                }
             }
         }
     }
 
-    private fun onRemoteParticipantSpeakingEvent(id: String) {
-        remoteParticipantsInfoModelMap[id]?.modifiedTimestamp = System.currentTimeMillis()
-        onRemoteParticipantUpdated()
+    // Replaces the participant snapshot with a new version, on the participant writer
+    private fun updateParticipant(
+        id: String,
+        changedFields: Int,
+        update: (ParticipantInfoModel) -> ParticipantInfoModel,
+    ) {
+        writeParticipants {
+            val participant = remoteParticipantsInfoModelMap[id] ?: return@writeParticipants
+            val snapshot = update(participant).copy(
+                modifiedTimestamp = System.currentTimeMillis(),
+                version = nextParticipantSnapshotVersion(),
+            )
+            remoteParticipantsInfoModelMap[id] = snapshot
+            emitParticipantDelta(ParticipantDelta.Changed(snapshot, changedFields))
+        }
     }
 
-    private fun onRemoteParticipantPropertyChange(id: String) {
-        remoteParticipantsInfoModelMap[id]?.modifiedTimestamp = System.currentTimeMillis()
-        onRemoteParticipantUpdated()
+    private fun writeParticipants(write: () -> Unit) {
+        try {
+            participantWriter.execute(write)
+        } catch (e: RejectedExecutionException) {
+            // disposed, late SDK events are dropped
+        }
     }
 
+    private fun nextParticipantSnapshotVersion(): Long = ++participantSnapshotVersion
+
     private fun getInfoModelFromRemoteParticipant(participant: RemoteParticipant): ParticipantInfoModel {
         val currentTimestamp = System.currentTimeMillis()
 
@@ -691,14 +721,16 @@ internal class CallingSDKEventHandler(
                 videoStreamsUpdatedListenersMap.remove(id)
                 mutedChangedListenersMap.remove(id)
                 isSpeakingChangedListenerMap.remove(id)
-                remoteParticipantsInfoModelMap.remove(id)
                 remoteParticipantsCacheMap.remove(id)
                 isStateChangedListenerMap.remove(id)
                 isDisplayNameChangedListenerMap.remove(id)
+                writeParticipants {
+                    if (remoteParticipantsInfoModelMap.remove(id) != null) {
+                        emitParticipantDelta(ParticipantDelta.Removed(id))
+                    }
+                }
             }
         }
-
-        onRemoteParticipantUpdated()
     }
 
     private fun onParticipantAdded(
@@ -708,33 +740,43 @@ internal class CallingSDKEventHandler(
 
         val remoteVideoStreamsEvent =
             RemoteVideoStreamsUpdatedListener {
-                remoteParticipantsInfoModelMap[id]?.cameraVideoStreamModel = createVideoStreamModel(
+                val cameraVideoStreamModel = createVideoStreamModel(
                     remoteParticipantsCacheMap.getValue(id),
                     MediaStreamType.VIDEO
                 )
-
-                remoteParticipantsInfoModelMap[id]?.screenShareVideoStreamModel =
-                    createVideoStreamModel(
-                        remoteParticipantsCacheMap.getValue(id),
-                        MediaStreamType.SCREEN_SHARING
+                val screenShareVideoStreamModel = createVideoStreamModel(
+                    remoteParticipantsCacheMap.getValue(id),
+                    MediaStreamType.SCREEN_SHARING
+                )
+                updateParticipant(id, ParticipantChangedField.VIDEO_STREAMS) { participant ->
+                    participant.copy(
+                        cameraVideoStreamModel = cameraVideoStreamModel,
+                        screenShareVideoStreamModel = screenShareVideoStreamModel,
                     )
-                onRemoteParticipantPropertyChange(id)
+                }
             }
 
         remoteParticipantsCacheMap[id] = addedParticipant
-        remoteParticipantsInfoModelMap[id] = getInfoModelFromRemoteParticipant(addedParticipant)
+        val participantInfoModel = getInfoModelFromRemoteParticipant(addedParticipant)
+        writeParticipants {
+            val version = nextParticipantSnapshotVersion()
+            val snapshot = participantInfoModel.copy(version = version, joinOrder = version)
+            remoteParticipantsInfoModelMap[id] = snapshot
+            emitParticipantDelta(ParticipantDelta.Added(snapshot))
+        }
 
         videoStreamsUpdatedListenersMap[id] = remoteVideoStreamsEvent
         addedParticipant.addOnVideoStreamsUpdatedListener(videoStreamsUpdatedListenersMap[id])
 
         val addOnIsMutedChangedEvent =
             PropertyChangedListener {
-                remoteParticipantsInfoModelMap[id]?.isMuted =
-                    remoteParticipantsCacheMap[id]!!.isMuted
-
-                remoteParticipantsInfoModelMap[id]?.isSpeaking =
-                    !remoteParticipantsInfoModelMap[id]?.isMuted!! && remoteParticipantsInfoModelMap[id]?.isSpeaking!!
-                onRemoteParticipantSpeakingEvent(id)
+                val isMuted = remoteParticipantsCacheMap[id]!!.isMuted
+                updateParticipant(
+                    id,
+                    ParticipantChangedField.IS_MUTED or ParticipantChangedField.IS_SPEAKING
+                ) { participant ->
+                    participant.copy(isMuted = isMuted, isSpeaking = !isMuted && participant.isSpeaking)
+                }
             }
 
         mutedChangedListenersMap[id] = addOnIsMutedChangedEvent
@@ -742,43 +784,56 @@ internal class CallingSDKEventHandler(
 
         val addOnIsStateChangedEvent =
             PropertyChangedListener {
-                remoteParticipantsInfoModelMap[id]?.participantStatus =
-                    remoteParticipantsCacheMap[id]!!.state.into()
-                onRemoteParticipantPropertyChange(id)
+                val participantStatus = remoteParticipantsCacheMap[id]!!.state.into()
+                updateParticipant(id, ParticipantChangedField.PARTICIPANT_STATUS) { participant ->
+                    participant.copy(participantStatus = participantStatus)
+                }
             }
         isStateChangedListenerMap[id] = addOnIsStateChangedEvent
         addedParticipant.addOnStateChangedListener(isStateChangedListenerMap[id])
 
         val addOnIsSpeakingChangedEvent =
             PropertyChangedListener {
-                remoteParticipantsInfoModelMap[id]?.isSpeaking =
-                    remoteParticipantsCacheMap[id]!!.isSpeaking
-                onRemoteParticipantSpeakingEvent(id)
+                val isSpeaking = remoteParticipantsCacheMap[id]!!.isSpeaking
+                updateParticipant(id, ParticipantChangedField.IS_SPEAKING) { participant ->
+                    participant.copy(isSpeaking = isSpeaking)
+                }
             }
 
         isSpeakingChangedListenerMap[id] = addOnIsSpeakingChangedEvent
         addedParticipant.addOnIsSpeakingChangedListener(isSpeakingChangedListenerMap[id])
         val addOnIsDisplayNameChangedEvent =
             PropertyChangedListener {
-                remoteParticipantsInfoModelMap[id]?.displayName =
-                    remoteParticipantsCacheMap[id]!!.displayName
-                onRemoteParticipantPropertyChange(id)
+                val displayName = remoteParticipantsCacheMap[id]!!.displayName
+                updateParticipant(id, ParticipantChangedField.DISPLAY_NAME) { participant ->
+                    participant.copy(displayName = displayName)
+                }
             }
         isDisplayNameChangedListenerMap[id] = addOnIsDisplayNameChangedEvent
         addedParticipant.addOnDisplayNameChangedListener(addOnIsDisplayNameChangedEvent)
     }
 
+    // Full snapshot, used to resync the participant list when the call connects
     private fun onRemoteParticipantUpdated() {
+        writeParticipants {
+            emitParticipantDelta(ParticipantDelta.Resynced(remoteParticipantsInfoModelMap.toMap()))
+        }
+    }
+
+    // Called on the participant writer, tryEmit keeps the deltas in the order they happened,
+    // launching a coroutine per emit would not
+    private fun emitParticipantDelta(delta: ParticipantDelta) {
+        if (isParticipantUpdateCallState()) {
+            remoteParticipantDeltaSharedFlow.tryEmit(delta)
+        }
+    }
+
+    private fun isParticipantUpdateCallState(): Boolean {
         val state = call?.state
-        if (state == CallState.CONNECTED ||
+        return state == CallState.CONNECTED ||
             state == CallState.CONNECTING ||
             state == CallState.RINGING ||
             state == CallState.REMOTE_HOLD
-        ) {
-            coroutineScope.launch {
-                remoteParticipantsInfoModelSharedFlow.emit(remoteParticipantsInfoModelMap)
-            }
-        }
     }
 
     private fun recreateFlows() {
@@ -788,7 +843,7 @@ internal class CallingSDKEventHandler(
         dominantSpeakersSharedFlow = MutableSharedFlow()
         callingStateWrapperSharedFlow = MutableSharedFlow()
         callIdSharedFlow = MutableStateFlow(null)
-        remoteParticipantsInfoModelSharedFlow = MutableSharedFlow()
+        remoteParticipantDeltaSharedFlow = createParticipantDeltaSharedFlow()
         callParticipantRoleSharedFlow = MutableSharedFlow()
         totalRemoteParticipantCountSharedFlow = MutableSharedFlow()
         callCapabilitiesEventSharedFlow = MutableSharedFlow()
@@ -0,0 +1,137 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.calling.data
+
+import android.content.Context
+import com.azure.android.communication.ui.calling.logger.Logger
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.test.StandardTestDispatcher
+import kotlinx.coroutines.test.runTest
+import org.junit.After
+import org.junit.Assert
+import org.junit.Test
+import org.mockito.kotlin.any
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.verify
+import org.threeten.bp.Instant
+import org.threeten.bp.OffsetDateTime
+import org.threeten.bp.ZoneId
+
+@OptIn(ExperimentalCoroutinesApi::class)
+internal class CallHistoryRepositoryImplTest {
+    private val now = OffsetDateTime.ofInstant(Instant.ofEpochMilli(1_700_000_000_000), ZoneId.systemDefault())
+    private val connection = JdbcCallHistoryConnection()
+    private val logger = mock<Logger>()
+
+    @After
+    fun tearDown() {
+        connection.close()
+    }
+
+    @Test
+    fun callHistoryRepository_getAll_when_recordsInserted_then_returnsThemInOrder() = runTest {
+        // arrange
+        val repository = createRepository(StandardTestDispatcher(testScheduler))
+
+        // act
+        repository.insert("call1", now.minusDays(2))
+        repository.insert("call2", now.minusHours(1))
+        val records = repository.getAll()
+
+        // assert
+        Assert.assertEquals(listOf("call1", "call2"), records.map { it.callId })
+        Assert.assertTrue(records[0].callStartedOn.isEqual(now.minusDays(2)))
+        Assert.assertTrue(records[1].id > records[0].id)
+    }
+
+    @Test
+    fun callHistoryRepository_insert_when_queuedTogether_then_writtenInOneTransaction() = runTest {
+        // arrange
+        val repository = createRepository(StandardTestDispatcher(testScheduler))
+
+        // act
+        repeat(10) { repository.insert("call$it", now) }
+        val records = repository.getAll()
+
+        // assert
+        Assert.assertEquals(10, records.size)
+        Assert.assertEquals(1, connection.transactions)
+    }
+
+    @Test
+    fun callHistoryRepository_insert_when_recordsOlderThanRetention_then_hiddenAndDeleted() = runTest {
+        // arrange
+        val repository = createRepository(StandardTestDispatcher(testScheduler))
+        connection.execute(CallHistoryContract.SQL_INSERT, "old", now.minusDays(32).toInstant().toEpochMilli())
+        Assert.assertTrue(repository.getAll().isEmpty())
+        Assert.assertEquals(1, countRows())
+
+        // act
+        repository.insert("new", now)
+        val records = repository.getAll()
+
+        // assert
+        Assert.assertEquals(listOf("new"), records.map { it.callId })
+        Assert.assertEquals(1, countRows())
+    }
+
+    @Test
+    fun callHistoryRepository_getPage_when_pagedByLastId_then_returnsEveryRecordOnce() = runTest {
+        // arrange
+        val repository = createRepository(StandardTestDispatcher(testScheduler))
+        repeat(25) { repository.insert("call$it", now) }
+
+        // act
+        val pages = mutableListOf<List<String>>()
+        var afterId = 0
+        do {
+            val page = repository.getPage(afterId, limit = 10)
+            pages.add(page.map { it.callId })
+            afterId = page.lastOrNull()?.id ?: afterId
+        } while (page.size == 10)
+
+        // assert
+        Assert.assertEquals(listOf(10, 10, 5), pages.map { it.size })
+        Assert.assertEquals((0 until 25).map { "call$it" }, pages.flatten())
+    }
+
+    @Test
+    fun callHistoryRepository_insert_when_writeFails_then_logsAndReadsDoNotWait() = runTest {
+        // arrange
+        connection.close()
+        val repository = createRepository(StandardTestDispatcher(testScheduler))
+
+        // act
+        repository.insert("call", now)
+        val error = runCatching { repository.getAll() }.exceptionOrNull()
+
+        // assert
+        verify(logger).warning(any())
+        Assert.assertNotNull(error)
+    }
+
+    @Test
+    fun callHistoryRepository_getInstance_when_calledForSeveralComposites_then_returnsOneRepository() {
+        // arrange
+        val context = mock<Context>()
+
+        // act
+        val first = CallHistoryRepositoryImpl.getInstance(context)
+        val second = CallHistoryRepositoryImpl.getInstance(mock())
+
+        // assert
+        Assert.assertSame(first, second)
+    }
+
+    private fun createRepository(dispatcher: CoroutineDispatcher) = CallHistoryRepositoryImpl(
+        logger = logger,
+        openConnection = { connection },
+        dispatcher = dispatcher,
+        currentTimeMillis = { now.toInstant().toEpochMilli() },
+    )
+
+    private fun countRows() =
+        connection.query("SELECT COUNT(*) FROM ${CallHistoryContract.TABLE_NAME}") { it.getInt(0) }.single()
+}
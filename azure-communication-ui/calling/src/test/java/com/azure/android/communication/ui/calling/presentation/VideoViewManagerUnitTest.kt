@@ -21,6 +21,8 @@ import org.mockito.junit.MockitoJUnitRunner
 import org.mockito.kotlin.any
 import org.mockito.kotlin.doAnswer
 import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
+import org.mockito.kotlin.verify
 
 @RunWith(MockitoJUnitRunner::class)
 internal class VideoViewManagerUnitTest {
@@ -260,4 +262,110 @@ internal class VideoViewManagerUnitTest {
         // assert
         Assert.assertEquals(remoteVideoView, null)
     }
+
+    @Test
+    fun videoViewManager_updateDisplayedRemoteParticipantVideoStreams_when_warmRenderersAboveCap_then_evictLeastRecentlyUsed() {
+        // arrange
+        val renderers = mutableListOf<VideoStreamRenderer>()
+        val videoViewManager = createVideoViewManager(listOf("user1", "user2", "user3"), renderers, 1)
+        val userVideoStreams = listOf(Pair("user1", "111"), Pair("user2", "111"), Pair("user3", "111"))
+        videoViewManager.updateDisplayedRemoteParticipantVideoStreams(userVideoStreams)
+        userVideoStreams.forEach { (userID, streamID) ->
+            videoViewManager.getRemoteVideoStreamRenderer(userID, streamID)
+        }
+
+        // act
+        videoViewManager.updateDisplayedRemoteParticipantVideoStreams(emptyList())
+        val remoteVideoView = videoViewManager.getRemoteVideoStreamRenderer("user3", "111")
+
+        // assert
+        Assert.assertNotNull(remoteVideoView)
+        Assert.assertEquals(3, renderers.size)
+        verify(renderers[0]).dispose()
+        verify(renderers[1]).dispose()
+        verify(renderers[2], never()).dispose()
+        Assert.assertEquals(
+            VideoRendererPoolMetrics(hits = 1, misses = 3, evictions = 2, prewarms = 0, pooledRenderers = 1),
+            videoViewManager.getRendererPoolMetrics()
+        )
+    }
+
+    @Test
+    fun videoViewManager_prewarmRemoteParticipantVideoRenderers_then_reuseRendererOnNextGet() {
+        // arrange
+        val renderers = mutableListOf<VideoStreamRenderer>()
+        val videoViewManager = createVideoViewManager(listOf("user2"), renderers, 3)
+        videoViewManager.updateDisplayedRemoteParticipantVideoStreams(listOf(Pair("user1", "111")))
+
+        // act
+        videoViewManager.prewarmRemoteParticipantVideoRenderers(listOf(Pair("user2", "111")))
+        videoViewManager.updateDisplayedRemoteParticipantVideoStreams(listOf(Pair("user2", "111")))
+        val remoteVideoView = videoViewManager.getRemoteVideoStreamRenderer("user2", "111")
+
+        // assert
+        Assert.assertNotNull(remoteVideoView)
+        Assert.assertEquals(1, renderers.size)
+        Assert.assertEquals(
+            VideoRendererPoolMetrics(hits = 1, misses = 0, evictions = 0, prewarms = 1, pooledRenderers = 1),
+            videoViewManager.getRendererPoolMetrics()
+        )
+    }
+
+    private fun createVideoViewManager(
+        userIDs: List<String>,
+        createdRenderers: MutableList<VideoStreamRenderer>,
+        maxWarmRemoteRenderers: Int,
+    ): VideoViewManager {
+        val remoteParticipantMap: MutableMap<String, RemoteParticipant> = mutableMapOf()
+        userIDs.forEach { userID ->
+            val mockVideoStream = mock<RemoteVideoStream> {
+                on { id } doAnswer { 111 }
+                on { mediaStreamType } doAnswer { MediaStreamType.VIDEO }
+            }
+            remoteParticipantMap[userID] = mock {
+                on { videoStreams } doAnswer { listOf(mockVideoStream) }
+            }
+        }
+
+        val mockCallingSDKWrapper = mock<CallingSDKWrapper> {
+            on { getRemoteParticipantsMap() } doAnswer { remoteParticipantMap }
+        }
+
+        val mockUiModeManager = mock<android.app.UiModeManager> {
+            on { currentModeType } doAnswer { android.content.res.Configuration.UI_MODE_TYPE_WATCH }
+        }
+
+        val appContext = mock<Context> {
+            on { getSystemService(Context.UI_MODE_SERVICE) } doAnswer { mockUiModeManager }
+        }
+
+        val mockContext = mock<Context> {
+            on { applicationContext } doAnswer { appContext }
+        }
+
+        val mockLayout = mock<FrameLayout> {}
+
+        val mockVideoStreamRendererHelper = mock<VideoStreamRendererFactory> {
+            on {
+                getRemoteParticipantVideoStreamRenderer(
+                    any(),
+                    any()
+                )
+            } doAnswer {
+                val mockVideoStreamRendererView = mock<VideoStreamRendererView> {
+                    on { getView() } doAnswer { mockLayout }
+                }
+                mock<VideoStreamRenderer> {
+                    on { createView() } doAnswer { mockVideoStreamRendererView }
+                }.also { createdRenderers.add(it) }
+            }
+        }
+
+        return VideoViewManager(
+            mockCallingSDKWrapper,
+            mockContext,
+            mockVideoStreamRendererHelper,
+            maxWarmRemoteRenderers,
+        )
+    }
 }
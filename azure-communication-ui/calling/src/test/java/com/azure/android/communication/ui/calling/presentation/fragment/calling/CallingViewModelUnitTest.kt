@@ -59,6 +59,8 @@ import com.azure.android.communication.ui.calling.redux.state.LocalUserState
 import com.azure.android.communication.ui.calling.redux.state.ReduxState
 import com.azure.android.communication.ui.calling.redux.state.RemoteParticipantsState
 import com.azure.android.communication.ui.calling.redux.state.RttState
+import com.azure.android.communication.ui.calling.redux.state.ToastNotificationKind
+import com.azure.android.communication.ui.calling.redux.state.ToastNotificationState
 import com.azure.android.communication.ui.calling.redux.state.VisibilityState
 import com.azure.android.communication.ui.calling.redux.state.VisibilityStatus
 import kotlinx.coroutines.ExperimentalCoroutinesApi
@@ -1202,4 +1204,55 @@ internal class CallingViewModelUnitTest : ACSBaseTestCoroutine() {
             Assert.assertFalse(result)
         }
     }
+
+    @Test
+    @ExperimentalCoroutinesApi
+    fun callingViewModel_onStateChange_when_unrelatedSliceChanged_then_childViewModelsAreNotUpdated() {
+
+        runScopedTest {
+            // arrange
+            val callingViewModel = CallingViewModel(
+                mockAppStore,
+                mockCallingViewModelProvider,
+                mockNetworkManager,
+                callScreenOptions = CallCompositeCallScreenOptions().setControlBarOptions(
+                    CallCompositeCallScreenControlBarOptions().setLeaveCallConfirmation(
+                        CallCompositeLeaveCallConfirmationMode.ALWAYS_DISABLED
+                    )
+                ),
+                false,
+                CallCompositeAudioVideoMode.AUDIO_AND_VIDEO,
+                capabilitiesManager = CapabilitiesManager(CallType.GROUP_CALL)
+            )
+
+            // only the toast notification slice changes, the others are carried over by reference
+            val newState = (mockAppStore.getCurrentState() as AppReduxState).copy()
+            newState.toastNotificationState = ToastNotificationState(listOf(ToastNotificationKind.MUTED))
+
+            // act
+            val flowJob = launch {
+                callingViewModel.init(this)
+            }
+            mockAppStore.getStateFlow().emit(newState)
+
+            // assert
+            verify(mockControlBarViewModel, times(1)).update(
+                any(),
+                any(),
+                any(),
+                any(),
+                any(),
+                any(),
+                any(),
+                any(),
+                any(),
+            )
+            verify(mockLocalParticipantViewModel, times(1)).update(
+                any(), any(), any(), any(), any(), any(), any(), any(), any(), any(),
+            )
+            verify(mockCaptionsListViewModel, times(1)).update(any(), any(), any(), any(), any(), any())
+
+            flowJob.cancel()
+        }
+    }
 }
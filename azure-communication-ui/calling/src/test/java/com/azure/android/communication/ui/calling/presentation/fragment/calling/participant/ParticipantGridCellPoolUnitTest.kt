@@ -0,0 +1,120 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.calling.presentation.fragment.calling.participant
+
+import com.azure.android.communication.ui.calling.models.ParticipantInfoModel
+import com.azure.android.communication.ui.calling.models.ParticipantStatus
+import com.azure.android.communication.ui.calling.presentation.fragment.calling.participant.grid.ParticipantGridCellPool
+import com.azure.android.communication.ui.calling.presentation.fragment.calling.participant.grid.ParticipantGridCellViewModel
+import com.azure.android.communication.ui.calling.presentation.fragment.calling.participant.grid.RecyclableParticipantGridCell
+import com.azure.android.communication.ui.calling.presentation.fragment.factories.ParticipantGridCellViewModelFactory
+import org.junit.Assert
+import org.junit.Test
+
+internal class ParticipantGridCellPoolUnitTest {
+
+    private class TestCell : RecyclableParticipantGridCell {
+        var bindCount = 0
+
+        override var boundViewModel: ParticipantGridCellViewModel? = null
+
+        override fun bind(participantViewModel: ParticipantGridCellViewModel) {
+            boundViewModel = participantViewModel
+            bindCount++
+        }
+
+        override fun unbind() {
+            boundViewModel = null
+        }
+    }
+
+    private val participantGridCellViewModelFactory = ParticipantGridCellViewModelFactory()
+    private val createdCells = mutableListOf<TestCell>()
+    private val releasedParticipants = mutableListOf<String>()
+    private val pool = ParticipantGridCellPool(
+        maxScrapSize = 2,
+        createCell = { TestCell().also { createdCells.add(it) } },
+        releaseParticipant = { releasedParticipants.add(it) },
+    )
+
+    @Test
+    fun participantGridCellPool_bindCells_when_orderChanged_then_keepCellsBound() {
+        // arrange
+        val user1 = createViewModel("user1")
+        val user2 = createViewModel("user2")
+        val user3 = createViewModel("user3")
+        val cells = pool.bindCells(listOf(user1, user2, user3))
+
+        // act
+        val reorderedCells = pool.bindCells(listOf(user3, user1, user2))
+
+        // assert
+        Assert.assertEquals(3, createdCells.size)
+        Assert.assertEquals(listOf(cells[2], cells[0], cells[1]), reorderedCells)
+        Assert.assertTrue(createdCells.all { it.bindCount == 1 })
+        Assert.assertTrue(releasedParticipants.isEmpty())
+    }
+
+    @Test
+    fun participantGridCellPool_bindCells_when_participantsReplaced_then_recycleCellsAndReleaseParticipants() {
+        // arrange
+        val cells = pool.bindCells(listOf(createViewModel("user1"), createViewModel("user2")))
+
+        // act
+        val user3 = createViewModel("user3")
+        val recycledCells = pool.bindCells(listOf(user3))
+
+        // assert
+        Assert.assertEquals(2, createdCells.size)
+        Assert.assertTrue(recycledCells[0] in cells)
+        Assert.assertSame(user3, recycledCells[0].boundViewModel)
+        Assert.assertEquals(1, pool.scrapSize)
+        Assert.assertEquals(listOf("user1", "user2"), releasedParticipants)
+    }
+
+    @Test
+    fun participantGridCellPool_bindCells_when_newViewModelForSameParticipant_then_rebindSameCell() {
+        // arrange
+        val cells = pool.bindCells(listOf(createViewModel("user1")))
+
+        // act
+        val user1 = createViewModel("user1")
+        val reboundCells = pool.bindCells(listOf(user1))
+
+        // assert
+        Assert.assertSame(cells[0], reboundCells[0])
+        Assert.assertSame(user1, reboundCells[0].boundViewModel)
+        Assert.assertEquals(2, createdCells[0].bindCount)
+        Assert.assertTrue(releasedParticipants.isEmpty())
+    }
+
+    @Test
+    fun participantGridCellPool_clear_then_unbindCells() {
+        // arrange
+        pool.bindCells(listOf(createViewModel("user1"), createViewModel("user2")))
+
+        // act
+        pool.clear()
+
+        // assert
+        Assert.assertTrue(createdCells.all { it.boundViewModel == null })
+        Assert.assertEquals(0, pool.scrapSize)
+    }
+
+    private fun createViewModel(id: String) =
+        participantGridCellViewModelFactory.ParticipantGridCellViewModel(
+            ParticipantInfoModel(
+                displayName = id,
+                userIdentifier = id,
+                isMuted = false,
+                isCameraDisabled = false,
+                isSpeaking = false,
+                isTypingRtt = false,
+                participantStatus = ParticipantStatus.CONNECTED,
+                screenShareVideoStreamModel = null,
+                cameraVideoStreamModel = null,
+                modifiedTimestamp = 0,
+            )
+        )
+}
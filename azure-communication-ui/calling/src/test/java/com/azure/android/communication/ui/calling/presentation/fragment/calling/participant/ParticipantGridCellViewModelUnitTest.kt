@@ -146,8 +146,10 @@ internal class ParticipantGridCellViewModelUnitTest : ACSBaseTestCoroutine() {
                 deviceConfigurationState = deviceConfigurationState,
                 captionsState = captionsState,
             )
-            remoteParticipantsMap["user1"]!!.modifiedTimestamp = 555
-            remoteParticipantsMap["user1"]!!.isMuted = false
+            remoteParticipantsMap["user1"] = remoteParticipantsMap["user1"]!!.copy(
+                modifiedTimestamp = 555,
+                isMuted = false,
+            )
 
             // assert
             val participantViewModel = emitResultFromRemoteParticipantsSharedFlow[1][0]
@@ -235,8 +237,10 @@ internal class ParticipantGridCellViewModelUnitTest : ACSBaseTestCoroutine() {
                 deviceConfigurationState = deviceConfigurationState,
                 captionsState = captionsState,
             )
-            remoteParticipantsMap["user1"]!!.modifiedTimestamp = 456
-            remoteParticipantsMap["user1"]!!.isSpeaking = false
+            remoteParticipantsMap["user1"] = remoteParticipantsMap["user1"]!!.copy(
+                modifiedTimestamp = 456,
+                isSpeaking = false,
+            )
             participantGridViewModel.update(
                 remoteParticipantsMapUpdatedTimestamp = 236,
                 remoteParticipantsMap = remoteParticipantsMap.toMutableMap(),
@@ -274,6 +278,38 @@ internal class ParticipantGridCellViewModelUnitTest : ACSBaseTestCoroutine() {
             flowJob.cancel()
         }
 
+    @Test
+    fun participantViewModel_isShowingSnapshot_when_snapshotVersionChanged_then_returnFalse() {
+        // arrange
+        val participant = getParticipantInfoModel(
+            "user one",
+            "user1",
+            isMuted = true,
+            isSpeaking = false,
+            isTypingRtt = false,
+            modifiedTimestamp = 456,
+        ).copy(version = 3)
+        val participantGridCellViewModelFactory = ParticipantGridCellViewModelFactory()
+        val participantViewModel =
+            participantGridCellViewModelFactory.ParticipantGridCellViewModel(participant)
+        val unmuted = participant.copy(isMuted = false, version = 4)
+
+        // act & assert
+        Assert.assertTrue(participantViewModel.isShowingSnapshot(participant))
+        Assert.assertTrue(participantViewModel.isShowingSnapshot(participant.copy()))
+        Assert.assertFalse(participantViewModel.isShowingSnapshot(unmuted))
+
+        participantViewModel.update(unmuted)
+        Assert.assertTrue(participantViewModel.isShowingSnapshot(unmuted))
+        Assert.assertEquals(false, participantViewModel.getIsMutedStateFlow().value)
+
+        // unversioned models only match the same instance
+        val unversioned = unmuted.copy(version = 0)
+        participantViewModel.update(unversioned)
+        Assert.assertTrue(participantViewModel.isShowingSnapshot(unversioned))
+        Assert.assertFalse(participantViewModel.isShowingSnapshot(unversioned.copy()))
+    }
+
     private fun getParticipantGridViewModel() = ParticipantGridViewModel(
         ParticipantGridCellViewModelFactory(),
         6
@@ -8,18 +8,23 @@ import com.azure.android.communication.ui.calling.models.ParticipantInfoModel
 import com.azure.android.communication.ui.calling.models.ParticipantStatus
 import com.azure.android.communication.ui.calling.models.StreamType
 import com.azure.android.communication.ui.calling.models.VideoStreamModel
+import com.azure.android.communication.ui.calling.presentation.fragment.calling.participant.grid.ParticipantGalleryPage
 import com.azure.android.communication.ui.calling.presentation.fragment.calling.participant.grid.ParticipantGridCellViewModel
 import com.azure.android.communication.ui.calling.presentation.fragment.calling.participant.grid.ParticipantGridViewModel
 import com.azure.android.communication.ui.calling.presentation.fragment.factories.ParticipantGridCellViewModelFactory
+import com.azure.android.communication.ui.calling.redux.action.ParticipantAction
+import com.azure.android.communication.ui.calling.redux.reducer.ParticipantStateReducerImpl
 import com.azure.android.communication.ui.calling.redux.state.CallingStatus
 import com.azure.android.communication.ui.calling.redux.state.CaptionsState
 import com.azure.android.communication.ui.calling.redux.state.DeviceConfigurationState
+import com.azure.android.communication.ui.calling.redux.state.RemoteParticipantsState
 import com.azure.android.communication.ui.calling.redux.state.RttState
 import com.azure.android.communication.ui.calling.redux.state.VisibilityStatus
 import kotlinx.coroutines.ExperimentalCoroutinesApi
 import kotlinx.coroutines.flow.toList
 import kotlinx.coroutines.launch
 import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
 import org.junit.Assert.assertTrue
 import org.junit.Test
 import org.junit.runner.RunWith
@@ -1220,6 +1225,167 @@ internal class ParticipantGridViewModelUnitTest : ACSBaseTestCoroutine() {
             flowJob.cancel()
         }
 
+    @Test
+    fun participantGridViewModel_showNextGalleryPage_when_moreThanSixUsers_then_displayNextPageInJoinOrder() {
+        // arrange
+        val participantGridViewModel = getParticipantGridViewModel()
+        val remoteParticipantsMap = (1..14).associate { "user$it" to getParticipantInfoModel("user$it", "user$it") }
+        val rttState = RttState()
+        val deviceConfigurationState = DeviceConfigurationState()
+        val captionsState = CaptionsState()
+        participantGridViewModel.init(
+            rttState,
+            isOverlayDisplayedOverGrid = false,
+            deviceConfigurationState,
+            captionsState,
+        )
+        participantGridViewModel.update(
+            System.currentTimeMillis(),
+            remoteParticipantsMap,
+            listOf("user9"),
+            System.currentTimeMillis(),
+            VisibilityStatus.VISIBLE,
+            rttState,
+            isOverlayDisplayedOverGrid = false,
+            deviceConfigurationState,
+            captionsState,
+        )
+        val displayedIDs = {
+            participantGridViewModel.getRemoteParticipantsUpdateStateFlow().value
+                .map { it.getParticipantUserIdentifier() }.toSet()
+        }
+
+        // act & assert
+        // the first page follows the dominant speakers
+        assertEquals(ParticipantGalleryPage(0, 4), participantGridViewModel.galleryPageFlow.value)
+        assertEquals(setOf("user9", "user1", "user2", "user3", "user4", "user5"), displayedIDs())
+        assertFalse(participantGridViewModel.showPreviousGalleryPage())
+
+        assertTrue(participantGridViewModel.showNextGalleryPage())
+        assertEquals(ParticipantGalleryPage(1, 4), participantGridViewModel.galleryPageFlow.value)
+        assertEquals((1..6).map { "user$it" }.toSet(), displayedIDs())
+
+        assertTrue(participantGridViewModel.showNextGalleryPage())
+        assertEquals((7..12).map { "user$it" }.toSet(), displayedIDs())
+
+        assertTrue(participantGridViewModel.showNextGalleryPage())
+        assertEquals(setOf("user13", "user14"), displayedIDs())
+        assertFalse(participantGridViewModel.showNextGalleryPage())
+
+        assertTrue(participantGridViewModel.showPreviousGalleryPage())
+        assertEquals((7..12).map { "user$it" }.toSet(), displayedIDs())
+    }
+
+    @Test
+    fun participantGridViewModel_update_when_dominantSpeakersChangeOnGalleryPage_then_keepPageParticipants() {
+        // arrange
+        val participantGridViewModel = getParticipantGridViewModel()
+        val remoteParticipantsMap = (1..14).associate { "user$it" to getParticipantInfoModel("user$it", "user$it") }
+        val rttState = RttState()
+        val deviceConfigurationState = DeviceConfigurationState()
+        val captionsState = CaptionsState()
+        participantGridViewModel.init(
+            rttState,
+            isOverlayDisplayedOverGrid = false,
+            deviceConfigurationState,
+            captionsState,
+        )
+        val update = { dominantSpeakersInfo: List<String>, timestamp: Long ->
+            participantGridViewModel.update(
+                timestamp,
+                remoteParticipantsMap,
+                dominantSpeakersInfo,
+                timestamp,
+                VisibilityStatus.VISIBLE,
+                rttState,
+                isOverlayDisplayedOverGrid = false,
+                deviceConfigurationState,
+                captionsState,
+            )
+        }
+        val displayedIDs = {
+            participantGridViewModel.getRemoteParticipantsUpdateStateFlow().value
+                .map { it.getParticipantUserIdentifier() }
+        }
+        update(listOf(), 1)
+        participantGridViewModel.showNextGalleryPage()
+        participantGridViewModel.showNextGalleryPage()
+
+        // act
+        update(listOf("user5", "user13", "user9"), 2)
+        val galleryPageIDs = displayedIDs().toSet()
+        participantGridViewModel.showPreviousGalleryPage()
+
+        // assert
+        assertEquals((7..12).map { "user$it" }.toSet(), galleryPageIDs)
+        assertEquals(listOf("user5", "user1", "user2", "user3", "user4", "user6"), displayedIDs())
+    }
+
+    @Test
+    fun participantGridViewModel_showNextGalleryPage_when_participantsJoinAndLeaveThroughReducer_then_pagesFollowJoinOrder() {
+        // arrange
+        val participantGridViewModel = getParticipantGridViewModel()
+        val reducer = ParticipantStateReducerImpl()
+        var state = RemoteParticipantsState(emptyMap(), 0, listOf(), 0, null, 0)
+        var version = 0L
+        val join = { id: String ->
+            version++
+            val participant = getParticipantInfoModel(id, id).copy(version = version, joinOrder = version)
+            state = reducer.reduce(state, ParticipantAction.ParticipantAdded(participant))
+        }
+        val leave = { id: String ->
+            state = reducer.reduce(state, ParticipantAction.ParticipantRemoved(id))
+        }
+        val rttState = RttState()
+        val deviceConfigurationState = DeviceConfigurationState()
+        val captionsState = CaptionsState()
+        participantGridViewModel.init(
+            rttState,
+            isOverlayDisplayedOverGrid = false,
+            deviceConfigurationState,
+            captionsState,
+        )
+        val update = {
+            participantGridViewModel.update(
+                version,
+                state.participantMap,
+                listOf(),
+                0,
+                VisibilityStatus.VISIBLE,
+                rttState,
+                isOverlayDisplayedOverGrid = false,
+                deviceConfigurationState,
+                captionsState,
+            )
+        }
+        val displayedIDs = {
+            participantGridViewModel.getRemoteParticipantsUpdateStateFlow().value
+                .map { it.getParticipantUserIdentifier() }.toSet()
+        }
+        (1..14).forEach { join("joined$it") }
+        leave("joined3")
+        leave("joined8")
+        join("joined15")
+        join("joined16")
+        update()
+
+        // act & assert
+        assertTrue(participantGridViewModel.showNextGalleryPage())
+        assertEquals(listOf(1, 2, 4, 5, 6, 7).map { "joined$it" }.toSet(), displayedIDs())
+
+        assertTrue(participantGridViewModel.showNextGalleryPage())
+        assertEquals((9..14).map { "joined$it" }.toSet(), displayedIDs())
+
+        // a join after the page and a leave before it move the page by one participant
+        join("joined17")
+        leave("joined1")
+        update()
+        assertEquals((10..15).map { "joined$it" }.toSet(), displayedIDs())
+
+        assertTrue(participantGridViewModel.showNextGalleryPage())
+        assertEquals(setOf("joined16", "joined17"), displayedIDs())
+    }
+
     private fun getParticipantGridViewModel() = ParticipantGridViewModel(
         ParticipantGridCellViewModelFactory(),
         6
@@ -776,6 +776,136 @@ internal class CaptionsRttDataManagerUnitTests : ACSBaseTestCoroutine() {
         }
     }
 
+    @OptIn(ExperimentalCoroutinesApi::class)
+    @Test
+    fun captionsDataManagerUnitTest_when_rttFinalizedBehindPartialMessage_then_movedBeforeIt() {
+        runScopedTest {
+            // Arrange
+            val appState = AppReduxState(
+                displayName = "",
+            )
+            val rttSharedFlow = MutableSharedFlow<RttMessage>()
+
+            `when`(callingService.getCaptionsReceivedSharedFlow()).thenReturn(MutableSharedFlow())
+            `when`(callingService.getRttFlow()).thenReturn(rttSharedFlow)
+            `when`(appStore.getStateFlow()).thenReturn(MutableStateFlow<ReduxState>(appState))
+
+            val addedData = mutableListOf<Int>()
+            val updatedData = mutableListOf<Int>()
+            val removedData = mutableListOf<Int>()
+
+            val insertedJob = launch {
+                captionsRttDataManager.recordInsertedAtPosition.toList(addedData)
+            }
+            val updatedJob = launch {
+                captionsRttDataManager.recordUpdatedAtPosition.toList(updatedData)
+            }
+            val removedJob = launch {
+                captionsRttDataManager.recordRemovedAtPosition.toList(removedData)
+            }
+
+            // Act
+            val testScope = TestScope(UnconfinedTestDispatcher())
+            captionsRttDataManager.start(testScope)
+            listOf(
+                createRttMessage("a", sequenceId = 1, isFinalized = false),
+                createRttMessage("b", sequenceId = 2, isFinalized = false),
+                createRttMessage("ab", sequenceId = 1, isFinalized = false),
+                createRttMessage("bc", sequenceId = 2, isFinalized = true),
+            ).forEach {
+                launch { rttSharedFlow.emit(it) }.join()
+            }
+
+            // Assert
+            // the partial update stays in place, the finalized message moves before the partial one
+            assertEquals(listOf(1), updatedData)
+            assertEquals(listOf(2), removedData)
+            assertEquals(listOf(0, 1, 2, 1), addedData)
+            assertEquals(
+                listOf("", "bc", "ab"),
+                captionsRttDataManager.captionsAndRttData.map { it.displayText }
+            )
+            assertEquals(
+                listOf(true, true, false),
+                captionsRttDataManager.captionsAndRttData.map { it.isFinal }
+            )
+
+            insertedJob.cancel()
+            updatedJob.cancel()
+            removedJob.cancel()
+            testScope.cancel()
+        }
+    }
+
+    @OptIn(ExperimentalCoroutinesApi::class)
+    @Test
+    fun captionsDataManagerUnitTest_when_adjacentPartialRttMessagesExpire_then_finalizedInOneRange() {
+        runScopedTest {
+            // Arrange
+            var now = 1_700_000_000_000L
+            val captionsRttDataManager = CaptionsRttDataManager(
+                callingService = callingService,
+                appStore = appStore,
+                avatarViewManager = avatarViewManager,
+                localParticipantIdentifier = null,
+                localParticipantDisplayName = null,
+                currentTimeMillis = { now },
+            )
+            val appState = AppReduxState(
+                displayName = "",
+            )
+            val rttSharedFlow = MutableSharedFlow<RttMessage>()
+
+            `when`(callingService.getCaptionsReceivedSharedFlow()).thenReturn(MutableSharedFlow())
+            `when`(callingService.getRttFlow()).thenReturn(rttSharedFlow)
+            `when`(appStore.getStateFlow()).thenReturn(MutableStateFlow<ReduxState>(appState))
+
+            val updatedData = mutableListOf<Int>()
+            val updatedRanges = mutableListOf<IntRange>()
+
+            val updatedJob = launch {
+                captionsRttDataManager.recordUpdatedAtPosition.toList(updatedData)
+            }
+            val updatedInRangeJob = launch {
+                captionsRttDataManager.recordsUpdatedInRange.toList(updatedRanges)
+            }
+
+            val testScope = TestScope(UnconfinedTestDispatcher())
+            captionsRttDataManager.start(testScope)
+            launch { rttSharedFlow.emit(createRttMessage("a", sequenceId = 1, isFinalized = false)) }.join()
+            launch { rttSharedFlow.emit(createRttMessage("b", sequenceId = 2, isFinalized = false)) }.join()
+
+            // Act
+            now += 9_999
+            testScope.advanceTimeBy(9_999)
+            val finalizedBeforeTimeout = captionsRttDataManager.captionsAndRttData.count { it.isFinal }
+            now += 2
+            testScope.advanceTimeBy(2)
+
+            // Assert
+            assertEquals(1, finalizedBeforeTimeout)
+            assertTrue(updatedData.isEmpty())
+            assertEquals(listOf(1..2), updatedRanges)
+            assertTrue(captionsRttDataManager.captionsAndRttData.all { it.isFinal })
+
+            updatedJob.cancel()
+            updatedInRangeJob.cancel()
+            testScope.cancel()
+        }
+    }
+
+    private fun createRttMessage(message: String, sequenceId: Int, isFinalized: Boolean): RttMessage {
+        return RttMessage(
+            senderName = "Speaker",
+            message = message,
+            senderUserRawId = "123",
+            isFinalized = isFinalized,
+            isLocal = false,
+            localCreatedTime = Date(),
+            sequenceId = sequenceId,
+        )
+    }
+
     private fun createCaptionData(
         speakerRawId: String,
         spokenText: String,
@@ -0,0 +1,152 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.calling.presentation.manager
+
+import com.azure.android.communication.ui.calling.presentation.fragment.calling.captions.CaptionsRttRecord
+import com.azure.android.communication.ui.calling.presentation.fragment.calling.captions.CaptionsRttType
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.util.Date
+
+internal class CaptionsRttRecordBufferUnitTest {
+
+    @Test
+    fun captionsRttRecordBuffer_dropFirst_when_full_then_keepsOrderAndIndex() {
+        // arrange
+        val buffer = CaptionsRttRecordBuffer(3)
+        buffer.insert(0, caption("a", "1"))
+        buffer.insert(1, caption("b", "2"))
+        buffer.insert(2, caption("c", "3"))
+
+        // act
+        buffer.dropFirst()
+        buffer.insert(2, caption("d", "4"))
+
+        // assert
+        assertEquals(listOf("2", "3", "4"), buffer.map { it.displayText })
+        assertEquals(-1, buffer.indexOfCaptionsFrom("a"))
+        assertEquals(0, buffer.indexOfCaptionsFrom("b"))
+        assertEquals(2, buffer.indexOfCaptionsFrom("d"))
+    }
+
+    @Test
+    fun captionsRttRecordBuffer_insert_when_beforeTrailingRecords_then_shiftedRecordsStayIndexed() {
+        // arrange
+        val buffer = CaptionsRttRecordBuffer(10)
+        buffer.insert(0, caption("a", "1"))
+        buffer.insert(1, rtt(7, "typing", isFinal = false))
+
+        // act
+        buffer.insert(1, caption("b", "2"))
+
+        // assert
+        assertEquals(listOf("1", "2", "typing"), buffer.map { it.displayText })
+        assertEquals(1, buffer.indexOfCaptionsFrom("b"))
+        assertEquals(2, buffer.indexOfRtt(7))
+        assertEquals(listOf(2), buffer.partialIndices())
+    }
+
+    @Test
+    fun captionsRttRecordBuffer_replace_when_partialFinalized_then_noLongerPartial() {
+        // arrange
+        val buffer = CaptionsRttRecordBuffer(10)
+        buffer.insert(0, caption("a", "hello", isFinal = false))
+        buffer.insert(1, caption("b", "hi", isFinal = false))
+
+        // act
+        buffer.replace(0, buffer[0].copy(isFinal = true))
+
+        // assert
+        assertEquals(listOf(1), buffer.partialIndices())
+    }
+
+    @Test
+    fun captionsRttRecordBuffer_removeRecordAt_when_lastOfKeyRemoved_then_previousRecordIsIndexed() {
+        // arrange
+        val buffer = CaptionsRttRecordBuffer(10)
+        buffer.insert(0, caption("a", "1"))
+        buffer.insert(1, caption("b", "2"))
+        buffer.insert(2, caption("a", "3"))
+
+        // act
+        buffer.removeRecordAt(2)
+
+        // assert
+        assertEquals(0, buffer.indexOfCaptionsFrom("a"))
+        assertEquals(1, buffer.indexOfCaptionsFrom("b"))
+    }
+
+    @Test
+    fun captionsRttRecordBuffer_removeRecords_when_captionsRemoved_then_returnsRangesFromLast() {
+        // arrange
+        val buffer = CaptionsRttRecordBuffer(10)
+        buffer.insert(0, caption("a", "1"))
+        buffer.insert(1, caption("b", "2"))
+        buffer.insert(2, rtt(1, "rtt"))
+        buffer.insert(3, caption("a", "3"))
+
+        // act
+        val removed = buffer.removeRecords { it.type == CaptionsRttType.CAPTIONS }
+
+        // assert
+        assertEquals(listOf(3..3, 0..1), removed)
+        assertEquals(listOf("rtt"), buffer.map { it.displayText })
+        assertEquals(0, buffer.indexOfRtt(1))
+        assertEquals(-1, buffer.indexOfCaptionsFrom("a"))
+        assertTrue(buffer.partialIndices().isEmpty())
+    }
+
+    @Test
+    fun captionsRttRecordBuffer_settledEnd_when_rttTypedAndFinalized_then_pointsAfterLastSettledRecord() {
+        // arrange
+        val buffer = CaptionsRttRecordBuffer(3)
+        buffer.insert(0, caption("a", "1"))
+        buffer.insert(1, rtt(1, "typing", isFinal = false))
+        buffer.insert(2, rtt(2, "typing too", isFinal = false))
+        val withTypingRtt = buffer.settledEnd
+
+        // act
+        buffer.replace(2, buffer[2].copy(isFinal = true))
+        val afterFinalized = buffer.settledEnd
+        buffer.replace(2, buffer[2].copy(isFinal = false))
+        val afterTypingAgain = buffer.settledEnd
+        buffer.dropFirst()
+        val afterDrop = buffer.settledEnd
+        buffer.insert(afterDrop, caption("b", "2"))
+
+        // assert
+        assertEquals(1, withTypingRtt)
+        assertEquals(3, afterFinalized)
+        assertEquals(1, afterTypingAgain)
+        assertEquals(0, afterDrop)
+        assertEquals(listOf("2", "typing", "typing too"), buffer.map { it.displayText })
+        assertEquals(1, buffer.settledEnd)
+    }
+
+    private fun caption(speakerRawId: String, text: String, isFinal: Boolean = true) = CaptionsRttRecord(
+        avatarBitmap = null,
+        displayName = speakerRawId,
+        displayText = text,
+        speakerRawId = speakerRawId,
+        languageCode = null,
+        isFinal = isFinal,
+        timestamp = Date(),
+        lastUpdated = Date(),
+        type = CaptionsRttType.CAPTIONS,
+    )
+
+    private fun rtt(sequenceId: Int, text: String, isFinal: Boolean = true) = CaptionsRttRecord(
+        avatarBitmap = null,
+        displayName = "rtt",
+        displayText = text,
+        speakerRawId = "rtt",
+        languageCode = null,
+        isFinal = isFinal,
+        timestamp = Date(),
+        lastUpdated = Date(),
+        type = CaptionsRttType.RTT,
+        rttSequenceId = sequenceId,
+    )
+}
@@ -6,6 +6,9 @@ package com.azure.android.communication.ui.calling.presentation.manager
 import com.azure.android.communication.ui.calling.ACSBaseTestCoroutine
 import com.azure.android.communication.ui.calling.data.CallHistoryRepository
 import com.azure.android.communication.ui.calling.data.model.CallHistoryRecordData
+import com.azure.android.communication.ui.calling.presentation.VideoRendererPoolMetrics
+import com.azure.android.communication.ui.calling.redux.StoreMetrics
+import com.azure.android.communication.ui.calling.redux.action.CallingAction
 import kotlinx.coroutines.ExperimentalCoroutinesApi
 import org.junit.Assert
 import org.junit.Test
@@ -45,4 +48,27 @@ internal class DebugInfoManagerTest : ACSBaseTestCoroutine() {
             Assert.assertEquals(historyList.last().id, 4)
         }
     }
+
+    @Test
+    fun debugInfoManager_dumpMetrics_when_enabled_returns_traceAndRendererPool() {
+        // arrange
+        val storeMetrics = StoreMetrics(isEnabled = false)
+        storeMetrics.onActionHandled(CallingAction.CallStartRequested(), 10, 20, 0, true)
+        val rendererPoolMetrics =
+            VideoRendererPoolMetrics(hits = 4, misses = 2, evictions = 1, prewarms = 0, pooledRenderers = 3)
+        val debugInfoManager: DebugInfoManager =
+            DebugInfoManagerImpl(mock(), Collections::emptyList, storeMetrics) { rendererPoolMetrics }
+
+        // act
+        val disabledDump = debugInfoManager.dumpMetrics()
+        storeMetrics.isEnabled = true
+        val enabledDump = debugInfoManager.dumpMetrics()
+
+        // assert
+        Assert.assertNull(disabledDump)
+        Assert.assertTrue(enabledDump!!.contains("CallingAction\$CallStartRequested"))
+        Assert.assertTrue(
+            enabledDump.contains("Renderer pool: 4 hits, 2 misses, 1 evictions, 0 prewarms, 3 pooled renderers")
+        )
+    }
 }
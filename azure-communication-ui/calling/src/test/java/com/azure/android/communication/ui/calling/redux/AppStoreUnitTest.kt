@@ -13,12 +13,19 @@ import com.azure.android.communication.ui.calling.redux.state.AppReduxState
 import com.azure.android.communication.ui.calling.redux.state.ReduxState
 import com.azure.android.communication.ui.calling.redux.state.RemoteParticipantsState
 import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.flow.toList
+import kotlinx.coroutines.launch
 import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
 import org.junit.Test
 import org.junit.runner.RunWith
 import org.mockito.Mock
 import org.mockito.Mockito
 import org.mockito.junit.MockitoJUnitRunner
+import org.mockito.kotlin.any
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
+import org.mockito.kotlin.verify
 
 @RunWith(MockitoJUnitRunner::class)
 internal class AppStoreUnitTest : ACSBaseTestCoroutine() {
@@ -143,6 +150,195 @@ internal class AppStoreUnitTest : ACSBaseTestCoroutine() {
             assertEquals(mockAppState, secondState)
         }
 
+    @Test
+    fun appStore_dispatchBatch_when_invoked_then_reduceInOrderAndPublishOnce() =
+        runScopedTest {
+            // arrange
+            val firstAction = CallingAction.CallStartRequested()
+            val secondAction = CallingAction.CallStartRequested()
+            val firstState = AppReduxState("first", false, false)
+            val secondState = AppReduxState("second", false, false)
+            val metrics = StoreMetrics(isEnabled = false)
+
+            val store = AppStore(
+                mockAppState,
+                mockAppStateReducer,
+                mutableListOf(TestMiddlewareImplementation() as Middleware<AppReduxState>),
+                this.coroutineContext,
+                metrics = metrics,
+            )
+            Mockito.`when`(mockAppStateReducer.reduce(mockAppState, firstAction)).thenReturn(firstState)
+            Mockito.`when`(mockAppStateReducer.reduce(firstState, secondAction)).thenReturn(secondState)
+
+            val emittedStates = mutableListOf<AppReduxState>()
+            val collectJob = launch { store.getStateFlow().toList(emittedStates) }
+
+            // act
+            store.dispatchBatch(listOf(firstAction, secondAction))
+            testScheduler.runCurrent()
+
+            // assert
+            assertEquals(listOf(mockAppState, secondState), emittedStates)
+            assertEquals(secondState, store.getCurrentState())
+            assertEquals(1L, store.batchCounters.batchCount)
+            assertEquals(2L, store.batchCounters.actionCount)
+            assertEquals(2, store.batchCounters.maxActionsPerBatch)
+            assertTrue(metrics.dump().contains("batches: 1, 2 actions, 2.0 per batch (max 2)"))
+            collectJob.cancel()
+        }
+
+    @Test
+    fun appStore_getCurrentState_when_batchRunning_then_returnBatchStateOnDispatchThreadOnly() =
+        runScopedTest {
+            // arrange
+            val firstAction = CallingAction.CallStartRequested()
+            val secondAction = CallingAction.CallStartRequested()
+            val firstState = AppReduxState("first", false, false)
+            val secondState = AppReduxState("second", false, false)
+            var dispatchThreadState: AppReduxState? = null
+            var otherThreadState: AppReduxState? = null
+            val middleware: Middleware<AppReduxState> = { store ->
+                { next ->
+                    { action ->
+                        if (action === secondAction) {
+                            dispatchThreadState = store.getCurrentState()
+                            val thread = Thread { otherThreadState = store.getCurrentState() }
+                            thread.start()
+                            thread.join()
+                        }
+                        next(action)
+                    }
+                }
+            }
+
+            val store = AppStore(
+                mockAppState,
+                mockAppStateReducer,
+                mutableListOf(middleware),
+                this.coroutineContext
+            )
+            Mockito.`when`(mockAppStateReducer.reduce(mockAppState, firstAction)).thenReturn(firstState)
+            Mockito.`when`(mockAppStateReducer.reduce(firstState, secondAction)).thenReturn(secondState)
+
+            // act
+            store.dispatchBatch(listOf(firstAction, secondAction))
+            testScheduler.runCurrent()
+
+            // assert
+            assertEquals(firstState, dispatchThreadState)
+            assertEquals(mockAppState, otherThreadState)
+            assertEquals(secondState, store.getCurrentState())
+        }
+
+    @Test
+    fun appStore_dispatch_when_coalescingWindowSet_then_reduceActionsOnceWindowElapses() =
+        runScopedTest {
+            // arrange
+            val firstAction = CallingAction.CallStartRequested()
+            val secondAction = CallingAction.CallStartRequested()
+            val firstState = AppReduxState("first", false, false)
+            val secondState = AppReduxState("second", false, false)
+
+            val store = AppStore(
+                mockAppState,
+                mockAppStateReducer,
+                mutableListOf(TestMiddlewareImplementation() as Middleware<AppReduxState>),
+                this.coroutineContext,
+                coalescingWindowMillis = FRAME_COALESCING_WINDOW_MILLIS,
+            )
+            Mockito.`when`(mockAppStateReducer.reduce(mockAppState, firstAction)).thenReturn(firstState)
+            Mockito.`when`(mockAppStateReducer.reduce(firstState, secondAction)).thenReturn(secondState)
+
+            // act
+            store.dispatch(firstAction)
+            store.dispatch(secondAction)
+
+            // assert
+            assertEquals(mockAppState, store.getCurrentState())
+
+            testScheduler.advanceTimeBy(FRAME_COALESCING_WINDOW_MILLIS)
+            testScheduler.runCurrent()
+
+            assertEquals(secondState, store.getCurrentState())
+            assertEquals(1L, store.batchCounters.batchCount)
+            assertEquals(2L, store.batchCounters.actionCount)
+        }
+
+    @Test
+    fun appStore_dispatch_when_metricsEnabled_then_recordReduceTimeAndEmissions() =
+        runScopedTest {
+            // arrange
+            val action = CallingAction.CallStartRequested()
+            val testState = AppReduxState("", false, false)
+            val metrics = StoreMetrics(isEnabled = true)
+            val events = mutableListOf<StoreTraceEvent>()
+            metrics.addListener(object : StoreMetricsListener {
+                override fun onActionHandled(event: StoreTraceEvent) {
+                    events.add(event)
+                }
+            })
+
+            val store = AppStore(
+                mockAppState,
+                mockAppStateReducer,
+                mutableListOf(TestMiddlewareImplementation() as Middleware<AppReduxState>),
+                this.coroutineContext,
+                metrics = metrics,
+            )
+            Mockito.`when`(mockAppStateReducer.reduce(mockAppState, action)).thenReturn(testState)
+            Mockito.`when`(mockAppStateReducer.reduce(testState, action)).thenReturn(testState)
+
+            // act
+            store.dispatch(action)
+            store.dispatch(action)
+            testScheduler.runCurrent()
+
+            // assert
+            val snapshot = metrics.getSnapshot()
+            assertEquals(1L, snapshot.emittedStates)
+            assertEquals(1L, snapshot.suppressedStates)
+            assertEquals(2L, snapshot.reduceTimes["CallingAction\$CallStartRequested"]?.count)
+            assertEquals(2L, snapshot.middlewareTime.count)
+            assertEquals(0, snapshot.queueDepth)
+            assertEquals(listOf(true, false), events.map { it.isStateChanged })
+            assertEquals(events, metrics.getTrace())
+        }
+
+    @Test
+    fun appStore_dispatch_when_metricsDisabled_then_onlyCountQueueDepth() =
+        runScopedTest {
+            // arrange
+            val action = CallingAction.CallStartRequested()
+            val metrics = StoreMetrics(isEnabled = false)
+            val listener = mock<StoreMetricsListener>()
+            metrics.addListener(listener)
+
+            val store = AppStore(
+                mockAppState,
+                mockAppStateReducer,
+                mutableListOf(TestMiddlewareImplementation() as Middleware<AppReduxState>),
+                this.coroutineContext,
+                metrics = metrics,
+            )
+            Mockito.`when`(mockAppStateReducer.reduce(mockAppState, action)).thenReturn(mockAppState)
+
+            // act
+            store.dispatch(action)
+            store.dispatch(action)
+            val queuedDepth = metrics.getSnapshot().queueDepth
+            testScheduler.runCurrent()
+
+            // assert
+            val snapshot = metrics.getSnapshot()
+            assertEquals(2, queuedDepth)
+            assertEquals(0, snapshot.queueDepth)
+            assertEquals(2, snapshot.maxQueueDepth)
+            assertEquals(0L, snapshot.middlewareTime.count)
+            assertEquals(0L, snapshot.emittedStates + snapshot.suppressedStates)
+            assertEquals(emptyList<StoreTraceEvent>(), metrics.getTrace())
+            verify(listener, never()).onActionHandled(any())
+        }
+
     internal class TestMiddlewareImplementation : Middleware<ReduxState> {
         override fun invoke(store: Store<ReduxState>) = { next: Dispatch ->
             { action: Action ->
@@ -0,0 +1,55 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.calling.redux
+
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.consumeAsFlow
+import kotlinx.coroutines.flow.flowOf
+import kotlinx.coroutines.flow.toList
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.test.runTest
+import org.junit.Assert
+import org.junit.Test
+
+@OptIn(ExperimentalCoroutinesApi::class)
+internal class BatchWhileBusyUnitTest {
+
+    @Test
+    fun batchWhileBusy_when_valuesArriveWhileCollectorBusy_then_emitThemAsOneList() = runTest {
+        // arrange
+        val values = Channel<Int>(Channel.UNLIMITED)
+        val batches = mutableListOf<List<Int>>()
+        val collectJob = launch {
+            values.consumeAsFlow().batchWhileBusy().collect {
+                batches.add(it)
+                delay(100)
+            }
+        }
+
+        // act
+        values.send(1)
+        testScheduler.runCurrent()
+        values.send(2)
+        values.send(3)
+        values.send(4)
+        testScheduler.advanceTimeBy(101)
+        values.close()
+        testScheduler.runCurrent()
+
+        // assert
+        Assert.assertEquals(listOf(listOf(1), listOf(2, 3, 4)), batches)
+        collectJob.cancel()
+    }
+
+    @Test
+    fun batchWhileBusy_when_flowCompletes_then_emitEveryValueInOrder() = runTest {
+        // act
+        val batches = flowOf(1, 2, 3, 4, 5).batchWhileBusy().toList()
+
+        // assert
+        Assert.assertEquals(listOf(1, 2, 3, 4, 5), batches.flatten())
+    }
+}
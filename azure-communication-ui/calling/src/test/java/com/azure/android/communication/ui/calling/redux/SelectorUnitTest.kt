@@ -0,0 +1,137 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.calling.redux
+
+import com.azure.android.communication.ui.calling.ACSBaseTestCoroutine
+import com.azure.android.communication.ui.calling.redux.state.AppReduxState
+import com.azure.android.communication.ui.calling.redux.state.CallingState
+import com.azure.android.communication.ui.calling.redux.state.CallingStatus
+import com.azure.android.communication.ui.calling.redux.state.ReduxState
+import com.azure.android.communication.ui.calling.redux.state.ToastNotificationKind
+import com.azure.android.communication.ui.calling.redux.state.ToastNotificationState
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.launch
+import org.junit.Assert
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.junit.MockitoJUnitRunner
+import org.mockito.kotlin.doAnswer
+import org.mockito.kotlin.mock
+
+@RunWith(MockitoJUnitRunner::class)
+internal class SelectorUnitTest : ACSBaseTestCoroutine() {
+
+    @Test
+    fun selector_select_when_inputsUnchanged_then_returnsMemoizedResult() {
+        // arrange
+        val selector = createSelector(StateSelectors.callState) { it.callingStatus.name }
+        val state = AppReduxState("")
+        state.callState = CallingState(CallingStatus.CONNECTED)
+
+        // act
+        val first = selector.select(state)
+        val unrelatedChange = state.copy()
+        unrelatedChange.toastNotificationState = ToastNotificationState(listOf(ToastNotificationKind.MUTED))
+        val second = selector.select(unrelatedChange)
+
+        // assert
+        Assert.assertSame(first, second)
+        Assert.assertEquals(1, selector.recomputations)
+    }
+
+    @Test
+    fun selector_select_when_inputChanged_then_recomputes() {
+        // arrange
+        val connectedSelector = createSelector(StateSelectors.callState) {
+            it.callingStatus == CallingStatus.CONNECTED
+        }
+        val labelSelector = createSelector(connectedSelector, StateSelectors.toastNotificationState) { connected, toast ->
+            "$connected ${toast.kinds.size}"
+        }
+        val state = AppReduxState("")
+
+        // act
+        val first = labelSelector.select(state)
+        val connectedState = state.copy()
+        connectedState.callState = CallingState(CallingStatus.CONNECTED)
+        val second = labelSelector.select(connectedState)
+
+        // assert
+        Assert.assertEquals("false 0", first)
+        Assert.assertEquals("true 0", second)
+        Assert.assertEquals(2, connectedSelector.recomputations)
+        Assert.assertEquals(2, labelSelector.recomputations)
+    }
+
+    @Test
+    fun selectorGate_hasChanged_when_inputsUnchangedOrReset_then_reportsChange() {
+        // arrange
+        val gate = SelectorGate(StateSelectors.callState, StateSelectors.visibilityState)
+        val state = AppReduxState("")
+        val unrelatedChange = state.copy()
+        unrelatedChange.toastNotificationState = ToastNotificationState(listOf(ToastNotificationKind.MUTED))
+
+        // act & assert
+        Assert.assertTrue(gate.hasChanged(state))
+        Assert.assertFalse(gate.hasChanged(state))
+        Assert.assertFalse(gate.hasChanged(unrelatedChange))
+
+        gate.reset()
+        Assert.assertTrue(gate.hasChanged(unrelatedChange))
+    }
+
+    @Test
+    fun gatedSelector_select_when_inputsUnchanged_then_keepsBuiltResult() {
+        // arrange
+        val selector = GatedSelector<ReduxState, Any>(listOf(StateSelectors.callState)) { Any() }
+        val state = AppReduxState("")
+        val unrelatedChange = state.copy()
+        unrelatedChange.toastNotificationState = ToastNotificationState(listOf(ToastNotificationKind.MUTED))
+        val connectedState = unrelatedChange.copy()
+        connectedState.callState = CallingState(CallingStatus.CONNECTED)
+
+        // act
+        val first = selector.select(state)
+        val second = selector.select(unrelatedChange)
+        val third = selector.select(connectedState)
+
+        // assert
+        Assert.assertSame(first, second)
+        Assert.assertNotSame(second, third)
+    }
+
+    @Test
+    @ExperimentalCoroutinesApi
+    fun store_select_when_unrelatedSliceChanged_then_doesNotEmit() {
+        runScopedTest {
+            // arrange
+            val initialState = AppReduxState("")
+            val stateFlow = MutableStateFlow<ReduxState>(initialState)
+            val mockStore = mock<Store<ReduxState>> {
+                on { getStateFlow() } doAnswer { stateFlow }
+                on { getCurrentState() } doAnswer { stateFlow.value }
+            }
+            val emitted = mutableListOf<CallingStatus>()
+            val selector = createSelector(StateSelectors.callState) { it.callingStatus }
+
+            // act
+            val flowJob = launch {
+                mockStore.select(this, selector).collect { emitted.add(it) }
+            }
+            val unrelatedChange = initialState.copy()
+            unrelatedChange.toastNotificationState = ToastNotificationState(listOf(ToastNotificationKind.MUTED))
+            stateFlow.value = unrelatedChange
+            val connectedState = unrelatedChange.copy()
+            connectedState.callState = CallingState(CallingStatus.CONNECTED)
+            stateFlow.value = connectedState
+
+            // assert
+            Assert.assertEquals(listOf(CallingStatus.NONE, CallingStatus.CONNECTED), emitted)
+            Assert.assertEquals(2, selector.recomputations)
+
+            flowJob.cancel()
+        }
+    }
+}
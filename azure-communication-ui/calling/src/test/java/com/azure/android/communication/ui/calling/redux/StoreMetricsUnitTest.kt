@@ -0,0 +1,62 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.calling.redux
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+internal class StoreMetricsUnitTest {
+    private sealed class TestAction {
+        class Started : TestAction()
+        class Backgrounded : TestAction()
+    }
+
+    @Test
+    fun durationHistogram_record_then_percentilesAreBucketUpperBounds() {
+        // arrange
+        val histogram = DurationHistogram()
+
+        // act
+        repeat(98) { histogram.record(1_000) }
+        histogram.record(50_000)
+        histogram.record(3_000_000)
+
+        // assert
+        val summary = histogram.summary()
+        assertEquals(100L, summary.count)
+        assertEquals(98 * 1_000L + 50_000 + 3_000_000, summary.totalNanos)
+        assertEquals(1023L, summary.p50Nanos)
+        assertEquals(65_535L, summary.p99Nanos)
+        assertEquals(3_000_000L, summary.maxNanos)
+    }
+
+    @Test
+    fun storeMetrics_onActionHandled_when_traceFull_then_keepLastEventsAndHistogramPerAction() {
+        // arrange
+        val metrics = StoreMetrics(isEnabled = true, traceCapacity = 2)
+
+        // act
+        metrics.onActionHandled(TestAction.Started(), 10, 100, 1, true)
+        metrics.onActionHandled(TestAction.Backgrounded(), 20, null, 0, false)
+        metrics.onActionHandled(TestAction.Started(), 30, 300, 1, false)
+        metrics.onStatePublished(isEmitted = true, emitTimeNanos = 1)
+        metrics.onStatePublished(isEmitted = false, emitTimeNanos = 1)
+
+        // assert
+        assertEquals(
+            listOf("StoreMetricsUnitTest\$TestAction\$Backgrounded", "StoreMetricsUnitTest\$TestAction\$Started"),
+            metrics.getTrace().map { it.actionName }
+        )
+        val snapshot = metrics.getSnapshot()
+        assertEquals(setOf("StoreMetricsUnitTest\$TestAction\$Started"), snapshot.reduceTimes.keys)
+        assertEquals(400L, snapshot.reduceTimes.getValue("StoreMetricsUnitTest\$TestAction\$Started").totalNanos)
+        assertEquals(60L, snapshot.middlewareTime.totalNanos)
+        assertEquals(1L, snapshot.emittedStates)
+        assertEquals(1L, snapshot.suppressedStates)
+        val dump = metrics.dump()
+        assertTrue(dump.contains("1 states emitted, 1 suppressed"))
+        assertTrue(dump.contains("Last 2 actions:"))
+    }
+}
@@ -28,6 +28,7 @@ import com.azure.android.communication.ui.calling.models.CapabilitiesChangedEven
 import com.azure.android.communication.ui.calling.models.MediaCallDiagnosticModel
 import com.azure.android.communication.ui.calling.models.NetworkCallDiagnosticModel
 import com.azure.android.communication.ui.calling.models.NetworkQualityCallDiagnosticModel
+import com.azure.android.communication.ui.calling.models.ParticipantDelta
 import com.azure.android.communication.ui.calling.models.ParticipantInfoModel
 import com.azure.android.communication.ui.calling.models.ParticipantRole
 import com.azure.android.communication.ui.calling.models.ParticipantStatus
@@ -370,8 +371,7 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
                     "",
                     localParticipantRole = null
                 )
-            val callingServiceParticipantsSharedFlow =
-                MutableSharedFlow<MutableMap<String, ParticipantInfoModel>>()
+            val participantDeltaSharedFlow = MutableSharedFlow<ParticipantDelta>()
             val callInfoModelStateFlow = MutableStateFlow(CallInfoModel(CallingStatus.NONE, null))
             val callIdFlow = MutableStateFlow<String?>(null)
             val isMutedSharedFlow = MutableSharedFlow<Boolean>()
@@ -412,7 +412,7 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
                 )
 
             val mockCallingService: CallingService = mock {
-                on { getParticipantsInfoModelSharedFlow() } doReturn callingServiceParticipantsSharedFlow
+                on { getParticipantDeltaSharedFlow() } doReturn participantDeltaSharedFlow
                 on { startCall(any(), any()) } doReturn CompletableFuture<Void>()
                 on { getCallIdStateFlow() } doReturn callIdFlow
                 on { getIsMutedSharedFlow() } doReturn isMutedSharedFlow
@@ -448,13 +448,15 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
 
             // act
             handler.startCall(mockAppStore)
-            callingServiceParticipantsSharedFlow.emit(participantMap)
+            participantDeltaSharedFlow.emit(ParticipantDelta.Resynced(participantMap))
 
             // assert
-            verify(mockAppStore, times(1)).dispatch(
-                argThat { action ->
-                    action is ParticipantAction.ListUpdated &&
-                        action.participantMap == participantMap
+            verify(mockAppStore, times(1)).dispatchBatch(
+                argThat { actions ->
+                    actions.single().let { action ->
+                        action is ParticipantAction.ListUpdated &&
+                            action.participantMap == participantMap
+                    }
                 }
             )
         }
@@ -483,8 +485,6 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
                     "",
                     localParticipantRole = null
                 )
-            val callingServiceParticipantsSharedFlow =
-                MutableSharedFlow<MutableMap<String, ParticipantInfoModel>>()
             val callInfoModelStateFlow = MutableStateFlow(CallInfoModel(CallingStatus.NONE, null))
             val callIdFlow = MutableStateFlow<String?>(null)
             val isMutedSharedFlow = MutableSharedFlow<Boolean>()
@@ -506,7 +506,7 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
 
             val completableFuture = CompletableFuture<Void>()
             val mockCallingService: CallingService = mock {
-                on { getParticipantsInfoModelSharedFlow() } doReturn callingServiceParticipantsSharedFlow
+                on { getParticipantDeltaSharedFlow() } doReturn MutableSharedFlow()
                 on { startCall(any(), any()) } doReturn completableFuture
                 on { getCallIdStateFlow() } doReturn callIdFlow
                 on { getIsMutedSharedFlow() } doReturn isMutedSharedFlow
@@ -572,8 +572,6 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
                     "",
                     localParticipantRole = null
                 )
-            val callingServiceParticipantsSharedFlow =
-                MutableSharedFlow<MutableMap<String, ParticipantInfoModel>>()
             val callInfoModelStateFlow = MutableStateFlow(CallInfoModel(CallingStatus.NONE, null))
             val callIdFlow = MutableStateFlow<String?>(null)
             val isMutedSharedFlow = MutableSharedFlow<Boolean>()
@@ -602,7 +600,7 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
             val dominantSpeakers = listOf("userId")
 
             val mockCallingService: CallingService = mock {
-                on { getParticipantsInfoModelSharedFlow() } doReturn callingServiceParticipantsSharedFlow
+                on { getParticipantDeltaSharedFlow() } doReturn MutableSharedFlow()
                 on { startCall(any(), any()) } doReturn CompletableFuture<Void>()
                 on { getCallIdStateFlow() } doReturn callIdFlow
                 on { getIsMutedSharedFlow() } doReturn isMutedSharedFlow
@@ -672,8 +670,6 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
                     "",
                     localParticipantRole = null
                 )
-            val callingServiceParticipantsSharedFlow: MutableSharedFlow<MutableMap<String, ParticipantInfoModel>> =
-                MutableSharedFlow()
 
             val callInfoModelStateFlow = MutableStateFlow(CallInfoModel(CallingStatus.NONE, null))
             val callIdFlow = MutableStateFlow<String?>(null)
@@ -701,7 +697,7 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
             val rttFlow = MutableSharedFlow<RttMessage>()
 
             val mockCallingService: CallingService = mock {
-                on { getParticipantsInfoModelSharedFlow() } doReturn callingServiceParticipantsSharedFlow
+                on { getParticipantDeltaSharedFlow() } doReturn MutableSharedFlow()
                 on { startCall(any(), any()) } doReturn CompletableFuture<Void>()
                 on { getCallIdStateFlow() } doReturn callIdFlow
                 on { getIsMutedSharedFlow() } doReturn isMutedSharedFlow
@@ -807,8 +803,6 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
                 )
 
             val startCallCompletableFuture = CompletableFuture<Void>()
-            val callingServiceParticipantsSharedFlow =
-                MutableSharedFlow<MutableMap<String, ParticipantInfoModel>>()
             val callInfoModelStateFlow = MutableStateFlow(CallInfoModel(CallingStatus.NONE, null))
             val callIdFlow = MutableStateFlow<String?>(null)
             val isMutedSharedFlow = MutableSharedFlow<Boolean>()
@@ -834,7 +828,7 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
             </CALL_START_TIME> */
 
             val mockCallingService: CallingService = mock {
-                on { getParticipantsInfoModelSharedFlow() } doReturn callingServiceParticipantsSharedFlow
+                on { getParticipantDeltaSharedFlow() } doReturn MutableSharedFlow()
                 on { startCall(any(), any()) } doReturn startCallCompletableFuture
                 on { getCallInfoModelEventSharedFlow() } doReturn callInfoModelStateFlow
                 on { getCallIdStateFlow() } doReturn callIdFlow
@@ -985,8 +979,6 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
                     localParticipantRole = null
                 )
             val startCallCompletableFuture = CompletableFuture<Void>()
-            val callingServiceParticipantsSharedFlow =
-                MutableSharedFlow<MutableMap<String, ParticipantInfoModel>>()
             val callInfoModelStateFlow = MutableStateFlow(CallInfoModel(CallingStatus.NONE, null))
             val callIdFlow = MutableStateFlow<String?>(null)
             val isMutedSharedFlow = MutableSharedFlow<Boolean>()
@@ -1006,7 +998,7 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
             val captionsTypeChangedSharedFlow = MutableSharedFlow<CallCompositeCaptionsType>()
 
             val mockCallingService: CallingService = mock {
-                on { getParticipantsInfoModelSharedFlow() } doReturn callingServiceParticipantsSharedFlow
+                on { getParticipantDeltaSharedFlow() } doReturn MutableSharedFlow()
                 on { startCall(any(), any()) } doReturn startCallCompletableFuture
                 on { getCallInfoModelEventSharedFlow() } doReturn callInfoModelStateFlow
                 on { getCallIdStateFlow() } doReturn callIdFlow
@@ -1061,8 +1053,6 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
                     localParticipantRole = null
                 )
             val startCallCompletableFuture = CompletableFuture<Void>()
-            val callingServiceParticipantsSharedFlow =
-                MutableSharedFlow<MutableMap<String, ParticipantInfoModel>>()
             val callInfoModelStateFlow = MutableStateFlow(CallInfoModel(CallingStatus.NONE, null))
             val callIdFlow = MutableStateFlow<String?>(null)
             val isMutedSharedFlow = MutableSharedFlow<Boolean>()
@@ -1082,7 +1072,7 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
             val captionsTypeChangedSharedFlow = MutableSharedFlow<CallCompositeCaptionsType>()
 
             val mockCallingService: CallingService = mock {
-                on { getParticipantsInfoModelSharedFlow() } doReturn callingServiceParticipantsSharedFlow
+                on { getParticipantDeltaSharedFlow() } doReturn MutableSharedFlow()
                 on { startCall(any(), any()) } doReturn startCallCompletableFuture
                 on { getCallInfoModelEventSharedFlow() } doReturn callInfoModelStateFlow
                 on { getCallIdStateFlow() } doReturn callIdFlow
@@ -1137,8 +1127,6 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
                     localParticipantRole = null
                 )
             val startCallCompletableFuture = CompletableFuture<Void>()
-            val callingServiceParticipantsSharedFlow =
-                MutableSharedFlow<MutableMap<String, ParticipantInfoModel>>()
             val callInfoModelStateFlow = MutableStateFlow(CallInfoModel(CallingStatus.NONE, null))
             val callIdFlow = MutableStateFlow<String?>(null)
             val isMutedSharedFlow = MutableSharedFlow<Boolean>()
@@ -1157,7 +1145,7 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
             val captionsTypeChangedSharedFlow = MutableSharedFlow<CallCompositeCaptionsType>()
 
             val mockCallingService: CallingService = mock {
-                on { getParticipantsInfoModelSharedFlow() } doReturn callingServiceParticipantsSharedFlow
+                on { getParticipantDeltaSharedFlow() } doReturn MutableSharedFlow()
                 on { startCall(any(), any()) } doReturn startCallCompletableFuture
                 on { getCallInfoModelEventSharedFlow() } doReturn callInfoModelStateFlow
                 on { getCallIdStateFlow() } doReturn callIdFlow
@@ -1763,8 +1751,6 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
             // arrange
             val appState = AppReduxState("", false, false)
 
-            val callingServiceParticipantsSharedFlow =
-                MutableSharedFlow<MutableMap<String, ParticipantInfoModel>>()
             val callInfoModelStateFlow = MutableStateFlow(CallInfoModel(CallingStatus.NONE, null))
             val callIdFlow = MutableStateFlow<String?>(null)
             val isMutedSharedFlow = MutableSharedFlow<Boolean>()
@@ -1791,7 +1777,7 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
             val rttFlow = MutableSharedFlow<RttMessage>()
 
             val mockCallingService: CallingService = mock {
-                on { getParticipantsInfoModelSharedFlow() } doReturn callingServiceParticipantsSharedFlow
+                on { getParticipantDeltaSharedFlow() } doReturn MutableSharedFlow()
                 on { startCall(any(), any()) } doReturn CompletableFuture<Void>()
                 on { getCallInfoModelEventSharedFlow() } doReturn callInfoModelStateFlow
                 on { getCallIdStateFlow() } doReturn callIdFlow
@@ -1848,8 +1834,6 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
     fun callingMiddlewareActionHandler_onSubscribeCallInfoModelUpdate_then_dispatch_CallDecline() =
         runScopedTest {
             // arrange
-            val callingServiceParticipantsSharedFlow =
-                MutableSharedFlow<MutableMap<String, ParticipantInfoModel>>()
             val callInfoModelStateFlow = MutableStateFlow(CallInfoModel(CallingStatus.NONE, null))
             val callIdFlow = MutableStateFlow<String?>(null)
             val isMutedSharedFlow = MutableSharedFlow<Boolean>()
@@ -1876,7 +1860,7 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
             val rttFlow = MutableSharedFlow<RttMessage>()
 
             val mockCallingService: CallingService = mock {
-                on { getParticipantsInfoModelSharedFlow() } doReturn callingServiceParticipantsSharedFlow
+                on { getParticipantDeltaSharedFlow() } doReturn MutableSharedFlow()
                 on { startCall(any(), any()) } doReturn CompletableFuture<Void>()
                 on { getCallInfoModelEventSharedFlow() } doReturn callInfoModelStateFlow
                 on { getCallIdStateFlow() } doReturn callIdFlow
@@ -1948,8 +1932,6 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
     fun callingMiddlewareActionHandler_onSubscribeCallInfoModelUpdate_then_verify_CallDecline_Sequence() =
         runScopedTest {
             // arrange
-            val callingServiceParticipantsSharedFlow =
-                MutableSharedFlow<MutableMap<String, ParticipantInfoModel>>()
             val callInfoModelStateFlow = MutableStateFlow(CallInfoModel(CallingStatus.NONE, null))
             val isMutedSharedFlow = MutableSharedFlow<Boolean>()
             val callIdFlow = MutableStateFlow<String?>(null)
@@ -1976,7 +1958,7 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
             val rttFlow = MutableSharedFlow<RttMessage>()
 
             val mockCallingService: CallingService = mock {
-                on { getParticipantsInfoModelSharedFlow() } doReturn callingServiceParticipantsSharedFlow
+                on { getParticipantDeltaSharedFlow() } doReturn MutableSharedFlow()
                 on { startCall(any(), any()) } doReturn CompletableFuture<Void>()
                 on { getCallInfoModelEventSharedFlow() } doReturn callInfoModelStateFlow
                 on { getCallIdStateFlow() } doReturn callIdFlow
@@ -2044,8 +2026,6 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
     fun callingMiddlewareActionHandler_onSubscribeCallInfoModelUpdate_then_dispatch_CallEviction() =
         runScopedTest {
             // arrange
-            val callingServiceParticipantsSharedFlow =
-                MutableSharedFlow<MutableMap<String, ParticipantInfoModel>>()
             val callInfoModelStateFlow = MutableStateFlow(CallInfoModel(CallingStatus.NONE, null))
             val callIdFlow = MutableStateFlow<String?>(null)
             val isMutedSharedFlow = MutableSharedFlow<Boolean>()
@@ -2072,7 +2052,7 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
             val rttFlow = MutableSharedFlow<RttMessage>()
 
             val mockCallingService: CallingService = mock {
-                on { getParticipantsInfoModelSharedFlow() } doReturn callingServiceParticipantsSharedFlow
+                on { getParticipantDeltaSharedFlow() } doReturn MutableSharedFlow()
                 on { startCall(any(), any()) } doReturn CompletableFuture<Void>()
                 on { getCallInfoModelEventSharedFlow() } doReturn callInfoModelStateFlow
                 on { getCallIdStateFlow() } doReturn callIdFlow
@@ -2144,8 +2124,6 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
     fun callingMiddlewareActionHandler_onSubscribeCallInfoModelUpdate_then_verify_CallEviction_Sequence() =
         runScopedTest {
             // arrange
-            val callingServiceParticipantsSharedFlow =
-                MutableSharedFlow<MutableMap<String, ParticipantInfoModel>>()
             val callInfoModelStateFlow = MutableStateFlow(CallInfoModel(CallingStatus.NONE, null))
             val callIdFlow = MutableStateFlow<String?>(null)
             val isMutedSharedFlow = MutableSharedFlow<Boolean>()
@@ -2172,7 +2150,7 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
             val rttFlow = MutableSharedFlow<RttMessage>()
 
             val mockCallingService: CallingService = mock {
-                on { getParticipantsInfoModelSharedFlow() } doReturn callingServiceParticipantsSharedFlow
+                on { getParticipantDeltaSharedFlow() } doReturn MutableSharedFlow()
                 on { startCall(any(), any()) } doReturn CompletableFuture<Void>()
                 on { getCallInfoModelEventSharedFlow() } doReturn callInfoModelStateFlow
                 on { getCallIdStateFlow() } doReturn callIdFlow
@@ -2242,8 +2220,6 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
             // arrange
             val appState = AppReduxState("", false, false)
 
-            val callingServiceParticipantsSharedFlow =
-                MutableSharedFlow<MutableMap<String, ParticipantInfoModel>>()
             val callInfoModelStateFlow = MutableStateFlow(CallInfoModel(CallingStatus.NONE, null))
             val callIdFlow = MutableStateFlow<String?>(null)
             val isMutedSharedFlow = MutableSharedFlow<Boolean>()
@@ -2270,7 +2246,7 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
             val rttFlow = MutableSharedFlow<RttMessage>()
 
             val mockCallingService: CallingService = mock {
-                on { getParticipantsInfoModelSharedFlow() } doReturn callingServiceParticipantsSharedFlow
+                on { getParticipantDeltaSharedFlow() } doReturn MutableSharedFlow()
                 on { startCall(any(), any()) } doReturn CompletableFuture<Void>()
                 on { getCallInfoModelEventSharedFlow() } doReturn callInfoModelStateFlow
                 on { getCallIdStateFlow() } doReturn callIdFlow
@@ -2356,8 +2332,6 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
             // arrange
             val appState = AppReduxState("", false, false)
 
-            val callingServiceParticipantsSharedFlow =
-                MutableSharedFlow<MutableMap<String, ParticipantInfoModel>>()
             val callInfoModelStateFlow = MutableStateFlow(CallInfoModel(CallingStatus.NONE, null))
             val callIdFlow = MutableStateFlow<String?>(null)
             val isMutedSharedFlow = MutableSharedFlow<Boolean>()
@@ -2384,7 +2358,7 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
             val rttFlow = MutableSharedFlow<RttMessage>()
 
             val mockCallingService: CallingService = mock {
-                on { getParticipantsInfoModelSharedFlow() } doReturn callingServiceParticipantsSharedFlow
+                on { getParticipantDeltaSharedFlow() } doReturn MutableSharedFlow()
                 on { startCall(any(), any()) } doReturn CompletableFuture<Void>()
                 on { getCallInfoModelEventSharedFlow() } doReturn callInfoModelStateFlow
                 on { getCallIdStateFlow() } doReturn callIdFlow
@@ -2456,8 +2430,6 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
             // arrange
             val appState = AppReduxState("", false, false)
 
-            val callingServiceParticipantsSharedFlow =
-                MutableSharedFlow<MutableMap<String, ParticipantInfoModel>>()
             val callInfoModelStateFlow = MutableStateFlow(CallInfoModel(CallingStatus.NONE, null))
             val callIdFlow = MutableStateFlow<String?>(null)
             val isMutedSharedFlow = MutableSharedFlow<Boolean>()
@@ -2484,7 +2456,7 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
             val rttFlow = MutableSharedFlow<RttMessage>()
 
             val mockCallingService: CallingService = mock {
-                on { getParticipantsInfoModelSharedFlow() } doReturn callingServiceParticipantsSharedFlow
+                on { getParticipantDeltaSharedFlow() } doReturn MutableSharedFlow()
                 on { startCall(any(), any()) } doReturn CompletableFuture<Void>()
                 on { getCallInfoModelEventSharedFlow() } doReturn callInfoModelStateFlow
                 on { getCallIdStateFlow() } doReturn callIdFlow
@@ -2556,8 +2528,6 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
             // arrange
             val appState = AppReduxState("", false, false)
 
-            val callingServiceParticipantsSharedFlow =
-                MutableSharedFlow<MutableMap<String, ParticipantInfoModel>>()
             val callInfoModelStateFlow = MutableStateFlow(CallInfoModel(CallingStatus.NONE, null))
             val callIdFlow = MutableStateFlow<String?>(null)
             val isMutedSharedFlow = MutableSharedFlow<Boolean>()
@@ -2584,7 +2554,7 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
             val rttFlow = MutableSharedFlow<RttMessage>()
 
             val mockCallingService: CallingService = mock {
-                on { getParticipantsInfoModelSharedFlow() } doReturn callingServiceParticipantsSharedFlow
+                on { getParticipantDeltaSharedFlow() } doReturn MutableSharedFlow()
                 on { startCall(any(), any()) } doReturn CompletableFuture<Void>()
                 on { getCallInfoModelEventSharedFlow() } doReturn callInfoModelStateFlow
                 on { getCallIdStateFlow() } doReturn callIdFlow
@@ -2656,8 +2626,6 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
             // arrange
             val appState = AppReduxState("", false, false)
 
-            val callingServiceParticipantsSharedFlow =
-                MutableSharedFlow<MutableMap<String, ParticipantInfoModel>>()
             val callInfoModelStateFlow = MutableStateFlow(CallInfoModel(CallingStatus.NONE, null))
             val callIdFlow = MutableStateFlow<String?>(null)
             val isMutedSharedFlow = MutableSharedFlow<Boolean>()
@@ -2684,7 +2652,7 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
             val rttFlow = MutableSharedFlow<RttMessage>()
 
             val mockCallingService: CallingService = mock {
-                on { getParticipantsInfoModelSharedFlow() } doReturn callingServiceParticipantsSharedFlow
+                on { getParticipantDeltaSharedFlow() } doReturn MutableSharedFlow()
                 on { startCall(any(), any()) } doReturn CompletableFuture<Void>()
                 on { getCallInfoModelEventSharedFlow() } doReturn callInfoModelStateFlow
                 on { getCallIdStateFlow() } doReturn callIdFlow
@@ -2758,8 +2726,6 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
             // arrange
             val appState = AppReduxState("", false, false)
 
-            val callingServiceParticipantsSharedFlow =
-                MutableSharedFlow<MutableMap<String, ParticipantInfoModel>>()
             val callInfoModelStateFlow = MutableStateFlow(CallInfoModel(CallingStatus.NONE, null))
             val callIdFlow = MutableStateFlow<String?>(null)
             val isMutedSharedFlow = MutableSharedFlow<Boolean>()
@@ -2786,7 +2752,7 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
             val rttFlow = MutableSharedFlow<RttMessage>()
 
             val mockCallingService: CallingService = mock {
-                on { getParticipantsInfoModelSharedFlow() } doReturn callingServiceParticipantsSharedFlow
+                on { getParticipantDeltaSharedFlow() } doReturn MutableSharedFlow()
                 on { startCall(any(), any()) } doReturn CompletableFuture<Void>()
                 on { getCallInfoModelEventSharedFlow() } doReturn callInfoModelStateFlow
                 on { getCallIdStateFlow() } doReturn callIdFlow
@@ -2884,8 +2850,6 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
             )
             appState.callState = CallingState(CallingStatus.LOCAL_HOLD,)
 
-            val callingServiceParticipantsSharedFlow =
-                MutableSharedFlow<MutableMap<String, ParticipantInfoModel>>()
             val callInfoModelStateFlow =
                 MutableStateFlow(CallInfoModel(CallingStatus.LOCAL_HOLD, null))
             val callIdFlow = MutableStateFlow<String?>(null)
@@ -2914,7 +2878,7 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
             val rttFlow = MutableSharedFlow<RttMessage>()
 
             val mockCallingService: CallingService = mock {
-                on { getParticipantsInfoModelSharedFlow() } doReturn callingServiceParticipantsSharedFlow
+                on { getParticipantDeltaSharedFlow() } doReturn MutableSharedFlow()
                 on { startCall(any(), any()) } doReturn CompletableFuture<Void>()
                 on { getCallIdStateFlow() } doReturn callIdFlow
                 on { getCallInfoModelEventSharedFlow() } doReturn callInfoModelStateFlow
@@ -3330,8 +3294,6 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
             // arrange
             val appState = AppReduxState("", false, false)
 
-            val callingServiceParticipantsSharedFlow =
-                MutableSharedFlow<MutableMap<String, ParticipantInfoModel>>()
             val callInfoModelStateFlow = MutableStateFlow(CallInfoModel(CallingStatus.NONE, null))
             val callIdFlow = MutableStateFlow<String?>(null)
             val isMutedSharedFlow = MutableSharedFlow<Boolean>()
@@ -3359,7 +3321,7 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
             val rttFlow = MutableSharedFlow<RttMessage>()
 
             val mockCallingService: CallingService = mock {
-                on { getParticipantsInfoModelSharedFlow() } doReturn callingServiceParticipantsSharedFlow
+                on { getParticipantDeltaSharedFlow() } doReturn MutableSharedFlow()
                 on { startCall(any(), any()) } doReturn CompletableFuture<Void>()
                 on { getCallInfoModelEventSharedFlow() } doReturn callInfoModelStateFlow
                 on { getCallIdStateFlow() } doReturn callIdFlow
@@ -3713,8 +3675,6 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
                     "",
                     localParticipantRole = null
                 )
-            val callingServiceParticipantsSharedFlow: MutableSharedFlow<MutableMap<String, ParticipantInfoModel>> =
-                MutableSharedFlow()
 
             val callInfoModelStateFlow = MutableStateFlow(CallInfoModel(CallingStatus.NONE, null))
             val callIdFlow = MutableStateFlow<String?>(null)
@@ -3740,7 +3700,7 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
             val rttFlow = MutableSharedFlow<RttMessage>()
 
             val mockCallingService: CallingService = mock {
-                on { getParticipantsInfoModelSharedFlow() } doReturn callingServiceParticipantsSharedFlow
+                on { getParticipantDeltaSharedFlow() } doReturn MutableSharedFlow()
                 on { startCall(any(), any()) } doReturn CompletableFuture<Void>()
                 on { getCallIdStateFlow() } doReturn callIdFlow
                 on { getIsMutedSharedFlow() } doReturn isMutedSharedFlow
@@ -3819,8 +3779,6 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
                     "",
                     localParticipantRole = null
                 )
-            val callingServiceParticipantsSharedFlow =
-                MutableSharedFlow<MutableMap<String, ParticipantInfoModel>>()
             val callInfoModelStateFlow = MutableStateFlow(CallInfoModel(CallingStatus.NONE, null))
             val callIdFlow = MutableStateFlow<String?>(null)
             val isMutedSharedFlow = MutableSharedFlow<Boolean>()
@@ -3847,7 +3805,7 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
             val languages = listOf("abc")
 
             val mockCallingService: CallingService = mock {
-                on { getParticipantsInfoModelSharedFlow() } doReturn callingServiceParticipantsSharedFlow
+                on { getParticipantDeltaSharedFlow() } doReturn MutableSharedFlow()
                 on { startCall(any(), any()) } doReturn CompletableFuture<Void>()
                 on { getCallIdStateFlow() } doReturn callIdFlow
                 on { getIsMutedSharedFlow() } doReturn isMutedSharedFlow
@@ -3973,8 +3931,6 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
                     "",
                     localParticipantRole = null
                 )
-            val callingServiceParticipantsSharedFlow =
-                MutableSharedFlow<MutableMap<String, ParticipantInfoModel>>()
             val callInfoModelStateFlow = MutableStateFlow(CallInfoModel(CallingStatus.NONE, null))
             val callIdFlow = MutableStateFlow<String?>(null)
             val isMutedSharedFlow = MutableSharedFlow<Boolean>()
@@ -3999,7 +3955,7 @@ internal class CallingMiddlewareActionHandlerUnitTest : ACSBaseTestCoroutine() {
             val rttFlow = MutableSharedFlow<RttMessage>()
 
             val mockCallingService: CallingService = mock {
-                on { getParticipantsInfoModelSharedFlow() } doReturn callingServiceParticipantsSharedFlow
+                on { getParticipantDeltaSharedFlow() } doReturn MutableSharedFlow()
                 on { startCall(any(), any()) } doReturn CompletableFuture<Void>()
                 on { getCallIdStateFlow() } doReturn callIdFlow
                 on { getIsMutedSharedFlow() } doReturn isMutedSharedFlow
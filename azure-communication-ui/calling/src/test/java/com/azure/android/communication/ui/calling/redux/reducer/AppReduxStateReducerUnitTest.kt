@@ -3,6 +3,7 @@
 
 package com.azure.android.communication.ui.calling.redux.reducer
 
+import com.azure.android.communication.ui.calling.redux.action.LocalParticipantAction
 import com.azure.android.communication.ui.calling.redux.action.NavigationAction
 import com.azure.android.communication.ui.calling.redux.state.AppReduxState
 import com.azure.android.communication.ui.calling.redux.state.AudioDeviceSelectionStatus
@@ -25,6 +26,9 @@ import com.azure.android.communication.ui.calling.redux.state.LocalUserState
 import com.azure.android.communication.ui.calling.redux.state.PermissionState
 import com.azure.android.communication.ui.calling.redux.state.PermissionStatus
 import com.azure.android.communication.ui.calling.redux.state.RemoteParticipantsState
+import com.azure.android.communication.ui.calling.redux.state.StateSlice
+import com.azure.android.communication.ui.calling.redux.state.changedSlicesSince
+import org.junit.Assert
 import org.junit.Test
 import org.junit.runner.RunWith
 import org.mockito.Mock
@@ -84,7 +88,7 @@ internal class AppReduxStateReducerUnitTest {
     private lateinit var deviceConfigurationReducer: DeviceConfigurationReducerImpl
 
     @Test
-    fun appStateReducer_reduce_when_invoked_then_callAllReducers() {
+    fun appStateReducer_reduce_when_invoked_then_callOnlyRoutedReducers() {
 
         // arrange
         val reducer =
@@ -137,15 +141,6 @@ internal class AppReduxStateReducerUnitTest {
             supportedCaptionLanguages = emptyList()
         )
 
-        Mockito.`when`(mockCallStateReducerImplementation.reduce(state.callState, action))
-            .thenReturn(state.callState)
-        Mockito.`when`(
-            mockParticipantStateReducerImplementation.reduce(
-                state.remoteParticipantState,
-                action
-            )
-        )
-            .thenReturn(state.remoteParticipantState)
         Mockito.`when`(
             mockDeviceStateReducer.reduce(
                 state.localParticipantState,
@@ -153,26 +148,6 @@ internal class AppReduxStateReducerUnitTest {
             )
         )
             .thenReturn(state.localParticipantState)
-        Mockito.`when`(
-            mockPermissionStateReducerImplementation.reduce(
-                state.permissionState,
-                action
-            )
-        ).thenReturn(state.permissionState)
-
-        Mockito.`when`(
-            mockLifecycleReducer.reduce(
-                state.lifecycleState,
-                action
-            )
-        ).thenReturn(state.lifecycleState)
-
-        Mockito.`when`(
-            mockErrorReducer.reduce(
-                state.errorState,
-                action
-            )
-        ).thenReturn(state.errorState)
 
         Mockito.`when`(
             mockNavigationReducerImpl.reduce(
@@ -181,62 +156,66 @@ internal class AppReduxStateReducerUnitTest {
             )
         ).thenReturn(state.navigationState)
 
-        Mockito.`when`(
-            mockAudioSessionReducerImpl.reduce(
-                state.audioSessionState,
-                action
-            )
-        ).thenReturn(state.audioSessionState)
-
-        Mockito.`when`(
-            pipReducer.reduce(
-                state.visibilityState,
-                action
-            )
-        ).thenReturn(state.visibilityState)
-
-        Mockito.`when`(
-            mockCallDiagnosticsReducerImpl.reduce(
-                state.callDiagnosticsState,
-                action
-            )
-        ).thenReturn(state.callDiagnosticsState)
-
-        Mockito.`when`(
-            toastNotificationReducerImpl.reduce(
-                state.toastNotificationState,
-                action
-            )
-        ).thenReturn(state.toastNotificationState)
-
-        Mockito.`when`(mockCaptionsReducer.reduce(state.captionsState, action))
-            .thenReturn(state.captionsState)
+        // act
+        val newState = reducer.reduce(state, action)
 
-        Mockito.`when`(mockCallScreenInformationHeaderReducer.reduce(state.callScreenInfoHeaderState, action)).thenReturn(
-            state.callScreenInfoHeaderState
-        )
+        // assert
+        verify(mockNavigationReducerImpl, Mockito.times(1))
+            .reduce(state.navigationState, action)
+        verify(mockDeviceStateReducer, Mockito.times(1))
+            .reduce(state.localParticipantState, action)
+        verify(mockCallStateReducerImplementation, Mockito.never())
+            .reduce(state.callState, action)
+        verify(mockParticipantStateReducerImplementation, Mockito.never())
+            .reduce(state.remoteParticipantState, action)
+        verify(mockCaptionsReducer, Mockito.never())
+            .reduce(state.captionsState, action)
+        Assert.assertSame(state, newState)
+    }
 
-        Mockito.`when`(buttonOptionsReducer.reduce(state.buttonState, action)).thenReturn(
-            state.buttonState
-        )
+    @Test
+    fun appStateReducer_reduce_when_sliceChanged_then_carryOtherSlicesByReference() {
 
-        Mockito.`when`(rttReducer.reduce(state.rttState, action)).thenReturn(
-            state.rttState
-        )
+        // arrange
+        val reducer = createReducer()
+        val action = LocalParticipantAction.CameraSwitchTriggered()
+        val state = AppReduxState("", false, false)
+        val newLocalParticipantState = state.localParticipantState.copy(videoStreamID = "video")
 
-        Mockito.`when`(deviceConfigurationReducer.reduce(state.deviceConfigurationState, action)).thenReturn(
-            state.deviceConfigurationState
-        )
+        Mockito.`when`(mockDeviceStateReducer.reduce(state.localParticipantState, action))
+            .thenReturn(newLocalParticipantState)
 
         // act
-        reducer.reduce(state, action)
+        val newState = reducer.reduce(state, action)
 
         // assert
-        verify(mockCallStateReducerImplementation, Mockito.times(1))
+        Assert.assertNotSame(state, newState)
+        Assert.assertSame(newLocalParticipantState, newState.localParticipantState)
+        Assert.assertSame(state.callState, newState.callState)
+        Assert.assertSame(state.remoteParticipantState, newState.remoteParticipantState)
+        Assert.assertSame(state.buttonState, newState.buttonState)
+        Assert.assertSame(state.captionsState, newState.captionsState)
+        Assert.assertEquals(setOf(StateSlice.LOCAL_PARTICIPANT), newState.changedSlicesSince(state))
+        verify(mockCallStateReducerImplementation, Mockito.never())
             .reduce(state.callState, action)
-        verify(mockParticipantStateReducerImplementation, Mockito.times(1))
-            .reduce(state.remoteParticipantState, action)
-        verify(mockCaptionsReducer, Mockito.times(1))
-            .reduce(state.captionsState, action)
     }
+
+    private fun createReducer() = AppStateReducer(
+        mockCallStateReducerImplementation,
+        mockParticipantStateReducerImplementation,
+        mockDeviceStateReducer,
+        mockPermissionStateReducerImplementation,
+        mockLifecycleReducer,
+        mockErrorReducer,
+        mockNavigationReducerImpl,
+        mockAudioSessionReducerImpl,
+        pipReducer,
+        mockCallDiagnosticsReducerImpl,
+        toastNotificationReducerImpl,
+        mockCaptionsReducer,
+        mockCallScreenInformationHeaderReducer,
+        buttonOptionsReducer,
+        rttReducer,
+        deviceConfigurationReducer,
+    )
 }
@@ -3,12 +3,14 @@
 
 package com.azure.android.communication.ui.calling.redux.reducer
 
+import com.azure.android.communication.ui.calling.models.ParticipantChangedField
 import com.azure.android.communication.ui.calling.models.ParticipantInfoModel
 import com.azure.android.communication.ui.calling.models.ParticipantStatus
 import com.azure.android.communication.ui.calling.redux.action.NavigationAction
 import com.azure.android.communication.ui.calling.redux.action.ParticipantAction
 import com.azure.android.communication.ui.calling.redux.state.RemoteParticipantsState
 import org.junit.Assert.assertEquals
+import org.junit.Assert.assertSame
 import org.junit.Test
 import org.junit.runner.RunWith
 import org.mockito.junit.MockitoJUnitRunner
@@ -99,4 +101,91 @@ internal class ParticipantInfoModelStateReducerUnitTest {
         // assert
         assertEquals(updatedDominantSpeakers, newState.dominantSpeakersInfo)
     }
+
+    @Test
+    fun participantListStateReducer_reduce_when_participantDeltas_then_patchParticipantMap() {
+        // arrange
+        val reducer = ParticipantStateReducerImpl()
+        val existingParticipant = getParticipantInfoModel("existing")
+        val oldState = RemoteParticipantsState(hashMapOf("existing" to existingParticipant), 0, listOf(), 0, null, 0)
+        val addedParticipant = getParticipantInfoModel("added")
+        val mutedParticipant = getParticipantInfoModel("added").copy(isMuted = true, modifiedTimestamp = 1)
+
+        // act
+        val addedState = reducer.reduce(oldState, ParticipantAction.ParticipantAdded(addedParticipant))
+        val changedState = reducer.reduce(
+            addedState,
+            ParticipantAction.ParticipantChanged(mutedParticipant, ParticipantChangedField.IS_MUTED)
+        )
+        val removedState = reducer.reduce(changedState, ParticipantAction.ParticipantRemoved("existing"))
+
+        // assert
+        assertEquals(mapOf("existing" to existingParticipant, "added" to addedParticipant), addedState.participantMap)
+        assertSame(mutedParticipant, changedState.participantMap["added"])
+        assertSame(addedParticipant, addedState.participantMap["added"])
+        assertEquals(mapOf("added" to mutedParticipant), removedState.participantMap)
+        assertEquals(1, oldState.participantMap.size)
+    }
+
+    @Test
+    fun participantListStateReducer_reduce_when_removedParticipantIsUnknown_then_noStateUpdate() {
+        // arrange
+        val reducer = ParticipantStateReducerImpl()
+        val oldState = RemoteParticipantsState(HashMap(), 0, listOf(), 0, null, 0)
+
+        // act
+        val newState = reducer.reduce(oldState, ParticipantAction.ParticipantRemoved("unknown"))
+
+        // assert
+        assertSame(oldState, newState)
+    }
+
+    @Test
+    fun participantListStateReducer_reduce_when_changedParticipantIsUnknown_then_noStateUpdate() {
+        // arrange
+        val reducer = ParticipantStateReducerImpl()
+        val oldState = RemoteParticipantsState(hashMapOf("existing" to getParticipantInfoModel("existing")), 0, listOf(), 0, null, 0)
+        val leftParticipant = getParticipantInfoModel("left").copy(isMuted = true)
+
+        // act
+        val newState = reducer.reduce(
+            oldState,
+            ParticipantAction.ParticipantChanged(leftParticipant, ParticipantChangedField.IS_MUTED)
+        )
+
+        // assert
+        assertSame(oldState, newState)
+    }
+
+    @Test
+    fun participantListStateReducer_reduce_when_listHasOlderVersion_then_keepAppliedParticipant() {
+        // arrange
+        val reducer = ParticipantStateReducerImpl()
+        val mutedParticipant = getParticipantInfoModel("user").copy(isMuted = true, version = 3)
+        val oldState = RemoteParticipantsState(hashMapOf("user" to mutedParticipant), 0, listOf(), 0, null, 0)
+        val staleParticipant = getParticipantInfoModel("user").copy(version = 2)
+        val joinedParticipant = getParticipantInfoModel("joined").copy(version = 1)
+
+        // act
+        val newState = reducer.reduce(
+            oldState,
+            ParticipantAction.ListUpdated(mapOf("user" to staleParticipant, "joined" to joinedParticipant))
+        )
+
+        // assert
+        assertSame(mutedParticipant, newState.participantMap["user"])
+        assertSame(joinedParticipant, newState.participantMap["joined"])
+    }
+
+    private fun getParticipantInfoModel(id: String) = ParticipantInfoModel(
+        id, id,
+        isMuted = false,
+        isCameraDisabled = false,
+        isSpeaking = false,
+        isTypingRtt = false,
+        screenShareVideoStreamModel = null,
+        cameraVideoStreamModel = null,
+        modifiedTimestamp = 0,
+        participantStatus = ParticipantStatus.CONNECTED,
+    )
 }
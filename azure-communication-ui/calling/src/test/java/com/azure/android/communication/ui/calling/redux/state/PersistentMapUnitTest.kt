@@ -0,0 +1,51 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.calling.redux.state
+
+import org.junit.Assert
+import org.junit.Test
+import kotlin.random.Random
+
+internal class PersistentMapUnitTest {
+
+    @Test
+    fun persistentMap_putAndRemove_when_randomOperations_then_matchesHashMap() {
+        // arrange
+        var map = PersistentMap.empty<String, Int>()
+        val expected = HashMap<String, Int>()
+        val random = Random(7)
+
+        // act
+        for (i in 0 until 2000) {
+            val key = "user${random.nextInt(300)}"
+            if (random.nextInt(4) == 0) {
+                map = map.remove(key)
+                expected.remove(key)
+            } else {
+                map = map.put(key, i)
+                expected[key] = i
+            }
+        }
+
+        // assert
+        Assert.assertEquals(expected.size, map.size)
+        Assert.assertEquals(expected, map)
+        expected.forEach { (key, value) -> Assert.assertEquals(value, map[key]) }
+    }
+
+    @Test
+    fun persistentMap_put_when_patched_then_previousMapIsUnchanged() {
+        // arrange
+        val original = mapOf("a" to 1, "b" to 2).toPersistentMap()
+
+        // act
+        val updated = original.put("a", 3).remove("b")
+
+        // assert
+        Assert.assertEquals(mapOf("a" to 1, "b" to 2), original)
+        Assert.assertEquals(mapOf("a" to 3), updated)
+        Assert.assertSame(original, original.remove("missing"))
+        Assert.assertSame(updated, updated.toPersistentMap())
+    }
+}
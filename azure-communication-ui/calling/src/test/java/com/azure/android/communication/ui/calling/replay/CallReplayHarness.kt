@@ -0,0 +1,276 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.calling.replay
+
+import com.azure.android.communication.ui.calling.configuration.CallCompositeConfiguration
+import com.azure.android.communication.ui.calling.configuration.CallConfiguration
+import com.azure.android.communication.ui.calling.configuration.CallType
+import com.azure.android.communication.ui.calling.helper.BaseTestContextProvider
+import com.azure.android.communication.ui.calling.logger.Logger
+import com.azure.android.communication.ui.calling.models.CallCompositeAudioVideoMode
+import com.azure.android.communication.ui.calling.presentation.fragment.calling.CallingViewModel
+import com.azure.android.communication.ui.calling.presentation.fragment.factories.CallingViewModelFactory
+import com.azure.android.communication.ui.calling.presentation.fragment.factories.ParticipantGridCellViewModelFactory
+import com.azure.android.communication.ui.calling.presentation.manager.AvatarViewManager
+import com.azure.android.communication.ui.calling.presentation.manager.CapabilitiesManager
+import com.azure.android.communication.ui.calling.presentation.manager.CaptionsRttDataManager
+import com.azure.android.communication.ui.calling.presentation.manager.NetworkManager
+import com.azure.android.communication.ui.calling.presentation.manager.UpdatableOptionsManager
+import com.azure.android.communication.ui.calling.redux.AppStore
+import com.azure.android.communication.ui.calling.redux.StoreMetrics
+import com.azure.android.communication.ui.calling.redux.action.CallingAction
+import com.azure.android.communication.ui.calling.redux.middleware.CallingMiddlewareImpl
+import com.azure.android.communication.ui.calling.redux.middleware.handler.CallingMiddlewareActionHandlerImpl
+import com.azure.android.communication.ui.calling.redux.reducer.AppStateReducer
+import com.azure.android.communication.ui.calling.redux.reducer.AudioSessionStateReducerImpl
+import com.azure.android.communication.ui.calling.redux.reducer.ButtonViewDataReducerImpl
+import com.azure.android.communication.ui.calling.redux.reducer.CallDiagnosticsReducerImpl
+import com.azure.android.communication.ui.calling.redux.reducer.CallScreenInformationHeaderReducerImpl
+import com.azure.android.communication.ui.calling.redux.reducer.CallStateReducerImpl
+import com.azure.android.communication.ui.calling.redux.reducer.CaptionsReducerImpl
+import com.azure.android.communication.ui.calling.redux.reducer.DeviceConfigurationReducerImpl
+import com.azure.android.communication.ui.calling.redux.reducer.ErrorReducerImpl
+import com.azure.android.communication.ui.calling.redux.reducer.LifecycleReducerImpl
+import com.azure.android.communication.ui.calling.redux.reducer.LocalParticipantStateReducerImpl
+import com.azure.android.communication.ui.calling.redux.reducer.NavigationReducerImpl
+import com.azure.android.communication.ui.calling.redux.reducer.ParticipantStateReducerImpl
+import com.azure.android.communication.ui.calling.redux.reducer.PermissionStateReducerImpl
+import com.azure.android.communication.ui.calling.redux.reducer.PipReducerImpl
+import com.azure.android.communication.ui.calling.redux.reducer.Reducer
+import com.azure.android.communication.ui.calling.redux.reducer.RttReducerImpl
+import com.azure.android.communication.ui.calling.redux.reducer.ToastNotificationReducerImpl
+import com.azure.android.communication.ui.calling.redux.state.AppReduxState
+import com.azure.android.communication.ui.calling.redux.state.ReduxState
+import com.azure.android.communication.ui.calling.service.CallingService
+import com.azure.android.communication.ui.calling.service.ParticipantUpdateScheduler
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.test.StandardTestDispatcher
+import org.mockito.kotlin.doReturn
+import org.mockito.kotlin.mock
+import java.lang.management.ManagementFactory
+import java.util.Locale
+
+internal data class CallReplayReport(
+    val callDurationMillis: Long,
+    val wallTimeNanos: Long,
+    val sdkEvents: Int,
+    val handledActions: Long,
+    val emittedStates: Long,
+    val suppressedStates: Long,
+    // new participant cell lists published by the grid, cells rebound in place are not counted
+    val gridUpdates: Int,
+    // records inserted, updated or removed by the captions layout, and full rebinds
+    val captionUpdates: Int,
+    val remoteParticipants: Int,
+    // by the replay thread, including the harness itself, null when the JVM cannot measure it
+    val allocatedBytes: Long?,
+) {
+    private val wallTimeSeconds: Double get() = wallTimeNanos / 1e9
+
+    val sdkEventsPerSecond: Double get() = sdkEvents / wallTimeSeconds
+
+    val actionsPerSecond: Double get() = handledActions / wallTimeSeconds
+
+    val allocatedBytesPerSecond: Double? get() = allocatedBytes?.let { it / wallTimeSeconds }
+
+    // what a real call of the same load allocates each second
+    val allocatedBytesPerCallSecond: Double? get() = allocatedBytes?.let { it * 1000.0 / maxOf(1L, callDurationMillis) }
+
+    override fun toString() = String.format(
+        Locale.US,
+        "%d ms of call replayed in %.1f ms: %d SDK events (%.0f/s), %d actions (%.0f/s), " +
+            "%d states emitted, %d suppressed, %d grid updates, %d caption updates, %d participants, " +
+            "%s allocated (%s per second, %s per call second)",
+        callDurationMillis,
+        wallTimeNanos / 1e6,
+        sdkEvents,
+        sdkEventsPerSecond,
+        handledActions,
+        actionsPerSecond,
+        emittedStates,
+        suppressedStates,
+        gridUpdates,
+        captionUpdates,
+        remoteParticipants,
+        formatBytes(allocatedBytes?.toDouble()),
+        formatBytes(allocatedBytesPerSecond),
+        formatBytes(allocatedBytesPerCallSecond),
+    )
+
+    private fun formatBytes(bytes: Double?) =
+        bytes?.let { String.format(Locale.US, "%.1f MB", it / (1024 * 1024)) } ?: "n/a"
+}
+
+// Replays a script through the real calling service, store, reducers and view models
+//
+// The SDK is a ReplayCallingSDK, everything else is the production code wired as the
+// dependency injection container does, on a single test dispatcher: the call runs in virtual time
+// as fast as the replay thread can reduce it, without a device or network. The calling screen
+// is a CallingViewModel with its child view models, only the fragments and views are left out.
+// Each run starts from a new store.
+internal class CallReplayHarness(
+    private val maxRemoteParticipants: Int = DEFAULT_MAX_REMOTE_PARTICIPANTS,
+    private val callType: CallType = CallType.GROUP_CALL,
+) {
+    companion object {
+        private const val DEFAULT_MAX_REMOTE_PARTICIPANTS = 6
+        private const val DEFAULT_TAIL_MILLIS = 1000L
+    }
+
+    private object SilentLogger : Logger {
+        override fun info(message: String) {}
+        override fun debug(message: String) {}
+        override fun warning(message: String) {}
+        override fun error(message: String, error: Throwable?) {}
+    }
+
+    // tailMillis lets the samplers and schedulers flush after the last event
+    fun run(script: CallReplayScript, tailMillis: Long = DEFAULT_TAIL_MILLIS): CallReplayReport {
+        val dispatcher = StandardTestDispatcher()
+        val scheduler = dispatcher.scheduler
+        val contextProvider = BaseTestContextProvider(dispatcher)
+        val scope = CoroutineScope(dispatcher + SupervisorJob())
+
+        val sdk = ReplayCallingSDK()
+        val callingService = CallingService(sdk, contextProvider)
+        val configuration = CallCompositeConfiguration().apply {
+            callConfig = CallConfiguration(null, null, null, null, null, callType)
+        }
+        val participantUpdateScheduler = ParticipantUpdateScheduler(currentTimeMillis = { scheduler.currentTime })
+        val capabilitiesManager = CapabilitiesManager(callType)
+        val metrics = StoreMetrics(isEnabled = true, traceCapacity = 0)
+        val store = AppStore(
+            AppReduxState(displayName = "Replay"),
+            createReducer(),
+            mutableListOf(
+                CallingMiddlewareImpl(
+                    CallingMiddlewareActionHandlerImpl(
+                        callingService,
+                        contextProvider,
+                        configuration,
+                        capabilitiesManager,
+                        participantUpdateScheduler = participantUpdateScheduler,
+                    ),
+                    SilentLogger,
+                )
+            ),
+            dispatcher,
+            metrics = metrics,
+        )
+
+        val captionsRttDataManager = CaptionsRttDataManager(
+            callingService,
+            store,
+            AvatarViewManager(contextProvider, store, null, configuration.remoteParticipantsConfiguration),
+            null,
+            null,
+            currentTimeMillis = { scheduler.currentTime },
+        )
+        val callingViewModel = CallingViewModel(
+            store = store,
+            callingViewModelProvider = CallingViewModelFactory(
+                store = store,
+                participantGridCellViewModelFactory = ParticipantGridCellViewModelFactory(),
+                maxRemoteParticipants = maxRemoteParticipants,
+                debugInfoManager = mock(),
+                capabilitiesManager = capabilitiesManager,
+                updatableOptionsManager = UpdatableOptionsManager(configuration, store),
+                captionsRttDataManager = captionsRttDataManager,
+                enableMultitasking = false,
+                callType = callType,
+                callScreenControlBarOptions = null,
+                logger = SilentLogger,
+                participantUpdateScheduler = participantUpdateScheduler,
+            ),
+            networkManager = mock<NetworkManager> { on { isNetworkConnectionAvailable() } doReturn true },
+            multitaskingEnabled = false,
+            avMode = CallCompositeAudioVideoMode.AUDIO_AND_VIDEO,
+            callType = callType,
+            capabilitiesManager = capabilitiesManager,
+        )
+        callingViewModel.init(scope)
+
+        var gridUpdates = 0
+        var captionUpdates = 0
+        scope.launch {
+            callingViewModel.participantGridViewModel.getRemoteParticipantsUpdateStateFlow().collect { gridUpdates++ }
+        }
+        callingViewModel.captionsLayoutViewModel.run {
+            scope.launch { recordInsertedAtPositionSharedFlow.collect { captionUpdates++ } }
+            scope.launch { recordUpdatedAtPositionSharedFlow.collect { captionUpdates++ } }
+            scope.launch { recordRemovedAtPositionSharedFlow.collect { captionUpdates++ } }
+            scope.launch { recordsUpdatedInRangeSharedFlow.collect { captionUpdates++ } }
+            scope.launch { captionsRttUpdatedSharedFlow.collect { captionUpdates++ } }
+        }
+        captionsRttDataManager.start(scope)
+
+        store.dispatch(CallingAction.CallStartRequested())
+        scheduler.runCurrent()
+        val startMetrics = metrics.getSnapshot()
+        val startGridUpdates = gridUpdates
+
+        var sdkEvents = 0
+        scope.launch {
+            script.events.forEach {
+                delay(it.atMillis - scheduler.currentTime)
+                it.emit(sdk)
+                sdkEvents++
+            }
+        }
+
+        val startAllocatedBytes = getAllocatedBytes()
+        val startNanos = System.nanoTime()
+        scheduler.advanceTimeBy(script.durationMillis + tailMillis)
+        scheduler.runCurrent()
+        val wallTimeNanos = System.nanoTime() - startNanos
+        val allocatedBytes = getAllocatedBytes()?.let { end -> startAllocatedBytes?.let { end - it } }
+
+        val endMetrics = metrics.getSnapshot()
+        val report = CallReplayReport(
+            callDurationMillis = script.durationMillis + tailMillis,
+            wallTimeNanos = wallTimeNanos,
+            sdkEvents = sdkEvents,
+            handledActions = endMetrics.middlewareTime.count - startMetrics.middlewareTime.count,
+            emittedStates = endMetrics.emittedStates - startMetrics.emittedStates,
+            suppressedStates = endMetrics.suppressedStates - startMetrics.suppressedStates,
+            gridUpdates = gridUpdates - startGridUpdates,
+            captionUpdates = captionUpdates,
+            remoteParticipants = store.getCurrentState().remoteParticipantState.participantMap.size,
+            allocatedBytes = allocatedBytes,
+        )
+
+        scope.cancel()
+        callingService.dispose()
+        store.end()
+        return report
+    }
+
+    private fun getAllocatedBytes(): Long? =
+        (ManagementFactory.getThreadMXBean() as? com.sun.management.ThreadMXBean)
+            ?.takeIf { it.isThreadAllocatedMemorySupported && it.isThreadAllocatedMemoryEnabled }
+            ?.getThreadAllocatedBytes(Thread.currentThread().id)
+
+    private fun createReducer() = AppStateReducer(
+        CallStateReducerImpl(),
+        ParticipantStateReducerImpl(),
+        LocalParticipantStateReducerImpl(),
+        PermissionStateReducerImpl(),
+        LifecycleReducerImpl(),
+        ErrorReducerImpl(),
+        NavigationReducerImpl(),
+        AudioSessionStateReducerImpl(),
+        PipReducerImpl(),
+        CallDiagnosticsReducerImpl(),
+        ToastNotificationReducerImpl(),
+        CaptionsReducerImpl(),
+        CallScreenInformationHeaderReducerImpl(),
+        ButtonViewDataReducerImpl(),
+        RttReducerImpl(),
+        DeviceConfigurationReducerImpl(),
+    ) as Reducer<ReduxState>
+}
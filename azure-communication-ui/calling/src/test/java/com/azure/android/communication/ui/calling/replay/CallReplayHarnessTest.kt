@@ -0,0 +1,134 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.calling.replay
+
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.test.StandardTestDispatcher
+import kotlinx.coroutines.test.TestScope
+import kotlinx.coroutines.test.advanceTimeBy
+import kotlinx.coroutines.test.runCurrent
+import org.junit.Assert
+import org.junit.Test
+
+@OptIn(ExperimentalCoroutinesApi::class)
+internal class CallReplayHarnessTest {
+
+    private fun largeMeeting(seed: Long) = callReplayScript(seed) {
+        connect()
+        participantsJoin(count = 300, startMillis = 100, overMillis = 3000)
+        speakingChurn(startMillis = 3500, durationMillis = 5000, changesPerSecond = 50)
+        diagnosticsBurst(atMillis = 4000, count = 60)
+        captions(startMillis = 3500, durationMillis = 5000, hz = 10)
+        rttMessages(startMillis = 5000, count = 20, intervalMillis = 100)
+    }
+
+    @Test
+    fun callReplayHarness_run_when_largeMeetingReplayed_then_stateAndViewModelsFollowTheScript() {
+        // arrange
+        val script = largeMeeting(seed = 1)
+
+        // act
+        val report = CallReplayHarness().run(script)
+
+        // assert
+        Assert.assertEquals(script.events.size, report.sdkEvents)
+        Assert.assertEquals(300, report.remoteParticipants)
+        Assert.assertTrue(report.handledActions > 0)
+        Assert.assertTrue(report.emittedStates > 0)
+        // the grid publishes a new list as its six cells fill, later joins and speakers rebind them
+        Assert.assertEquals(6, report.gridUpdates)
+        // one per caption and RTT message, and the RTT info record
+        Assert.assertEquals(50 + 20 + 1, report.captionUpdates)
+        Assert.assertTrue(report.wallTimeNanos > 0)
+    }
+
+    @Test
+    fun callReplayHarness_run_when_smallCallReplayed_then_callingViewModelUpdatesGridAndCaptions() {
+        // arrange
+        val script = callReplayScript(seed = 5) {
+            connect()
+            participantsJoin(count = 8, startMillis = 100, overMillis = 700)
+            captions(startMillis = 1000, durationMillis = 2400)
+            rttMessages(startMillis = 3500, count = 5, intervalMillis = 100)
+        }
+
+        // act
+        val report = CallReplayHarness(maxRemoteParticipants = 4).run(script)
+
+        // assert
+        Assert.assertEquals(8, report.remoteParticipants)
+        // a new list for each of the first four joins, the last four fit no free cell
+        Assert.assertEquals(4, report.gridUpdates)
+        // two sentences of twelve words: an insert and eleven updates each
+        // then the RTT info record and one insert per RTT message
+        Assert.assertEquals(24 + 1 + 5, report.captionUpdates)
+    }
+
+    @Test
+    fun callReplayHarness_run_when_sameSeedReplayedTwice_then_sameWorkIsDone() {
+        // arrange
+        val firstScript = largeMeeting(seed = 7)
+        val secondScript = largeMeeting(seed = 7)
+
+        // act
+        val first = CallReplayHarness().run(firstScript)
+        val second = CallReplayHarness().run(secondScript)
+
+        // assert
+        Assert.assertEquals(
+            firstScript.events.map { it.name to it.atMillis },
+            secondScript.events.map { it.name to it.atMillis }
+        )
+        Assert.assertEquals(first.callDurationMillis, second.callDurationMillis)
+        Assert.assertEquals(first.remoteParticipants, second.remoteParticipants)
+        Assert.assertEquals(first.sdkEvents, second.sdkEvents)
+        Assert.assertEquals(first.handledActions, second.handledActions)
+        Assert.assertEquals(first.emittedStates, second.emittedStates)
+        Assert.assertEquals(first.suppressedStates, second.suppressedStates)
+        Assert.assertEquals(first.gridUpdates, second.gridUpdates)
+        Assert.assertEquals(first.captionUpdates, second.captionUpdates)
+    }
+
+    @Test
+    fun callReplayRecorder_build_when_scriptReplayedWhileRecording_then_recordedScriptReplaysTheSameCall() {
+        // arrange
+        val script = callReplayScript(seed = 3) {
+            connect()
+            participantsJoin(count = 20, startMillis = 100, overMillis = 500)
+            speakingChurn(startMillis = 700, durationMillis = 1000, changesPerSecond = 10)
+            captions(startMillis = 700, durationMillis = 1000)
+        }
+        val testScope = TestScope(StandardTestDispatcher())
+        val sdk = ReplayCallingSDK()
+        val recorder = CallReplayRecorder { testScope.testScheduler.currentTime }
+        val recording = recorder.record(sdk, testScope)
+        testScope.runCurrent()
+
+        // act
+        testScope.launch {
+            script.events.forEach {
+                delay(it.atMillis - testScope.testScheduler.currentTime)
+                it.emit(sdk)
+            }
+        }
+        testScope.advanceTimeBy(script.durationMillis + 1)
+        testScope.runCurrent()
+        recording.cancel()
+        val recorded = recorder.build()
+
+        // assert
+        val scripted = script.countByName()
+        val recordedCounts = recorded.countByName()
+        Assert.assertEquals(scripted["participantAdded"]!! + scripted["participantChanged"]!!, recordedCounts["participantDelta"])
+        Assert.assertEquals(scripted["caption"], recordedCounts["caption"])
+        Assert.assertEquals(script.durationMillis, recorded.durationMillis)
+        val expected = CallReplayHarness().run(script)
+        val replayed = CallReplayHarness().run(recorded)
+        Assert.assertEquals(expected.remoteParticipants, replayed.remoteParticipants)
+        Assert.assertEquals(expected.handledActions, replayed.handledActions)
+        Assert.assertEquals(expected.captionUpdates, replayed.captionUpdates)
+    }
+}
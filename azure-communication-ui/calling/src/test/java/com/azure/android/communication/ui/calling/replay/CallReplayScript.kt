@@ -0,0 +1,266 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.calling.replay
+
+import com.azure.android.communication.calling.CallState
+import com.azure.android.communication.ui.calling.models.CallCompositeCaptionsData
+import com.azure.android.communication.ui.calling.models.CallDiagnosticModel
+import com.azure.android.communication.ui.calling.models.CallDiagnosticQuality
+import com.azure.android.communication.ui.calling.models.CaptionsResultType
+import com.azure.android.communication.ui.calling.models.MediaCallDiagnostic
+import com.azure.android.communication.ui.calling.models.NetworkCallDiagnostic
+import com.azure.android.communication.ui.calling.models.ParticipantChangedField
+import com.azure.android.communication.ui.calling.models.ParticipantDelta
+import com.azure.android.communication.ui.calling.models.ParticipantInfoModel
+import com.azure.android.communication.ui.calling.models.ParticipantStatus
+import com.azure.android.communication.ui.calling.models.RttMessage
+import com.azure.android.communication.ui.calling.models.StreamType
+import com.azure.android.communication.ui.calling.models.VideoStreamModel
+import com.azure.android.communication.ui.calling.service.sdk.CallingSDK
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.filterNotNull
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.launch
+import java.util.Date
+import kotlin.random.Random
+
+// An SDK event at a time of the call
+internal class ReplayEvent(
+    val atMillis: Long,
+    val name: String,
+    val emit: suspend ReplayCallingSDK.() -> Unit,
+)
+
+internal class CallReplayScript(events: List<ReplayEvent>) {
+    // stable, events at the same time keep their order
+    val events: List<ReplayEvent> = events.sortedBy { it.atMillis }
+
+    val durationMillis: Long get() = events.lastOrNull()?.atMillis ?: 0
+
+    fun countByName(): Map<String, Int> = events.groupingBy { it.name }.eachCount()
+}
+
+internal fun callReplayScript(seed: Long = 0, build: CallReplayScriptBuilder.() -> Unit): CallReplayScript =
+    CallReplayScriptBuilder(seed).apply(build).build()
+
+// Scripted load scenarios, deterministic for a seed
+//
+// Scenarios act on the participants joined by the scenarios added before them, whatever their
+// times, so add joins first.
+internal class CallReplayScriptBuilder(seed: Long = 0) {
+    companion object {
+        private const val DOMINANT_SPEAKERS = 4
+        private const val CAPTION_WORDS_PER_SENTENCE = 12
+        private val WORDS = listOf("the", "call", "is", "loud", "and", "clear", "next", "slide", "please", "thanks")
+    }
+
+    private val random = Random(seed)
+    private val events = mutableListOf<ReplayEvent>()
+    private val participants = LinkedHashMap<String, ParticipantInfoModel>()
+    private var joinedParticipants = 0
+    private var version = 0L
+
+    fun at(atMillis: Long, name: String, emit: suspend ReplayCallingSDK.() -> Unit) {
+        events.add(ReplayEvent(atMillis, name, emit))
+    }
+
+    fun connect(atMillis: Long = 0, callId: String = "replay-call") {
+        at(atMillis, "callState") { emitCallState(CallState.CONNECTING) }
+        at(atMillis, "callState") { emitCallState(CallState.CONNECTED) }
+        at(atMillis, "callId") { this.callId.value = callId }
+    }
+
+    fun disconnect(atMillis: Long) {
+        at(atMillis, "callState") { emitCallState(CallState.DISCONNECTED) }
+    }
+
+    fun participantsJoin(count: Int, startMillis: Long = 0, overMillis: Long = 0) {
+        repeat(count) {
+            val participant = participant("participant${joinedParticipants++}")
+            participants[participant.userIdentifier] = participant
+            val atMillis = startMillis + if (count > 1) overMillis * it / (count - 1) else 0
+            val total = participants.size
+            at(atMillis, "participantAdded") {
+                participantDeltas.emit(ParticipantDelta.Added(participant))
+                totalParticipantCount.emit(total)
+            }
+        }
+    }
+
+    fun participantsLeave(count: Int, startMillis: Long = 0, overMillis: Long = 0) {
+        val leaving = participants.keys.shuffled(random).take(count)
+        leaving.forEachIndexed { index, id ->
+            participants.remove(id)
+            val atMillis = startMillis + if (leaving.size > 1) overMillis * index / (leaving.size - 1) else 0
+            val total = participants.size
+            at(atMillis, "participantRemoved") {
+                participantDeltas.emit(ParticipantDelta.Removed(id))
+                totalParticipantCount.emit(total)
+            }
+        }
+    }
+
+    // Random participants start and stop speaking, the dominant speakers follow once a second
+    fun speakingChurn(startMillis: Long, durationMillis: Long, changesPerSecond: Int) {
+        val ids = participants.keys.toList()
+        if (ids.isEmpty()) return
+        val speakers = ArrayDeque<String>()
+        val changes = durationMillis * changesPerSecond / 1000
+        for (change in 0 until changes) {
+            val id = ids[random.nextInt(ids.size)]
+            val updated = participants.getValue(id).let {
+                it.copy(isSpeaking = !it.isSpeaking, modifiedTimestamp = ++version, version = version)
+            }
+            participants[id] = updated
+            if (updated.isSpeaking) {
+                speakers.remove(id)
+                speakers.addFirst(id)
+            }
+            val atMillis = startMillis + change * 1000 / changesPerSecond
+            at(atMillis, "participantChanged") {
+                participantDeltas.emit(ParticipantDelta.Changed(updated, ParticipantChangedField.IS_SPEAKING))
+            }
+            if ((change + 1) % changesPerSecond == 0L) {
+                val dominantSpeakers = speakers.take(DOMINANT_SPEAKERS)
+                at(atMillis, "dominantSpeakers") { emitDominantSpeakers(dominantSpeakers) }
+            }
+        }
+    }
+
+    // Every diagnostic flips within a few frames, as when the network drops
+    fun diagnosticsBurst(atMillis: Long, count: Int, intervalMillis: Long = 10) {
+        val networkKinds = NetworkCallDiagnostic.values()
+        val mediaKinds = MediaCallDiagnostic.values()
+        val qualities = CallDiagnosticQuality.values()
+        repeat(count) {
+            val time = atMillis + it * intervalMillis
+            when (it % 3) {
+                0 -> {
+                    val diagnostic = CallDiagnosticModel(
+                        networkKinds[random.nextInt(networkKinds.size)],
+                        qualities[random.nextInt(qualities.size)],
+                    )
+                    at(time, "networkQualityDiagnostic") { networkQualityDiagnostics.emit(diagnostic) }
+                }
+                1 -> {
+                    val diagnostic = CallDiagnosticModel(networkKinds[random.nextInt(networkKinds.size)], random.nextBoolean())
+                    at(time, "networkDiagnostic") { networkDiagnostics.emit(diagnostic) }
+                }
+                else -> {
+                    val diagnostic = CallDiagnosticModel(mediaKinds[random.nextInt(mediaKinds.size)], random.nextBoolean())
+                    at(time, "mediaDiagnostic") { mediaDiagnostics.emit(diagnostic) }
+                }
+            }
+        }
+    }
+
+    // Partial captions growing a word at a time, final at the end of each sentence
+    fun captions(startMillis: Long, durationMillis: Long, hz: Int = 10, speakerCount: Int = 3) {
+        val ids = participants.keys.take(speakerCount)
+        if (ids.isEmpty()) return
+        val updates = durationMillis * hz / 1000
+        var sentence = StringBuilder()
+        var speaker = ids.first()
+        for (update in 0 until updates) {
+            val word = update % CAPTION_WORDS_PER_SENTENCE
+            if (word == 0L) {
+                sentence = StringBuilder()
+                speaker = ids[random.nextInt(ids.size)]
+            }
+            if (sentence.isNotEmpty()) sentence.append(' ')
+            sentence.append(WORDS[random.nextInt(WORDS.size)])
+            val atMillis = startMillis + update * 1000 / hz
+            val caption = CallCompositeCaptionsData(
+                resultType = if (word == CAPTION_WORDS_PER_SENTENCE - 1L) CaptionsResultType.FINAL else CaptionsResultType.PARTIAL,
+                speakerRawId = speaker,
+                speakerName = participants.getValue(speaker).displayName,
+                spokenLanguage = "en-us",
+                spokenText = sentence.toString(),
+                timestamp = Date(atMillis),
+            )
+            at(atMillis, "caption") { captions.emit(caption) }
+        }
+    }
+
+    fun rttMessages(startMillis: Long, count: Int, intervalMillis: Long) {
+        val ids = participants.keys.toList()
+        if (ids.isEmpty()) return
+        repeat(count) {
+            val id = ids[random.nextInt(ids.size)]
+            val atMillis = startMillis + it * intervalMillis
+            val message = RttMessage(
+                message = WORDS[random.nextInt(WORDS.size)],
+                senderUserRawId = id,
+                senderName = participants.getValue(id).displayName,
+                localCreatedTime = Date(atMillis),
+                isLocal = false,
+                isFinalized = true,
+                sequenceId = it,
+            )
+            at(atMillis, "rttMessage") { rttMessages.emit(message) }
+        }
+    }
+
+    fun build() = CallReplayScript(events.toList())
+
+    private fun participant(id: String) = ParticipantInfoModel(
+        displayName = "Participant $id",
+        userIdentifier = id,
+        isMuted = random.nextBoolean(),
+        isCameraDisabled = false,
+        isSpeaking = false,
+        isTypingRtt = false,
+        participantStatus = ParticipantStatus.CONNECTED,
+        screenShareVideoStreamModel = null,
+        cameraVideoStreamModel = if (random.nextInt(4) == 0) VideoStreamModel("$id-camera", StreamType.VIDEO) else null,
+        modifiedTimestamp = ++version,
+        version = version,
+    )
+}
+
+// Records the events of a CallingSDK as a script, to replay a captured session
+internal class CallReplayRecorder(private val currentTimeMillis: () -> Long) {
+    private val events = mutableListOf<ReplayEvent>()
+    private var startMillis = 0L
+
+    fun record(sdk: CallingSDK, coroutineScope: CoroutineScope): Job {
+        startMillis = currentTimeMillis()
+        val job = Job(coroutineScope.coroutineContext[Job])
+        val scope = CoroutineScope(coroutineScope.coroutineContext + job)
+        scope.recordFlow(sdk.getCallingStateWrapperSharedFlow(), "callState") { callingState.emit(it) }
+        // the initial value is not an event
+        scope.recordFlow(sdk.getCallIdStateFlow().filterNotNull(), "callId") { callId.value = it }
+        scope.recordFlow(sdk.getRemoteParticipantDeltaSharedFlow(), "participantDelta") { participantDeltas.emit(it) }
+        scope.recordFlow(sdk.getTotalRemoteParticipantCountSharedFlow(), "totalParticipantCount") {
+            totalParticipantCount.emit(it)
+        }
+        scope.recordFlow(sdk.getDominantSpeakersSharedFlow().map { it.speakers }, "dominantSpeakers") {
+            emitDominantSpeakers(it)
+        }
+        scope.recordFlow(sdk.getIsMutedSharedFlow(), "isMuted") { isMuted.emit(it) }
+        scope.recordFlow(sdk.getIsRecordingSharedFlow(), "isRecording") { isRecording.emit(it) }
+        scope.recordFlow(sdk.getIsTranscribingSharedFlow(), "isTranscribing") { isTranscribing.emit(it) }
+        scope.recordFlow(sdk.getNetworkQualityCallDiagnosticSharedFlow(), "networkQualityDiagnostic") {
+            networkQualityDiagnostics.emit(it)
+        }
+        scope.recordFlow(sdk.getNetworkCallDiagnosticSharedFlow(), "networkDiagnostic") { networkDiagnostics.emit(it) }
+        scope.recordFlow(sdk.getMediaCallDiagnosticSharedFlow(), "mediaDiagnostic") { mediaDiagnostics.emit(it) }
+        scope.recordFlow(sdk.getCaptionsReceivedSharedFlow(), "caption") { captions.emit(it) }
+        scope.recordFlow(sdk.getRttSharedFlow(), "rttMessage") { rttMessages.emit(it) }
+        return job
+    }
+
+    fun build() = synchronized(events) { CallReplayScript(events.toList()) }
+
+    private fun <T> CoroutineScope.recordFlow(flow: Flow<T>, name: String, replay: suspend ReplayCallingSDK.(T) -> Unit) {
+        launch {
+            flow.collect { value ->
+                val atMillis = currentTimeMillis() - startMillis
+                synchronized(events) { events.add(ReplayEvent(atMillis, name) { replay(value) }) }
+            }
+        }
+    }
+}
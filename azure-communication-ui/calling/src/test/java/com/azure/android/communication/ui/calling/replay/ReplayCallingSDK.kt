@@ -0,0 +1,189 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.calling.replay
+
+import com.azure.android.communication.calling.CallState
+import com.azure.android.communication.ui.calling.models.CallCompositeCaptionsData
+import com.azure.android.communication.ui.calling.models.CallCompositeCaptionsType
+import com.azure.android.communication.ui.calling.models.CallCompositeLobbyErrorCode
+import com.azure.android.communication.ui.calling.models.CapabilitiesChangedEvent
+import com.azure.android.communication.ui.calling.models.MediaCallDiagnosticModel
+import com.azure.android.communication.ui.calling.models.NetworkCallDiagnosticModel
+import com.azure.android.communication.ui.calling.models.NetworkQualityCallDiagnosticModel
+import com.azure.android.communication.ui.calling.models.ParticipantCapabilityType
+import com.azure.android.communication.ui.calling.models.ParticipantDelta
+import com.azure.android.communication.ui.calling.models.ParticipantRole
+import com.azure.android.communication.ui.calling.models.RttMessage
+import com.azure.android.communication.ui.calling.redux.state.AudioState
+import com.azure.android.communication.ui.calling.redux.state.CameraDeviceSelectionStatus
+import com.azure.android.communication.ui.calling.redux.state.CameraState
+import com.azure.android.communication.ui.calling.service.sdk.CallingSDK
+import com.azure.android.communication.ui.calling.service.sdk.CallingStateWrapper
+import com.azure.android.communication.ui.calling.service.sdk.DominantSpeakersInfo
+import com.azure.android.communication.ui.calling.service.sdk.LocalVideoStream
+import com.azure.android.communication.ui.calling.service.sdk.RemoteParticipant
+import kotlinx.coroutines.flow.MutableSharedFlow
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.SharedFlow
+import kotlinx.coroutines.flow.StateFlow
+import java.io.File
+import java.util.concurrent.CompletableFuture
+
+// CallingSDK without a device or network, its events are emitted by a replay script
+//
+// Requests complete at once. Remote participants are only sent as deltas, the way the SDK event
+// handler reports them, so the map the store holds is the one its reducers build.
+internal class ReplayCallingSDK : CallingSDK {
+    companion object {
+        private const val EVENT_BUFFER = 64
+    }
+
+    private class ReplayDominantSpeakersInfo(override val speakers: List<String>) : DominantSpeakersInfo
+
+    val callingState = eventFlow<CallingStateWrapper>()
+    val participantDeltas = eventFlow<ParticipantDelta>()
+    val totalParticipantCount = eventFlow<Int>()
+    val dominantSpeakers = eventFlow<DominantSpeakersInfo>()
+    val isMuted = eventFlow<Boolean>()
+    val isRecording = eventFlow<Boolean>()
+    val isTranscribing = eventFlow<Boolean>()
+    val localParticipantRole = eventFlow<ParticipantRole?>()
+    val capabilitiesChanged = eventFlow<CapabilitiesChangedEvent>()
+    val networkQualityDiagnostics = eventFlow<NetworkQualityCallDiagnosticModel>()
+    val networkDiagnostics = eventFlow<NetworkCallDiagnosticModel>()
+    val mediaDiagnostics = eventFlow<MediaCallDiagnosticModel>()
+    val rttMessages = eventFlow<RttMessage>()
+    val captions = eventFlow<CallCompositeCaptionsData>()
+    val captionsSupportedSpokenLanguages = eventFlow<List<String>>()
+    val captionsSupportedCaptionLanguages = eventFlow<List<String>>()
+    val isCaptionsTranslationSupported = eventFlow<Boolean>()
+    val activeSpokenLanguage = eventFlow<String>()
+    val activeCaptionLanguage = eventFlow<String>()
+    val captionsEnabled = eventFlow<Boolean>()
+    val captionsType = eventFlow<CallCompositeCaptionsType>()
+    val callId = MutableStateFlow<String?>(null)
+    val camerasCount = MutableStateFlow(0)
+
+    var startCallRequests = 0
+        private set
+    var sentRttMessages = 0
+        private set
+
+    suspend fun emitCallState(callState: CallState) {
+        callingState.emit(CallingStateWrapper(callState, CallingStateWrapper.CALL_END_REASON_SUCCESS))
+    }
+
+    suspend fun emitDominantSpeakers(speakers: List<String>) {
+        dominantSpeakers.emit(ReplayDominantSpeakersInfo(speakers))
+    }
+
+    override fun setupCall(): CompletableFuture<Void> = completed()
+
+    override fun dispose() {}
+
+    override fun turnOnVideoAsync(): CompletableFuture<LocalVideoStream> = completed()
+
+    override fun turnOffVideoAsync(): CompletableFuture<Void> = completed()
+
+    override fun turnOnMicAsync(): CompletableFuture<Void> = completed()
+
+    override fun turnOffMicAsync(): CompletableFuture<Void> = completed()
+
+    override fun switchCameraAsync(): CompletableFuture<CameraDeviceSelectionStatus> =
+        CompletableFuture.completedFuture(CameraDeviceSelectionStatus.FRONT)
+
+    override fun startCall(cameraState: CameraState, audioState: AudioState): CompletableFuture<Void> {
+        startCallRequests++
+        return completed()
+    }
+
+    override fun endCall(): CompletableFuture<Void> = completed()
+
+    override fun hold(): CompletableFuture<Void> = completed()
+
+    override fun resume(): CompletableFuture<Void> = completed()
+
+    override fun getLocalVideoStream(): CompletableFuture<LocalVideoStream> = completed()
+
+    override fun getRemoteParticipantsMap(): Map<String, RemoteParticipant> = emptyMap()
+
+    override fun getIsTranscribingSharedFlow(): SharedFlow<Boolean> = isTranscribing
+
+    override fun getDominantSpeakersSharedFlow(): SharedFlow<DominantSpeakersInfo> = dominantSpeakers
+
+    override fun getIsRecordingSharedFlow(): SharedFlow<Boolean> = isRecording
+
+    override fun getIsMutedSharedFlow(): SharedFlow<Boolean> = isMuted
+
+    override fun getCallingStateWrapperSharedFlow(): SharedFlow<CallingStateWrapper> = callingState
+
+    override fun getCallIdStateFlow(): StateFlow<String?> = callId
+
+    override fun getRemoteParticipantDeltaSharedFlow(): SharedFlow<ParticipantDelta> = participantDeltas
+
+    override fun getCamerasCountStateFlow(): StateFlow<Int> = camerasCount
+
+    override fun admitAll(): CompletableFuture<CallCompositeLobbyErrorCode?> = completed()
+
+    override fun admit(userIdentifier: String): CompletableFuture<CallCompositeLobbyErrorCode?> = completed()
+
+    override fun reject(userIdentifier: String): CompletableFuture<CallCompositeLobbyErrorCode?> = completed()
+
+    override fun removeParticipant(userIdentifier: String): CompletableFuture<Void> = completed()
+
+    override fun getLocalParticipantRoleSharedFlow(): SharedFlow<ParticipantRole?> = localParticipantRole
+
+    override fun getTotalRemoteParticipantCountSharedFlow(): SharedFlow<Int> = totalParticipantCount
+
+    override fun getCapabilitiesChangedEventSharedFlow(): SharedFlow<CapabilitiesChangedEvent> = capabilitiesChanged
+
+    override fun getCapabilities(): Set<ParticipantCapabilityType> = emptySet()
+
+    override fun getNetworkQualityCallDiagnosticSharedFlow(): SharedFlow<NetworkQualityCallDiagnosticModel> =
+        networkQualityDiagnostics
+
+    override fun getNetworkCallDiagnosticSharedFlow(): SharedFlow<NetworkCallDiagnosticModel> = networkDiagnostics
+
+    override fun getMediaCallDiagnosticSharedFlow(): SharedFlow<MediaCallDiagnosticModel> = mediaDiagnostics
+
+    override fun getLogFiles(): List<File> = emptyList()
+
+    override fun getRttSharedFlow(): SharedFlow<RttMessage> = rttMessages
+
+    override fun sendRttMessage(message: String, isFinalized: Boolean) {
+        sentRttMessages++
+    }
+
+    override fun setTelecomManagerAudioRoute(audioRoute: Int) {}
+
+    override fun startCaptions(spokenLanguage: String?): CompletableFuture<Void> = completed()
+
+    override fun stopCaptions(): CompletableFuture<Void> = completed()
+
+    override fun setCaptionsSpokenLanguage(language: String): CompletableFuture<Void> = completed()
+
+    override fun setCaptionsCaptionLanguage(language: String): CompletableFuture<Void> = completed()
+
+    override fun getCaptionsSupportedSpokenLanguagesSharedFlow(): SharedFlow<List<String>> =
+        captionsSupportedSpokenLanguages
+
+    override fun getCaptionsSupportedCaptionLanguagesSharedFlow(): SharedFlow<List<String>> =
+        captionsSupportedCaptionLanguages
+
+    override fun getIsCaptionsTranslationSupportedSharedFlow(): SharedFlow<Boolean> = isCaptionsTranslationSupported
+
+    override fun getCaptionsReceivedSharedFlow(): SharedFlow<CallCompositeCaptionsData> = captions
+
+    override fun getActiveSpokenLanguageChangedSharedFlow(): SharedFlow<String> = activeSpokenLanguage
+
+    override fun getActiveCaptionLanguageChangedSharedFlow(): SharedFlow<String> = activeCaptionLanguage
+
+    override fun getCaptionsEnabledChangedSharedFlow(): SharedFlow<Boolean> = captionsEnabled
+
+    override fun getCaptionsTypeChangedSharedFlow(): SharedFlow<CallCompositeCaptionsType> = captionsType
+
+    private fun <T> eventFlow() = MutableSharedFlow<T>(extraBufferCapacity = EVENT_BUFFER)
+
+    private fun <T> completed(): CompletableFuture<T> = CompletableFuture.completedFuture(null)
+}
@@ -0,0 +1,227 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.calling.service
+
+import com.azure.android.communication.ui.calling.ACSBaseTestCoroutine
+import com.azure.android.communication.ui.calling.models.ParticipantChangedField
+import com.azure.android.communication.ui.calling.models.ParticipantDelta
+import com.azure.android.communication.ui.calling.models.ParticipantInfoModel
+import com.azure.android.communication.ui.calling.models.ParticipantStatus
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.flow.MutableSharedFlow
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.test.TestScope
+import org.junit.Assert
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.junit.MockitoJUnitRunner
+
+@RunWith(MockitoJUnitRunner::class)
+internal class ParticipantUpdateSchedulerUnitTest : ACSBaseTestCoroutine() {
+
+    @Test
+    @ExperimentalCoroutinesApi
+    fun participantUpdateScheduler_schedule_when_displayedParticipantInSmallCall_then_releaseRightAway() {
+        runScopedTest {
+            // arrange
+            val deltas = MutableSharedFlow<ParticipantDelta>()
+            val scheduler = createScheduler()
+            scheduler.setDisplayedParticipants(setOf("displayed"))
+            val released = mutableListOf<Pair<Long, ParticipantDelta>>()
+            val flowJob = launch {
+                scheduler.schedule(deltas) { 3 }.collect { batch -> batch.forEach { released.add(Pair(testScheduler.currentTime, it)) } }
+            }
+            testScheduler.runCurrent()
+
+            // act
+            deltas.emit(changed("displayed", 1, ParticipantChangedField.IS_MUTED))
+            testScheduler.runCurrent()
+
+            // assert
+            Assert.assertEquals(1, released.size)
+            Assert.assertEquals(0L, released[0].first)
+
+            flowJob.cancel()
+        }
+    }
+
+    @Test
+    @ExperimentalCoroutinesApi
+    fun participantUpdateScheduler_schedule_when_participantNotDisplayed_then_coalesceUntilMaxInterval() {
+        runScopedTest {
+            // arrange
+            val deltas = MutableSharedFlow<ParticipantDelta>()
+            val scheduler = createScheduler()
+            val released = mutableListOf<Pair<Long, ParticipantDelta>>()
+            val flowJob = launch {
+                scheduler.schedule(deltas) { 3 }.collect { batch -> batch.forEach { released.add(Pair(testScheduler.currentTime, it)) } }
+            }
+            testScheduler.runCurrent()
+
+            // act
+            deltas.emit(changed("hidden", 1, ParticipantChangedField.IS_MUTED))
+            testScheduler.advanceTimeBy(400)
+            deltas.emit(changed("hidden", 2, ParticipantChangedField.IS_SPEAKING))
+            testScheduler.advanceTimeBy(599)
+            testScheduler.runCurrent()
+            val releasedBeforeInterval = released.size
+            testScheduler.advanceTimeBy(1)
+            testScheduler.runCurrent()
+
+            // assert
+            Assert.assertEquals(0, releasedBeforeInterval)
+            Assert.assertEquals(1, released.size)
+            Assert.assertEquals(1000L, released[0].first)
+            val delta = released[0].second as ParticipantDelta.Changed
+            Assert.assertEquals(2L, delta.participant.version)
+            Assert.assertTrue(delta.hasChanged(ParticipantChangedField.IS_MUTED))
+            Assert.assertTrue(delta.hasChanged(ParticipantChangedField.IS_SPEAKING))
+
+            flowJob.cancel()
+        }
+    }
+
+    @Test
+    @ExperimentalCoroutinesApi
+    fun participantUpdateScheduler_schedule_when_participantJoins_then_releasePendingChangesAndJoinInOneBatch() {
+        runScopedTest {
+            // arrange
+            val deltas = MutableSharedFlow<ParticipantDelta>()
+            val scheduler = createScheduler()
+            val released = mutableListOf<Pair<Long, List<ParticipantDelta>>>()
+            val flowJob = launch {
+                scheduler.schedule(deltas) { 3 }.collect { released.add(Pair(testScheduler.currentTime, it)) }
+            }
+            testScheduler.runCurrent()
+
+            // act
+            deltas.emit(changed("hidden", 1, ParticipantChangedField.IS_MUTED))
+            testScheduler.advanceTimeBy(100)
+            deltas.emit(ParticipantDelta.Added(participant("joined", 2)))
+            testScheduler.runCurrent()
+
+            // assert
+            Assert.assertEquals(1, released.size)
+            Assert.assertEquals(100L, released[0].first)
+            val batch = released[0].second
+            Assert.assertEquals(2, batch.size)
+            Assert.assertTrue(batch[0] is ParticipantDelta.Changed)
+            Assert.assertTrue(batch[1] is ParticipantDelta.Added)
+
+            flowJob.cancel()
+        }
+    }
+
+    @Test
+    @ExperimentalCoroutinesApi
+    fun participantUpdateScheduler_schedule_when_resynced_then_replacePendingChangesRightAway() {
+        runScopedTest {
+            // arrange
+            val deltas = MutableSharedFlow<ParticipantDelta>()
+            val scheduler = createScheduler()
+            val released = mutableListOf<Pair<Long, ParticipantDelta>>()
+            val flowJob = launch {
+                scheduler.schedule(deltas) { 3 }.collect { batch -> batch.forEach { released.add(Pair(testScheduler.currentTime, it)) } }
+            }
+            testScheduler.runCurrent()
+
+            // act
+            deltas.emit(changed("hidden", 1, ParticipantChangedField.IS_MUTED))
+            testScheduler.advanceTimeBy(100)
+            deltas.emit(ParticipantDelta.Resynced(mapOf("hidden" to participant("hidden", 1))))
+            testScheduler.advanceTimeBy(2000)
+            testScheduler.runCurrent()
+
+            // assert
+            Assert.assertEquals(1, released.size)
+            Assert.assertTrue(released[0].second is ParticipantDelta.Resynced)
+            Assert.assertEquals(100L, released[0].first)
+
+            flowJob.cancel()
+        }
+    }
+
+    @Test
+    @ExperimentalCoroutinesApi
+    fun participantUpdateScheduler_schedule_when_largeCall_then_stretchIntervalForDisplayedParticipants() {
+        runScopedTest {
+            // arrange
+            val deltas = MutableSharedFlow<ParticipantDelta>()
+            val scheduler = createScheduler()
+            scheduler.setDisplayedParticipants(setOf("displayed"))
+            val released = mutableListOf<Pair<Long, ParticipantDelta>>()
+            val flowJob = launch {
+                scheduler.schedule(deltas) { 25 }.collect { batch -> batch.forEach { released.add(Pair(testScheduler.currentTime, it)) } }
+            }
+            testScheduler.runCurrent()
+
+            // act
+            deltas.emit(changed("displayed", 1, ParticipantChangedField.IS_SPEAKING))
+            testScheduler.advanceTimeBy(1000)
+            testScheduler.runCurrent()
+
+            // assert
+            Assert.assertEquals(1, released.size)
+            Assert.assertEquals(500L, released[0].first)
+
+            flowJob.cancel()
+        }
+    }
+
+    @Test
+    @ExperimentalCoroutinesApi
+    fun participantUpdateScheduler_schedule_when_hiddenChangesArriveWhileDisplayedPending_then_releaseOnDisplayedInterval() {
+        runScopedTest {
+            // arrange
+            val deltas = MutableSharedFlow<ParticipantDelta>()
+            val scheduler = createScheduler()
+            scheduler.setDisplayedParticipants(setOf("displayed"))
+            val released = mutableListOf<Pair<Long, List<ParticipantDelta>>>()
+            val flowJob = launch {
+                scheduler.schedule(deltas) { 25 }.collect { released.add(Pair(testScheduler.currentTime, it)) }
+            }
+            testScheduler.runCurrent()
+
+            // act
+            deltas.emit(changed("hidden1", 1, ParticipantChangedField.IS_MUTED))
+            testScheduler.advanceTimeBy(100)
+            deltas.emit(changed("displayed", 2, ParticipantChangedField.IS_SPEAKING))
+            testScheduler.advanceTimeBy(100)
+            deltas.emit(changed("hidden2", 3, ParticipantChangedField.IS_MUTED))
+            testScheduler.advanceTimeBy(2000)
+            testScheduler.runCurrent()
+
+            // assert
+            Assert.assertEquals(1, released.size)
+            Assert.assertEquals(600L, released[0].first)
+            Assert.assertEquals(
+                listOf("hidden1", "displayed", "hidden2"),
+                released[0].second.map { (it as ParticipantDelta.Changed).userIdentifier }
+            )
+
+            flowJob.cancel()
+        }
+    }
+
+    private fun TestScope.createScheduler() = ParticipantUpdateScheduler(
+        ParticipantUpdateSamplingPolicy(minIntervalMillis = 0, maxIntervalMillis = 1000)
+    ) { testScheduler.currentTime }
+
+    private fun changed(id: String, version: Long, changedFields: Int) =
+        ParticipantDelta.Changed(participant(id, version), changedFields)
+
+    private fun participant(id: String, version: Long) = ParticipantInfoModel(
+        displayName = id,
+        userIdentifier = id,
+        isMuted = false,
+        isCameraDisabled = false,
+        isSpeaking = false,
+        isTypingRtt = false,
+        participantStatus = ParticipantStatus.CONNECTED,
+        screenShareVideoStreamModel = null,
+        cameraVideoStreamModel = null,
+        modifiedTimestamp = 0,
+        version = version,
+    )
+}
@@ -17,6 +17,7 @@ import com.azure.android.communication.ui.calling.models.CallInfoModel
 import com.azure.android.communication.ui.calling.models.MediaCallDiagnosticModel
 import com.azure.android.communication.ui.calling.models.NetworkCallDiagnosticModel
 import com.azure.android.communication.ui.calling.models.NetworkQualityCallDiagnosticModel
+import com.azure.android.communication.ui.calling.models.ParticipantDelta
 import com.azure.android.communication.ui.calling.models.ParticipantInfoModel
 import com.azure.android.communication.ui.calling.models.ParticipantRole
 import com.azure.android.communication.ui.calling.models.ParticipantStatus
@@ -42,6 +43,7 @@ import java.util.concurrent.CompletableFuture
 import kotlinx.coroutines.ExperimentalCoroutinesApi
 import kotlinx.coroutines.flow.MutableSharedFlow
 import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.map
 import kotlinx.coroutines.flow.toList
 import kotlinx.coroutines.launch
 import org.junit.Assert
@@ -65,9 +67,6 @@ internal class CallingServiceUnitTests : ACSBaseTestCoroutine() {
     private fun provideCallingService(
         callState: CallState = CallState.NONE,
     ): Pair<CallingService, MutableStateFlow<CallingStateWrapper>> {
-        val remoteParticipantsInfoModelSharedFlow =
-            MutableSharedFlow<Map<String, ParticipantInfoModel>>()
-
         val callingStateWrapperStateFlow =
             MutableStateFlow(CallingStateWrapper(callState, 0))
         val callIdFlow = MutableStateFlow<String?>(null)
@@ -80,8 +79,6 @@ internal class CallingServiceUnitTests : ACSBaseTestCoroutine() {
         val networkCallDiagnosticsSharedFlow = MutableSharedFlow<NetworkCallDiagnosticModel>()
         val mediaCallDiagnosticsSharedFlow = MutableSharedFlow<MediaCallDiagnosticModel>()
 
-        Mockito.`when`(mockCallingGateway.getRemoteParticipantInfoModelSharedFlow())
-            .thenReturn(remoteParticipantsInfoModelSharedFlow)
         Mockito.`when`(mockCallingGateway.getCallingStateWrapperSharedFlow())
             .thenReturn(callingStateWrapperStateFlow)
         Mockito.doReturn(CompletableFuture<Void>()).`when`(mockCallingGateway).startCall(
@@ -278,8 +275,7 @@ internal class CallingServiceUnitTests : ACSBaseTestCoroutine() {
         runScopedTest {
 
             // arrange
-            val remoteParticipantsInfoModelSharedFlow =
-                MutableSharedFlow<Map<String, ParticipantInfoModel>>()
+            val remoteParticipantDeltaSharedFlow = MutableSharedFlow<ParticipantDelta>()
 
             val remoteParticipantsInfoModelMap = mutableMapOf<String, ParticipantInfoModel>()
 
@@ -295,10 +291,8 @@ internal class CallingServiceUnitTests : ACSBaseTestCoroutine() {
             val networkCallDiagnosticsSharedFlow = MutableSharedFlow<NetworkCallDiagnosticModel>()
             val mediaCallDiagnosticsSharedFlow = MutableSharedFlow<MediaCallDiagnosticModel>()
 
-            Mockito.`when`(mockCallingGateway.getRemoteParticipantInfoModelSharedFlow())
-                .thenReturn(remoteParticipantsInfoModelSharedFlow)
-            Mockito.`when`(mockCallingGateway.getRemoteParticipantInfoModelSharedFlow())
-                .thenReturn(remoteParticipantsInfoModelSharedFlow)
+            Mockito.`when`(mockCallingGateway.getRemoteParticipantDeltaSharedFlow())
+                .thenReturn(remoteParticipantDeltaSharedFlow)
             Mockito.`when`(mockCallingGateway.getCallingStateWrapperSharedFlow())
                 .thenReturn(callingStateWrapperStateFlow)
 
@@ -385,7 +379,9 @@ internal class CallingServiceUnitTests : ACSBaseTestCoroutine() {
             val callingService = CallingService(mockCallingGateway, UnconfinedTestContextProvider())
 
             val job = launch {
-                callingService.getParticipantsInfoModelSharedFlow().toList(emitResultFromFlow)
+                callingService.getParticipantDeltaSharedFlow()
+                    .map { (it as ParticipantDelta.Resynced).participants }
+                    .toList(emitResultFromFlow)
             }
 
             // act
@@ -401,7 +397,7 @@ internal class CallingServiceUnitTests : ACSBaseTestCoroutine() {
                     BluetoothState(available = false, deviceName = "bluetooth")
                 )
             )
-            remoteParticipantsInfoModelSharedFlow.emit(remoteParticipantsInfoModelMap)
+            remoteParticipantDeltaSharedFlow.emit(ParticipantDelta.Resynced(remoteParticipantsInfoModelMap))
 
             // assert
             Assert.assertEquals(
@@ -0,0 +1,82 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.calling.data
+
+import java.sql.Connection
+import java.sql.DriverManager
+import java.sql.PreparedStatement
+import java.sql.ResultSet
+
+// CallHistoryConnection on the SQLite JDBC driver with the schema and journal DbHelper sets up
+//
+// Shared by the calling unit tests and the benchmark module, which adds this directory to its sources.
+internal class JdbcCallHistoryConnection(url: String = "jdbc:sqlite::memory:") : CallHistoryConnection {
+    private class ResultSetRow(private val resultSet: ResultSet) : CallHistoryRow {
+        override fun getInt(column: Int) = resultSet.getInt(column + 1)
+        override fun getLong(column: Int) = resultSet.getLong(column + 1)
+        override fun getString(column: Int): String = resultSet.getString(column + 1)
+    }
+
+    private val connection: Connection = DriverManager.getConnection(url)
+
+    var transactions = 0
+        private set
+
+    init {
+        connection.createStatement().use {
+            // as Android sets up a database with write ahead logging enabled, in memory it stays "memory"
+            it.execute("PRAGMA journal_mode=WAL")
+            it.execute("PRAGMA synchronous=NORMAL")
+            it.execute(CallHistoryContract.SQL_CREATE_CALL_HISTORY)
+            it.execute(CallHistoryContract.SQL_CREATE_CALL_HISTORY_INDEX)
+        }
+    }
+
+    override fun <T> transaction(block: () -> T): T = synchronized(connection) {
+        transactions++
+        connection.autoCommit = false
+        try {
+            val result = block()
+            connection.commit()
+            result
+        } catch (e: Exception) {
+            connection.rollback()
+            throw e
+        } finally {
+            connection.autoCommit = true
+        }
+    }
+
+    override fun execute(sql: String, vararg args: Any) {
+        synchronized(connection) {
+            connection.prepareStatement(sql).use {
+                bind(it, args)
+                it.execute()
+            }
+        }
+    }
+
+    override fun <T> query(sql: String, vararg args: Any, mapRow: (CallHistoryRow) -> T): List<T> =
+        synchronized(connection) {
+            connection.prepareStatement(sql).use { statement ->
+                bind(statement, args)
+                statement.executeQuery().use {
+                    val row = ResultSetRow(it)
+                    val items = mutableListOf<T>()
+                    while (it.next()) {
+                        items.add(mapRow(row))
+                    }
+                    items
+                }
+            }
+        }
+
+    fun close() {
+        connection.close()
+    }
+
+    private fun bind(statement: PreparedStatement, args: Array<out Any>) {
+        args.forEachIndexed { index, arg -> statement.setObject(index + 1, arg) }
+    }
+}
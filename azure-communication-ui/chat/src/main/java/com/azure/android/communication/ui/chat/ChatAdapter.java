@@ -102,6 +102,18 @@ public final class ChatAdapter {
         chatContainer = null;
     }
 
+    /**
+     * Deletes the messages kept on the device for every thread, including messages not sent yet.
+     * Use it when the user signs out.
+     */
+    public void clearMessageCache(final Context context) {
+        if (chatContainer != null) {
+            chatContainer.clearMessageCache(context);
+        } else {
+            ChatContainer.Companion.deleteMessageCache(context);
+        }
+    }
+
     private void launchComposite(final Context context, final String threadId) {
         final ChatCompositeRemoteOptions remoteOptions =
                 new ChatCompositeRemoteOptions(
@@ -20,6 +20,7 @@ public final class ChatAdapterBuilder {
     private CommunicationTokenCredential credential;
     private String displayName;
     private String threadId;
+    private boolean messageCacheEnabled = false;
 
 
     /**
@@ -72,6 +73,19 @@ public final class ChatAdapterBuilder {
         return this;
     }
 
+    /**
+     * Sets whether messages are kept on the device, so the next start shows them before the
+     * network returns. Disabled by default. Cached messages are stored unencrypted, an app
+     * enabling the cache should call {@link ChatAdapter#clearMessageCache} when the user signs out.
+     * Messages not sent yet are kept until sent either way.
+     * @param messageCacheEnabled
+     * @return
+     */
+    public ChatAdapterBuilder messageCacheEnabled(final boolean messageCacheEnabled) {
+        this.messageCacheEnabled = messageCacheEnabled;
+        return this;
+    }
+
     /**
      * Builds the {@link ChatAdapter} class.
      *
@@ -79,6 +93,7 @@ public final class ChatAdapterBuilder {
      */
     public ChatAdapter build() {
         final ChatCompositeConfiguration config = new ChatCompositeConfiguration();
+        config.setMessageCacheEnabled(messageCacheEnabled);
         return new ChatAdapter(config, endpoint, identity, credential, threadId, displayName);
     }
 }
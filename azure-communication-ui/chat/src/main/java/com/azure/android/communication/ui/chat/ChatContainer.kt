@@ -4,6 +4,7 @@
 package com.azure.android.communication.ui.chat
 
 import android.content.Context
+import android.content.pm.PackageManager
 import com.azure.android.communication.ui.chat.configuration.ChatCompositeConfiguration
 import com.azure.android.communication.ui.chat.configuration.ChatConfiguration
 import com.azure.android.communication.ui.chat.error.ChatErrorHandler
@@ -15,11 +16,14 @@ import com.azure.android.communication.ui.chat.models.ChatCompositeRemoteOptions
 import com.azure.android.communication.ui.chat.presentation.manager.NetworkManager
 import com.azure.android.communication.ui.chat.redux.AppStore
 import com.azure.android.communication.ui.chat.redux.Dispatch
+import com.azure.android.communication.ui.chat.redux.StoreMetrics
 import com.azure.android.communication.ui.chat.redux.action.ChatAction
 import com.azure.android.communication.ui.chat.redux.middleware.repository.MessageRepositoryMiddlewareImpl
 import com.azure.android.communication.ui.chat.redux.middleware.sdk.ChatActionHandler
 import com.azure.android.communication.ui.chat.redux.middleware.sdk.ChatMiddlewareImpl
 import com.azure.android.communication.ui.chat.redux.middleware.sdk.ChatServiceListener
+import com.azure.android.communication.ui.chat.redux.middleware.sdk.OutboundMessageQueue
+import com.azure.android.communication.ui.chat.redux.middleware.sdk.OutboundSignalScheduler
 import com.azure.android.communication.ui.chat.redux.reducer.AccessibilityReducerImpl
 import com.azure.android.communication.ui.chat.redux.reducer.AppStateReducer
 import com.azure.android.communication.ui.chat.redux.reducer.ChatReducerImpl
@@ -33,6 +37,9 @@ import com.azure.android.communication.ui.chat.redux.reducer.RepositoryReducerIm
 import com.azure.android.communication.ui.chat.redux.state.AppReduxState
 import com.azure.android.communication.ui.chat.redux.state.ReduxState
 import com.azure.android.communication.ui.chat.repository.MessageRepository
+import com.azure.android.communication.ui.chat.repository.cache.MessageCacheStore
+import com.azure.android.communication.ui.chat.repository.cache.SQLiteMessageCache
+import com.azure.android.communication.ui.chat.repository.cache.SQLiteOutboundMessageStore
 import com.azure.android.communication.ui.chat.service.ChatService
 import com.azure.android.communication.ui.chat.service.sdk.ChatEventHandler
 import com.azure.android.communication.ui.chat.service.sdk.ChatFetchNotificationHandler
@@ -41,6 +48,7 @@ import com.azure.android.communication.ui.chat.utilities.CoroutineContextProvide
 import com.azure.android.communication.ui.chat.utilities.TestHelper
 import com.azure.android.communication.ui.chat.utilities.announceForAccessibility
 import com.jakewharton.threetenabp.AndroidThreeTen
+import kotlinx.coroutines.CoroutineScope
 
 internal class ChatContainer(
     private val chatAdapter: ChatAdapter,
@@ -49,6 +57,12 @@ internal class ChatContainer(
 ) {
     companion object {
         lateinit var locator: ServiceLocator
+
+        // The messages not sent yet too
+        fun deleteMessageCache(context: Context) {
+            SQLiteMessageCache.deleteDatabase(context)
+            SQLiteOutboundMessageStore.deleteDatabase(context)
+        }
     }
 
     private var started = false
@@ -96,12 +110,36 @@ internal class ChatContainer(
         ServiceLocator.getInstance(instanceId = instanceId).apply {
             addTypedBuilder { TestHelper.coroutineContextProvider ?: CoroutineContextProvider() }
 
-            val messageRepository = MessageRepository.createSkipListBackedRepository()
+            val messageRepository = MessageRepository.createOrderStatisticTreeBackedRepository()
 
             addTypedBuilder { chatAdapter }
 
             addTypedBuilder { messageRepository }
 
+            // Messages not sent yet are kept for the next start whether or not the cache is enabled
+            addTypedBuilder { SQLiteOutboundMessageStore(context, configuration.chatConfig!!.identity) }
+
+            if (configuration.isMessageCacheEnabled) {
+                addTypedBuilder { SQLiteMessageCache(context) }
+
+                addTypedBuilder {
+                    MessageCacheStore(
+                        cache = locate<SQLiteMessageCache>(),
+                        localIdentity = configuration.chatConfig!!.identity,
+                        threadId = configuration.chatConfig!!.threadId
+                    )
+                }
+            }
+
+            // Timings are only taken when the app opts in through its manifest
+            addTypedBuilder {
+                StoreMetrics(
+                    isEnabled = context.packageManager
+                        .getApplicationInfo(context.packageName, PackageManager.GET_META_DATA)
+                        .metaData?.getBoolean(StoreMetrics.ENABLED_META_DATA) == true
+                )
+            }
+
             addTypedBuilder { remoteOptions }
 
             addTypedBuilder { ChatEventHandler() }
@@ -130,6 +168,22 @@ internal class ChatContainer(
                 )
             }
 
+            addTypedBuilder {
+                OutboundMessageQueue(
+                    chatService = locate(),
+                    coroutineScope = CoroutineScope((locate() as CoroutineContextProvider).Default),
+                    store = locate<SQLiteOutboundMessageStore>(),
+                )
+            }
+
+            addTypedBuilder {
+                OutboundSignalScheduler(
+                    chatService = locate(),
+                    coroutineScope = CoroutineScope((locate() as CoroutineContextProvider).Default),
+                    typingNotificationIntervalMillis = ChatActionHandler.SEND_TYPING_INDICATOR_INTERVAL_MILLIS.toLong(),
+                )
+            }
+
             addTypedBuilder {
                 ChatServiceListener(
                     chatService = locate(),
@@ -159,13 +213,20 @@ internal class ChatContainer(
                     middlewares = mutableListOf(
                         ChatMiddlewareImpl(
                             chatActionHandler = ChatActionHandler(
-                                chatService = locate()
+                                chatService = locate(),
+                                coroutineContextProvider = locate(),
+                                outboundMessageQueue = locate(),
+                                outboundSignalScheduler = locate(),
                             ),
                             chatServiceListener = locate()
                         ),
-                        MessageRepositoryMiddlewareImpl(messageRepository)
+                        MessageRepositoryMiddlewareImpl(
+                            messageRepository,
+                            if (configuration.isMessageCacheEnabled) locate<MessageCacheStore>() else null
+                        )
                     ),
-                    dispatcher = (locate() as CoroutineContextProvider).SingleThreaded
+                    dispatcher = (locate() as CoroutineContextProvider).SingleThreaded,
+                    metrics = locate<StoreMetrics>(),
                 )
             }
 
@@ -191,12 +252,47 @@ internal class ChatContainer(
             addTypedBuilder<Logger> { DefaultLogger() }
         }
 
+    // The cache database file is deleted even when this chat does not cache, an earlier one may have
+    fun clearMessageCache(context: Context) {
+        val messageCacheStore =
+            if (configuration.isMessageCacheEnabled) locator?.locate<MessageCacheStore>() else null
+        if (messageCacheStore != null) {
+            messageCacheStore.clear { SQLiteMessageCache.deleteDatabase(context) }
+        } else {
+            SQLiteMessageCache.deleteDatabase(context)
+        }
+        val outboundMessageQueue = locator?.locate<OutboundMessageQueue>()
+        if (outboundMessageQueue != null) {
+            outboundMessageQueue.clearStore()
+        } else {
+            SQLiteOutboundMessageStore.deleteDatabase(context)
+        }
+    }
+
     fun stop() {
         locator?.locate<EventHandler>()?.stop()
         locator?.locate<ChatErrorHandler>()?.stop()
+        // closed before the SDK is destroyed, which settles the sends in flight so the queue
+        // finishes closing, the outbound store is closed once the queue is done writing to it
+        val outboundMessageStore = locator?.locate<SQLiteOutboundMessageStore>()
+        locator?.locate<OutboundMessageQueue>()?.let {
+            it.close { outboundMessageStore?.close() }
+            locator?.locate<Logger>()?.debug("Outbound messages ${it.getMetrics()}")
+        }
+        locator?.locate<OutboundSignalScheduler>()?.let {
+            it.close()
+            locator?.locate<Logger>()?.debug("Outbound signals ${it.getMetrics()}")
+        }
         locator?.locate<ChatSDKWrapper>()?.destroy()
         locator?.locate<ChatServiceListener>()?.unsubscribe()
+        // only when the app opted in to store metrics
+        locator?.locate<StoreMetrics>()?.takeIf { it.isEnabled }?.let {
+            locator?.locate<Logger>()?.debug(it.dump())
+        }
         locator?.locate<AppStore<ReduxState>>()?.end()
+        if (configuration.isMessageCacheEnabled) {
+            locator?.locate<MessageCacheStore>()?.close()
+        }
         locator?.locate<NetworkManager>()?.stop()
         locator?.clear()
         locator = null
@@ -7,4 +7,7 @@ internal class ChatCompositeConfiguration {
     var chatConfig: ChatConfiguration? = null
 
     var eventHandlerRepository = ChatCompositeEventHandlerRepository()
+
+    // Messages are kept on the device for the next start, only when the app opts in
+    var isMessageCacheEnabled = false
 }
@@ -15,6 +15,9 @@ internal enum class MessageSendStatus {
     FAILED, // message failed to send
 }
 
+// Metadata key of the internal id a message is sent with, so its echo can be matched to the send
+internal const val OUTBOUND_INTERNAL_ID_METADATA_KEY = "azureCommunicationUiInternalId"
+
 @Immutable
 internal data class MessageInfoModel(
     private val id: String? = null,
@@ -31,9 +34,25 @@ internal data class MessageInfoModel(
     val editedOn: OffsetDateTime? = null,
     val sendStatus: MessageSendStatus? = null,
     val isCurrentUser: Boolean = false,
+    // Edited on this device, the server copy of the edit has not arrived yet
+    val isEditPending: Boolean = false,
+    // Internal id this device sent the message with, read from the metadata of the server copy
+    val outboundInternalId: String? = null,
 ) : BaseInfoModel {
     // Normalized ID to use either internal or id
     internal val normalizedID: Long get() = id?.toLong() ?: internalId?.toLong() ?: 0L
+
+    // Messages without a server id only exist on this device, e.g. participant notices
+    internal val isLocalOnly: Boolean get() = id == null
+
+    // Epoch millis of the latest server change, version is the epoch millis of the last change.
+    // Only server timestamps go in, a pending edit keeps the revision of the copy it edited.
+    internal val revision: Long
+        get() = maxOf(
+            version?.toLongOrNull() ?: 0L,
+            editedOn?.toInstant()?.toEpochMilli() ?: 0L,
+            deletedOn?.toInstant()?.toEpochMilli() ?: 0L,
+        )
 }
 
 internal fun com.azure.android.communication.chat.models.ChatMessage.into(localParticipantIdentifier: String): MessageInfoModel {
@@ -58,6 +77,7 @@ internal fun com.azure.android.communication.chat.models.ChatMessage.into(localP
         editedOn = this.editedOn,
         sendStatus = null,
         isCurrentUser = senderCommunicationIdentifier != null && localParticipantIdentifier == this.senderCommunicationIdentifier.into().id,
+        outboundInternalId = this.metadata?.get(OUTBOUND_INTERNAL_ID_METADATA_KEY),
     )
 }
 
@@ -78,6 +98,7 @@ internal fun com.azure.android.communication.chat.models.ChatMessageReceivedEven
         editedOn = null,
         sendStatus = MessageSendStatus.SENT,
         isCurrentUser = localParticipantIdentifier == this.sender.into().id,
+        outboundInternalId = this.metadata?.get(OUTBOUND_INTERNAL_ID_METADATA_KEY),
     )
 }
 
@@ -0,0 +1,9 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.chat.models
+
+// Messages created, edited or deleted while the chat was disconnected
+internal data class MessagesCatchUpInfoModel(
+    val messages: List<MessageInfoModel>,
+) : BaseInfoModel
@@ -6,6 +6,7 @@ package com.azure.android.communication.ui.chat.presentation.ui.chat.components
 import android.app.Activity
 import android.content.Context
 import android.graphics.Rect
+import android.os.SystemClock
 import android.view.ViewTreeObserver
 import android.view.inputmethod.InputMethodManager
 import androidx.compose.foundation.background
@@ -22,6 +23,7 @@ import androidx.compose.runtime.LaunchedEffect
 import androidx.compose.runtime.mutableStateOf
 import androidx.compose.runtime.remember
 import androidx.compose.runtime.rememberCoroutineScope
+import androidx.compose.runtime.snapshotFlow
 import androidx.compose.ui.Alignment
 import androidx.compose.ui.Modifier
 import androidx.compose.ui.graphics.Color
@@ -35,6 +37,7 @@ import com.azure.android.communication.ui.chat.preview.MOCK_LOCAL_USER_ID
 import com.azure.android.communication.ui.chat.preview.MOCK_MESSAGES
 import com.azure.android.communication.ui.chat.redux.Dispatch
 import com.azure.android.communication.ui.chat.redux.action.ChatAction
+import com.azure.android.communication.ui.chat.utilities.ScrollVelocityTracker
 import com.azure.android.communication.ui.chat.utilities.outOfViewItemCount
 import com.jakewharton.threetenabp.AndroidThreeTen
 import kotlinx.coroutines.launch
@@ -88,19 +91,27 @@ internal fun MessageListView(
 // i.e.
 // If bookmark is at the end, no paging
 // if bookmark is in middle, and out of screen < Threshold, page more data
+//
+// The scroll speed is sent with the request so faster scrolling fetches more pages ahead
 @Composable
 private fun requestPages(
     scrollState: LazyListState,
     messages: List<MessageViewModel>,
     dispatch: Dispatch,
 ) {
+    val lastTrigger = remember { mutableStateOf(0L) }
+    val scrollVelocityTracker = remember { ScrollVelocityTracker() }
+    // Sampled outside composition, on every change of the scroll position
+    LaunchedEffect(scrollState) {
+        snapshotFlow { scrollState.firstVisibleItemIndex }
+            .collect { scrollVelocityTracker.onScroll(it, SystemClock.uptimeMillis()) }
+    }
     if (scrollState.layoutInfo.totalItemsCount == 0) return
     val currentLastMessage = messages.first()
     if (scrollState.outOfViewItemCount() < MESSAGE_LIST_LOAD_MORE_THRESHOLD) {
-        val lastTrigger = remember { mutableStateOf(0L) }
         if (lastTrigger.value != currentLastMessage.message.normalizedID) {
             lastTrigger.value = currentLastMessage.message.normalizedID ?: 0
-            dispatch(ChatAction.FetchMessages())
+            dispatch(ChatAction.FetchMessages(scrollVelocityTracker.getItemsPerSecond(SystemClock.uptimeMillis())))
         }
     }
 }
@@ -3,7 +3,10 @@
 
 package com.azure.android.communication.ui.chat.presentation.ui.container
 
+import android.content.BroadcastReceiver
 import android.content.Context
+import android.content.Intent
+import android.content.IntentFilter
 import android.widget.FrameLayout
 import androidx.compose.ui.platform.ComposeView
 import androidx.lifecycle.findViewTreeLifecycleOwner
@@ -16,6 +19,7 @@ import com.azure.android.communication.ui.chat.presentation.style.ChatCompositeT
 import com.azure.android.communication.ui.chat.presentation.ui.chat.screens.NavigatableBaseScreen
 import com.azure.android.communication.ui.chat.utilities.ReduxViewModelGenerator
 import com.azure.android.communication.ui.chat.presentation.ui.viewmodel.ChatScreenViewModel
+import com.azure.android.communication.ui.chat.presentation.ui.viewmodel.MessageViewModelCache
 import com.azure.android.communication.ui.chat.presentation.ui.viewmodel.buildChatScreenViewModel
 import com.azure.android.communication.ui.chat.redux.AppStore
 import com.azure.android.communication.ui.chat.redux.Dispatch
@@ -35,6 +39,15 @@ internal class ChatCompositeViewImpl(
     private val locator get() = ServiceLocator.getInstance(chatAdapter.instanceIdAccessor())
     private val dispatch: Dispatch by lazy { locator.locate() }
     private lateinit var reduxViewModelGenerator: ReduxViewModelGenerator<ReduxState, ChatScreenViewModel>
+    // Kept across rebuilds so only changed messages get new view models
+    private val messageViewModelCache = MessageViewModelCache(context)
+
+    // The date headers are relative to today in the device time zone
+    private val dateChangedReceiver = object : BroadcastReceiver() {
+        override fun onReceive(context: Context, intent: Intent) {
+            reduxViewModelGenerator.refresh()
+        }
+    }
 
     init {
         addView(composeView)
@@ -52,9 +65,10 @@ internal class ChatCompositeViewImpl(
                 buildChatScreenViewModel(
                     context = context,
                     store = store,
-                    messages = locator.locate<MessageRepository>().snapshotList,
+                    messageWatermarks = locator.locate<MessageRepository>().watermarks,
                     localUserIdentifier = locator.locate<ChatCompositeRemoteOptions>().identity,
                     dispatch = locator.locate(),
+                    messageViewModelCache = messageViewModelCache,
                 )
             },
             onChanged = {
@@ -67,12 +81,17 @@ internal class ChatCompositeViewImpl(
             coroutineScope = findViewTreeLifecycleOwner()!!.lifecycleScope,
             store = locator.locate()
         )
+        val filter = IntentFilter(Intent.ACTION_DATE_CHANGED)
+        filter.addAction(Intent.ACTION_TIME_CHANGED)
+        filter.addAction(Intent.ACTION_TIMEZONE_CHANGED)
+        context.registerReceiver(dateChangedReceiver, filter)
     }
 
     override fun onDetachedFromWindow() {
         tryPop()
         super.onDetachedFromWindow()
         count--
+        context.unregisterReceiver(dateChangedReceiver)
         reduxViewModelGenerator.stop()
         if (count == 0) {
             dispatch(LifecycleAction.EnterBackground)
@@ -15,9 +15,7 @@ import com.azure.android.communication.ui.chat.redux.action.Action
 import com.azure.android.communication.ui.chat.redux.state.ChatStatus
 import com.azure.android.communication.ui.chat.redux.state.NavigationStatus
 import com.azure.android.communication.ui.chat.redux.state.ReduxState
-import com.azure.android.communication.ui.chat.service.sdk.wrapper.ChatMessageType
-import com.azure.android.communication.ui.chat.utilities.findMessageIdxById
-import org.threeten.bp.OffsetDateTime
+import com.azure.android.communication.ui.chat.repository.MessageWatermarks
 
 // Show Debug Information on the screen
 internal const val includeDebugInfo = false
@@ -41,7 +39,8 @@ internal data class ChatScreenViewModel(
 ) {
     val showError get() = error != null && error.errorCode == ChatCompositeErrorCode.JOIN_FAILED
     val errorMessage get() = error?.errorCode?.toString() ?: ""
-    val isLoading get() = chatStatus != ChatStatus.INITIALIZED && !showError
+    // Cached messages are shown while the chat initializes
+    val isLoading get() = chatStatus != ChatStatus.INITIALIZED && messages.isEmpty() && !showError
     val unreadMessagesIndicatorVisibility = unreadMessagesCount > 0
 }
 
@@ -52,13 +51,14 @@ private var buildCount = 0
 internal fun buildChatScreenViewModel(
     context: Context,
     store: AppStore<ReduxState>,
-    messages: List<MessageInfoModel>,
+    messageWatermarks: MessageWatermarks,
     localUserIdentifier: String,
     dispatch: Dispatch,
+    messageViewModelCache: MessageViewModelCache = MessageViewModelCache(context),
 ): ChatScreenViewModel {
-    val latestLocalUserMessageId = messages.findLast { it.isCurrentUser }?.normalizedID
-    val lastMessageIdReadByRemoteParticipants = getLastMessageIdReadByRemoteParticipants(
-        messages,
+    val messages = messageWatermarks.messages
+    val latestLocalUserMessageId = messageWatermarks.latestLocalUserMessageId
+    val lastMessageIdReadByRemoteParticipants = messageWatermarks.getLastMessageIdReadByRemoteParticipants(
         store.getCurrentState().participantState.latestReadMessageTimestamp
     )
 
@@ -69,12 +69,17 @@ internal fun buildChatScreenViewModel(
             latestLocalUserMessageId,
             lastMessageIdReadByRemoteParticipants,
             store.getCurrentState().participantState.hiddenParticipant,
-            includeDebugInfo = includeDebugInfo
+            includeDebugInfo = includeDebugInfo,
+            messageViewModelCache = messageViewModelCache,
+            previousMessages = messageWatermarks.previousMessages,
+            change = messageWatermarks.change,
         ),
         areMessagesLoading = !store.getCurrentState().chatState.chatInfoModel.allMessagesFetched,
         chatStatus = store.getCurrentState().chatState.chatStatus,
         buildCount = buildCount++,
-        unreadMessagesCount = getUnReadMessagesCount(store, messages),
+        unreadMessagesCount = messageWatermarks.getUnreadMessagesCount(
+            store.getCurrentState().chatState.lastReadMessageId
+        ),
         error = store.getCurrentState().errorState.chatCompositeErrorEvent,
         postAction = dispatch,
         typingParticipants = store.getCurrentState().participantState.participantTyping.values.toList(),
@@ -93,38 +98,3 @@ internal fun getDebugOverlayText(store: AppStore<ReduxState>, messages: List<Mes
     return "Last Read ID: ${store.getCurrentState().chatState.lastReadMessageId}\n" +
         "Last Received Message: ${ if (messages.isEmpty()) "None" else messages.last().normalizedID }"
 }
-
-private fun getLastMessageIdReadByRemoteParticipants(
-    messages: List<MessageInfoModel>,
-    latestReadMessageTimestamp: OffsetDateTime,
-): Long {
-    messages.asReversed().forEach {
-        if ((it.messageType == ChatMessageType.TEXT || it.messageType == ChatMessageType.HTML) &&
-            it.isCurrentUser
-        ) {
-            val currentMessageTime = it.editedOn ?: it.createdOn
-            if (currentMessageTime != null && currentMessageTime <= latestReadMessageTimestamp) {
-                return it.normalizedID
-            }
-        }
-    }
-    return 0
-}
-
-private fun getUnReadMessagesCount(
-    store: AppStore<ReduxState>,
-    messages: List<MessageInfoModel>,
-): Int {
-    val lastReadId = store.getCurrentState().chatState.lastReadMessageId
-
-    if (lastReadId.isEmpty()) {
-        return 0
-    }
-    var internalLastReadIndex = messages.findMessageIdxById(lastReadId.toLong())
-    var selfCount = 0
-    while (internalLastReadIndex >= 0 && messages[internalLastReadIndex].isCurrentUser) {
-        internalLastReadIndex--
-        selfCount++
-    }
-    return if (internalLastReadIndex == -1) 0 else messages.size - internalLastReadIndex - 1 - selfCount
-}
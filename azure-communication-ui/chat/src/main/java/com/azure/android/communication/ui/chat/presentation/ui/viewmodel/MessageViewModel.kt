@@ -8,11 +8,15 @@ import com.azure.android.communication.ui.chat.R
 import com.azure.android.communication.ui.chat.models.EMPTY_MESSAGE_INFO_MODEL
 import com.azure.android.communication.ui.chat.models.MessageInfoModel
 import com.azure.android.communication.ui.chat.models.MessageSendStatus
+import com.azure.android.communication.ui.chat.repository.ChunkedList
+import com.azure.android.communication.ui.chat.repository.MessageSnapshotChange
+import com.azure.android.communication.ui.chat.repository.MessageSnapshotList
 import com.azure.android.communication.ui.chat.service.sdk.wrapper.ChatMessageType
-import com.azure.android.communication.ui.chat.utilities.findMessageIdxById
 import com.azure.android.core.rest.annotation.Immutable
+import org.threeten.bp.LocalDate
 import org.threeten.bp.OffsetDateTime
 import org.threeten.bp.ZoneId
+import org.threeten.bp.ZonedDateTime
 import org.threeten.bp.format.DateTimeFormatter
 
 private val timeFormatShort = DateTimeFormatter.ofPattern("EEEE")
@@ -41,41 +45,286 @@ internal fun List<MessageInfoModel>.toViewModelList(
     lastMessageIdReadByRemoteParticipants: Long = 0L,
     hiddenParticipant: Set<String>,
     includeDebugInfo: Boolean = false,
+    messageViewModelCache: MessageViewModelCache = MessageViewModelCache(context),
+    previousMessages: List<MessageInfoModel>? = null,
+    change: MessageSnapshotChange? = null,
 ) =
-    InfoModelToViewModelAdapter(
-        context,
+    messageViewModelCache.build(
         this,
         localUserIdentifier,
         latestLocalUserMessageId,
         lastMessageIdReadByRemoteParticipants,
         hiddenParticipant,
-        includeDebugInfo
-    ) as List<MessageViewModel>
+        includeDebugInfo,
+        previousMessages,
+        change
+    )
 
-private class InfoModelToViewModelAdapter(
+// Builds the message view models ahead of time and keeps them between builds
+//
+// Call build off the main thread, the returned list only indexes into the prebuilt view models
+// so scrolling does no date math or allocation. When the messages come with the change from the
+// previously built messages, only the changed range and the messages whose read receipt or
+// latest local message flag moved are looked at, the rest of the view models are shared with the
+// previous build. Otherwise every message is matched against the previous build by id. A view
+// model is rebuilt only when the message, its previous message, or the flags derived from the read
+// receipt and the latest local message change, and every view model is rebuilt when the day or the
+// time zone changes.
+internal class MessageViewModelCache(
     private val context: Context,
-    private val messages: List<MessageInfoModel>,
-    private val localUserIdentifier: String,
-    private val latestLocalUserMessageId: Long?,
-    private val lastMessageIdReadByRemoteParticipants: Long,
-    private val hiddenParticipant: Set<String>,
-    private val includeDebugInfo: Boolean = false,
-) :
-    List<MessageViewModel> {
-
-    override fun get(index: Int): MessageViewModel {
-        // Generate Message View Model here
-        val lastMessage = try {
-            messages[index - 1]
-        } catch (e: IndexOutOfBoundsException) {
-            EMPTY_MESSAGE_INFO_MODEL
+    private val getZoneId: () -> ZoneId = { ZoneId.systemDefault() },
+) {
+
+    private class Entry(
+        val message: MessageInfoModel,
+        val previousMessageId: Long,
+        val showReadReceipt: Boolean,
+        val isLatestLocalUserMessage: Boolean,
+        val isHiddenUser: Boolean,
+        val includeDebugInfo: Boolean,
+        val viewModel: MessageViewModel,
+    )
+
+    // The view models of entries, without copying them
+    private class ViewModelList(private val entries: List<Entry>) : AbstractList<MessageViewModel>(), RandomAccess {
+        override val size get() = entries.size
+        override fun get(index: Int) = entries[index].viewModel
+    }
+
+    // Entries of the last build, in the order of lastMessages
+    private var entries = ChunkedList.empty<Entry>()
+    private var cachedEpochDay = Long.MIN_VALUE
+    private var cachedZoneId: ZoneId? = null
+
+    // Last build, returned as is when neither the snapshot nor the flags changed
+    private var lastMessages: List<MessageInfoModel>? = null
+    private var lastLocalUserIdentifier: String? = null
+    private var lastLatestLocalUserMessageId: Long? = null
+    private var lastMessageIdRead = 0L
+    private var lastHiddenParticipant: Set<String>? = null
+    private var lastIncludeDebugInfo = false
+    private var lastViewModels: List<MessageViewModel> = emptyList()
+
+    // Flags of the build in progress
+    private lateinit var localUserIdentifier: String
+    private var latestLocalUserMessageId: Long? = null
+    private var lastMessageIdReadByRemoteParticipants = 0L
+    private var hiddenParticipant: Set<String> = emptySet()
+    private var includeDebugInfo = false
+
+    // Boundaries of the relative date headers, computed once per build
+    private lateinit var today: ZonedDateTime
+    private lateinit var yesterday: ZonedDateTime
+    private lateinit var weekAgo: ZonedDateTime
+
+    var hits = 0L
+        private set
+    var misses = 0L
+        private set
+
+    @Synchronized
+    fun build(
+        messages: List<MessageInfoModel>,
+        localUserIdentifier: String,
+        latestLocalUserMessageId: Long?,
+        lastMessageIdReadByRemoteParticipants: Long,
+        hiddenParticipant: Set<String>,
+        includeDebugInfo: Boolean,
+        previousMessages: List<MessageInfoModel>? = null,
+        change: MessageSnapshotChange? = null,
+    ): List<MessageViewModel> {
+        val zoneId = getZoneId()
+        today = LocalDate.now(zoneId).atStartOfDay(zoneId)
+        yesterday = today.minusDays(1)
+        weekAgo = today.minusWeeks(1)
+        if (today.toLocalDate().toEpochDay() != cachedEpochDay || zoneId != cachedZoneId) {
+            cachedEpochDay = today.toLocalDate().toEpochDay()
+            cachedZoneId = zoneId
+            entries = ChunkedList.empty()
+            lastMessages = null
         }
-        val thisMessage = messages[index]
-        val isLocalUser =
-            thisMessage.senderCommunicationIdentifier?.id == localUserIdentifier || thisMessage.isCurrentUser
+
+        val sameFlags = localUserIdentifier == lastLocalUserIdentifier &&
+            hiddenParticipant == lastHiddenParticipant &&
+            includeDebugInfo == lastIncludeDebugInfo
+        if (messages === lastMessages && sameFlags &&
+            latestLocalUserMessageId == lastLatestLocalUserMessageId &&
+            lastMessageIdReadByRemoteParticipants == lastMessageIdRead
+        ) {
+            return lastViewModels
+        }
+
+        this.localUserIdentifier = localUserIdentifier
+        this.latestLocalUserMessageId = latestLocalUserMessageId
+        this.lastMessageIdReadByRemoteParticipants = lastMessageIdReadByRemoteParticipants
+        this.hiddenParticipant = hiddenParticipant
+        this.includeDebugInfo = includeDebugInfo
+
+        // The change to the last build, null when messages does not follow it
+        val lastBuildChange = when {
+            lastMessages == null -> null
+            messages === lastMessages -> MessageSnapshotChange.NONE
+            previousMessages === lastMessages -> change
+            else -> null
+        }
+        entries = if (sameFlags && lastBuildChange != null) {
+            applyChange(messages, lastBuildChange)
+        } else {
+            rebuildRange(messages, entries, 0, messages.size, 0, entries.size)
+        }
+
+        lastViewModels = ViewModelList(entries)
+        lastMessages = messages
+        lastLocalUserIdentifier = localUserIdentifier
+        lastLatestLocalUserMessageId = latestLocalUserMessageId
+        lastMessageIdRead = lastMessageIdReadByRemoteParticipants
+        lastHiddenParticipant = hiddenParticipant
+        lastIncludeDebugInfo = includeDebugInfo
+        return lastViewModels
+    }
+
+    // Rebuilds the changed range and the message after it, whose previous message may have
+    // changed, then the messages that gained or lost a flag outside of it
+    private fun applyChange(messages: List<MessageInfoModel>, change: MessageSnapshotChange): ChunkedList<Entry> {
+        var nextEntries = entries
+        var fromIndex = 0
+        var toIndex = 0
+        if (!change.isEmpty) {
+            fromIndex = minOf(change.fromIndex, messages.size)
+            toIndex = minOf(maxOf(change.toIndex, fromIndex) + 1, messages.size)
+            nextEntries = rebuildRange(
+                messages,
+                entries,
+                fromIndex,
+                toIndex,
+                fromIndex,
+                minOf(toIndex - change.sizeDelta, entries.size)
+            )
+        }
+
+        val flaggedIds = listOf(
+            lastLatestLocalUserMessageId,
+            latestLocalUserMessageId,
+            lastMessageIdRead,
+            lastMessageIdReadByRemoteParticipants,
+        )
+        flaggedIds.distinct().forEach { id ->
+            if (id == null) return@forEach
+            val index = messages.lowerBound(id)
+            if (index in fromIndex until toIndex || index >= messages.size ||
+                messages[index].normalizedID != id
+            ) {
+                return@forEach
+            }
+            val previousMessage = if (index == 0) EMPTY_MESSAGE_INFO_MODEL else messages[index - 1]
+            val entry = getEntry(nextEntries[index], previousMessage, messages[index])
+            if (entry !== nextEntries[index]) {
+                nextEntries = nextEntries.set(index, entry)
+            }
+        }
+        return nextEntries
+    }
+
+    // Replaces the entries from oldFromIndex to oldToIndex with the entries of the messages from
+    // fromIndex to toIndex, both ranges are ordered by id so previous entries are matched in one walk
+    private fun rebuildRange(
+        messages: List<MessageInfoModel>,
+        previousEntries: ChunkedList<Entry>,
+        fromIndex: Int,
+        toIndex: Int,
+        oldFromIndex: Int,
+        oldToIndex: Int,
+    ): ChunkedList<Entry> {
+        val rangeEntries = ArrayList<Entry>(toIndex - fromIndex)
+        var oldIndex = oldFromIndex
+        var lastMessage = if (fromIndex == 0) EMPTY_MESSAGE_INFO_MODEL else messages[fromIndex - 1]
+        for (index in fromIndex until toIndex) {
+            val thisMessage = messages[index]
+            while (oldIndex < oldToIndex &&
+                previousEntries[oldIndex].message.normalizedID < thisMessage.normalizedID
+            ) {
+                oldIndex++
+            }
+            val cached = if (oldIndex < oldToIndex &&
+                previousEntries[oldIndex].message.normalizedID == thisMessage.normalizedID
+            ) {
+                previousEntries[oldIndex]
+            } else {
+                null
+            }
+            rangeEntries.add(getEntry(cached, lastMessage, thisMessage))
+            lastMessage = thisMessage
+        }
+        return previousEntries.replaceRange(oldFromIndex, oldToIndex, rangeEntries)
+    }
+
+    private fun getEntry(cached: Entry?, lastMessage: MessageInfoModel, thisMessage: MessageInfoModel): Entry {
         val showReadReceipt =
             thisMessage.sendStatus == MessageSendStatus.SENT && lastMessageIdReadByRemoteParticipants != 0L &&
                 lastMessageIdReadByRemoteParticipants == thisMessage.normalizedID
+        val isLatestLocalUserMessage = latestLocalUserMessageId == thisMessage.normalizedID
+        val isHiddenUser = thisMessage.messageType == ChatMessageType.PARTICIPANT_ADDED &&
+            thisMessage.participants.size == 1 &&
+            hiddenParticipant.contains(thisMessage.participants.first().userIdentifier.id)
+
+        if (cached != null &&
+            cached.message === thisMessage &&
+            cached.previousMessageId == lastMessage.normalizedID &&
+            cached.showReadReceipt == showReadReceipt &&
+            cached.isLatestLocalUserMessage == isLatestLocalUserMessage &&
+            cached.isHiddenUser == isHiddenUser &&
+            cached.includeDebugInfo == includeDebugInfo
+        ) {
+            hits++
+            return cached
+        }
+        misses++
+        return Entry(
+            thisMessage,
+            lastMessage.normalizedID,
+            showReadReceipt,
+            isLatestLocalUserMessage,
+            isHiddenUser,
+            includeDebugInfo,
+            buildViewModel(
+                lastMessage,
+                thisMessage,
+                localUserIdentifier,
+                showReadReceipt,
+                isLatestLocalUserMessage,
+                isHiddenUser,
+                includeDebugInfo
+            )
+        )
+    }
+
+    // Index of the first message with an id >= normalizedID
+    private fun List<MessageInfoModel>.lowerBound(normalizedID: Long): Int {
+        if (this is MessageSnapshotList) return lowerBound(normalizedID)
+        var low = 0
+        var high = size
+        while (low < high) {
+            val mid = (low + high) ushr 1
+            if (get(mid).normalizedID < normalizedID) {
+                low = mid + 1
+            } else {
+                high = mid
+            }
+        }
+        return low
+    }
+
+    private fun buildViewModel(
+        lastMessage: MessageInfoModel,
+        thisMessage: MessageInfoModel,
+        localUserIdentifier: String,
+        showReadReceipt: Boolean,
+        isLatestLocalUserMessage: Boolean,
+        isHiddenUser: Boolean,
+        includeDebugInfo: Boolean,
+    ): MessageViewModel {
+        val isLocalUser =
+            thisMessage.senderCommunicationIdentifier?.id == localUserIdentifier || thisMessage.isCurrentUser
 
         return MessageViewModel(
 
@@ -98,11 +347,9 @@ private class InfoModelToViewModelAdapter(
             isLocalUser = isLocalUser,
             messageStatus = thisMessage.sendStatus,
             showReadReceipt = showReadReceipt,
-            showSentStatusIcon = shouldShowMessageStatusIcon(thisMessage, showReadReceipt),
-            isHiddenUser = messages[index].messageType == ChatMessageType.PARTICIPANT_ADDED &&
-                messages[index].participants.size == 1 &&
-                hiddenParticipant.contains(messages[index].participants.first().userIdentifier.id),
-
+            showSentStatusIcon = !showReadReceipt &&
+                (thisMessage.sendStatus == MessageSendStatus.FAILED || isLatestLocalUserMessage),
+            isHiddenUser = isHiddenUser,
         )
     }
 
@@ -111,15 +358,9 @@ private class InfoModelToViewModelAdapter(
         thisMessageDate: OffsetDateTime,
     ): String? {
 
-        val thisMessageDateZoned = thisMessageDate.atZoneSameInstant(ZoneId.systemDefault())
-        val today = OffsetDateTime.now().withHour(0).withMinute(0)
-            .withSecond(0)
-            .withNano(0).atZoneSameInstant(ZoneId.systemDefault())
-
-        val yesterday = today.minusDays(1)
-        val weekAgo = today.minusWeeks(1)
+        val thisMessageDateZoned = thisMessageDate.atZoneSameInstant(today.zone)
 
-        if (lastMessageDate.dayOfYear != thisMessageDate.dayOfYear) {
+        if (lastMessageDate.atZoneSameInstant(today.zone).toLocalDate() != thisMessageDateZoned.toLocalDate()) {
             if (thisMessageDateZoned.isAfter(today)) {
                 return context.getString(R.string.azure_communication_ui_chat_message_today)
             } else if (thisMessageDateZoned.isAfter(yesterday)) {
@@ -132,45 +373,4 @@ private class InfoModelToViewModelAdapter(
             return null
         }
     }
-
-    // Rest of List Implementation
-    override val size = messages.size
-    override fun contains(element: MessageViewModel) = messages.contains(element.message)
-
-    override fun containsAll(elements: Collection<MessageViewModel>) =
-        messages.containsAll(elements.map { it.message })
-
-    override fun indexOf(element: MessageViewModel) =
-        messages.findMessageIdxById(element.message.normalizedID)
-
-    override fun isEmpty() = messages.isEmpty()
-
-    override fun iterator(): Iterator<MessageViewModel> {
-        // Not Implemented
-        TODO("Not Implemented, probably not needed")
-    }
-
-    override fun lastIndexOf(element: MessageViewModel) = messages.lastIndexOf(element.message)
-
-    override fun listIterator(): ListIterator<MessageViewModel> {
-        // Not Implemented
-        TODO("Not Implemented, probably not needed")
-    }
-
-    override fun listIterator(index: Int): ListIterator<MessageViewModel> {
-        // Not Implemented
-        TODO("Not Implemented, probably not needed")
-    }
-
-    override fun subList(fromIndex: Int, toIndex: Int): List<MessageViewModel> {
-        // Not Implemented
-        TODO("Not Implemented, probably not needed")
-    }
-
-    private fun shouldShowMessageStatusIcon(
-        message: MessageInfoModel,
-        showReadReceipt: Boolean,
-    ): Boolean {
-        return !showReadReceipt && (message.sendStatus == MessageSendStatus.FAILED || latestLocalUserMessageId == message.normalizedID)
-    }
 }
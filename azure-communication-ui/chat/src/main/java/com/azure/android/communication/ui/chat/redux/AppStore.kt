@@ -11,16 +11,33 @@ import com.azure.android.communication.ui.chat.redux.reducer.Reducer
 import kotlinx.coroutines.CoroutineExceptionHandler
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.cancel
+import kotlinx.coroutines.delay
 import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.launch
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.atomic.AtomicBoolean
 import kotlin.coroutines.CoroutineContext
 
+// Frame aligned coalescing window, can be passed as coalescingWindowMillis
+internal const val FRAME_COALESCING_WINDOW_MILLIS = 16L
+
 internal class AppStore<S>(
     initialState: S,
     private val reducer: Reducer<S>,
     middlewares: MutableList<Middleware<S>>,
     dispatcher: CoroutineContext,
+    // When > 0, dispatched actions are queued and reduced together once per window. Off by
+    // default, every action then reaches the state on its own
+    private val coalescingWindowMillis: Long = 0,
+    private val metrics: StoreMetrics? = null,
 ) : Store<S> {
+    // Timings of the action being handled, set while metrics are enabled
+    private class Measurement {
+        var reduceTimeNanos: Long? = null
+        var emitTimeNanos = 0L
+        var isStateChanged = false
+    }
+
     // Any exceptions encountered in the reducer are rethrown to crash the app and not get silently ignored.
     private val exceptionHandler = CoroutineExceptionHandler { _, throwable ->
         Handler(Looper.getMainLooper()).postAtFrontOfQueue {
@@ -37,15 +54,51 @@ internal class AppStore<S>(
 
     private var middlewareDispatch = compose(middlewareMap)(::reduce)
 
+    // While a batch is running, reduced state is kept here and published once at the end.
+    // Only the dispatch thread running the batch reads it, other threads get the published state.
+    @Volatile
+    private var batchThread: Thread? = null
+    private var batchState: S = initialState
+    private var batchReduceTimeNanos = 0L
+
+    private val pendingActions = ConcurrentLinkedQueue<Action>()
+    private val flushScheduled = AtomicBoolean(false)
+
+    private var measurement: Measurement? = null
+
+    // Kept by the metrics when there are any, so they are part of their dump
+    val batchCounters = metrics?.batchCounters ?: DispatchBatchCounters()
+
     override fun end() {
         scope.cancel()
+        pendingActions.clear()
         middlewareMap = emptyList()
         middlewareDispatch = compose(middlewareMap)(::reduce)
     }
 
     override fun dispatch(action: Action) {
+        if (coalescingWindowMillis > 0) {
+            enqueue(listOf(action))
+            return
+        }
+        metrics?.onQueued(1)
         scope.launch(dispatcherWithExceptionHandler) {
-            middlewareDispatch(action)
+            metrics?.onDequeued(1)
+            handle(action)
+        }
+    }
+
+    // Runs all actions through middleware and reducer in order and publishes a single state
+    override fun dispatchBatch(actions: List<Action>) {
+        if (actions.isEmpty()) return
+        if (coalescingWindowMillis > 0) {
+            enqueue(actions)
+            return
+        }
+        metrics?.onQueued(actions.size)
+        scope.launch(dispatcherWithExceptionHandler) {
+            metrics?.onDequeued(actions.size)
+            runBatch(actions)
         }
     }
 
@@ -54,14 +107,106 @@ internal class AppStore<S>(
     }
 
     override fun getCurrentState(): S {
-        return stateFlow.value
+        return if (isBatching()) batchState else stateFlow.value
+    }
+
+    // Actions queued within the window run as one batch when it elapses
+    private fun enqueue(actions: List<Action>) {
+        metrics?.onQueued(actions.size)
+        pendingActions.addAll(actions)
+        if (flushScheduled.compareAndSet(false, true)) {
+            scope.launch(dispatcherWithExceptionHandler) {
+                delay(coalescingWindowMillis)
+                flushScheduled.set(false)
+                val batch = mutableListOf<Action>()
+                while (true) {
+                    batch.add(pendingActions.poll() ?: break)
+                }
+                if (batch.isNotEmpty()) {
+                    metrics?.onDequeued(batch.size)
+                    runBatch(batch)
+                }
+            }
+        }
+    }
+
+    private fun runBatch(actions: List<Action>) {
+        batchState = stateFlow.value
+        batchReduceTimeNanos = 0L
+        batchThread = Thread.currentThread()
+        try {
+            actions.forEach { handle(it) }
+        } finally {
+            batchThread = null
+        }
+        val enabledMetrics = metrics?.takeIf { it.isEnabled }
+        if (enabledMetrics == null) {
+            stateFlow.value = batchState
+        } else {
+            val previous = stateFlow.value
+            val start = System.nanoTime()
+            stateFlow.value = batchState
+            enabledMetrics.onStatePublished(batchState != previous, System.nanoTime() - start)
+        }
+        batchCounters.onBatchReduced(actions.size, batchReduceTimeNanos)
+    }
+
+    private fun handle(action: Action) {
+        val enabledMetrics = metrics?.takeIf { it.isEnabled }
+        if (enabledMetrics == null) {
+            middlewareDispatch(action)
+            return
+        }
+        // a middleware may dispatch inline on an immediate dispatcher, so measurements nest
+        val outer = measurement
+        val current = Measurement()
+        measurement = current
+        val start = System.nanoTime()
+        try {
+            middlewareDispatch(action)
+        } finally {
+            measurement = outer
+        }
+        val totalTimeNanos = System.nanoTime() - start
+        enabledMetrics.onActionHandled(
+            action,
+            middlewareTimeNanos = totalTimeNanos - (current.reduceTimeNanos ?: 0L) - current.emitTimeNanos,
+            reduceTimeNanos = current.reduceTimeNanos,
+            emitTimeNanos = current.emitTimeNanos,
+            isStateChanged = current.isStateChanged,
+        )
     }
 
     private fun reduce(action: Action) {
-        val newState = reducer.reduce(stateFlow.value, action)
-        stateFlow.value = newState
+        val current = measurement
+        if (isBatching()) {
+            val start = System.nanoTime()
+            val previous = batchState
+            batchState = reducer.reduce(previous, action)
+            val reduceTimeNanos = System.nanoTime() - start
+            batchReduceTimeNanos += reduceTimeNanos
+            if (current != null) {
+                current.reduceTimeNanos = reduceTimeNanos
+                current.isStateChanged = batchState != previous
+            }
+        } else if (current != null) {
+            val previous = stateFlow.value
+            val start = System.nanoTime()
+            val state = reducer.reduce(previous, action)
+            val reduced = System.nanoTime()
+            stateFlow.value = state
+            current.reduceTimeNanos = reduced - start
+            current.emitTimeNanos = System.nanoTime() - reduced
+            // the state flow drops a state equal to the current one
+            current.isStateChanged = state != previous
+            metrics?.onStatePublished(current.isStateChanged, current.emitTimeNanos)
+        } else {
+            stateFlow.value = reducer.reduce(stateFlow.value, action)
+        }
     }
 
+    private fun isBatching() = batchThread === Thread.currentThread()
+
     private fun compose(functions: List<(Dispatch) -> Dispatch>): (Dispatch) -> Dispatch =
         { dispatch ->
             functions.foldRight(
@@ -0,0 +1,29 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.chat.redux
+
+import kotlinx.coroutines.FlowPreview
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.buffer
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.produceIn
+
+// Emits the values of the flow in lists: a value together with every value that arrived while the
+// collector handled the previous list, so a burst can be dispatched to the store as one batch.
+// Values are never dropped or reordered, a collector that keeps up gets lists of one.
+@OptIn(FlowPreview::class)
+internal fun <T : Any> Flow<T>.batchWhileBusy(): Flow<List<T>> = flow {
+    coroutineScope {
+        val values = buffer(Channel.UNLIMITED).produceIn(this)
+        for (first in values) {
+            val batch = mutableListOf(first)
+            while (true) {
+                batch.add(values.tryReceive().getOrNull() ?: break)
+            }
+            emit(batch)
+        }
+    }
+}
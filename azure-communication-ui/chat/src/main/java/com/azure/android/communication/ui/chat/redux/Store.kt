@@ -8,6 +8,7 @@ import kotlinx.coroutines.flow.MutableStateFlow
 
 internal interface Store<S> {
     fun dispatch(action: Action)
+    fun dispatchBatch(actions: List<Action>)
     fun getStateFlow(): MutableStateFlow<S>
     fun getCurrentState(): S
     fun end()
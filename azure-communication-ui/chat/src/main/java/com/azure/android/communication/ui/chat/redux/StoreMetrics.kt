@@ -0,0 +1,256 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.chat.redux
+
+import java.util.Locale
+import java.util.concurrent.CopyOnWriteArraySet
+import java.util.concurrent.atomic.AtomicInteger
+
+// One action handled by the store
+internal data class StoreTraceEvent(
+    val actionClass: Class<*>,
+    val timestampMillis: Long,
+    // time spent in middleware, excluding the reducer and the state emission
+    val middlewareTimeNanos: Long,
+    // null when a middleware did not pass the action on
+    val reduceTimeNanos: Long?,
+    // setting the state flow, including collectors resumed inline, zero for batched actions
+    val emitTimeNanos: Long,
+    // actions dispatched and not yet handled when this one was handled
+    val queueDepth: Int,
+    val isStateChanged: Boolean,
+) {
+    val actionName: String get() = actionClass.name.substringAfterLast('.')
+}
+
+internal data class DurationSummary(
+    val count: Long,
+    val totalNanos: Long,
+    val p50Nanos: Long,
+    val p99Nanos: Long,
+    val maxNanos: Long,
+)
+
+internal data class StoreMetricsSnapshot(
+    val reduceTimes: Map<String, DurationSummary>,
+    val middlewareTime: DurationSummary,
+    val emitTime: DurationSummary,
+    val queueDepth: Int,
+    val maxQueueDepth: Int,
+    val emittedStates: Long,
+    // reduced to a state equal to the current one, which the state flow drops
+    val suppressedStates: Long,
+)
+
+// Called on the store dispatcher for every action handled while the metrics are enabled, keep it short
+internal interface StoreMetricsListener {
+    fun onActionHandled(event: StoreTraceEvent)
+}
+
+// Histogram of durations in power of two buckets, bucket i counts [2^(i-1), 2^i) ns
+internal class DurationHistogram {
+    companion object {
+        private const val BUCKETS = 64
+    }
+
+    private val buckets = LongArray(BUCKETS)
+    private var count = 0L
+    private var totalNanos = 0L
+    private var maxNanos = 0L
+
+    fun record(nanos: Long) {
+        val value = maxOf(nanos, 0L)
+        buckets[minOf(BUCKETS - 1, 64 - java.lang.Long.numberOfLeadingZeros(value))]++
+        count++
+        totalNanos += value
+        maxNanos = maxOf(maxNanos, value)
+    }
+
+    // Upper bound of the bucket holding the percentile, so at most twice the real value
+    fun percentileNanos(percentile: Double): Long {
+        if (count == 0L) return 0
+        val rank = maxOf(1L, Math.ceil(count * percentile).toLong())
+        var seen = 0L
+        buckets.forEachIndexed { index, bucketCount ->
+            seen += bucketCount
+            if (seen >= rank) {
+                return if (index == 0) 0 else minOf(maxNanos, (1L shl index) - 1)
+            }
+        }
+        return maxNanos
+    }
+
+    fun summary() = DurationSummary(count, totalNanos, percentileNanos(0.5), percentileNanos(0.99), maxNanos)
+}
+
+// Accounting of the store dispatch: reduce time per action class, middleware and emission time,
+// queue depth and emitted versus suppressed states, with a ring buffer trace of the last actions
+//
+// Actions are only told apart by their class.
+// The store only takes timings while isEnabled, when disabled the cost is a queue depth counter
+// and the batch counters.
+internal class StoreMetrics(
+    isEnabled: Boolean = false,
+    private val traceCapacity: Int = DEFAULT_TRACE_CAPACITY,
+) {
+    companion object {
+        // Application meta-data a host app sets to true to turn the timings on,
+        // they add work to every dispatch so they are never on by default. The dump is logged
+        // at debug level when the composite exits
+        const val ENABLED_META_DATA = "com.azure.android.communication.ui.storeMetrics"
+
+        private const val DEFAULT_TRACE_CAPACITY = 256
+        private const val NANOS_PER_MILLI = 1_000_000.0
+    }
+
+    @Volatile
+    var isEnabled = isEnabled
+
+    // Actions per batch and batch reduce time of dispatchBatch
+    val batchCounters = DispatchBatchCounters()
+
+    private val listeners = CopyOnWriteArraySet<StoreMetricsListener>()
+    private val queueDepth = AtomicInteger()
+    private val maxQueueDepth = AtomicInteger()
+
+    private val reduceTimes = LinkedHashMap<Class<*>, DurationHistogram>()
+    private val middlewareTime = DurationHistogram()
+    private val emitTime = DurationHistogram()
+    private var emittedStates = 0L
+    private var suppressedStates = 0L
+
+    private val trace = arrayOfNulls<StoreTraceEvent>(traceCapacity)
+    private var traceStart = 0
+    private var traceSize = 0
+
+    fun addListener(listener: StoreMetricsListener) {
+        listeners.add(listener)
+    }
+
+    fun removeListener(listener: StoreMetricsListener) {
+        listeners.remove(listener)
+    }
+
+    fun onQueued(actions: Int) {
+        val depth = queueDepth.addAndGet(actions)
+        while (true) {
+            val max = maxQueueDepth.get()
+            if (depth <= max || maxQueueDepth.compareAndSet(max, depth)) break
+        }
+    }
+
+    fun onDequeued(actions: Int) {
+        queueDepth.addAndGet(-actions)
+    }
+
+    fun onActionHandled(
+        action: Any,
+        middlewareTimeNanos: Long,
+        reduceTimeNanos: Long?,
+        emitTimeNanos: Long,
+        isStateChanged: Boolean,
+    ) {
+        val event = StoreTraceEvent(
+            actionClass = action.javaClass,
+            timestampMillis = System.currentTimeMillis(),
+            middlewareTimeNanos = middlewareTimeNanos,
+            reduceTimeNanos = reduceTimeNanos,
+            emitTimeNanos = emitTimeNanos,
+            queueDepth = queueDepth.get(),
+            isStateChanged = isStateChanged,
+        )
+        synchronized(this) {
+            middlewareTime.record(middlewareTimeNanos)
+            reduceTimeNanos?.let { reduceTimes.getOrPut(action.javaClass) { DurationHistogram() }.record(it) }
+            if (traceCapacity > 0) {
+                trace[(traceStart + traceSize) % traceCapacity] = event
+                if (traceSize < traceCapacity) traceSize++ else traceStart = (traceStart + 1) % traceCapacity
+            }
+        }
+        // an empty check when nobody listens, the iterator is only taken for listeners
+        if (!listeners.isEmpty()) {
+            listeners.forEach { it.onActionHandled(event) }
+        }
+    }
+
+    fun onStatePublished(isEmitted: Boolean, emitTimeNanos: Long) {
+        synchronized(this) {
+            emitTime.record(emitTimeNanos)
+            if (isEmitted) emittedStates++ else suppressedStates++
+        }
+    }
+
+    fun getSnapshot(): StoreMetricsSnapshot = synchronized(this) {
+        StoreMetricsSnapshot(
+            reduceTimes = reduceTimes.entries.associate {
+                it.key.name.substringAfterLast('.') to it.value.summary()
+            },
+            middlewareTime = middlewareTime.summary(),
+            emitTime = emitTime.summary(),
+            queueDepth = queueDepth.get(),
+            maxQueueDepth = maxQueueDepth.get(),
+            emittedStates = emittedStates,
+            suppressedStates = suppressedStates,
+        )
+    }
+
+    // Oldest first
+    fun getTrace(): List<StoreTraceEvent> = synchronized(this) {
+        List(traceSize) { trace[(traceStart + it) % traceCapacity]!! }
+    }
+
+    fun dump(): String {
+        val snapshot = getSnapshot()
+        val builder = StringBuilder()
+        builder.appendLine(
+            "Store metrics: ${snapshot.emittedStates} states emitted, ${snapshot.suppressedStates} suppressed, " +
+                "queue depth ${snapshot.queueDepth} (max ${snapshot.maxQueueDepth})"
+        )
+        builder.appendLine(
+            String.format(
+                Locale.US,
+                "batches: %d, %d actions, %.1f per batch (max %d), reduce total %.3fms",
+                batchCounters.batchCount,
+                batchCounters.actionCount,
+                batchCounters.averageActionsPerBatch,
+                batchCounters.maxActionsPerBatch,
+                batchCounters.totalReduceTimeNanos / NANOS_PER_MILLI,
+            )
+        )
+        builder.appendLine(format("middleware", snapshot.middlewareTime))
+        builder.appendLine(format("emit", snapshot.emitTime))
+        snapshot.reduceTimes.entries
+            .sortedByDescending { it.value.totalNanos }
+            .forEach { builder.appendLine(format("reduce ${it.key}", it.value)) }
+        val events = getTrace()
+        builder.appendLine("Last ${events.size} actions:")
+        events.forEach {
+            builder.appendLine(
+                String.format(
+                    Locale.US,
+                    "%d %s queue %d middleware %.3fms reduce %s emit %.3fms%s",
+                    it.timestampMillis,
+                    it.actionName,
+                    it.queueDepth,
+                    it.middlewareTimeNanos / NANOS_PER_MILLI,
+                    it.reduceTimeNanos?.let { nanos -> String.format(Locale.US, "%.3fms", nanos / NANOS_PER_MILLI) } ?: "-",
+                    it.emitTimeNanos / NANOS_PER_MILLI,
+                    if (it.isStateChanged) " changed" else "",
+                )
+            )
+        }
+        return builder.toString()
+    }
+
+    private fun format(name: String, summary: DurationSummary) = String.format(
+        Locale.US,
+        "%s: %d, total %.3fms, p50 %.3fms, p99 %.3fms, max %.3fms",
+        name,
+        summary.count,
+        summary.totalNanos / NANOS_PER_MILLI,
+        summary.p50Nanos / NANOS_PER_MILLI,
+        summary.p99Nanos / NANOS_PER_MILLI,
+        summary.maxNanos / NANOS_PER_MILLI,
+    )
+}
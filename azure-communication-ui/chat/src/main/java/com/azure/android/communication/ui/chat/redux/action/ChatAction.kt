@@ -16,13 +16,15 @@ internal sealed class ChatAction : Action {
     class MessageSentFailed(val messageInfoModel: MessageInfoModel) : ChatAction()
     class DeleteMessage(val message: MessageInfoModel) : ChatAction()
     class MessageDeleted(val message: MessageInfoModel) : ChatAction()
-    class FetchMessages : ChatAction()
+    class FetchMessages(val scrollItemsPerSecond: Float = 0f) : ChatAction()
     class AllMessagesFetched : ChatAction()
     class MessagesPageReceived(val messages: List<MessageInfoModel>) : ChatAction()
+    class MessagesCatchUpReceived(val messages: List<MessageInfoModel>) : ChatAction()
     class EndChat : ChatAction()
     class MessageReceived(val message: MessageInfoModel) : ChatAction()
     class EditMessage(val message: MessageInfoModel) : ChatAction()
-    class MessageEdited(val message: MessageInfoModel) : ChatAction()
+    // isLocal when the edit was made on this device and the server copy has not arrived yet
+    class MessageEdited(val message: MessageInfoModel, val isLocal: Boolean = false) : ChatAction()
     class MessageRead(val messageId: String) : ChatAction()
     class MessageLastReceived(val messageId: String) : ChatAction()
     class TypingIndicator : ChatAction()
@@ -3,6 +3,9 @@
 
 package com.azure.android.communication.ui.chat.redux.action
 
+import com.azure.android.communication.ui.chat.models.MessageInfoModel
+
 internal sealed class RepositoryAction : Action {
     class RepositoryUpdated : RepositoryAction()
+    class CacheLoaded(val messages: List<MessageInfoModel>) : RepositoryAction()
 }
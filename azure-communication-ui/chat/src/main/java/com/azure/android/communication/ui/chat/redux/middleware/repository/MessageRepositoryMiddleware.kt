@@ -17,9 +17,11 @@ import com.azure.android.communication.ui.chat.redux.action.RepositoryAction
 import com.azure.android.communication.ui.chat.redux.middleware.sdk.ChatMiddleware
 import com.azure.android.communication.ui.chat.redux.state.ReduxState
 import com.azure.android.communication.ui.chat.repository.MessageRepository
+import com.azure.android.communication.ui.chat.repository.cache.MessageCacheStore
 import com.azure.android.communication.ui.chat.service.sdk.wrapper.ChatMessageType
 import com.azure.android.communication.ui.chat.utilities.findMessageById
 import org.threeten.bp.OffsetDateTime
+import java.util.TreeSet
 
 internal interface MessageRepositoryMiddleware
 
@@ -30,18 +32,29 @@ internal interface MessageRepositoryMiddleware
 // ChatActionHandler (Redux -> Service)
 internal class MessageRepositoryMiddlewareImpl(
     private val messageRepository: MessageRepository,
+    // Persists server messages so the next start can show them before the network returns
+    private val messageCacheStore: MessageCacheStore? = null,
 ) :
     Middleware<ReduxState>,
     ChatMiddleware,
     MessageRepositoryMiddleware {
 
+    // Ids of the cached messages no server page has confirmed yet, and the oldest id the pages
+    // received so far cover, null before the first page
+    private val unconfirmedCachedIds = TreeSet<Long>()
+    private var oldestPageId: Long? = null
+
     override fun invoke(store: Store<ReduxState>) = { next: Dispatch ->
         { action: Action ->
             when (action) {
+                is ChatAction.StartChat -> processStartChat(store::dispatch)
+                is RepositoryAction.CacheLoaded -> processCacheLoaded(action, store::dispatch)
                 is ChatAction.SendMessage -> processSendMessage(action, store::dispatch)
                 is ChatAction.MessageSent -> processMessageSent(action, store::dispatch)
                 is ChatAction.MessageSentFailed -> processMessageSentFailed(action, store::dispatch)
                 is ChatAction.MessagesPageReceived -> processPageReceived(action, store::dispatch)
+                is ChatAction.AllMessagesFetched -> processAllMessagesFetched(store::dispatch)
+                is ChatAction.MessagesCatchUpReceived -> processCatchUpReceived(action, store::dispatch)
                 is ChatAction.MessageReceived -> processMessageReceived(action, store::dispatch)
                 is ChatAction.MessageDeleted -> processDeletedMessage(action, store::dispatch)
                 is ChatAction.MessageEdited -> processEditMessage(action, store::dispatch)
@@ -64,6 +77,36 @@ internal class MessageRepositoryMiddlewareImpl(
         }
     }
 
+    private fun processStartChat(
+        dispatch: Dispatch,
+    ) {
+        messageCacheStore?.load { messages ->
+            if (messages.isNotEmpty()) {
+                dispatch(RepositoryAction.CacheLoaded(messages))
+            }
+        }
+    }
+
+    // Cached messages only fill in what the server has not sent yet, or older revisions of it.
+    // Once a page arrived the pages decide which messages are shown, the cache only updates them.
+    private fun processCacheLoaded(
+        action: RepositoryAction.CacheLoaded,
+        dispatch: Dispatch,
+    ) {
+        action.messages.forEach { cachedMessage ->
+            val message = messageRepository.findMessageById(cachedMessage.normalizedID)
+            if (message == EMPTY_MESSAGE_INFO_MODEL) {
+                if (oldestPageId == null) {
+                    messageRepository.addMessage(cachedMessage)
+                    unconfirmedCachedIds.add(cachedMessage.normalizedID)
+                }
+            } else if (cachedMessage.revision > message.revision) {
+                messageRepository.replaceMessage(message, cachedMessage)
+            }
+        }
+        notifyUpdate(dispatch)
+    }
+
     private fun processNetworkDisconnected(
         dispatch: Dispatch,
     ) {
@@ -89,30 +132,39 @@ internal class MessageRepositoryMiddlewareImpl(
                 action.message
             )
         }
+        messageCacheStore?.save(listOf(action.message))
 
         notifyUpdate(dispatch)
     }
 
-    // Before the hits the server
+    // Before the hits the server, also when a failed or restored message is sent again
     private fun processSendMessage(
         action: ChatAction.SendMessage,
         dispatch: Dispatch,
     ) {
-        messageRepository.addMessage(action.messageInfoModel)
+        val oldMessage = messageRepository.findMessageById(action.messageInfoModel.normalizedID)
+        if (oldMessage == EMPTY_MESSAGE_INFO_MODEL) {
+            messageRepository.addMessage(action.messageInfoModel)
+        } else {
+            messageRepository.replaceMessage(oldMessage, action.messageInfoModel)
+        }
         notifyUpdate(dispatch)
     }
 
+    // The echo of the message can arrive before the send returns, it is kept as received
     private fun processMessageSent(
         action: ChatAction.MessageSent,
         dispatch: Dispatch,
     ) {
         messageRepository.removeMessage(action.messageInfoModel)
-        messageRepository.addMessage(
-            action.messageInfoModel.copy(
+        if (messageRepository.findMessageById(action.id.toLong()) == EMPTY_MESSAGE_INFO_MODEL) {
+            val sentMessage = action.messageInfoModel.copy(
                 id = action.id,
                 sendStatus = MessageSendStatus.SENT
             )
-        )
+            messageRepository.addMessage(sentMessage)
+            messageCacheStore?.save(listOf(sentMessage))
+        }
         notifyUpdate(dispatch)
     }
 
@@ -133,7 +185,100 @@ internal class MessageRepositoryMiddlewareImpl(
         action: ChatAction.MessagesPageReceived,
         dispatch: Dispatch,
     ) {
-        messageRepository.addPage(action.messages.reversed())
+        // A cached copy can be newer than the page when it was edited since the page was requested
+        val page = action.messages.reversed().filter { message ->
+            message.supersedes(messageRepository.findMessageById(message.normalizedID))
+        }
+        reconcileCachedMessages(action.messages)
+        messageRepository.addPage(page)
+        messageCacheStore?.save(page)
+        notifyUpdate(dispatch)
+    }
+
+    // Pages arrive newest first, each one covers the ids from its oldest message up to the
+    // previous page. A cached message in that range the page does not hold was deleted while the
+    // app was closed. When the first page is newer than every cached message, the messages in
+    // between are unknown, the cached ones are dropped from the list and come back with the pages.
+    private fun reconcileCachedMessages(pageMessages: List<MessageInfoModel>) {
+        if (pageMessages.isEmpty()) return
+        val pageOldestId = pageMessages.minOf { it.normalizedID }
+        val previousOldestPageId = oldestPageId
+        oldestPageId = minOf(pageOldestId, previousOldestPageId ?: Long.MAX_VALUE)
+        if (unconfirmedCachedIds.isEmpty()) return
+
+        val upperId = previousOldestPageId ?: Long.MAX_VALUE
+        val coveredIds = when {
+            previousOldestPageId == null && pageOldestId > unconfirmedCachedIds.last() -> unconfirmedCachedIds.toList()
+            pageOldestId < upperId -> unconfirmedCachedIds.subSet(pageOldestId, upperId).toList()
+            else -> emptyList()
+        }
+        val pageIds = pageMessages.mapTo(HashSet()) { it.normalizedID }
+        val deletedMessages = ArrayList<MessageInfoModel>()
+        coveredIds.forEach { id ->
+            unconfirmedCachedIds.remove(id)
+            val message = messageRepository.findMessageById(id)
+            if (id !in pageIds && message != EMPTY_MESSAGE_INFO_MODEL) {
+                messageRepository.removeMessage(message)
+                // older than the page when dropped for the gap, still cached for the next start
+                if (id >= pageOldestId) {
+                    deletedMessages.add(message)
+                }
+            }
+        }
+        messageCacheStore?.delete(deletedMessages)
+    }
+
+    // The cached messages older than the last page are no longer on the server
+    private fun processAllMessagesFetched(
+        dispatch: Dispatch,
+    ) {
+        if (unconfirmedCachedIds.isEmpty()) return
+        val deletedMessages = unconfirmedCachedIds
+            .map { messageRepository.findMessageById(it) }
+            .filter { it != EMPTY_MESSAGE_INFO_MODEL }
+        unconfirmedCachedIds.clear()
+        deletedMessages.forEach { messageRepository.removeMessage(it) }
+        messageCacheStore?.delete(deletedMessages)
+        notifyUpdate(dispatch)
+    }
+
+    // Applies everything missed while disconnected with a single snapshot refresh
+    private fun processCatchUpReceived(
+        action: ChatAction.MessagesCatchUpReceived,
+        dispatch: Dispatch,
+    ) {
+        val latestMessages = LinkedHashMap<Long, MessageInfoModel>()
+        action.messages.forEach { message ->
+            val latestMessage = latestMessages[message.normalizedID]
+            if (latestMessage == null || message.revision > latestMessage.revision) {
+                latestMessages[message.normalizedID] = message
+            }
+        }
+
+        val updatedMessages = ArrayList<MessageInfoModel>()
+        val replacedMessages = ArrayList<MessageInfoModel>()
+        val deletedMessages = ArrayList<MessageInfoModel>()
+        latestMessages.values.forEach { message ->
+            val oldMessage = messageRepository.findMessageById(message.normalizedID)
+            val isKnown = oldMessage != EMPTY_MESSAGE_INFO_MODEL
+            when {
+                message.deletedOn != null -> if (isKnown) deletedMessages.add(oldMessage)
+                // the batch holds the full server copy, so a message sent and edited while away is added too
+                !isKnown -> updatedMessages.add(message)
+                message.revision > oldMessage.revision -> {
+                    replacedMessages.add(oldMessage)
+                    updatedMessages.add(message)
+                }
+            }
+        }
+        if (updatedMessages.isEmpty() && deletedMessages.isEmpty()) return
+
+        deletedMessages.forEach { messageRepository.removeMessage(it) }
+        replacedMessages.forEach { messageRepository.removeMessage(it) }
+        updatedMessages.sortBy { it.normalizedID }
+        messageRepository.addPage(updatedMessages)
+        messageCacheStore?.delete(deletedMessages)
+        messageCacheStore?.save(updatedMessages)
         notifyUpdate(dispatch)
     }
 
@@ -197,6 +342,7 @@ internal class MessageRepositoryMiddlewareImpl(
 
     private fun processDeletedMessage(action: ChatAction.MessageDeleted, dispatch: Dispatch) {
         messageRepository.removeMessage(action.message)
+        messageCacheStore?.delete(listOf(action.message))
         notifyUpdate(dispatch)
     }
 
@@ -205,25 +351,34 @@ internal class MessageRepositoryMiddlewareImpl(
         if (oldMessage == EMPTY_MESSAGE_INFO_MODEL) {
             // Do nothing? add message? throw error?
             // messageRepository.addMessage(action.message)
+        } else if (action.isLocal) {
+            // the device clock is not a revision, the edit keeps the revision it was made on and is
+            // pending until the server copy of the edit arrives
+            val editedMessage = oldMessage.copy(content = action.message.content, isEditPending = true)
+            messageRepository.replaceMessage(oldMessage, editedMessage)
         } else {
-            messageRepository.replaceMessage(
-                oldMessage,
-                action.message.copy(
-                    messageType = oldMessage.messageType,
-                    version = oldMessage.version,
-                    senderDisplayName = oldMessage.senderDisplayName,
-                    createdOn = oldMessage.createdOn,
-                    editedOn = OffsetDateTime.now(), // Is it in edit object?
-                    deletedOn = oldMessage.deletedOn,
-                    sendStatus = oldMessage.sendStatus,
-                    senderCommunicationIdentifier = oldMessage.senderCommunicationIdentifier,
-                    isCurrentUser = oldMessage.isCurrentUser
-                )
+            val editedMessage = action.message.copy(
+                messageType = oldMessage.messageType,
+                version = action.message.version ?: oldMessage.version,
+                senderDisplayName = oldMessage.senderDisplayName,
+                createdOn = oldMessage.createdOn,
+                editedOn = action.message.editedOn ?: oldMessage.editedOn,
+                deletedOn = oldMessage.deletedOn,
+                sendStatus = oldMessage.sendStatus,
+                senderCommunicationIdentifier = oldMessage.senderCommunicationIdentifier,
+                isCurrentUser = oldMessage.isCurrentUser,
+                isEditPending = false,
             )
+            messageRepository.replaceMessage(oldMessage, editedMessage)
+            messageCacheStore?.save(listOf(editedMessage))
         }
         notifyUpdate(dispatch)
     }
 
+    // A server copy replaces a pending edit of the same revision, the edit was made on top of it
+    private fun MessageInfoModel.supersedes(current: MessageInfoModel) =
+        if (current.isEditPending) revision > current.revision else revision >= current.revision
+
     // Notify the UI of an update
     private fun notifyUpdate(dispatch: (Action) -> Unit) {
         messageRepository.refreshSnapshot()
@@ -5,6 +5,7 @@ package com.azure.android.communication.ui.chat.redux.middleware.sdk
 
 import com.azure.android.communication.ui.chat.models.ChatCompositeErrorCode
 import com.azure.android.communication.ui.chat.models.ChatCompositeErrorEvent
+import com.azure.android.communication.ui.chat.models.MessageInfoModel
 import com.azure.android.communication.ui.chat.redux.Dispatch
 import com.azure.android.communication.ui.chat.redux.action.Action
 import com.azure.android.communication.ui.chat.redux.action.ChatAction
@@ -14,18 +15,29 @@ import com.azure.android.communication.ui.chat.redux.action.ParticipantAction
 import com.azure.android.communication.ui.chat.redux.state.NetworkStatus
 import com.azure.android.communication.ui.chat.redux.state.ReduxState
 import com.azure.android.communication.ui.chat.service.ChatService
+import com.azure.android.communication.ui.chat.utilities.CoroutineContextProvider
+import kotlinx.coroutines.CoroutineScope
 
 // Converts Redux Actions into SDK Calls
 // Redux -> Service
-internal class ChatActionHandler(private val chatService: ChatService) {
+internal class ChatActionHandler(
+    private val chatService: ChatService,
+    coroutineContextProvider: CoroutineContextProvider = CoroutineContextProvider(),
+    private val outboundMessageQueue: OutboundMessageQueue = OutboundMessageQueue(
+        chatService = chatService,
+        coroutineScope = CoroutineScope(coroutineContextProvider.Default),
+    ),
+    private val outboundSignalScheduler: OutboundSignalScheduler = OutboundSignalScheduler(
+        chatService = chatService,
+        coroutineScope = CoroutineScope(coroutineContextProvider.Default),
+        typingNotificationIntervalMillis = SEND_TYPING_INDICATOR_INTERVAL_MILLIS.toLong(),
+    ),
+) {
 
     companion object {
         const val SEND_TYPING_INDICATOR_INTERVAL_MILLIS = 8000
     }
 
-    private var lastTypingIndicatorNotificationSent =
-        System.currentTimeMillis() - SEND_TYPING_INDICATOR_INTERVAL_MILLIS
-
     fun onAction(action: Action, dispatch: Dispatch, state: ReduxState?) {
         val threadId = state?.chatState?.chatInfoModel?.threadId ?: ""
         when (action) {
@@ -36,13 +48,15 @@ internal class ChatActionHandler(private val chatService: ChatService) {
                 dispatch = dispatch
             )
             is ChatAction.SendMessage -> sendMessage(action = action, dispatch = dispatch, threadId = threadId)
-            is ChatAction.FetchMessages -> fetchMessages()
+            is ChatAction.MessageReceived -> outboundMessageQueue.onMessageReceived(action.message)
+            is ChatAction.FetchMessages -> fetchMessages(action)
             is ChatAction.EditMessage -> editMessage(action = action, dispatch = dispatch, threadId = threadId)
             is ChatAction.DeleteMessage -> deleteMessage(action = action, dispatch = dispatch, threadId = threadId)
             is ChatAction.MessageRead -> sendReadReceipt(action = action, dispatch = dispatch, threadId = threadId)
             is ChatAction.TypingIndicator -> sendTypingIndicator(dispatch = dispatch, threadId = threadId)
             is ChatAction.EndChat -> endChat()
             is NetworkAction.Connected -> {
+                outboundMessageQueue.retryNow(outboundMessageListener(dispatch, threadId))
                 // this check will help prevent false fetch messages when library starts
                 // as state is updated later, once action go through middlewares
                 if (state?.networkState?.networkStatus == NetworkStatus.DISCONNECTED) {
@@ -53,11 +67,13 @@ internal class ChatActionHandler(private val chatService: ChatService) {
     }
 
     private fun endChat() {
+        outboundSignalScheduler.close()
+        outboundMessageQueue.close()
         chatService.destroy()
     }
 
-    private fun fetchMessages() {
-        chatService.requestPreviousPage()
+    private fun fetchMessages(action: ChatAction.FetchMessages) {
+        chatService.requestPreviousPage(action.scrollItemsPerSecond)
     }
 
     private fun deleteMessage(action: ChatAction.DeleteMessage, dispatch: Dispatch, threadId: String) {
@@ -85,34 +101,34 @@ internal class ChatActionHandler(private val chatService: ChatService) {
     }
 
     private fun sendMessage(action: ChatAction.SendMessage, dispatch: Dispatch, threadId: String) {
-        chatService.sendMessage(action.messageInfoModel).whenComplete { result, error ->
-            if (error != null) {
-                // TODO: lets use only one action and state to fire error for timing
-                // TODO: while working on error stories, we can create separate states for every error
+        outboundMessageQueue.enqueue(threadId, action.messageInfoModel, outboundMessageListener(dispatch, threadId))
+    }
 
-                dispatch(
-                    ChatAction.MessageSentFailed(
-                        messageInfoModel = action.messageInfoModel
-                    )
-                )
+    private fun outboundMessageListener(dispatch: Dispatch, threadId: String) = object : OutboundMessageListener {
+        override fun onSent(message: MessageInfoModel, id: String) {
+            dispatch(ChatAction.MessageSent(messageInfoModel = message, id = id))
+        }
 
-                dispatch(
-                    ErrorAction.ChatStateErrorOccurred(
-                        chatCompositeErrorEvent = ChatCompositeErrorEvent(
-                            threadId,
-                            ChatCompositeErrorCode.SEND_MESSAGE_FAILED,
-                            error
-                        )
-                    )
-                )
-            } else {
-                dispatch(
-                    ChatAction.MessageSent(
-                        messageInfoModel = action.messageInfoModel,
-                        id = result.id,
+        override fun onError(error: Throwable) {
+            // TODO: lets use only one action and state to fire error for timing
+            // TODO: while working on error stories, we can create separate states for every error
+            dispatch(
+                ErrorAction.ChatStateErrorOccurred(
+                    chatCompositeErrorEvent = ChatCompositeErrorEvent(
+                        threadId,
+                        ChatCompositeErrorCode.SEND_MESSAGE_FAILED,
+                        error
                     )
                 )
-            }
+            )
+        }
+
+        override fun onFailed(message: MessageInfoModel) {
+            dispatch(ChatAction.MessageSentFailed(messageInfoModel = message))
+        }
+
+        override fun onResumed(message: MessageInfoModel) {
+            dispatch(ChatAction.SendMessage(messageInfoModel = message))
         }
     }
 
@@ -130,50 +146,40 @@ internal class ChatActionHandler(private val chatService: ChatService) {
 //                        )
 //                    )
                 } else {
-                    dispatch(ChatAction.MessageEdited(action.message))
+                    dispatch(ChatAction.MessageEdited(action.message, isLocal = true))
                 }
             }
     }
 
     private fun sendReadReceipt(action: ChatAction.MessageRead, dispatch: Dispatch, threadId: String) {
-        chatService.sendReadReceipt(action.messageId).whenComplete { _, error ->
-            if (error != null) {
-                // TODO: lets use only one action and state to fire error for timing
-                // TODO: while working on error stories, we can create separate states for every error
-                dispatch(
-                    ErrorAction.ChatStateErrorOccurred(
-                        chatCompositeErrorEvent = ChatCompositeErrorEvent(
-                            threadId,
-                            ChatCompositeErrorCode.SEND_READ_RECEIPT_FAILED,
-                            error
-                        )
+        outboundSignalScheduler.onMessageRead(action.messageId) { error ->
+            // TODO: lets use only one action and state to fire error for timing
+            // TODO: while working on error stories, we can create separate states for every error
+            dispatch(
+                ErrorAction.ChatStateErrorOccurred(
+                    chatCompositeErrorEvent = ChatCompositeErrorEvent(
+                        threadId,
+                        ChatCompositeErrorCode.SEND_READ_RECEIPT_FAILED,
+                        error
                     )
                 )
-            }
+            )
         }
     }
 
     private fun sendTypingIndicator(dispatch: Dispatch, threadId: String) {
-        if (System.currentTimeMillis() - lastTypingIndicatorNotificationSent
-            < SEND_TYPING_INDICATOR_INTERVAL_MILLIS
-        ) {
-            return
-        }
-        lastTypingIndicatorNotificationSent = System.currentTimeMillis()
-        chatService.sendTypingIndicator().whenComplete { _, error ->
-            if (error != null) {
-                // TODO: lets use only one action and state to fire error for timing
-                // TODO: while working on error stories, we can create separate states for every error
-                dispatch(
-                    ErrorAction.ChatStateErrorOccurred(
-                        chatCompositeErrorEvent = ChatCompositeErrorEvent(
-                            threadId,
-                            ChatCompositeErrorCode.SEND_TYPING_INDICATOR_FAILED,
-                            error,
-                        )
+        outboundSignalScheduler.onTyping { error ->
+            // TODO: lets use only one action and state to fire error for timing
+            // TODO: while working on error stories, we can create separate states for every error
+            dispatch(
+                ErrorAction.ChatStateErrorOccurred(
+                    chatCompositeErrorEvent = ChatCompositeErrorEvent(
+                        threadId,
+                        ChatCompositeErrorCode.SEND_TYPING_INDICATOR_FAILED,
+                        error,
                     )
                 )
-            }
+            )
         }
     }
 
@@ -198,6 +204,7 @@ internal class ChatActionHandler(private val chatService: ChatService) {
     }
 
     private fun onChatInitialized(action: ChatAction, dispatch: Dispatch, threadId: String) {
+        outboundMessageQueue.restore(threadId, outboundMessageListener(dispatch, threadId))
         try {
             chatService.startEventNotifications()
             dispatch.invoke(ChatAction.FetchMessages())
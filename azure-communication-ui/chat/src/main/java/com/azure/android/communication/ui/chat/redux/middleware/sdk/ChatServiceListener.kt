@@ -9,14 +9,17 @@ import com.azure.android.communication.ui.chat.models.ChatEventModel
 import com.azure.android.communication.ui.chat.models.ChatThreadInfoModel
 import com.azure.android.communication.ui.chat.models.LocalParticipantInfoModel
 import com.azure.android.communication.ui.chat.models.MessageInfoModel
+import com.azure.android.communication.ui.chat.models.MessagesCatchUpInfoModel
 import com.azure.android.communication.ui.chat.models.MessagesPageModel
 import com.azure.android.communication.ui.chat.models.ParticipantTimestampInfoModel
 import com.azure.android.communication.ui.chat.models.RemoteParticipantsInfoModel
 import com.azure.android.communication.ui.chat.redux.Dispatch
 import com.azure.android.communication.ui.chat.redux.Store
+import com.azure.android.communication.ui.chat.redux.action.Action
 import com.azure.android.communication.ui.chat.redux.action.ChatAction
 import com.azure.android.communication.ui.chat.redux.action.ErrorAction
 import com.azure.android.communication.ui.chat.redux.action.ParticipantAction
+import com.azure.android.communication.ui.chat.redux.batchWhileBusy
 import com.azure.android.communication.ui.chat.redux.state.ChatStatus
 import com.azure.android.communication.ui.chat.redux.state.ReduxState
 import com.azure.android.communication.ui.chat.service.ChatService
@@ -33,8 +36,13 @@ internal class ChatServiceListener(
     private val chatService: ChatService,
     coroutineContextProvider: CoroutineContextProvider,
 ) {
+    companion object {
+        private const val TYPING_INDICATOR_DURATION_MILLIS = 8000L
+        private const val TYPING_INDICATOR_TICK_MILLIS = 500L
+    }
+
     private val coroutineScope = CoroutineScope(coroutineContextProvider.Default)
-    private val typingIndicatorDuration = 8000L
+    private val typingIndicatorTimerWheel = TypingIndicatorTimerWheel()
 
     fun subscribe(store: Store<ReduxState>) {
         val dispatch = store::dispatch
@@ -55,13 +63,14 @@ internal class ChatServiceListener(
             }
         }
 
+        // Events that arrive while a batch is dispatched, a burst of read receipts or typing
+        // indicators, are reduced together in the next batch
         coroutineScope.launch {
-            chatService.getChatEventSharedFlow()?.collect {
-                handleInfoModel(
-                    it,
-                    dispatch,
-                    store.getCurrentState().participantState.localParticipantInfoModel
-                )
+            chatService.getChatEventSharedFlow()?.batchWhileBusy()?.collect { events ->
+                val actions = mutableListOf<Action>()
+                val localParticipantInfoModel = store.getCurrentState().participantState.localParticipantInfoModel
+                events.forEach { handleInfoModel(it, actions::add, dispatch, localParticipantInfoModel) }
+                store.dispatchBatch(actions)
             }
         }
     }
@@ -94,9 +103,11 @@ internal class ChatServiceListener(
         }
     }
 
+    // Typing indicators expire after the batch, through expiryDispatch
     private fun handleInfoModel(
         it: ChatEventModel,
         dispatch: Dispatch,
+        expiryDispatch: Dispatch,
         localParticipantInfoModel: LocalParticipantInfoModel,
     ) {
         when (it.infoModel) {
@@ -105,6 +116,10 @@ internal class ChatServiceListener(
                     ChatEventType.CHAT_MESSAGE_RECEIVED -> {
                         val infoModel = it.infoModel
                         dispatch(ChatAction.MessageReceived(message = infoModel))
+                        // the reducer clears the typing indicator of the sender
+                        infoModel.senderCommunicationIdentifier?.let { sender ->
+                            typingIndicatorTimerWheel.cancel(listOf(sender.id))
+                        }
                     }
                     ChatEventType.CHAT_MESSAGE_EDITED -> {
                         dispatch(ChatAction.MessageEdited(message = it.infoModel))
@@ -115,17 +130,15 @@ internal class ChatServiceListener(
                     else -> {}
                 }
             }
+            is MessagesCatchUpInfoModel -> {
+                dispatch(ChatAction.MessagesCatchUpReceived(messages = it.infoModel.messages))
+            }
             is ParticipantTimestampInfoModel -> {
                 when (it.eventType) {
                     ChatEventType.TYPING_INDICATOR_RECEIVED -> {
                         val infoModel = it.infoModel
                         dispatch(ParticipantAction.AddParticipantTyping(infoModel = infoModel))
-                        coroutineScope.launch {
-                            delay(typingIndicatorDuration)
-                            dispatch(
-                                ParticipantAction.RemoveParticipantTyping(infoModel = infoModel)
-                            )
-                        }
+                        scheduleTypingIndicatorExpiry(infoModel.userIdentifier.id, expiryDispatch)
                     }
                     ChatEventType.READ_RECEIPT_RECEIVED -> {
                         val infoModel = it.infoModel
@@ -156,7 +169,9 @@ internal class ChatServiceListener(
                         dispatch(ParticipantAction.ParticipantsAdded(participants = joinedParticipants))
                     }
                     ChatEventType.PARTICIPANTS_REMOVED -> {
-
+                        typingIndicatorTimerWheel.cancel(
+                            it.infoModel.participants.map { it.userIdentifier.id }
+                        )
                         dispatch(
                             ParticipantAction.ParticipantsRemoved(
                                 participants = it.infoModel.participants
@@ -168,4 +183,25 @@ internal class ChatServiceListener(
             }
         }
     }
+
+    // One ticker runs while anyone is typing, expired participants are removed in one action per tick
+    private fun scheduleTypingIndicatorExpiry(participantId: String, dispatch: Dispatch) {
+        val timeoutTicks = (TYPING_INDICATOR_DURATION_MILLIS / TYPING_INDICATOR_TICK_MILLIS).toInt()
+        if (!typingIndicatorTimerWheel.schedule(participantId, timeoutTicks)) {
+            return
+        }
+        coroutineScope.launch {
+            do {
+                delay(TYPING_INDICATOR_TICK_MILLIS)
+                val tick = typingIndicatorTimerWheel.advance()
+                if (tick.expiredParticipantIds.isNotEmpty()) {
+                    dispatch(
+                        ParticipantAction.RemoveParticipantsTyping(
+                            participantIds = tick.expiredParticipantIds
+                        )
+                    )
+                }
+            } while (!tick.isIdle)
+        }
+    }
 }
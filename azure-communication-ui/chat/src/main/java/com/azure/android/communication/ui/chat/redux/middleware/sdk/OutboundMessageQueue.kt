@@ -0,0 +1,343 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.chat.redux.middleware.sdk
+
+import com.azure.android.communication.ui.chat.models.MessageInfoModel
+import com.azure.android.communication.ui.chat.repository.cache.OutboundMessageStore
+import com.azure.android.communication.ui.chat.service.ChatService
+import com.azure.android.core.http.exception.HttpResponseException
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
+import java.util.concurrent.CompletionException
+import java.util.concurrent.Executor
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.RejectedExecutionException
+import kotlin.random.Random
+
+internal interface OutboundMessageListener {
+    fun onSent(message: MessageInfoModel, id: String)
+
+    // first failure of a message, it stays queued
+    fun onError(error: Throwable)
+
+    // attempts exhausted, the message waits for retryNow, or it was rejected and is dropped
+    fun onFailed(message: MessageInfoModel)
+
+    // a failed or restored message is sending again
+    fun onResumed(message: MessageInfoModel)
+}
+
+internal data class OutboundMessageMetrics(
+    val queuedMessages: Int,
+    val inFlightSends: Int,
+    val sentMessages: Long,
+    // confirmed by their echo, before the send returned or instead of a retry
+    val reconciledMessages: Long,
+    val retriedSends: Long,
+    val failedMessages: Long,
+)
+
+// Durable queue of messages waiting for the server
+//
+// A message is written to the store when queued and removed once the server confirms it, so a
+// message accepted offline or before the process died is sent on the next start. Each thread
+// is a lane sent one message at a time, so the thread keeps the order the user typed in, and
+// up to maxConcurrentSends lanes send at once. A failed send is retried with jittered
+// exponential backoff, after maxAttempts the lane parks until retryNow. A send the service
+// rejects is not retried, the message fails and is dropped so the messages after it go on.
+// A message is sent with its internal id in the metadata. The response of the send confirms it
+// by the id it returns, and so does its echo: a send that failed after the server took the
+// message, e.g. on a timeout, is not sent twice.
+internal class OutboundMessageQueue(
+    private val chatService: ChatService,
+    private val coroutineScope: CoroutineScope,
+    private val store: OutboundMessageStore? = null,
+    private val maxConcurrentSends: Int = DEFAULT_MAX_CONCURRENT_SENDS,
+    private val maxAttempts: Int = DEFAULT_MAX_ATTEMPTS,
+    private val initialBackoffMillis: Long = DEFAULT_INITIAL_BACKOFF_MILLIS,
+    private val maxBackoffMillis: Long = DEFAULT_MAX_BACKOFF_MILLIS,
+    private val random: Random = Random.Default,
+    private val storeExecutor: Executor = Executors.newSingleThreadExecutor(),
+    private val isRetryable: (Throwable) -> Boolean = ::isRetryableSendError,
+) {
+    companion object {
+        private const val DEFAULT_MAX_CONCURRENT_SENDS = 4
+        private const val DEFAULT_MAX_ATTEMPTS = 5
+        private const val DEFAULT_INITIAL_BACKOFF_MILLIS = 500L
+        private const val DEFAULT_MAX_BACKOFF_MILLIS = 30_000L
+        private const val MAX_BACKOFF_SHIFT = 20
+    }
+
+    private class Lane(val threadId: String, var listener: OutboundMessageListener) {
+        val messages = ArrayDeque<MessageInfoModel>()
+        var inFlight: MessageInfoModel? = null
+        var attempts = 0
+        var isParked = false
+        var backoff: Job? = null
+        var isReady = false
+
+        val canSend get() = messages.isNotEmpty() && inFlight == null && !isParked && backoff == null
+    }
+
+    private val lanes = HashMap<String, Lane>()
+    private val readyLanes = ArrayDeque<Lane>()
+    private var inFlightSends = 0
+
+    // server ids of the echoes of the sends in flight, by internal id
+    private val echoedIds = HashMap<Long, String>()
+
+    private var isClosed = false
+    private var onClosed: (() -> Unit)? = null
+
+    private var sentMessages = 0L
+    private var reconciledMessages = 0L
+    private var retriedSends = 0L
+    private var failedMessages = 0L
+
+    fun enqueue(threadId: String, message: MessageInfoModel, listener: OutboundMessageListener) {
+        val isQueued = synchronized(this) {
+            val lane = getLane(threadId, listener)
+            if (lane.messages.any { it.normalizedID == message.normalizedID }) {
+                false
+            } else {
+                lane.messages.addLast(message)
+                markReady(lane)
+                true
+            }
+        }
+        if (isQueued) {
+            writeStore { it.saveOutbound(threadId, message) }
+            pump()
+        }
+    }
+
+    // Queues the messages left in the store by an earlier run ahead of any queued since
+    fun restore(threadId: String, listener: OutboundMessageListener) {
+        val outboundStore = store ?: return
+        storeExecutor.execute {
+            val storedMessages = outboundStore.loadOutbound(threadId)
+            val restoredMessages = synchronized(this) {
+                val lane = getLane(threadId, listener)
+                storedMessages
+                    .filter { stored -> lane.messages.none { it.normalizedID == stored.normalizedID } }
+                    .also { lane.messages.addAll(0, it) }
+                    .also { markReady(lane) }
+            }
+            restoredMessages.forEach { listener.onResumed(it) }
+            pump()
+        }
+    }
+
+    // Resends parked and backing off lanes at once, e.g. when the network returns
+    fun retryNow(listener: OutboundMessageListener) {
+        val resumedMessages = synchronized(this) {
+            lanes.values.mapNotNull { lane ->
+                lane.listener = listener
+                val wasParked = lane.isParked
+                lane.backoff?.cancel()
+                lane.backoff = null
+                lane.isParked = false
+                lane.attempts = 0
+                markReady(lane)
+                if (wasParked) lane.messages.firstOrNull() else null
+            }
+        }
+        resumedMessages.forEach { listener.onResumed(it) }
+        pump()
+    }
+
+    // An echo confirms an in flight send once it returns, whatever the result, and a queued
+    // message at once, e.g. one waiting for a retry after its send timed out
+    fun onMessageReceived(message: MessageInfoModel) {
+        if (!message.isCurrentUser || message.isLocalOnly) return
+        val internalId = message.outboundInternalId?.toLongOrNull() ?: return
+        val id = message.normalizedID.toString()
+        val (lane, confirmedMessage) = synchronized(this) {
+            val lane = lanes.values.firstOrNull { lane -> lane.messages.any { it.normalizedID == internalId } }
+                ?: return
+            val queuedMessage = lane.messages.first { it.normalizedID == internalId }
+            if (lane.inFlight === queuedMessage) {
+                echoedIds[internalId] = id
+                return
+            }
+            if (lane.messages.first() === queuedMessage) {
+                lane.backoff?.cancel()
+                lane.backoff = null
+                lane.isParked = false
+                lane.attempts = 0
+            }
+            lane.messages.remove(queuedMessage)
+            reconciledMessages++
+            markReady(lane)
+            Pair(lane, queuedMessage)
+        }
+        complete(lane, confirmedMessage, id)
+        pump()
+    }
+
+    fun getMetrics(): OutboundMessageMetrics = synchronized(this) {
+        OutboundMessageMetrics(
+            queuedMessages = lanes.values.sumOf { it.messages.size },
+            inFlightSends = inFlightSends,
+            sentMessages = sentMessages,
+            reconciledMessages = reconciledMessages,
+            retriedSends = retriedSends,
+            failedMessages = failedMessages,
+        )
+    }
+
+    // Deletes the messages kept for the next start, the ones queued in memory are still sent
+    fun clearStore() {
+        writeStore { it.clearOutbound() }
+    }
+
+    // Stops sending, queued messages stay in the store for the next start. The sends in flight
+    // are awaited so their results reach the store, onClosed runs after the last store write.
+    fun close(onClosed: () -> Unit = {}) {
+        val isDrained = synchronized(this) {
+            isClosed = true
+            this.onClosed = onClosed
+            inFlightSends == 0
+        }
+        coroutineScope.cancel()
+        if (isDrained) {
+            finishClose()
+        }
+    }
+
+    private fun getLane(threadId: String, listener: OutboundMessageListener) =
+        lanes.getOrPut(threadId) { Lane(threadId, listener) }.also { it.listener = listener }
+
+    private fun markReady(lane: Lane) {
+        if (lane.canSend && !lane.isReady) {
+            lane.isReady = true
+            readyLanes.addLast(lane)
+        }
+    }
+
+    private fun pump() {
+        val sends = ArrayList<Pair<Lane, MessageInfoModel>>()
+        synchronized(this) {
+            while (!isClosed && inFlightSends < maxConcurrentSends && readyLanes.isNotEmpty()) {
+                val lane = readyLanes.removeFirst()
+                lane.isReady = false
+                if (lane.canSend) {
+                    val message = lane.messages.first()
+                    lane.inFlight = message
+                    inFlightSends++
+                    sends.add(Pair(lane, message))
+                }
+            }
+        }
+        sends.forEach { (lane, message) -> send(lane, message) }
+    }
+
+    private fun send(lane: Lane, message: MessageInfoModel) {
+        chatService.sendMessage(message).whenComplete { result, error ->
+            var reportError = false
+            var isFailed = false
+            var isDropped = false
+            var sentId: String? = null
+            val isDrained = synchronized(this) {
+                inFlightSends--
+                lane.inFlight = null
+                val echoedId = echoedIds.remove(message.normalizedID)
+                if (error == null || echoedId != null) {
+                    lane.messages.remove(message)
+                    lane.attempts = 0
+                    sentId = if (error == null) result.id else echoedId
+                    if (error == null) sentMessages++ else reconciledMessages++
+                } else if (!isRetryable(error)) {
+                    lane.messages.remove(message)
+                    reportError = lane.attempts == 0
+                    lane.attempts = 0
+                    failedMessages++
+                    isFailed = true
+                    isDropped = true
+                } else {
+                    lane.attempts++
+                    reportError = lane.attempts == 1
+                    if (lane.attempts >= maxAttempts) {
+                        lane.isParked = true
+                        failedMessages++
+                        isFailed = true
+                    } else {
+                        retriedSends++
+                        val backoffMillis = getBackoffMillis(lane.attempts)
+                        val backoff = coroutineScope.launch(start = CoroutineStart.LAZY) {
+                            delay(backoffMillis)
+                            synchronized(this@OutboundMessageQueue) {
+                                lane.backoff = null
+                                markReady(lane)
+                            }
+                            pump()
+                        }
+                        lane.backoff = backoff
+                        backoff.start()
+                    }
+                }
+                markReady(lane)
+                isClosed && inFlightSends == 0
+            }
+            sentId?.let { complete(lane, message, it) }
+            if (isDropped) {
+                writeStore { it.removeOutbound(lane.threadId, message.normalizedID) }
+            }
+            if (reportError) {
+                lane.listener.onError(error)
+            }
+            if (isFailed) {
+                lane.listener.onFailed(message)
+            }
+            if (isDrained) {
+                finishClose()
+            } else {
+                pump()
+            }
+        }
+    }
+
+    private fun complete(lane: Lane, message: MessageInfoModel, id: String) {
+        writeStore { it.removeOutbound(lane.threadId, message.normalizedID) }
+        lane.listener.onSent(message, id)
+    }
+
+    // A write after close is dropped, the message is then sent again on the next start
+    private fun writeStore(write: (OutboundMessageStore) -> Unit) {
+        val outboundStore = store ?: return
+        try {
+            storeExecutor.execute { write(outboundStore) }
+        } catch (e: RejectedExecutionException) {
+            // closed
+        }
+    }
+
+    private fun finishClose() {
+        val onClosed = synchronized(this) { onClosed.also { onClosed = null } } ?: return
+        try {
+            storeExecutor.execute { onClosed() }
+        } catch (e: RejectedExecutionException) {
+            onClosed()
+        }
+        (storeExecutor as? ExecutorService)?.shutdown()
+    }
+
+    // Equal jitter: at least half the exponential step, so retries never bunch up at zero
+    private fun getBackoffMillis(attempts: Int): Long {
+        val step = minOf(maxBackoffMillis, initialBackoffMillis shl minOf(attempts - 1, MAX_BACKOFF_SHIFT))
+        return step / 2 + random.nextLong(step / 2 + 1)
+    }
+}
+
+// Throttling, timeouts and server errors are retried, other rejections of the request are not
+internal fun isRetryableSendError(error: Throwable): Boolean {
+    val cause = if (error is CompletionException) error.cause ?: error else error
+    val statusCode = (cause as? HttpResponseException)?.response?.statusCode ?: return true
+    return statusCode == 408 || statusCode == 429 || statusCode >= 500
+}
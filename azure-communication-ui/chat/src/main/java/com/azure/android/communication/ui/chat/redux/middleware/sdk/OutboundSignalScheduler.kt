@@ -0,0 +1,210 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.chat.redux.middleware.sdk
+
+import com.azure.android.communication.ui.chat.service.ChatService
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
+
+internal data class OutboundSignalMetrics(
+    val sentReadReceipts: Long,
+    // coalesced into a later message or already acknowledged
+    val suppressedReadReceipts: Long,
+    val retriedReadReceipts: Long,
+    val sentTypingNotifications: Long,
+    // within the interval of the last notification
+    val suppressedTypingNotifications: Long,
+    val retriedTypingNotifications: Long,
+)
+
+// Coalesces read receipts and typing notifications before they reach the service
+//
+// Read receipts are coalesced on the trailing edge: the first message read starts the window,
+// later messages replace the pending receipt and the latest one is sent when the window ends.
+// At most one read receipt is in flight, a receipt pending when it completes is sent once its
+// own window has passed. Receipts at or below the last acknowledged message are never sent.
+// Typing notifications are sent at most once per interval on the leading edge, a notification
+// delayed to the end of the interval could arrive after the typing stopped. Failures are retried
+// with exponential backoff, a read receipt retry is dropped when a later message is pending.
+// onFailure is called on the first failure of a signal only.
+internal class OutboundSignalScheduler(
+    private val chatService: ChatService,
+    private val coroutineScope: CoroutineScope,
+    private val readReceiptWindowMillis: Long = DEFAULT_READ_RECEIPT_WINDOW_MILLIS,
+    private val typingNotificationIntervalMillis: Long = DEFAULT_TYPING_NOTIFICATION_INTERVAL_MILLIS,
+    private val maxRetries: Int = DEFAULT_MAX_RETRIES,
+    private val initialBackoffMillis: Long = DEFAULT_INITIAL_BACKOFF_MILLIS,
+    private val currentTimeMillis: () -> Long = System::currentTimeMillis,
+) {
+    companion object {
+        private const val DEFAULT_READ_RECEIPT_WINDOW_MILLIS = 1000L
+        private const val DEFAULT_TYPING_NOTIFICATION_INTERVAL_MILLIS = 8000L
+        private const val DEFAULT_MAX_RETRIES = 3
+        private const val DEFAULT_INITIAL_BACKOFF_MILLIS = 1000L
+        private const val NONE = 0L
+    }
+
+    private var acknowledgedReadReceiptId = NONE
+    private var inFlightReadReceiptId = NONE
+    private var pendingReadReceiptId = NONE
+    private var pendingReadReceiptSinceMillis = 0L
+    private var lastTypingNotificationSentMillis: Long? = null
+
+    private var sentReadReceipts = 0L
+    private var suppressedReadReceipts = 0L
+    private var retriedReadReceipts = 0L
+    private var sentTypingNotifications = 0L
+    private var suppressedTypingNotifications = 0L
+    private var retriedTypingNotifications = 0L
+
+    fun onMessageRead(messageId: String, onFailure: (Throwable) -> Unit) {
+        val id = messageId.toLong()
+        val waitMillis = synchronized(this) {
+            if (id <= maxOf(acknowledgedReadReceiptId, inFlightReadReceiptId, pendingReadReceiptId)) {
+                suppressedReadReceipts++
+                return
+            }
+            val hadPending = pendingReadReceiptId != NONE
+            pendingReadReceiptId = id
+            if (hadPending) {
+                // the pending receipt is flushed by its scheduled send or the one in flight
+                suppressedReadReceipts++
+                return
+            }
+            pendingReadReceiptSinceMillis = currentTimeMillis()
+            if (inFlightReadReceiptId != NONE) {
+                return
+            }
+            readReceiptWindowMillis
+        }
+        scheduleReadReceiptFlush(waitMillis, onFailure)
+    }
+
+    fun onTyping(onFailure: (Throwable) -> Unit) {
+        synchronized(this) {
+            val now = currentTimeMillis()
+            val lastSent = lastTypingNotificationSentMillis
+            if (lastSent != null && now - lastSent < typingNotificationIntervalMillis) {
+                suppressedTypingNotifications++
+                return
+            }
+            lastTypingNotificationSentMillis = now
+        }
+        sendTypingNotification(attempt = 0, onFailure)
+    }
+
+    fun getMetrics(): OutboundSignalMetrics = synchronized(this) {
+        OutboundSignalMetrics(
+            sentReadReceipts = sentReadReceipts,
+            suppressedReadReceipts = suppressedReadReceipts,
+            retriedReadReceipts = retriedReadReceipts,
+            sentTypingNotifications = sentTypingNotifications,
+            suppressedTypingNotifications = suppressedTypingNotifications,
+            retriedTypingNotifications = retriedTypingNotifications,
+        )
+    }
+
+    fun close() {
+        coroutineScope.cancel()
+    }
+
+    private fun getReadReceiptWaitMillis(): Long =
+        pendingReadReceiptSinceMillis + readReceiptWindowMillis - currentTimeMillis()
+
+    private fun scheduleReadReceiptFlush(waitMillis: Long, onFailure: (Throwable) -> Unit) {
+        if (waitMillis <= 0) {
+            flushReadReceipt(onFailure)
+        } else {
+            coroutineScope.launch {
+                delay(waitMillis)
+                flushReadReceipt(onFailure)
+            }
+        }
+    }
+
+    private fun flushReadReceipt(onFailure: (Throwable) -> Unit) {
+        val id = synchronized(this) {
+            if (pendingReadReceiptId == NONE || inFlightReadReceiptId != NONE) {
+                return
+            }
+            val next = pendingReadReceiptId
+            pendingReadReceiptId = NONE
+            inFlightReadReceiptId = next
+            next
+        }
+        sendReadReceipt(id, attempt = 0, onFailure)
+    }
+
+    private fun sendReadReceipt(id: Long, attempt: Int, onFailure: (Throwable) -> Unit) {
+        synchronized(this) { sentReadReceipts++ }
+        chatService.sendReadReceipt(id.toString()).whenComplete { _, error ->
+            if (error != null && attempt == 0) {
+                onFailure(error)
+            }
+            val retry = synchronized(this) {
+                if (error == null) {
+                    acknowledgedReadReceiptId = maxOf(acknowledgedReadReceiptId, id)
+                }
+                if (error != null && attempt < maxRetries && pendingReadReceiptId == NONE) {
+                    retriedReadReceipts++
+                    true
+                } else {
+                    inFlightReadReceiptId = NONE
+                    false
+                }
+            }
+            if (retry) {
+                coroutineScope.launch {
+                    delay(getBackoffMillis(attempt))
+                    retryReadReceipt(id, attempt + 1, onFailure)
+                }
+            } else {
+                val waitMillis = synchronized(this) {
+                    if (pendingReadReceiptId == NONE) null else getReadReceiptWaitMillis()
+                }
+                waitMillis?.let { scheduleReadReceiptFlush(it, onFailure) }
+            }
+        }
+    }
+
+    private fun retryReadReceipt(id: Long, attempt: Int, onFailure: (Throwable) -> Unit) {
+        val isSuperseded = synchronized(this) {
+            (pendingReadReceiptId != NONE).also { if (it) inFlightReadReceiptId = NONE }
+        }
+        if (isSuperseded) {
+            flushReadReceipt(onFailure)
+        } else {
+            sendReadReceipt(id, attempt, onFailure)
+        }
+    }
+
+    private fun sendTypingNotification(attempt: Int, onFailure: (Throwable) -> Unit) {
+        synchronized(this) { sentTypingNotifications++ }
+        chatService.sendTypingIndicator().whenComplete { _, error ->
+            if (error == null) {
+                return@whenComplete
+            }
+            if (attempt == 0) {
+                onFailure(error)
+            }
+            val backoffMillis = getBackoffMillis(attempt)
+            // a notification retried after its interval would arrive when the typing has stopped
+            val retry = synchronized(this) {
+                val lastSent = lastTypingNotificationSentMillis ?: 0
+                (attempt < maxRetries && currentTimeMillis() + backoffMillis - lastSent < typingNotificationIntervalMillis)
+                    .also { if (it) retriedTypingNotifications++ }
+            }
+            if (retry) {
+                coroutineScope.launch {
+                    delay(backoffMillis)
+                    sendTypingNotification(attempt + 1, onFailure)
+                }
+            }
+        }
+    }
+
+    private fun getBackoffMillis(attempt: Int) = initialBackoffMillis shl attempt
+}
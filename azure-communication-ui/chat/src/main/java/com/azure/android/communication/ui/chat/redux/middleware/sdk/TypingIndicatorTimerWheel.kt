@@ -0,0 +1,62 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.chat.redux.middleware.sdk
+
+// Hashed timer wheel for typing indicator expiry
+//
+// A participant is kept in the slot of its deadline tick, rescheduling moves it, so there is
+// one timer per typing participant however often they type. Time only moves when advance()
+// is called, once per tick, which returns everyone that expired on that tick in one batch.
+// Thread safe, schedule() is called from the event collector and advance() from the ticker.
+internal class TypingIndicatorTimerWheel(wheelSize: Int = DEFAULT_WHEEL_SIZE) {
+    companion object {
+        private const val DEFAULT_WHEEL_SIZE = 32
+    }
+
+    private val slots = Array(wheelSize) { HashSet<String>() }
+
+    // Deadline tick of every scheduled participant
+    private val deadlines = HashMap<String, Long>()
+    private var currentTick = 0L
+    private var isRunning = false
+
+    // Returns true when the wheel was idle, the caller is then expected to start ticking
+    fun schedule(participantId: String, timeoutTicks: Int): Boolean = synchronized(this) {
+        val deadline = currentTick + timeoutTicks.coerceAtLeast(1)
+        deadlines.put(participantId, deadline)?.let { slotOf(it).remove(participantId) }
+        slotOf(deadline).add(participantId)
+        val wasIdle = !isRunning
+        isRunning = true
+        wasIdle
+    }
+
+    fun cancel(participantIds: Collection<String>) = synchronized(this) {
+        participantIds.forEach { id ->
+            deadlines.remove(id)?.let { slotOf(it).remove(id) }
+        }
+    }
+
+    // Moves the wheel one tick, isIdle tells the ticker to stop as nothing is scheduled anymore
+    fun advance(): TypingIndicatorTick = synchronized(this) {
+        currentTick++
+        val slot = slotOf(currentTick)
+        var expired: MutableList<String>? = null
+        val iterator = slot.iterator()
+        while (iterator.hasNext()) {
+            val id = iterator.next()
+            // later rounds of the wheel share the slot
+            if (deadlines[id]!! <= currentTick) {
+                iterator.remove()
+                deadlines.remove(id)
+                (expired ?: mutableListOf<String>().also { expired = it }).add(id)
+            }
+        }
+        isRunning = deadlines.isNotEmpty()
+        TypingIndicatorTick(expired ?: emptyList(), isIdle = !isRunning)
+    }
+
+    private fun slotOf(tick: Long) = slots[(tick % slots.size).toInt()]
+}
+
+internal class TypingIndicatorTick(val expiredParticipantIds: List<String>, val isIdle: Boolean)
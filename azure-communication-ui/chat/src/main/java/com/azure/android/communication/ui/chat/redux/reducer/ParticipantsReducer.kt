@@ -16,28 +16,20 @@ internal class ParticipantsReducerImpl : ParticipantsReducer {
         when (action) {
             is ParticipantAction.ParticipantsAdded -> {
                 // TODO: sync logic with web and iOS to verify read receipt logic
+                var readReceipts = state.participantsReadReceiptMap
+                action.participants.forEach {
+                    if (it.userIdentifier.id != state.localParticipantInfoModel.userIdentifier) {
+                        readReceipts = readReceipts.put(it.userIdentifier.id, state.latestReadMessageTimestamp)
+                    }
+                }
                 state.copy(
                     participants = state.participants + action.participants.associateBy { it.userIdentifier.id },
-                    participantsReadReceiptMap = state.participantsReadReceiptMap +
-                        action.participants.filter { it.userIdentifier.id != state.localParticipantInfoModel.userIdentifier }
-                            .map {
-                                Pair(
-                                    it.userIdentifier.id,
-                                    state.latestReadMessageTimestamp
-                                )
-                            }
+                    participantsReadReceiptMap = readReceipts
                 )
             }
             is ParticipantAction.ParticipantsRemoved -> {
-                val participantTypingKeys = state.participantTyping.keys
                 val removedParticipants = action.participants.map { it.userIdentifier.id }
                 var hasLocalParticipant = action.participants.any { it.isLocalUser }
-                var participantTyping = state.participantTyping
-                // TODO: improve this logic
-                removedParticipants.forEach { id ->
-                    participantTyping =
-                        participantTyping - participantTypingKeys.filter { it.contains(id) }
-                }
 
                 var updatedState = state
 
@@ -48,11 +40,14 @@ internal class ParticipantsReducerImpl : ParticipantsReducer {
                     )
                 }
 
+                // a participant that left no longer holds back the time read by all
+                val readReceipts = state.participantsReadReceiptMap
+                    .remove(removedParticipants)
                 updatedState.copy(
                     participants = state.participants - removedParticipants,
-                    participantTyping = participantTyping,
-                    participantsReadReceiptMap =
-                    state.participantsReadReceiptMap - action.participants.map { it.userIdentifier.id }
+                    participantTyping = state.participantTyping - removedParticipants,
+                    participantsReadReceiptMap = readReceipts,
+                    latestReadMessageTimestamp = readReceipts.earliest ?: state.latestReadMessageTimestamp
                 )
             }
             is ParticipantAction.AddParticipantTyping -> {
@@ -62,49 +57,35 @@ internal class ParticipantsReducerImpl : ParticipantsReducer {
                     state
                 } else {
                     val displayName = typingParticipant.displayName
-                    // if participant is already typing, remove and add with new timestamp
-                    state.copy(
-                        participantTyping = state.participantTyping -
-                            state.participantTyping.keys.filter { it.contains(id) } +
-                            Pair(
-                                id + action.infoModel.receivedOn,
-                                if (displayName.isNullOrEmpty()) "Unknown participant" else displayName
-                            )
-                    )
+                    val typingName = if (displayName.isNullOrEmpty()) "Unknown participant" else displayName
+                    // the expiry of a participant already typing is extended by the service listener
+                    if (state.participantTyping[id] == typingName) {
+                        state
+                    } else {
+                        state.copy(participantTyping = state.participantTyping + Pair(id, typingName))
+                    }
                 }
             }
-            is ParticipantAction.RemoveParticipantTyping -> {
-                state.copy(participantTyping = state.participantTyping - (action.infoModel.userIdentifier.id + action.infoModel.receivedOn))
+            is ParticipantAction.RemoveParticipantsTyping -> {
+                state.copy(participantTyping = state.participantTyping - action.participantIds)
             }
             is ChatAction.MessageReceived -> {
                 val id = action.message.senderCommunicationIdentifier?.id
-                // as the participant is added with timestamp
-                // on new message remove if id exists
-                // no need to worry about timestamp
-                if (id != null) {
-                    val participantsTyping =
-                        state.participantTyping - state.participantTyping.keys.filter {
-                            it.contains(id)
-                        }
-                    state.copy(participantTyping = participantsTyping)
+                // a participant that sent a message is no longer typing
+                if (id != null && state.participantTyping.containsKey(id)) {
+                    state.copy(participantTyping = state.participantTyping - id)
                 } else {
                     state
                 }
             }
             is ParticipantAction.ReadReceiptReceived -> {
-                val participantsReadReceiptMap = state.participantsReadReceiptMap.toMutableMap()
                 // if any participant have OffsetDateTime.MIN update it to latest received notification
-                state.participantsReadReceiptMap.forEach {
-                    if (it.value == OffsetDateTime.MIN) {
-                        participantsReadReceiptMap[it.key] = action.infoModel.receivedOn
-                    }
-                }
-                participantsReadReceiptMap[action.infoModel.userIdentifier.id] =
-                    action.infoModel.receivedOn
-                val latestReadMessageTimestamp = participantsReadReceiptMap.values.min()
+                val readReceipts = state.participantsReadReceiptMap
+                    .replaceAll(OffsetDateTime.MIN, action.infoModel.receivedOn)
+                    .put(action.infoModel.userIdentifier.id, action.infoModel.receivedOn)
                 state.copy(
-                    participantsReadReceiptMap = participantsReadReceiptMap,
-                    latestReadMessageTimestamp = latestReadMessageTimestamp
+                    participantsReadReceiptMap = readReceipts,
+                    latestReadMessageTimestamp = readReceipts.earliest!!
                 )
             }
             is ParticipantAction.ParticipantToHideReceived -> {
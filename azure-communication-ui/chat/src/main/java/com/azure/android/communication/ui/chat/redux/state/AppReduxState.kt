@@ -33,7 +33,7 @@ internal class AppReduxState(
         ),
         participants = mapOf(),
         participantTyping = mapOf(),
-        participantsReadReceiptMap = mapOf(),
+        participantsReadReceiptMap = ReadReceiptMap.EMPTY,
         latestReadMessageTimestamp = OffsetDateTime.MIN,
         hiddenParticipant = setOf()
     )
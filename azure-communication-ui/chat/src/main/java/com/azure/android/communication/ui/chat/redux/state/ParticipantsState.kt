@@ -9,8 +9,10 @@ import org.threeten.bp.OffsetDateTime
 
 internal data class ParticipantsState(
     val participants: Map<String, RemoteParticipantInfoModel>,
+    // Display names of the typing participants by participant id
     val participantTyping: Map<String, String>,
-    val participantsReadReceiptMap: Map<String, OffsetDateTime>,
+    // latestReadMessageTimestamp is its earliest time
+    val participantsReadReceiptMap: ReadReceiptMap,
     val latestReadMessageTimestamp: OffsetDateTime,
     val localParticipantInfoModel: LocalParticipantInfoModel,
     val hiddenParticipant: Set<String>,
@@ -0,0 +1,154 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.chat.redux.state
+
+import org.threeten.bp.OffsetDateTime
+
+// Read receipt time of each participant, persistent so reduced states share unchanged nodes
+//
+// A treap keyed by participant id where every node also holds the earliest time of its
+// subtree, so the time read by all participants is at the root. put and remove copy a
+// single path, O(log n), and leave the previous map untouched.
+internal class ReadReceiptMap private constructor(
+    private val root: Node?,
+) : AbstractMap<String, OffsetDateTime>() {
+    companion object {
+        val EMPTY = ReadReceiptMap(null)
+
+        fun from(map: Map<String, OffsetDateTime>): ReadReceiptMap =
+            map as? ReadReceiptMap ?: map.entries.fold(EMPTY) { readReceipts, entry ->
+                readReceipts.put(entry.key, entry.value)
+            }
+
+        // Derived from the key so equal key sets always build the same tree
+        private fun priorityOf(key: String) = key.hashCode() * -0x61c88647
+    }
+
+    private class Node(
+        override val key: String,
+        override val value: OffsetDateTime,
+        val left: Node?,
+        val right: Node?,
+    ) : Map.Entry<String, OffsetDateTime> {
+        val priority = priorityOf(key)
+        val size: Int = 1 + (left?.size ?: 0) + (right?.size ?: 0)
+        val earliest: OffsetDateTime = minOf(value, left?.earliest ?: value, right?.earliest ?: value)
+
+        fun copy(value: OffsetDateTime = this.value, left: Node? = this.left, right: Node? = this.right) =
+            Node(key, value, left, right)
+
+        override fun equals(other: Any?) =
+            other is Map.Entry<*, *> && key == other.key && value == other.value
+
+        override fun hashCode() = key.hashCode() xor value.hashCode()
+    }
+
+    // Time read by every participant, null when there are none
+    val earliest: OffsetDateTime? get() = root?.earliest
+
+    override val size: Int get() = root?.size ?: 0
+
+    override val entries: Set<Map.Entry<String, OffsetDateTime>> =
+        object : AbstractSet<Map.Entry<String, OffsetDateTime>>() {
+            override val size: Int get() = this@ReadReceiptMap.size
+
+            override fun iterator(): Iterator<Map.Entry<String, OffsetDateTime>> = sequence {
+                val stack = ArrayList<Node>()
+                var node = root
+                while (node != null || stack.isNotEmpty()) {
+                    while (node != null) {
+                        stack.add(node)
+                        node = node.left
+                    }
+                    val next = stack.removeAt(stack.size - 1)
+                    yield(next)
+                    node = next.right
+                }
+            }.iterator()
+        }
+
+    override fun get(key: String): OffsetDateTime? {
+        var node = root
+        while (node != null) {
+            val comparison = key.compareTo(node.key)
+            if (comparison == 0) return node.value
+            node = if (comparison < 0) node.left else node.right
+        }
+        return null
+    }
+
+    override fun containsKey(key: String) = get(key) != null
+
+    fun put(key: String, value: OffsetDateTime): ReadReceiptMap = ReadReceiptMap(insert(root, key, value))
+
+    fun remove(keys: Collection<String>): ReadReceiptMap {
+        val newRoot = keys.fold(root) { node, key -> delete(node, key) }
+        return if (newRoot === root) this else ReadReceiptMap(newRoot)
+    }
+
+    // Rewrites every entry equal to value, only visiting subtrees that can hold one
+    fun replaceAll(value: OffsetDateTime, replacement: OffsetDateTime): ReadReceiptMap {
+        val newRoot = replace(root, value, replacement)
+        return if (newRoot === root) this else ReadReceiptMap(newRoot)
+    }
+
+    private fun insert(node: Node?, key: String, value: OffsetDateTime): Node {
+        if (node == null) return Node(key, value, null, null)
+        val comparison = key.compareTo(node.key)
+        return when {
+            comparison == 0 -> node.copy(value = value)
+            comparison < 0 -> {
+                val left = insert(node.left, key, value)
+                if (left.priority > node.priority) {
+                    left.copy(right = node.copy(left = left.right))
+                } else {
+                    node.copy(left = left)
+                }
+            }
+            else -> {
+                val right = insert(node.right, key, value)
+                if (right.priority > node.priority) {
+                    right.copy(left = node.copy(right = right.left))
+                } else {
+                    node.copy(right = right)
+                }
+            }
+        }
+    }
+
+    private fun delete(node: Node?, key: String): Node? {
+        if (node == null) return null
+        val comparison = key.compareTo(node.key)
+        return when {
+            comparison == 0 -> merge(node.left, node.right)
+            comparison < 0 -> {
+                val left = delete(node.left, key)
+                if (left === node.left) node else node.copy(left = left)
+            }
+            else -> {
+                val right = delete(node.right, key)
+                if (right === node.right) node else node.copy(right = right)
+            }
+        }
+    }
+
+    private fun merge(left: Node?, right: Node?): Node? = when {
+        left == null -> right
+        right == null -> left
+        left.priority > right.priority -> left.copy(right = merge(left.right, right))
+        else -> right.copy(left = merge(left, right.left))
+    }
+
+    private fun replace(node: Node?, value: OffsetDateTime, replacement: OffsetDateTime): Node? {
+        if (node == null || node.earliest > value) return node
+        val left = replace(node.left, value, replacement)
+        val right = replace(node.right, value, replacement)
+        val newValue = if (node.value == value) replacement else node.value
+        return if (left === node.left && right === node.right && newValue === node.value) {
+            node
+        } else {
+            node.copy(value = newValue, left = left, right = right)
+        }
+    }
+}
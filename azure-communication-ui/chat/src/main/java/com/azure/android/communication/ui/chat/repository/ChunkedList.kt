@@ -0,0 +1,143 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.chat.repository
+
+// Immutable list stored in chunks
+//
+// Mutations return a new list that shares every untouched chunk with the previous one,
+// so a change copies the chunks it touches plus the chunk references instead of the whole list.
+internal class ChunkedList<T> private constructor(
+    private val chunks: List<List<T>>,
+    // offsets[i] is the index of the first item of chunks[i], offsets[chunks.size] is the size
+    private val offsets: IntArray,
+) : AbstractList<T>(), RandomAccess {
+
+    override val size: Int
+        get() = offsets[chunks.size]
+
+    override fun get(index: Int): T {
+        if (index < 0 || index >= size) {
+            throw IndexOutOfBoundsException("Index: $index, Size: $size")
+        }
+        val chunkIndex = chunkIndexOf(index)
+        return chunks[chunkIndex][index - offsets[chunkIndex]]
+    }
+
+    fun set(index: Int, item: T): ChunkedList<T> {
+        val chunkIndex = chunkIndexOf(index)
+        val chunk = ArrayList(chunks[chunkIndex])
+        chunk[index - offsets[chunkIndex]] = item
+        val newChunks = ArrayList(chunks)
+        newChunks[chunkIndex] = chunk
+        // Sizes are unchanged so offsets can be shared
+        return ChunkedList(newChunks, offsets)
+    }
+
+    fun insert(index: Int, item: T): ChunkedList<T> {
+        if (chunks.isEmpty()) {
+            return of(listOf(item))
+        }
+        val chunkIndex = if (index == size) chunks.size - 1 else chunkIndexOf(index)
+        val oldChunk = chunks[chunkIndex]
+        val localIndex = index - offsets[chunkIndex]
+
+        val chunk = ArrayList<T>(oldChunk.size + 1)
+        chunk.addAll(oldChunk.subList(0, localIndex))
+        chunk.add(item)
+        chunk.addAll(oldChunk.subList(localIndex, oldChunk.size))
+
+        val newChunks = ArrayList<List<T>>(chunks.size + 1)
+        newChunks.addAll(chunks.subList(0, chunkIndex))
+        if (chunk.size > MAX_CHUNK_SIZE) {
+            val half = chunk.size / 2
+            newChunks.add(ArrayList(chunk.subList(0, half)))
+            newChunks.add(ArrayList(chunk.subList(half, chunk.size)))
+        } else {
+            newChunks.add(chunk)
+        }
+        newChunks.addAll(chunks.subList(chunkIndex + 1, chunks.size))
+        return ChunkedList(newChunks, offsetsOf(newChunks))
+    }
+
+    fun removeAt(index: Int): ChunkedList<T> {
+        val chunkIndex = chunkIndexOf(index)
+        val chunk = ArrayList(chunks[chunkIndex])
+        chunk.removeAt(index - offsets[chunkIndex])
+
+        val newChunks = ArrayList<List<T>>(chunks.size)
+        newChunks.addAll(chunks.subList(0, chunkIndex))
+        if (chunk.isNotEmpty()) {
+            newChunks.add(chunk)
+        }
+        newChunks.addAll(chunks.subList(chunkIndex + 1, chunks.size))
+        return ChunkedList(newChunks, offsetsOf(newChunks))
+    }
+
+    // Replaces the items from fromIndex to toIndex (exclusive) with items,
+    // only the chunks overlapping the range are copied
+    fun replaceRange(fromIndex: Int, toIndex: Int, items: List<T>): ChunkedList<T> {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw IndexOutOfBoundsException("Range: [$fromIndex, $toIndex), Size: $size")
+        }
+        if (chunks.isEmpty()) {
+            return of(items)
+        }
+        val firstChunk = if (fromIndex == size) chunks.size - 1 else chunkIndexOf(fromIndex)
+        val lastChunk = if (toIndex > fromIndex) chunkIndexOf(toIndex - 1) else firstChunk
+
+        val merged = ArrayList<T>()
+        merged.addAll(chunks[firstChunk].subList(0, fromIndex - offsets[firstChunk]))
+        merged.addAll(items)
+        merged.addAll(chunks[lastChunk].subList(toIndex - offsets[lastChunk], chunks[lastChunk].size))
+
+        val newChunks = ArrayList<List<T>>(chunks.size + merged.size / CHUNK_SIZE)
+        newChunks.addAll(chunks.subList(0, firstChunk))
+        if (merged.size > MAX_CHUNK_SIZE) {
+            merged.chunked(CHUNK_SIZE).forEach { newChunks.add(it) }
+        } else if (merged.isNotEmpty()) {
+            newChunks.add(merged)
+        }
+        newChunks.addAll(chunks.subList(lastChunk + 1, chunks.size))
+        return ChunkedList(newChunks, offsetsOf(newChunks))
+    }
+
+    // Binary search for the chunk holding index
+    private fun chunkIndexOf(index: Int): Int {
+        var low = 0
+        var high = chunks.size - 1
+        while (low < high) {
+            val mid = (low + high + 1) ushr 1
+            if (offsets[mid] <= index) {
+                low = mid
+            } else {
+                high = mid - 1
+            }
+        }
+        return low
+    }
+
+    companion object {
+        const val CHUNK_SIZE = 64
+        private const val MAX_CHUNK_SIZE = CHUNK_SIZE * 2
+
+        private val EMPTY = ChunkedList<Any?>(emptyList(), intArrayOf(0))
+
+        @Suppress("UNCHECKED_CAST")
+        fun <T> empty() = EMPTY as ChunkedList<T>
+
+        fun <T> of(items: List<T>): ChunkedList<T> {
+            if (items.isEmpty()) return empty()
+            val chunks = items.chunked(CHUNK_SIZE)
+            return ChunkedList(chunks, offsetsOf(chunks))
+        }
+
+        private fun <T> offsetsOf(chunks: List<List<T>>): IntArray {
+            val offsets = IntArray(chunks.size + 1)
+            for (i in chunks.indices) {
+                offsets[i + 1] = offsets[i] + chunks[i].size
+            }
+            return offsets
+        }
+    }
+}
@@ -5,9 +5,9 @@ package com.azure.android.communication.ui.chat.repository
 
 import com.azure.android.communication.ui.chat.models.MessageInfoModel
 import com.azure.android.communication.ui.chat.repository.storage.MessageRepositoryListBackedImpl
+import com.azure.android.communication.ui.chat.repository.storage.MessageRepositoryOrderStatisticTreeBackedImpl
 import com.azure.android.communication.ui.chat.repository.storage.MessageRepositorySkipListBackedImpl
 import com.azure.android.communication.ui.chat.repository.storage.MessageRepositoryTreeBackedImpl
-import kotlin.collections.ArrayList
 
 // Abstract Class for Message Repository implementations
 
@@ -18,22 +18,59 @@ import kotlin.collections.ArrayList
 // - messageEdited
 // - messageDeleted
 internal abstract class MessageRepository {
-    abstract fun addPage(page: List<MessageInfoModel>)
-    abstract fun addMessage(message: MessageInfoModel)
-    abstract fun removeMessage(message: MessageInfoModel)
+    protected abstract fun addPageToStorage(page: List<MessageInfoModel>)
+    protected abstract fun addMessageToStorage(message: MessageInfoModel)
+    protected abstract fun removeMessageFromStorage(message: MessageInfoModel)
     abstract fun get(i: Int): MessageInfoModel
     abstract val size: Int
 
-    private var currentSnapshot: List<MessageInfoModel> = listOf()
-    val snapshotList get() = currentSnapshot
+    private var currentSnapshot: MessageSnapshotList = MessageSnapshotList.EMPTY
+    val snapshotList: List<MessageInfoModel> get() = currentSnapshot
+
+    // Index range touched by the last refreshSnapshot
+    private var currentSnapshotChange = MessageSnapshotChange.NONE
+    val snapshotChange get() = currentSnapshotChange
+
+    // Writes since the last refreshSnapshot, replayed onto the previous snapshot
+    private class PendingChange(val message: MessageInfoModel, val isRemoval: Boolean)
+
+    private val pendingChanges = ArrayList<PendingChange>()
+    private var pendingFullRebuild = false
+
+    private val watermarkIndex = MessageWatermarkIndex()
+
+    // Published together with the snapshot, watermarks.messages is the same list as snapshotList
+    @Volatile
+    private var currentWatermarks = MessageWatermarks.EMPTY
+    val watermarks: MessageWatermarks get() = currentWatermarks
+
+    fun addPage(page: List<MessageInfoModel>) {
+        addPageToStorage(page)
+        page.forEach {
+            watermarkIndex.onMessageAdded(it)
+            recordChange(it, isRemoval = false)
+        }
+    }
+
+    fun addMessage(message: MessageInfoModel) {
+        addMessageToStorage(message)
+        watermarkIndex.onMessageAdded(message)
+        recordChange(message, isRemoval = false)
+    }
+
+    fun removeMessage(message: MessageInfoModel) {
+        removeMessageFromStorage(message)
+        watermarkIndex.onMessageRemoved(message)
+        recordChange(message, isRemoval = true)
+    }
 
     fun replaceMessage(oldMessage: MessageInfoModel, newMessage: MessageInfoModel) {
         removeMessage(oldMessage)
         addMessage(newMessage)
     }
 
-    // Simple Copy to build Snapshot for now
-    // However, advised to implement a more efficient SnapshotList mechanism
+    // Full copy of the backing storage, used when too many writes are pending
+    // to be worth patching the previous snapshot
     open fun buildSnapshotList(): List<MessageInfoModel> {
         // This is a inefficient implementation
         // but is generic and will work with any backing data
@@ -47,7 +84,68 @@ internal abstract class MessageRepository {
     // Refreshes the snapshot to match the current state of the repository
     // Call from Same thread as Repository Writes
     fun refreshSnapshot() {
-        currentSnapshot = buildSnapshotList()
+        val previousSnapshot = currentSnapshot
+        if (pendingFullRebuild) {
+            val previousSize = currentSnapshot.size
+            currentSnapshot = MessageSnapshotList.of(buildSnapshotList())
+            currentSnapshotChange = MessageSnapshotChange(
+                fromIndex = 0,
+                toIndex = currentSnapshot.size,
+                sizeDelta = currentSnapshot.size - previousSize
+            )
+        } else {
+            applyPendingChanges()
+        }
+        pendingChanges.clear()
+        pendingFullRebuild = false
+        currentWatermarks = watermarkIndex.publish(currentSnapshot, previousSnapshot, currentSnapshotChange)
+    }
+
+    private fun recordChange(message: MessageInfoModel, isRemoval: Boolean) {
+        if (pendingFullRebuild) return
+        if (pendingChanges.size >= MessageSnapshotList.CHUNK_SIZE) {
+            // Patching chunk by chunk is no longer cheaper than a full rebuild
+            pendingChanges.clear()
+            pendingFullRebuild = true
+            return
+        }
+        pendingChanges.add(PendingChange(message, isRemoval))
+    }
+
+    private fun applyPendingChanges() {
+        var snapshot = currentSnapshot
+        val previousSize = snapshot.size
+        var fromIndex = Int.MAX_VALUE
+        var toIndex = 0
+
+        pendingChanges.forEach { change ->
+            val id = change.message.normalizedID
+            val index = snapshot.lowerBound(id)
+            val exists = index < snapshot.size && snapshot[index].normalizedID == id
+            when {
+                change.isRemoval && exists -> {
+                    snapshot = snapshot.removeAt(index)
+                    toIndex = maxOf(toIndex - 1, index)
+                }
+                change.isRemoval -> return@forEach
+                exists -> {
+                    snapshot = snapshot.set(index, change.message)
+                    toIndex = maxOf(toIndex, index + 1)
+                }
+                else -> {
+                    snapshot = snapshot.insert(index, change.message)
+                    toIndex = maxOf(toIndex, index) + 1
+                }
+            }
+            fromIndex = minOf(fromIndex, index)
+        }
+
+        currentSnapshot = snapshot
+        currentSnapshotChange = if (fromIndex == Int.MAX_VALUE) {
+            MessageSnapshotChange.NONE
+        } else {
+            MessageSnapshotChange(fromIndex, toIndex, snapshot.size - previousSize)
+        }
     }
 
     companion object {
@@ -62,5 +160,9 @@ internal abstract class MessageRepository {
         fun createSkipListBackedRepository(): MessageRepository {
             return MessageRepositorySkipListBackedImpl()
         }
+
+        fun createOrderStatisticTreeBackedRepository(): MessageRepository {
+            return MessageRepositoryOrderStatisticTreeBackedImpl()
+        }
     }
 }
@@ -0,0 +1,70 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.chat.repository
+
+import com.azure.android.communication.ui.chat.models.MessageInfoModel
+
+// Immutable, chunked list of messages ordered by normalizedID
+//
+// Mutations return a new list that shares every untouched chunk with the previous one,
+// so a single insert/edit/remove copies one chunk plus the chunk references
+// instead of the whole list.
+internal class MessageSnapshotList private constructor(
+    private val messages: ChunkedList<MessageInfoModel>,
+) : AbstractList<MessageInfoModel>(), RandomAccess {
+
+    override val size: Int
+        get() = messages.size
+
+    override fun get(index: Int): MessageInfoModel = messages[index]
+
+    // Index of the first message with an id >= normalizedID
+    fun lowerBound(normalizedID: Long): Int {
+        var low = 0
+        var high = size
+        while (low < high) {
+            val mid = (low + high) ushr 1
+            if (get(mid).normalizedID < normalizedID) {
+                low = mid + 1
+            } else {
+                high = mid
+            }
+        }
+        return low
+    }
+
+    fun set(index: Int, message: MessageInfoModel) = MessageSnapshotList(messages.set(index, message))
+
+    fun insert(index: Int, message: MessageInfoModel) = MessageSnapshotList(messages.insert(index, message))
+
+    fun removeAt(index: Int) = MessageSnapshotList(messages.removeAt(index))
+
+    companion object {
+        const val CHUNK_SIZE = ChunkedList.CHUNK_SIZE
+
+        val EMPTY = MessageSnapshotList(ChunkedList.empty())
+
+        fun of(messages: List<MessageInfoModel>): MessageSnapshotList {
+            if (messages.isEmpty()) return EMPTY
+            return MessageSnapshotList(ChunkedList.of(messages))
+        }
+    }
+}
+
+// Describes what changed between two consecutive snapshots
+//
+// Messages before fromIndex are unchanged
+// Messages from toIndex (exclusive end of the changed range, in new snapshot indices)
+// are unchanged but shifted by sizeDelta
+internal data class MessageSnapshotChange(
+    val fromIndex: Int,
+    val toIndex: Int,
+    val sizeDelta: Int,
+) {
+    val isEmpty get() = fromIndex >= toIndex && sizeDelta == 0
+
+    companion object {
+        val NONE = MessageSnapshotChange(0, 0, 0)
+    }
+}
@@ -0,0 +1,172 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.chat.repository
+
+import com.azure.android.communication.ui.chat.models.MessageInfoModel
+import com.azure.android.communication.ui.chat.service.sdk.wrapper.ChatMessageType
+import org.threeten.bp.OffsetDateTime
+import java.util.TreeMap
+import java.util.TreeSet
+
+// Local user messages of the repository, updated on every write
+//
+// Written on the repository thread only, read through the MessageWatermarks published
+// with each snapshot.
+internal class MessageWatermarkIndex {
+    private val localMessageIds = TreeSet<Long>()
+
+    // Local text messages and the time a read receipt has to reach to cover them
+    private val localTextMessageTimes = TreeMap<Long, OffsetDateTime>()
+    private var localTextMessagesChanged = false
+
+    // Read watermark index: the local text messages no later message was read before, by
+    // ascending time and id. The message read by all for a watermark is the last one whose
+    // time it reached.
+    private var readWatermarkTimes = emptyArray<OffsetDateTime>()
+    private var readWatermarkMessageIds = LongArray(0)
+
+    fun onMessageAdded(message: MessageInfoModel) {
+        val id = message.normalizedID
+        if (message.isCurrentUser) {
+            localMessageIds.add(id)
+        } else {
+            localMessageIds.remove(id)
+        }
+        val readReceiptTime = message.editedOn ?: message.createdOn
+        if (message.isCurrentUser && readReceiptTime != null &&
+            (message.messageType == ChatMessageType.TEXT || message.messageType == ChatMessageType.HTML)
+        ) {
+            if (localTextMessageTimes.put(id, readReceiptTime) != readReceiptTime) {
+                localTextMessagesChanged = true
+            }
+        } else if (localTextMessageTimes.remove(id) != null) {
+            localTextMessagesChanged = true
+        }
+    }
+
+    fun onMessageRemoved(message: MessageInfoModel) {
+        val id = message.normalizedID
+        localMessageIds.remove(id)
+        if (localTextMessageTimes.remove(id) != null) {
+            localTextMessagesChanged = true
+        }
+    }
+
+    // The read watermark index is rebuilt only when the local text messages changed, which is
+    // rare next to remote messages, typing and read receipts
+    fun publish(
+        snapshot: MessageSnapshotList,
+        previousSnapshot: MessageSnapshotList,
+        change: MessageSnapshotChange,
+    ): MessageWatermarks {
+        if (localTextMessagesChanged) {
+            buildReadWatermarkIndex()
+            localTextMessagesChanged = false
+        }
+        return MessageWatermarks(
+            snapshot,
+            if (localMessageIds.isEmpty()) null else localMessageIds.last(),
+            readWatermarkTimes,
+            readWatermarkMessageIds,
+            previousSnapshot,
+            change,
+        )
+    }
+
+    // From the latest message down, a message is kept when it was sent before every later one
+    private fun buildReadWatermarkIndex() {
+        val times = ArrayList<OffsetDateTime>()
+        val messageIds = ArrayList<Long>()
+        var earliestLaterTime: OffsetDateTime? = null
+        for ((id, time) in localTextMessageTimes.descendingMap()) {
+            if (earliestLaterTime == null || time < earliestLaterTime) {
+                times.add(time)
+                messageIds.add(id)
+                earliestLaterTime = time
+            }
+        }
+        times.reverse()
+        messageIds.reverse()
+        readWatermarkTimes = times.toTypedArray()
+        readWatermarkMessageIds = messageIds.toLongArray()
+    }
+}
+
+// Derived values of a message snapshot for the chat screen
+//
+// Each value is computed at most once per snapshot and read watermark, so rebuilding the
+// screen for an unrelated state change does not walk the messages. change is the range of
+// messages that differs from previousMessages, so the screen only rebuilds that range when
+// previousMessages is the snapshot it built last.
+internal class MessageWatermarks(
+    val messages: MessageSnapshotList,
+    val latestLocalUserMessageId: Long?,
+    private val readWatermarkTimes: Array<OffsetDateTime>,
+    private val readWatermarkMessageIds: LongArray,
+    val previousMessages: MessageSnapshotList = MessageSnapshotList.EMPTY,
+    val change: MessageSnapshotChange = MessageSnapshotChange(0, messages.size, messages.size),
+) {
+    companion object {
+        val EMPTY = MessageWatermarks(MessageSnapshotList.EMPTY, null, emptyArray(), LongArray(0))
+    }
+
+    @Volatile
+    private var readMessage: Pair<OffsetDateTime, Long>? = null
+
+    @Volatile
+    private var unreadMessages: Pair<String, Int>? = null
+
+    // Index of the first message not sent by the local user, -1 when not computed yet
+    @Volatile
+    private var firstRemoteMessageIndex = -1
+
+    // Latest local text message read by all remote participants, 0 when there is none
+    fun getLastMessageIdReadByRemoteParticipants(latestReadMessageTimestamp: OffsetDateTime): Long {
+        readMessage?.let { (timestamp, messageId) ->
+            if (timestamp == latestReadMessageTimestamp) return messageId
+        }
+        // last index whose time the watermark reached
+        var low = 0
+        var high = readWatermarkTimes.size
+        while (low < high) {
+            val mid = (low + high) ushr 1
+            if (readWatermarkTimes[mid] <= latestReadMessageTimestamp) low = mid + 1 else high = mid
+        }
+        val messageId = if (low == 0) 0L else readWatermarkMessageIds[low - 1]
+        readMessage = Pair(latestReadMessageTimestamp, messageId)
+        return messageId
+    }
+
+    // Messages after the last read one, 0 when only local user messages precede it
+    fun getUnreadMessagesCount(lastReadMessageId: String): Int {
+        if (lastReadMessageId.isEmpty()) {
+            return 0
+        }
+        unreadMessages?.let { (messageId, count) ->
+            if (messageId == lastReadMessageId) return count
+        }
+        val id = lastReadMessageId.toLong()
+        val index = messages.lowerBound(id)
+        val count = if (index < messages.size && messages[index].normalizedID == id &&
+            getFirstRemoteMessageIndex() <= index
+        ) {
+            messages.size - index - 1
+        } else {
+            0
+        }
+        unreadMessages = Pair(lastReadMessageId, count)
+        return count
+    }
+
+    private fun getFirstRemoteMessageIndex(): Int {
+        if (firstRemoteMessageIndex < 0) {
+            var index = 0
+            while (index < messages.size && messages[index].isCurrentUser) {
+                index++
+            }
+            firstRemoteMessageIndex = index
+        }
+        return firstRemoteMessageIndex
+    }
+}
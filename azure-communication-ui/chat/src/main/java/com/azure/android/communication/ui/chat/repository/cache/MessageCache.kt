@@ -0,0 +1,35 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.chat.repository.cache
+
+import com.azure.android.communication.ui.chat.models.MessageInfoModel
+
+// On device store of server messages, keyed by local identity, thread id and normalizedID
+//
+// Every identity signed in on the device sees only the messages it saved itself.
+// Calls do disk IO, make them off the main thread
+internal interface MessageCache {
+    // Newest messages of the thread, oldest first, also marks the thread as opened
+    fun load(localIdentity: String, threadId: String, limit: Int, nowMillis: Long): List<MessageInfoModel>
+
+    // Inserts or replaces the messages by normalizedID
+    fun save(localIdentity: String, threadId: String, messages: List<MessageInfoModel>)
+
+    fun remove(localIdentity: String, threadId: String, messageIds: List<Long>)
+
+    fun evict(policy: MessageCacheEvictionPolicy, nowMillis: Long)
+
+    // Deletes the messages of every identity and thread
+    fun clear()
+
+    fun close()
+}
+
+internal data class MessageCacheEvictionPolicy(
+    // threads not opened for longer are dropped
+    val maxThreadAgeMillis: Long = 30L * 24 * 60 * 60 * 1000,
+    val maxMessagesPerThread: Int = 500,
+    // payload bytes over all threads, the least recently opened threads are dropped first
+    val maxTotalBytes: Long = 8L * 1024 * 1024,
+)
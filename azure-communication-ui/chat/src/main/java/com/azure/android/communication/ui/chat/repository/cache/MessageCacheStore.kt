@@ -0,0 +1,71 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.chat.repository.cache
+
+import com.azure.android.communication.ui.chat.models.MessageInfoModel
+import com.azure.android.communication.ui.chat.models.MessageSendStatus
+import java.util.concurrent.Executor
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+
+// Message cache of a single thread, as seen by the local identity
+//
+// All cache IO runs in order on the executor, callers are never blocked on disk.
+// Only messages confirmed by the server are written, local sends and edits are left to the
+// service.
+internal class MessageCacheStore(
+    private val cache: MessageCache,
+    private val localIdentity: String,
+    private val threadId: String,
+    private val evictionPolicy: MessageCacheEvictionPolicy = MessageCacheEvictionPolicy(),
+    private val executor: Executor = Executors.newSingleThreadExecutor(),
+    private val currentTimeMillis: () -> Long = System::currentTimeMillis,
+) {
+    companion object {
+        private const val LOAD_LIMIT = 100
+    }
+
+    fun load(onLoaded: (List<MessageInfoModel>) -> Unit) {
+        executor.execute {
+            onLoaded(cache.load(localIdentity, threadId, LOAD_LIMIT, currentTimeMillis()))
+        }
+    }
+
+    fun save(messages: List<MessageInfoModel>) {
+        val serverMessages = messages.filter {
+            !it.isLocalOnly &&
+                it.sendStatus != MessageSendStatus.SENDING &&
+                it.sendStatus != MessageSendStatus.FAILED &&
+                !it.isEditPending
+        }
+        if (serverMessages.isEmpty()) return
+        executor.execute { cache.save(localIdentity, threadId, serverMessages) }
+    }
+
+    fun delete(messages: List<MessageInfoModel>) {
+        val messageIds = messages.filter { !it.isLocalOnly }.map { it.normalizedID }
+        if (messageIds.isEmpty()) return
+        executor.execute { cache.remove(localIdentity, threadId, messageIds) }
+    }
+
+    // Closes the database once it is cleared so onCleared can delete the file, the next write
+    // opens a new one
+    fun clear(onCleared: () -> Unit = {}) {
+        executor.execute {
+            cache.clear()
+            cache.close()
+            onCleared()
+        }
+    }
+
+    // Evicts on the way out so the next cold start reads a trimmed cache
+    // Closes the database, call it after the outbound queue writing to it is closed
+    fun close() {
+        executor.execute {
+            cache.evict(evictionPolicy, currentTimeMillis())
+            cache.close()
+        }
+        (executor as? ExecutorService)?.shutdown()
+    }
+}
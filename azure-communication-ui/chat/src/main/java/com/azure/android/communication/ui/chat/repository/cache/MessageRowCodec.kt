@@ -0,0 +1,172 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.chat.repository.cache
+
+import com.azure.android.communication.ui.chat.models.MessageInfoModel
+import com.azure.android.communication.ui.chat.models.MessageSendStatus
+import com.azure.android.communication.ui.chat.models.RemoteParticipantInfoModel
+import com.azure.android.communication.ui.chat.service.sdk.wrapper.ChatMessageType
+import com.azure.android.communication.ui.chat.service.sdk.wrapper.CommunicationIdentifier
+import org.threeten.bp.Instant
+import org.threeten.bp.OffsetDateTime
+import org.threeten.bp.ZoneOffset
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import java.io.IOException
+
+// Compact binary row for a cached message
+//
+// Every row is written with ROW_FORMAT. Rows written with a format this build does not know
+// are skipped on read, the messages are fetched from the server again.
+// Whether a message or participant is the local user is not stored, it is worked out from their
+// identifier on read, against the identity the row is read for.
+internal object MessageRowCodec {
+    const val ROW_FORMAT = 2
+
+    private const val IDENTIFIER_COMMUNICATION_USER = 0
+    private const val IDENTIFIER_MICROSOFT_TEAMS_USER = 1
+    private const val IDENTIFIER_PHONE_NUMBER = 2
+    private const val IDENTIFIER_UNKNOWN = 3
+
+    fun encode(message: MessageInfoModel): ByteArray {
+        val bytes = ByteArrayOutputStream()
+        DataOutputStream(bytes).use { out ->
+            out.writeLong(message.normalizedID)
+            out.writeNullable(message.messageType) { writeString(it.name) }
+            out.writeNullable(message.content) { writeString(it) }
+            out.writeNullable(message.topic) { writeString(it) }
+            out.writeInt(message.participants.size)
+            message.participants.forEach { participant ->
+                out.writeIdentifier(participant.userIdentifier)
+                out.writeNullable(participant.displayName) { writeString(it) }
+            }
+            out.writeNullable(message.version) { writeString(it) }
+            out.writeNullable(message.senderDisplayName) { writeString(it) }
+            out.writeNullable(message.createdOn) { writeDateTime(it) }
+            out.writeNullable(message.senderCommunicationIdentifier) { writeIdentifier(it) }
+            out.writeNullable(message.deletedOn) { writeDateTime(it) }
+            out.writeNullable(message.editedOn) { writeDateTime(it) }
+            out.writeNullable(message.sendStatus) { writeString(it.name) }
+        }
+        return bytes.toByteArray()
+    }
+
+    // Returns null for rows of an unknown format or rows that can not be read
+    fun decode(rowFormat: Int, payload: ByteArray, localParticipantIdentifier: String): MessageInfoModel? {
+        if (rowFormat != ROW_FORMAT) {
+            return null
+        }
+        return try {
+            DataInputStream(ByteArrayInputStream(payload)).use { input ->
+                val id = input.readLong()
+                val messageType = input.readNullable { enumValueOrNull<ChatMessageType>(readString()) }
+                val content = input.readNullable { readString() }
+                val topic = input.readNullable { readString() }
+                val participants = List(input.readInt()) {
+                    val userIdentifier = input.readIdentifier()
+                    RemoteParticipantInfoModel(
+                        userIdentifier = userIdentifier,
+                        displayName = input.readNullable { readString() },
+                        isLocalUser = userIdentifier.id == localParticipantIdentifier,
+                    )
+                }
+                val version = input.readNullable { readString() }
+                val senderDisplayName = input.readNullable { readString() }
+                val createdOn = input.readNullable { readDateTime() }
+                val senderCommunicationIdentifier = input.readNullable { readIdentifier() }
+                MessageInfoModel(
+                    id = id.toString(),
+                    messageType = messageType,
+                    content = content,
+                    topic = topic,
+                    participants = participants,
+                    version = version,
+                    senderDisplayName = senderDisplayName,
+                    createdOn = createdOn,
+                    senderCommunicationIdentifier = senderCommunicationIdentifier,
+                    deletedOn = input.readNullable { readDateTime() },
+                    editedOn = input.readNullable { readDateTime() },
+                    sendStatus = input.readNullable { enumValueOrNull<MessageSendStatus>(readString()) },
+                    isCurrentUser = senderCommunicationIdentifier?.id == localParticipantIdentifier,
+                )
+            }
+        } catch (e: IOException) {
+            null
+        }
+    }
+
+    private inline fun <T> DataOutputStream.writeNullable(value: T?, write: DataOutputStream.(T) -> Unit) {
+        writeBoolean(value != null)
+        if (value != null) {
+            write(value)
+        }
+    }
+
+    private inline fun <T> DataInputStream.readNullable(read: DataInputStream.() -> T): T? =
+        if (readBoolean()) read() else null
+
+    // writeUTF is limited to 64KB, long messages are written as length prefixed UTF-8
+    private fun DataOutputStream.writeString(value: String) {
+        val bytes = value.toByteArray(Charsets.UTF_8)
+        writeInt(bytes.size)
+        write(bytes)
+    }
+
+    private fun DataInputStream.readString(): String {
+        val length = readInt()
+        if (length < 0 || length > available()) {
+            throw IOException("Invalid string length $length")
+        }
+        val bytes = ByteArray(length)
+        readFully(bytes)
+        return String(bytes, Charsets.UTF_8)
+    }
+
+    private fun DataOutputStream.writeDateTime(dateTime: OffsetDateTime) {
+        writeLong(dateTime.toInstant().toEpochMilli())
+        writeInt(dateTime.offset.totalSeconds)
+    }
+
+    private fun DataInputStream.readDateTime(): OffsetDateTime {
+        val epochMilli = readLong()
+        val offset = ZoneOffset.ofTotalSeconds(readInt())
+        return OffsetDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), offset)
+    }
+
+    private fun DataOutputStream.writeIdentifier(identifier: CommunicationIdentifier) {
+        when (identifier) {
+            is CommunicationIdentifier.CommunicationUserIdentifier -> {
+                writeByte(IDENTIFIER_COMMUNICATION_USER)
+                writeString(identifier.userId)
+            }
+            is CommunicationIdentifier.MicrosoftTeamsUserIdentifier -> {
+                writeByte(IDENTIFIER_MICROSOFT_TEAMS_USER)
+                writeString(identifier.userId)
+                writeBoolean(identifier.isAnonymous)
+            }
+            is CommunicationIdentifier.PhoneNumberIdentifier -> {
+                writeByte(IDENTIFIER_PHONE_NUMBER)
+                writeString(identifier.phoneNumber)
+            }
+            is CommunicationIdentifier.UnknownIdentifier -> {
+                writeByte(IDENTIFIER_UNKNOWN)
+                writeString(identifier.genericId)
+            }
+        }
+    }
+
+    private fun DataInputStream.readIdentifier(): CommunicationIdentifier =
+        when (val kind = readByte().toInt()) {
+            IDENTIFIER_COMMUNICATION_USER -> CommunicationIdentifier.CommunicationUserIdentifier(readString())
+            IDENTIFIER_MICROSOFT_TEAMS_USER -> CommunicationIdentifier.MicrosoftTeamsUserIdentifier(readString(), readBoolean())
+            IDENTIFIER_PHONE_NUMBER -> CommunicationIdentifier.PhoneNumberIdentifier(readString())
+            IDENTIFIER_UNKNOWN -> CommunicationIdentifier.UnknownIdentifier(readString())
+            else -> throw IOException("Unknown identifier kind $kind")
+        }
+
+    private inline fun <reified T : Enum<T>> enumValueOrNull(name: String): T? =
+        enumValues<T>().firstOrNull { it.name == name }
+}
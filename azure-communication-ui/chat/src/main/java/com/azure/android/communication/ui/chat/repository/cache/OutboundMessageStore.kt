@@ -0,0 +1,23 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.chat.repository.cache
+
+import com.azure.android.communication.ui.chat.models.MessageInfoModel
+
+// On device store of messages sent by the local user and not yet confirmed by the server,
+// keyed by thread id and internal id
+//
+// Calls do disk IO, make them off the main thread
+internal interface OutboundMessageStore {
+    // Pending messages of the thread, oldest first
+    fun loadOutbound(threadId: String): List<MessageInfoModel>
+
+    // Inserts or replaces the message by internal id
+    fun saveOutbound(threadId: String, message: MessageInfoModel)
+
+    fun removeOutbound(threadId: String, internalId: Long)
+
+    // Deletes the pending messages of every thread
+    fun clearOutbound()
+}
@@ -0,0 +1,245 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.chat.repository.cache
+
+import android.content.ContentValues
+import android.content.Context
+import android.database.sqlite.SQLiteDatabase
+import android.database.sqlite.SQLiteOpenHelper
+import com.azure.android.communication.ui.chat.models.MessageInfoModel
+
+// SQLite backed MessageCache
+//
+// One row per message and local identity with the payload in MessageRowCodec format, so an
+// identity signing in on the same device never sees the messages of another. Schema changes are
+// added to MIGRATIONS, one entry per version, so a cache written by any earlier version is
+// upgraded in place. The tables written by a newer version are dropped, they only hold server data.
+// Messages waiting for the server are kept by SQLiteOutboundMessageStore.
+internal class SQLiteMessageCache(context: Context) :
+    SQLiteOpenHelper(context.applicationContext, DATABASE_NAME, null, DATABASE_VERSION),
+    MessageCache {
+
+    companion object {
+        private const val DATABASE_NAME = "azure_communication_ui_chat_messages.db"
+
+        private const val THREADS = "threads"
+        private const val MESSAGES = "messages"
+        private const val OUTBOUND_MESSAGES = "outbound_messages"
+
+        // MIGRATIONS[i] upgrades the schema from version i to version i + 1
+        private val MIGRATIONS: List<(SQLiteDatabase) -> Unit> = listOf(
+            { db ->
+                db.execSQL(
+                    "CREATE TABLE $THREADS (" +
+                        "thread_id TEXT PRIMARY KEY NOT NULL, " +
+                        "last_opened_millis INTEGER NOT NULL)"
+                )
+                db.execSQL(
+                    "CREATE TABLE $MESSAGES (" +
+                        "thread_id TEXT NOT NULL, " +
+                        "message_id INTEGER NOT NULL, " +
+                        "revision INTEGER NOT NULL, " +
+                        "row_format INTEGER NOT NULL, " +
+                        "payload BLOB NOT NULL, " +
+                        "PRIMARY KEY (thread_id, message_id)) WITHOUT ROWID"
+                )
+            },
+            { db ->
+                db.execSQL(
+                    "CREATE TABLE IF NOT EXISTS $OUTBOUND_MESSAGES (" +
+                        "thread_id TEXT NOT NULL, " +
+                        "internal_id INTEGER NOT NULL, " +
+                        "row_format INTEGER NOT NULL, " +
+                        "payload BLOB NOT NULL, " +
+                        "PRIMARY KEY (thread_id, internal_id)) WITHOUT ROWID"
+                )
+            },
+            { db ->
+                // keyed by thread only, the messages can not be told apart by identity and are
+                // fetched from the server again
+                db.execSQL("DROP TABLE IF EXISTS $MESSAGES")
+                db.execSQL("DROP TABLE IF EXISTS $THREADS")
+                db.execSQL(
+                    "CREATE TABLE $THREADS (" +
+                        "local_identity TEXT NOT NULL, " +
+                        "thread_id TEXT NOT NULL, " +
+                        "last_opened_millis INTEGER NOT NULL, " +
+                        "PRIMARY KEY (local_identity, thread_id)) WITHOUT ROWID"
+                )
+                db.execSQL(
+                    "CREATE TABLE $MESSAGES (" +
+                        "local_identity TEXT NOT NULL, " +
+                        "thread_id TEXT NOT NULL, " +
+                        "message_id INTEGER NOT NULL, " +
+                        "revision INTEGER NOT NULL, " +
+                        "row_format INTEGER NOT NULL, " +
+                        "payload BLOB NOT NULL, " +
+                        "PRIMARY KEY (local_identity, thread_id, message_id)) WITHOUT ROWID"
+                )
+            },
+            { db ->
+                // moved to SQLiteOutboundMessageStore, so they are kept when the cache is off. Rows
+                // left here were written with a row format this build no longer reads.
+                db.execSQL("DROP TABLE IF EXISTS $OUTBOUND_MESSAGES")
+            },
+        )
+
+        private val DATABASE_VERSION = MIGRATIONS.size
+
+        // Deletes the database file, call it while no chat is connected
+        fun deleteDatabase(context: Context): Boolean =
+            context.applicationContext.deleteDatabase(DATABASE_NAME)
+    }
+
+    override fun onCreate(db: SQLiteDatabase) {
+        onUpgrade(db, 0, DATABASE_VERSION)
+    }
+
+    override fun onUpgrade(db: SQLiteDatabase, oldVersion: Int, newVersion: Int) {
+        for (version in oldVersion until newVersion) {
+            MIGRATIONS[version](db)
+        }
+    }
+
+    override fun onDowngrade(db: SQLiteDatabase, oldVersion: Int, newVersion: Int) {
+        db.execSQL("DROP TABLE IF EXISTS $MESSAGES")
+        db.execSQL("DROP TABLE IF EXISTS $THREADS")
+        onCreate(db)
+    }
+
+    override fun load(localIdentity: String, threadId: String, limit: Int, nowMillis: Long): List<MessageInfoModel> {
+        val db = writableDatabase
+        db.insertWithOnConflict(
+            THREADS,
+            null,
+            ContentValues().apply {
+                put("local_identity", localIdentity)
+                put("thread_id", threadId)
+                put("last_opened_millis", nowMillis)
+            },
+            SQLiteDatabase.CONFLICT_REPLACE
+        )
+
+        val messages = ArrayList<MessageInfoModel>()
+        db.query(
+            MESSAGES,
+            arrayOf("row_format", "payload"),
+            "local_identity = ? AND thread_id = ?",
+            arrayOf(localIdentity, threadId),
+            null,
+            null,
+            "message_id DESC",
+            limit.toString()
+        ).use { cursor ->
+            while (cursor.moveToNext()) {
+                MessageRowCodec.decode(cursor.getInt(0), cursor.getBlob(1), localIdentity)?.let { messages.add(it) }
+            }
+        }
+        messages.reverse()
+        return messages
+    }
+
+    override fun save(localIdentity: String, threadId: String, messages: List<MessageInfoModel>) {
+        if (messages.isEmpty()) return
+        val db = writableDatabase
+        db.beginTransaction()
+        try {
+            val values = ContentValues()
+            messages.forEach { message ->
+                values.clear()
+                values.put("local_identity", localIdentity)
+                values.put("thread_id", threadId)
+                values.put("message_id", message.normalizedID)
+                values.put("revision", message.revision)
+                values.put("row_format", MessageRowCodec.ROW_FORMAT)
+                values.put("payload", MessageRowCodec.encode(message))
+                db.insertWithOnConflict(MESSAGES, null, values, SQLiteDatabase.CONFLICT_REPLACE)
+            }
+            db.setTransactionSuccessful()
+        } finally {
+            db.endTransaction()
+        }
+    }
+
+    override fun remove(localIdentity: String, threadId: String, messageIds: List<Long>) {
+        if (messageIds.isEmpty()) return
+        val db = writableDatabase
+        db.beginTransaction()
+        try {
+            messageIds.forEach { messageId ->
+                db.delete(
+                    MESSAGES,
+                    "local_identity = ? AND thread_id = ? AND message_id = ?",
+                    arrayOf(localIdentity, threadId, messageId.toString())
+                )
+            }
+            db.setTransactionSuccessful()
+        } finally {
+            db.endTransaction()
+        }
+    }
+
+    override fun clear() {
+        val db = writableDatabase
+        db.beginTransaction()
+        try {
+            db.delete(MESSAGES, null, null)
+            db.delete(THREADS, null, null)
+            db.setTransactionSuccessful()
+        } finally {
+            db.endTransaction()
+        }
+    }
+
+    override fun evict(policy: MessageCacheEvictionPolicy, nowMillis: Long) {
+        val db = writableDatabase
+        db.beginTransaction()
+        try {
+            // threads not opened recently
+            val oldestOpenedMillis = (nowMillis - policy.maxThreadAgeMillis).toString()
+            db.delete(
+                MESSAGES,
+                "EXISTS (SELECT 1 FROM $THREADS t WHERE t.local_identity = $MESSAGES.local_identity " +
+                    "AND t.thread_id = $MESSAGES.thread_id AND t.last_opened_millis < ?)",
+                arrayOf(oldestOpenedMillis)
+            )
+            db.delete(THREADS, "last_opened_millis < ?", arrayOf(oldestOpenedMillis))
+
+            // oldest messages above the per thread cap
+            db.execSQL(
+                "DELETE FROM $MESSAGES WHERE message_id < (" +
+                    "SELECT m.message_id FROM $MESSAGES m WHERE m.local_identity = $MESSAGES.local_identity " +
+                    "AND m.thread_id = $MESSAGES.thread_id ORDER BY m.message_id DESC LIMIT 1 OFFSET ?)",
+                arrayOf(policy.maxMessagesPerThread - 1)
+            )
+
+            // least recently opened threads above the size budget
+            var totalBytes = db.compileStatement("SELECT IFNULL(SUM(LENGTH(payload)), 0) FROM $MESSAGES")
+                .use { it.simpleQueryForLong() }
+            if (totalBytes > policy.maxTotalBytes) {
+                val threadSizes = ArrayList<Triple<String, String, Long>>()
+                db.rawQuery(
+                    "SELECT t.local_identity, t.thread_id, IFNULL(SUM(LENGTH(m.payload)), 0) FROM $THREADS t " +
+                        "LEFT JOIN $MESSAGES m ON m.local_identity = t.local_identity AND m.thread_id = t.thread_id " +
+                        "GROUP BY t.local_identity, t.thread_id ORDER BY t.last_opened_millis ASC",
+                    null
+                ).use { cursor ->
+                    while (cursor.moveToNext()) {
+                        threadSizes.add(Triple(cursor.getString(0), cursor.getString(1), cursor.getLong(2)))
+                    }
+                }
+                for ((localIdentity, threadId, threadBytes) in threadSizes) {
+                    if (totalBytes <= policy.maxTotalBytes) break
+                    val key = arrayOf(localIdentity, threadId)
+                    db.delete(MESSAGES, "local_identity = ? AND thread_id = ?", key)
+                    db.delete(THREADS, "local_identity = ? AND thread_id = ?", key)
+                    totalBytes -= threadBytes
+                }
+            }
+            db.setTransactionSuccessful()
+        } finally {
+            db.endTransaction()
+        }
+    }
+}
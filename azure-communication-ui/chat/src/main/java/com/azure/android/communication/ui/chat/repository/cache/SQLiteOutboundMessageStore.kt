@@ -0,0 +1,112 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.chat.repository.cache
+
+import android.content.ContentValues
+import android.content.Context
+import android.database.sqlite.SQLiteDatabase
+import android.database.sqlite.SQLiteOpenHelper
+import com.azure.android.communication.ui.chat.models.MessageInfoModel
+
+// SQLite backed OutboundMessageStore of a single local identity
+//
+// A database of its own, apart from the message cache, so messages not sent yet survive a restart
+// whether or not the cache is enabled. A row only lives until the server confirms its message.
+// A downgrade keeps the rows: they carry their row format, and newer versions may only add
+// columns with defaults to the table.
+internal class SQLiteOutboundMessageStore(
+    context: Context,
+    private val localIdentity: String,
+) :
+    SQLiteOpenHelper(context.applicationContext, DATABASE_NAME, null, DATABASE_VERSION),
+    OutboundMessageStore {
+
+    companion object {
+        private const val DATABASE_NAME = "azure_communication_ui_chat_outbound_messages.db"
+
+        private const val OUTBOUND_MESSAGES = "outbound_messages"
+
+        // MIGRATIONS[i] upgrades the schema from version i to version i + 1
+        private val MIGRATIONS: List<(SQLiteDatabase) -> Unit> = listOf(
+            { db ->
+                db.execSQL(
+                    "CREATE TABLE $OUTBOUND_MESSAGES (" +
+                        "local_identity TEXT NOT NULL, " +
+                        "thread_id TEXT NOT NULL, " +
+                        "internal_id INTEGER NOT NULL, " +
+                        "row_format INTEGER NOT NULL, " +
+                        "payload BLOB NOT NULL, " +
+                        "PRIMARY KEY (local_identity, thread_id, internal_id)) WITHOUT ROWID"
+                )
+            },
+        )
+
+        private val DATABASE_VERSION = MIGRATIONS.size
+
+        // Deletes the database file, call it while no chat is connected
+        fun deleteDatabase(context: Context): Boolean =
+            context.applicationContext.deleteDatabase(DATABASE_NAME)
+    }
+
+    override fun onCreate(db: SQLiteDatabase) {
+        onUpgrade(db, 0, DATABASE_VERSION)
+    }
+
+    override fun onUpgrade(db: SQLiteDatabase, oldVersion: Int, newVersion: Int) {
+        for (version in oldVersion until newVersion) {
+            MIGRATIONS[version](db)
+        }
+    }
+
+    override fun onDowngrade(db: SQLiteDatabase, oldVersion: Int, newVersion: Int) = Unit
+
+    override fun loadOutbound(threadId: String): List<MessageInfoModel> {
+        val messages = ArrayList<MessageInfoModel>()
+        writableDatabase.query(
+            OUTBOUND_MESSAGES,
+            arrayOf("internal_id", "row_format", "payload"),
+            "local_identity = ? AND thread_id = ?",
+            arrayOf(localIdentity, threadId),
+            null,
+            null,
+            "internal_id ASC"
+        ).use { cursor ->
+            while (cursor.moveToNext()) {
+                // the codec reads the row id back as the server id, every pending message is the user's own
+                MessageRowCodec.decode(cursor.getInt(1), cursor.getBlob(2), localIdentity)?.let {
+                    messages.add(it.copy(id = null, internalId = cursor.getLong(0).toString(), isCurrentUser = true))
+                }
+            }
+        }
+        return messages
+    }
+
+    override fun saveOutbound(threadId: String, message: MessageInfoModel) {
+        writableDatabase.insertWithOnConflict(
+            OUTBOUND_MESSAGES,
+            null,
+            ContentValues().apply {
+                put("local_identity", localIdentity)
+                put("thread_id", threadId)
+                put("internal_id", message.normalizedID)
+                put("row_format", MessageRowCodec.ROW_FORMAT)
+                put("payload", MessageRowCodec.encode(message))
+            },
+            SQLiteDatabase.CONFLICT_REPLACE
+        )
+    }
+
+    override fun removeOutbound(threadId: String, internalId: Long) {
+        writableDatabase.delete(
+            OUTBOUND_MESSAGES,
+            "local_identity = ? AND thread_id = ? AND internal_id = ?",
+            arrayOf(localIdentity, threadId, internalId.toString())
+        )
+    }
+
+    // Every identity, the messages queued in memory are still sent
+    override fun clearOutbound() {
+        writableDatabase.delete(OUTBOUND_MESSAGES, null, null)
+    }
+}
@@ -14,17 +14,17 @@ internal class MessageRepositoryListBackedImpl : MessageRepository() {
         Collections.synchronizedList(mutableListOf<MessageInfoModel>())
 
     // Middleware Interface
-    override fun addMessage(messageInfoModel: MessageInfoModel) {
+    override fun addMessageToStorage(messageInfoModel: MessageInfoModel) {
         messages.add(messageInfoModel)
         reorder()
     }
 
-    override fun addPage(page: List<MessageInfoModel>) {
+    override fun addPageToStorage(page: List<MessageInfoModel>) {
         messages.addAll(0, page)
         reorder()
     }
 
-    override fun removeMessage(message: MessageInfoModel) {
+    override fun removeMessageFromStorage(message: MessageInfoModel) {
         messages.retainAll { it.normalizedID != message.normalizedID }
     }
 
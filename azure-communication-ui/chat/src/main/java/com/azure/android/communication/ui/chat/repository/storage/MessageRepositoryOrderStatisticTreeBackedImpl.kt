@@ -0,0 +1,186 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.chat.repository.storage
+
+import com.azure.android.communication.ui.chat.models.EMPTY_MESSAGE_INFO_MODEL
+import com.azure.android.communication.ui.chat.models.MessageInfoModel
+import com.azure.android.communication.ui.chat.repository.MessageRepository
+import kotlin.math.max
+
+// Size augmented AVL tree keyed by normalizedID
+//
+// Every node tracks the number of nodes in its subtree, which allows
+// insert, remove, rank (index of id) and select (get by index) in O(log n)
+internal class MessageRepositoryOrderStatisticTreeBackedImpl : MessageRepository() {
+
+    private class Node(
+        val key: Long,
+        var message: MessageInfoModel,
+    ) {
+        var left: Node? = null
+        var right: Node? = null
+        var height: Int = 1
+        var count: Int = 1
+    }
+
+    private var root: Node? = null
+
+    override val size: Int
+        get() = count(root)
+
+    override fun addMessageToStorage(messageInfoModel: MessageInfoModel) {
+        root = insert(root, messageInfoModel.normalizedID, messageInfoModel)
+    }
+
+    override fun addPageToStorage(page: List<MessageInfoModel>) {
+        page.forEach { addMessageToStorage(it) }
+    }
+
+    override fun removeMessageFromStorage(message: MessageInfoModel) {
+        root = remove(root, message.normalizedID)
+    }
+
+    override fun get(index: Int): MessageInfoModel =
+        select(index)?.message ?: EMPTY_MESSAGE_INFO_MODEL
+
+    // Number of messages with an id lower than messageId
+    fun searchIndexByID(messageId: Long): Int {
+        var node = root
+        var rank = 0
+        while (node != null) {
+            if (messageId <= node.key) {
+                node = node.left
+            } else {
+                rank += count(node.left) + 1
+                node = node.right
+            }
+        }
+        return rank
+    }
+
+    // In-order walk, O(n) instead of n calls to get(i)
+    override fun buildSnapshotList(): List<MessageInfoModel> {
+        val result = ArrayList<MessageInfoModel>(size)
+        val stack = ArrayDeque<Node>()
+        var node = root
+        while (node != null || stack.isNotEmpty()) {
+            while (node != null) {
+                stack.addLast(node)
+                node = node.left
+            }
+            val current = stack.removeLast()
+            result.add(current.message)
+            node = current.right
+        }
+        return result
+    }
+
+    private fun select(index: Int): Node? {
+        if (index < 0 || index >= size) return null
+        var node = root
+        var remaining = index
+        while (node != null) {
+            val leftCount = count(node.left)
+            node = when {
+                remaining < leftCount -> node.left
+                remaining > leftCount -> {
+                    remaining -= leftCount + 1
+                    node.right
+                }
+                else -> return node
+            }
+        }
+        return null
+    }
+
+    private fun insert(node: Node?, key: Long, message: MessageInfoModel): Node {
+        if (node == null) return Node(key, message)
+        when {
+            key < node.key -> node.left = insert(node.left, key, message)
+            key > node.key -> node.right = insert(node.right, key, message)
+            else -> {
+                node.message = message
+                return node
+            }
+        }
+        return rebalance(node)
+    }
+
+    private fun remove(node: Node?, key: Long): Node? {
+        if (node == null) return null
+        when {
+            key < node.key -> node.left = remove(node.left, key)
+            key > node.key -> node.right = remove(node.right, key)
+            else -> {
+                val left = node.left ?: return node.right
+                val right = node.right ?: return left
+                val successor = minNode(right)
+                successor.right = removeMin(right)
+                successor.left = left
+                return rebalance(successor)
+            }
+        }
+        return rebalance(node)
+    }
+
+    private fun removeMin(node: Node): Node? {
+        val left = node.left ?: return node.right
+        node.left = removeMin(left)
+        return rebalance(node)
+    }
+
+    private fun minNode(node: Node): Node {
+        var current = node
+        while (true) {
+            current = current.left ?: return current
+        }
+    }
+
+    private fun rebalance(node: Node): Node {
+        update(node)
+        val balance = height(node.left) - height(node.right)
+        if (balance > 1) {
+            val left = node.left!!
+            if (height(left.left) < height(left.right)) {
+                node.left = rotateLeft(left)
+            }
+            return rotateRight(node)
+        }
+        if (balance < -1) {
+            val right = node.right!!
+            if (height(right.right) < height(right.left)) {
+                node.right = rotateRight(right)
+            }
+            return rotateLeft(node)
+        }
+        return node
+    }
+
+    private fun rotateRight(node: Node): Node {
+        val pivot = node.left!!
+        node.left = pivot.right
+        pivot.right = node
+        update(node)
+        update(pivot)
+        return pivot
+    }
+
+    private fun rotateLeft(node: Node): Node {
+        val pivot = node.right!!
+        node.right = pivot.left
+        pivot.left = node
+        update(node)
+        update(pivot)
+        return pivot
+    }
+
+    private fun update(node: Node) {
+        node.height = 1 + max(height(node.left), height(node.right))
+        node.count = 1 + count(node.left) + count(node.right)
+    }
+
+    private fun height(node: Node?) = node?.height ?: 0
+
+    private fun count(node: Node?) = node?.count ?: 0
+}
@@ -16,16 +16,16 @@ internal class MessageRepositorySkipListBackedImpl : MessageRepository() {
     override val size: Int
         get() = skipListStorage.size
 
-    override fun addMessage(messageInfoModel: MessageInfoModel) {
+    override fun addMessageToStorage(messageInfoModel: MessageInfoModel) {
         val orderId: Long = messageInfoModel.normalizedID
         skipListStorage[orderId] = messageInfoModel
     }
 
-    override fun addPage(page: List<MessageInfoModel>) {
-        page.forEach { addMessage(it) }
+    override fun addPageToStorage(page: List<MessageInfoModel>) {
+        page.forEach { addMessageToStorage(it) }
     }
 
-    override fun removeMessage(message: MessageInfoModel) {
+    override fun removeMessageFromStorage(message: MessageInfoModel) {
         val orderId = message.normalizedID
 
         if (skipListStorage.contains(orderId)) {
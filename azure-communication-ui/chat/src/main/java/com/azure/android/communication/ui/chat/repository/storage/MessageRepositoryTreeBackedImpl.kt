@@ -15,16 +15,16 @@ internal class MessageRepositoryTreeBackedImpl : MessageRepository() {
     override val size: Int
         get() = treeMapStorage.size
 
-    override fun addMessage(messageInfoModel: MessageInfoModel) {
+    override fun addMessageToStorage(messageInfoModel: MessageInfoModel) {
         val orderId: Long = messageInfoModel.normalizedID
         treeMapStorage[orderId] = messageInfoModel
     }
 
-    override fun addPage(page: List<MessageInfoModel>) {
-        page.forEach { addMessage(it) }
+    override fun addPageToStorage(page: List<MessageInfoModel>) {
+        page.forEach { addMessageToStorage(it) }
     }
 
-    override fun removeMessage(message: MessageInfoModel) {
+    override fun removeMessageFromStorage(message: MessageInfoModel) {
         val orderId = message.normalizedID
 
         if (treeMapStorage.contains(orderId)) {
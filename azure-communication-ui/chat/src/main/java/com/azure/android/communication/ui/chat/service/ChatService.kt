@@ -12,7 +12,8 @@ internal class ChatService(private val chatSDK: ChatSDK) {
     fun initialize() = chatSDK.initialization()
     fun destroy() = chatSDK.destroy()
     fun getAdminUserId() = chatSDK.getAdminUserId()
-    fun requestPreviousPage() = chatSDK.requestPreviousPage()
+    fun requestPreviousPage(scrollItemsPerSecond: Float = 0f) =
+        chatSDK.requestPreviousPage(scrollItemsPerSecond = scrollItemsPerSecond)
     fun requestChatParticipants() = chatSDK.requestChatParticipants()
 
     fun startEventNotifications() = chatSDK.startEventNotifications()
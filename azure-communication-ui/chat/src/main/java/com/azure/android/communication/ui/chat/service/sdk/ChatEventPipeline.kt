@@ -0,0 +1,192 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.chat.service.sdk
+
+import com.azure.android.communication.ui.chat.models.ChatEventModel
+import com.azure.android.communication.ui.chat.models.MessageInfoModel
+import com.azure.android.communication.ui.chat.service.sdk.wrapper.ChatEventType
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.channels.BufferOverflow
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.flow.MutableSharedFlow
+import kotlinx.coroutines.flow.SharedFlow
+import kotlinx.coroutines.launch
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+
+internal data class ChatEventPipelineMetrics(
+    val queueDepth: Int,
+    val maxQueueDepth: Int,
+    val deliveredEvents: Long,
+    // superseded edits and events older than what was delivered for the message
+    val skippedEvents: Long,
+    // events dropped by the overflow policy
+    val droppedEvents: Long,
+    val averageLatencyMillis: Double,
+    val maxLatencyMillis: Long,
+)
+
+// Single writer pipeline for chat events
+//
+// Events from the realtime handler, the fetch handler and the SDK wrapper are queued in
+// arrival order and emitted by one consumer, so an edit can not overtake its receive.
+// offer never blocks the SDK callback thread: with BufferOverflow.SUSPEND events are handed to a
+// producer coroutine that suspends while the queue is full, the other policies drop events.
+// The hand over holds at most capacity events, offers past it are dropped, so a stalled
+// consumer holds at most twice the capacity.
+// Queued edits of a message are coalesced into the latest one, and message events older than
+// the last one emitted for the message are skipped.
+internal class ChatEventPipeline(
+    coroutineScope: CoroutineScope,
+    capacity: Int = DEFAULT_CAPACITY,
+    private val onBufferOverflow: BufferOverflow = BufferOverflow.SUSPEND,
+    private val currentTimeNanos: () -> Long = System::nanoTime,
+) {
+    companion object {
+        private const val DEFAULT_CAPACITY = 512
+        private const val MAX_TRACKED_MESSAGES = 1024
+        private const val NANOS_PER_MILLI = 1_000_000L
+    }
+
+    private class QueuedEvent(val event: ChatEventModel, val enqueuedNanos: Long)
+
+    private val queueDepth = AtomicInteger(0)
+    private val maxQueueDepth = AtomicInteger(0)
+    private val deliveredEvents = AtomicLong(0)
+    private val skippedEvents = AtomicLong(0)
+    private val droppedEvents = AtomicLong(0)
+    private val totalLatencyNanos = AtomicLong(0)
+    private val maxLatencyNanos = AtomicLong(0)
+
+    private val queue = Channel<QueuedEvent>(capacity, onBufferOverflow) {
+        queueDepth.decrementAndGet()
+        droppedEvents.incrementAndGet()
+    }
+
+    // Events waiting for room in the queue, only used with BufferOverflow.SUSPEND
+    private val handOver = Channel<QueuedEvent>(capacity)
+
+    private val eventsSharedFlow = MutableSharedFlow<ChatEventModel>()
+    val events: SharedFlow<ChatEventModel> = eventsSharedFlow
+
+    // Latest revision emitted per message id, only touched by the consumer
+    private val emittedRevisions = object : LinkedHashMap<Long, Long>(16, 0.75f, true) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<Long, Long>?) =
+            size > MAX_TRACKED_MESSAGES
+    }
+
+    init {
+        if (onBufferOverflow == BufferOverflow.SUSPEND) {
+            coroutineScope.launch { produce() }
+        }
+        coroutineScope.launch { consume() }
+    }
+
+    fun offer(event: ChatEventModel) {
+        val depth = queueDepth.incrementAndGet()
+        maxQueueDepth.accumulateAndGet(depth) { max, current -> maxOf(max, current) }
+        val queuedEvent = QueuedEvent(event, currentTimeNanos())
+        val result = if (onBufferOverflow == BufferOverflow.SUSPEND) {
+            handOver.trySend(queuedEvent)
+        } else {
+            queue.trySend(queuedEvent)
+        }
+        if (result.isFailure) {
+            // closed, or the hand over is full
+            queueDepth.decrementAndGet()
+            droppedEvents.incrementAndGet()
+        }
+    }
+
+    fun close() {
+        // The producer closes the queue once the handed over events are in it
+        if (onBufferOverflow == BufferOverflow.SUSPEND) {
+            handOver.close()
+        } else {
+            queue.close()
+        }
+    }
+
+    fun getMetrics(): ChatEventPipelineMetrics {
+        val delivered = deliveredEvents.get()
+        return ChatEventPipelineMetrics(
+            queueDepth = queueDepth.get(),
+            maxQueueDepth = maxQueueDepth.get(),
+            deliveredEvents = delivered,
+            skippedEvents = skippedEvents.get(),
+            droppedEvents = droppedEvents.get(),
+            averageLatencyMillis = if (delivered == 0L) 0.0
+            else totalLatencyNanos.get().toDouble() / delivered / NANOS_PER_MILLI,
+            maxLatencyMillis = maxLatencyNanos.get() / NANOS_PER_MILLI,
+        )
+    }
+
+    private suspend fun produce() {
+        try {
+            for (queuedEvent in handOver) {
+                queue.send(queuedEvent)
+            }
+        } finally {
+            queue.close()
+        }
+    }
+
+    private suspend fun consume() {
+        val batch = ArrayList<QueuedEvent>()
+        for (first in queue) {
+            batch.add(first)
+            while (true) {
+                batch.add(queue.tryReceive().getOrNull() ?: break)
+            }
+            queueDepth.addAndGet(-batch.size)
+
+            val latestEdits = HashMap<Long, QueuedEvent>()
+            batch.forEach { queued ->
+                queued.editedMessageId()?.let { latestEdits[it] = queued }
+            }
+            batch.forEach { queued ->
+                val editedMessageId = queued.editedMessageId()
+                if (editedMessageId != null && latestEdits[editedMessageId] !== queued) {
+                    skippedEvents.incrementAndGet()
+                } else if (isStale(queued.event)) {
+                    skippedEvents.incrementAndGet()
+                } else {
+                    eventsSharedFlow.emit(queued.event)
+                    recordDelivered(queued)
+                }
+            }
+            batch.clear()
+        }
+    }
+
+    private fun QueuedEvent.editedMessageId(): Long? =
+        if (event.eventType == ChatEventType.CHAT_MESSAGE_EDITED) {
+            (event.infoModel as? MessageInfoModel)?.normalizedID
+        } else {
+            null
+        }
+
+    private fun isStale(event: ChatEventModel): Boolean {
+        val message = event.infoModel as? MessageInfoModel ?: return false
+        val revision = when (event.eventType) {
+            ChatEventType.CHAT_MESSAGE_RECEIVED, ChatEventType.CHAT_MESSAGE_EDITED -> message.revision
+            // nothing is applied to a message after it is deleted
+            ChatEventType.CHAT_MESSAGE_DELETED -> Long.MAX_VALUE
+            else -> return false
+        }
+        val emittedRevision = emittedRevisions[message.normalizedID]
+        if (emittedRevision != null && revision < emittedRevision) {
+            return true
+        }
+        emittedRevisions[message.normalizedID] = revision
+        return false
+    }
+
+    private fun recordDelivered(queued: QueuedEvent) {
+        val latencyNanos = currentTimeNanos() - queued.enqueuedNanos
+        deliveredEvents.incrementAndGet()
+        totalLatencyNanos.addAndGet(latencyNanos)
+        maxLatencyNanos.accumulateAndGet(latencyNanos) { max, current -> maxOf(max, current) }
+    }
+}
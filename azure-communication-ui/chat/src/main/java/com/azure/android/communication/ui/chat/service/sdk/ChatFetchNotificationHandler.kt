@@ -10,6 +10,8 @@ import com.azure.android.communication.chat.models.ListChatMessagesOptions
 import com.azure.android.communication.ui.chat.models.into
 import com.azure.android.communication.ui.chat.models.ChatEventModel
 import com.azure.android.communication.ui.chat.models.ChatThreadInfoModel
+import com.azure.android.communication.ui.chat.models.MessageInfoModel
+import com.azure.android.communication.ui.chat.models.MessagesCatchUpInfoModel
 import com.azure.android.communication.ui.chat.models.RemoteParticipantInfoModel
 import com.azure.android.communication.ui.chat.models.RemoteParticipantsInfoModel
 import com.azure.android.communication.ui.chat.service.sdk.wrapper.into
@@ -56,7 +58,10 @@ internal class ChatFetchNotificationHandler(coroutineContextProvider: CoroutineC
         coroutineScope.cancel()
     }
 
+    // Text messages of all pages are sent as one catch up event, so the repository applies
+    // them in one pass instead of one event per message
     private fun fetchMessagesList(from: OffsetDateTime?) {
+        val catchUpMessages = ArrayList<MessageInfoModel>()
         try {
             listChatMessagesOptions.startTime = from
 
@@ -103,33 +108,7 @@ internal class ChatFetchNotificationHandler(coroutineContextProvider: CoroutineC
                     }
 
                     if (message.type == ChatMessageType.HTML || message.type == ChatMessageType.TEXT) {
-                        if (message.deletedOn != null) {
-                            val infoModel = ChatEventModel(
-                                eventType = ChatEventType.CHAT_MESSAGE_DELETED.into(),
-                                infoModel = message.into(localParticipantIdentifier),
-                                eventReceivedOffsetDateTime = null
-                            )
-                            eventSubscriber(infoModel)
-                        }
-
-                        if (message.editedOn != null) {
-                            val infoModel = ChatEventModel(
-                                eventType = ChatEventType.CHAT_MESSAGE_EDITED.into(),
-                                infoModel = message.into(localParticipantIdentifier),
-                                eventReceivedOffsetDateTime = null
-                            )
-                            eventSubscriber(infoModel)
-                        }
-
-                        // new message
-                        if (message.deletedOn == null && message.editedOn == null) {
-                            val infoModel = ChatEventModel(
-                                eventType = ChatEventType.CHAT_MESSAGE_RECEIVED.into(),
-                                infoModel = message.into(localParticipantIdentifier),
-                                eventReceivedOffsetDateTime = null
-                            )
-                            eventSubscriber(infoModel)
-                        }
+                        catchUpMessages.add(message.into(localParticipantIdentifier))
                     }
 
                     if (message.type == ChatMessageType.TOPIC_UPDATED) {
@@ -149,5 +128,15 @@ internal class ChatFetchNotificationHandler(coroutineContextProvider: CoroutineC
         } catch (ex: Exception) {
             // TODO: notify sdk wrapper about error in future
         }
+
+        if (catchUpMessages.isNotEmpty()) {
+            eventSubscriber(
+                ChatEventModel(
+                    eventType = ChatEventType.CHAT_MESSAGE_RECEIVED.into(),
+                    infoModel = MessagesCatchUpInfoModel(catchUpMessages),
+                    eventReceivedOffsetDateTime = null
+                )
+            )
+        }
     }
 }
@@ -18,7 +18,8 @@ internal interface ChatSDK {
     fun initialization(): CompletableFuture<Void>
     fun destroy()
     fun getAdminUserId(): String
-    fun requestPreviousPage()
+    // scrollItemsPerSecond sizes the look-ahead, 0 fetches a single page
+    fun requestPreviousPage(scrollItemsPerSecond: Float = 0f)
     fun requestChatParticipants()
 
     fun startEventNotifications()
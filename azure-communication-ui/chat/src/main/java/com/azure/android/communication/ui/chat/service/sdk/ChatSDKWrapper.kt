@@ -20,6 +20,7 @@ import com.azure.android.communication.ui.chat.models.ChatEventModel
 import com.azure.android.communication.ui.chat.models.ChatThreadInfoModel
 import com.azure.android.communication.ui.chat.models.MessageInfoModel
 import com.azure.android.communication.ui.chat.models.MessagesPageModel
+import com.azure.android.communication.ui.chat.models.OUTBOUND_INTERNAL_ID_METADATA_KEY
 import com.azure.android.communication.ui.chat.models.into
 import com.azure.android.communication.ui.chat.redux.state.ChatStatus
 import com.azure.android.communication.ui.chat.service.sdk.wrapper.ChatEventType
@@ -32,11 +33,11 @@ import com.azure.android.core.util.RequestContext
 import java9.util.concurrent.CompletableFuture
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.cancel
+import kotlinx.coroutines.channels.BufferOverflow
 import kotlinx.coroutines.flow.MutableSharedFlow
 import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.flow.SharedFlow
 import kotlinx.coroutines.flow.StateFlow
-import kotlinx.coroutines.withContext
 import kotlinx.coroutines.launch
 import kotlinx.coroutines.asCoroutineDispatcher
 import org.threeten.bp.OffsetDateTime
@@ -49,14 +50,21 @@ internal class ChatSDKWrapper(
     private val chatEventHandler: ChatEventHandler,
     private val chatFetchNotificationHandler: ChatFetchNotificationHandler,
     private val logger: Logger,
+    eventQueueCapacity: Int = DEFAULT_EVENT_QUEUE_CAPACITY,
+    eventQueueOverflow: BufferOverflow = BufferOverflow.SUSPEND,
 ) : ChatSDK {
 
     companion object {
         const val PAGE_MESSAGES_SIZE = 50
+        private const val DEFAULT_EVENT_QUEUE_CAPACITY = 512
         private const val RESPONSE_SUCCESS_CODE = 200
     }
 
     private val coroutineScope = CoroutineScope((coroutineContextProvider.Default))
+
+    // Sends block on the network, on the IO pool queued sends of several threads overlap
+    private val ioCoroutineScope = CoroutineScope(coroutineContextProvider.IO)
+    private val chatEventPipeline = ChatEventPipeline(coroutineScope, eventQueueCapacity, eventQueueOverflow)
     private val singleThreadedContext = Executors.newSingleThreadExecutor()
 
     private lateinit var threadClient: ChatThreadClient
@@ -73,23 +81,17 @@ internal class ChatSDKWrapper(
     private var startedEventNotifications = false
 
     private val options = ListChatMessagesOptions().apply { maxPageSize = PAGE_MESSAGES_SIZE }
-    private var pagingContinuationToken: String? = null
     private var adminUserId: String = ""
 
-    @Volatile
-    private var allPagesFetched: Boolean = false
-
     private val chatStatusStateFlow: MutableStateFlow<ChatStatus> =
         MutableStateFlow(ChatStatus.NONE)
     private val messagesSharedFlow: MutableSharedFlow<MessagesPageModel> =
         MutableSharedFlow()
-    private val chatEventModelSharedFlow: MutableSharedFlow<ChatEventModel> =
-        MutableSharedFlow()
 
     override fun getChatStatusStateFlow(): StateFlow<ChatStatus> = chatStatusStateFlow
     override fun getMessagesPageSharedFlow(): SharedFlow<MessagesPageModel> = messagesSharedFlow
     override fun getChatEventSharedFlow(): SharedFlow<ChatEventModel> =
-        chatEventModelSharedFlow
+        chatEventPipeline.events
 
     override fun initialization(): CompletableFuture<Void> {
         val future = CompletableFuture<Void>()
@@ -124,7 +126,10 @@ internal class ChatSDKWrapper(
         chatEventHandler.stop(chatClient)
         stopEventNotifications()
         singleThreadedContext.shutdown()
+        chatEventPipeline.close()
+        logger.debug("Chat event pipeline ${chatEventPipeline.getMetrics()}")
         coroutineScope.cancel()
+        ioCoroutineScope.cancel()
         chatFetchNotificationHandler.stop()
     }
 
@@ -132,40 +137,29 @@ internal class ChatSDKWrapper(
         return adminUserId
     }
 
-    override fun requestPreviousPage() {
-        // coroutine to make sure requests are not blocking
-        coroutineScope.launch {
-            withContext(singleThreadedContext.asCoroutineDispatcher()) {
-                var messages: List<MessageInfoModel>? = null
-                var throwable: Throwable? = null
-                if (!allPagesFetched) {
-                    try {
-                        val pagedIterable = threadClient.listMessages(options, RequestContext.NONE)
-                        val pagedResponse = pagedIterable.byPage(pagingContinuationToken)
-
-                        val response = pagedResponse.iterator().next()
-                        response?.apply {
-                            if (continuationToken == null) {
-                                allPagesFetched = true
-                            }
-                            pagingContinuationToken = continuationToken
-                            messages = elements.map { it.into(chatConfig.identity) }
-                        }
-                    } catch (ex: Exception) {
-                        throwable = ex
-                    }
-                }
-                coroutineScope.launch {
-                    messagesSharedFlow.emit(
-                        MessagesPageModel(
-                            messages = messages,
-                            throwable = throwable,
-                            allPagesFetched = allPagesFetched
-                        )
+    private val messagePagePrefetcher = MessagePagePrefetcher(
+        coroutineScope = coroutineScope,
+        policy = MessagePagePrefetchPolicy(PAGE_MESSAGES_SIZE),
+        fetchPage = { continuationToken ->
+            threadClient.listMessages(options, RequestContext.NONE)
+                .byPage(continuationToken)
+                .iterator()
+                .next()
+                ?.let { response ->
+                    // pages are newest first
+                    MessageHistoryPage(
+                        response.elements.map { it.into(chatConfig.identity) },
+                        response.continuationToken,
                     )
                 }
-            }
-        }
+        },
+        onPage = { messagesSharedFlow.emit(it) },
+        // coroutine to make sure requests are not blocking
+        fetchContext = singleThreadedContext.asCoroutineDispatcher(),
+    )
+
+    override fun requestPreviousPage(scrollItemsPerSecond: Float) {
+        messagePagePrefetcher.request(scrollItemsPerSecond)
     }
 
     override fun sendMessage(
@@ -173,11 +167,12 @@ internal class ChatSDKWrapper(
     ): CompletableFuture<SendChatMessageResult> {
         val future = CompletableFuture<SendChatMessageResult>()
         // coroutine to make sure requests are not blocking
-        coroutineScope.launch {
+        ioCoroutineScope.launch {
             val chatMessageOptions = SendChatMessageOptions()
                 .setType(messageInfoModel.messageType!!.into())
                 .setContent(messageInfoModel.content)
                 .setSenderDisplayName(senderDisplayName)
+                .setMetadata(mapOf(OUTBOUND_INTERNAL_ID_METADATA_KEY to messageInfoModel.normalizedID.toString()))
 
             try {
                 val response = threadClient.sendMessageWithResponse(
@@ -189,6 +184,9 @@ internal class ChatSDKWrapper(
                 future.completeExceptionally(ex)
                 logger.debug("sendMessage failed.", ex)
             }
+        }.invokeOnCompletion {
+            // a send cancelled by destroy() before it ran still has to settle its future
+            if (it != null) future.completeExceptionally(it)
         }
         return future
     }
@@ -374,8 +372,6 @@ internal class ChatSDKWrapper(
     }
 
     private fun onChatEventReceived(infoModel: ChatEventModel) {
-        coroutineScope.launch {
-            chatEventModelSharedFlow.emit(infoModel)
-        }
+        chatEventPipeline.offer(infoModel)
     }
 }
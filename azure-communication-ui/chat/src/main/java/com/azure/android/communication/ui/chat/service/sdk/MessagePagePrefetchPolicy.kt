@@ -0,0 +1,40 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.chat.service.sdk
+
+import kotlin.math.ceil
+
+// How many history pages to fetch ahead of the scroll position
+//
+// Enough pages are requested to cover the messages scrolled past while a page is in flight,
+// based on the scroll speed of the user and the measured page latency.
+internal class MessagePagePrefetchPolicy(
+    private val pageSize: Int,
+    private val maxLookAheadPages: Int = DEFAULT_MAX_LOOK_AHEAD_PAGES,
+) {
+    companion object {
+        private const val DEFAULT_MAX_LOOK_AHEAD_PAGES = 4
+        private const val INITIAL_PAGE_LATENCY_MILLIS = 500L
+        // Weight of the latest sample in the latency average
+        private const val LATENCY_SMOOTHING = 0.3
+        // Room for latency spikes and flings that speed up
+        private const val LOOK_AHEAD_FACTOR = 2.0
+    }
+
+    @Volatile
+    var pageLatencyMillis: Long = INITIAL_PAGE_LATENCY_MILLIS
+        private set
+
+    fun onPageFetched(latencyMillis: Long) {
+        pageLatencyMillis = (
+            LATENCY_SMOOTHING * latencyMillis + (1 - LATENCY_SMOOTHING) * pageLatencyMillis
+            ).toLong()
+    }
+
+    fun getLookAheadPages(scrollItemsPerSecond: Float): Int {
+        val itemsScrolledWhileFetching =
+            scrollItemsPerSecond * pageLatencyMillis / 1000.0 * LOOK_AHEAD_FACTOR
+        return ceil(itemsScrolledWhileFetching / pageSize).toInt().coerceIn(1, maxLookAheadPages)
+    }
+}
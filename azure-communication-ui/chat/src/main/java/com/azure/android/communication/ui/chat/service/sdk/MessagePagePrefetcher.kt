@@ -0,0 +1,85 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.chat.service.sdk
+
+import android.os.SystemClock
+import com.azure.android.communication.ui.chat.models.MessageInfoModel
+import com.azure.android.communication.ui.chat.models.MessagesPageModel
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.launch
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
+import kotlin.coroutines.CoroutineContext
+import kotlin.coroutines.EmptyCoroutineContext
+
+// One page of history, continuationToken is null on the page with the first message of the thread
+internal class MessageHistoryPage(
+    val messages: List<MessageInfoModel>,
+    val continuationToken: String?,
+)
+
+// Fetches history pages ahead of the scroll position
+//
+// Pages are requested one after another, each continuation token comes with the previous page.
+// Every page is handed to onPage as soon as it arrives, so the page the user is about to reach
+// does not wait for the look-ahead pages behind it. A request made while pages are fetched
+// raises the number of pages the running fetch goes on to.
+internal class MessagePagePrefetcher(
+    private val coroutineScope: CoroutineScope,
+    private val policy: MessagePagePrefetchPolicy,
+    private val fetchPage: (continuationToken: String?) -> MessageHistoryPage?,
+    private val onPage: suspend (MessagesPageModel) -> Unit,
+    private val fetchContext: CoroutineContext = EmptyCoroutineContext,
+    private val elapsedRealtimeMillis: () -> Long = SystemClock::elapsedRealtime,
+) {
+    // Pages still to fetch for the current run, raised by overlapping requests
+    private val pendingPageCount = AtomicInteger(0)
+    private val isFetchingPages = AtomicBoolean(false)
+    private var continuationToken: String? = null
+
+    @Volatile
+    var allPagesFetched = false
+        private set
+
+    fun request(scrollItemsPerSecond: Float) {
+        val lookAheadPages = policy.getLookAheadPages(scrollItemsPerSecond)
+        pendingPageCount.accumulateAndGet(lookAheadPages) { pending, requested -> maxOf(pending, requested) }
+        // A running fetch picks up the raised page count
+        if (isFetchingPages.compareAndSet(false, true)) {
+            fetchPendingPages()
+        }
+    }
+
+    private fun fetchPendingPages() {
+        coroutineScope.launch(fetchContext) {
+            while (!allPagesFetched && pendingPageCount.get() > 0) {
+                val pageModel = try {
+                    val requestStartMillis = elapsedRealtimeMillis()
+                    val page = fetchPage(continuationToken)
+                    policy.onPageFetched(elapsedRealtimeMillis() - requestStartMillis)
+                    page?.let {
+                        continuationToken = it.continuationToken
+                        allPagesFetched = it.continuationToken == null
+                    }
+                    MessagesPageModel(messages = page?.messages, allPagesFetched = allPagesFetched)
+                } catch (ex: Exception) {
+                    MessagesPageModel(messages = null, throwable = ex)
+                }
+                pendingPageCount.decrementAndGet()
+                if (pageModel.throwable != null || allPagesFetched) {
+                    pendingPageCount.set(0)
+                }
+                onPage(pageModel)
+            }
+
+            isFetchingPages.set(false)
+            // A request raised the page count after the loop checked it
+            if (pendingPageCount.get() > 0 && !allPagesFetched &&
+                isFetchingPages.compareAndSet(false, true)
+            ) {
+                fetchPendingPages()
+            }
+        }
+    }
+}
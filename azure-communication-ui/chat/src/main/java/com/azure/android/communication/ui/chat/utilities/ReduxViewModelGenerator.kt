@@ -7,6 +7,10 @@ import com.azure.android.communication.ui.chat.redux.AppStore
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.Job
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.merge
+import kotlinx.coroutines.flow.receiveAsFlow
 import kotlinx.coroutines.launch
 
 /**
@@ -30,11 +34,12 @@ internal class ReduxViewModelGenerator<T, M : Any>(
     private val store: AppStore<T>,
 ) {
     private var storeListeningJob: Job
+    private val refreshRequests = Channel<Unit>(Channel.CONFLATED)
     lateinit var viewModel: M
 
     init {
         storeListeningJob = coroutineScope.launch(Dispatchers.Default) {
-            store.getStateFlow().collect {
+            merge(store.getStateFlow().map { }, refreshRequests.receiveAsFlow()).collect {
                 rebuild(store)
             }
         }
@@ -44,6 +49,11 @@ internal class ReduxViewModelGenerator<T, M : Any>(
         storeListeningJob.cancel()
     }
 
+    // Rebuild for a change the store does not know about, e.g. the date
+    fun refresh() {
+        refreshRequests.trySend(Unit)
+    }
+
     // Rebuild the View Model
     private fun rebuild(store: AppStore<T>) {
         val newState = builder(store)
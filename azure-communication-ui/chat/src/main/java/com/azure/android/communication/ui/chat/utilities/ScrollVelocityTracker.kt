@@ -0,0 +1,40 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.chat.utilities
+
+import kotlin.math.abs
+
+// Smoothed scroll speed of a list in items per second
+//
+// Fed with the first visible index whenever it changes. A pause longer than
+// IDLE_RESET_MILLIS resets the speed, so a new fling does not inherit an old one.
+internal class ScrollVelocityTracker {
+    companion object {
+        private const val IDLE_RESET_MILLIS = 1000L
+        private const val SMOOTHING = 0.5f
+    }
+
+    private var lastIndex = -1
+    private var lastTimeMillis = 0L
+
+    private var itemsPerSecond = 0f
+
+    // The list is not scrolling when the index has not changed for IDLE_RESET_MILLIS
+    fun getItemsPerSecond(timeMillis: Long): Float =
+        if (lastIndex < 0 || timeMillis - lastTimeMillis > IDLE_RESET_MILLIS) 0f else itemsPerSecond
+
+    fun onScroll(firstVisibleItemIndex: Int, timeMillis: Long) {
+        val elapsedMillis = timeMillis - lastTimeMillis
+        if (lastIndex < 0 || elapsedMillis > IDLE_RESET_MILLIS) {
+            itemsPerSecond = 0f
+        } else if (elapsedMillis > 0 && firstVisibleItemIndex != lastIndex) {
+            val sample = abs(firstVisibleItemIndex - lastIndex) * 1000f / elapsedMillis
+            itemsPerSecond = SMOOTHING * sample + (1 - SMOOTHING) * itemsPerSecond
+        } else if (elapsedMillis > 0) {
+            return
+        }
+        lastIndex = firstVisibleItemIndex
+        lastTimeMillis = timeMillis
+    }
+}
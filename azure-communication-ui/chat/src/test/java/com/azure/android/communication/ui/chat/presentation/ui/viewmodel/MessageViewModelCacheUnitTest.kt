@@ -0,0 +1,171 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.chat.presentation.ui.viewmodel
+
+import android.content.Context
+import com.azure.android.communication.ui.chat.models.MessageInfoModel
+import com.azure.android.communication.ui.chat.models.MessageSendStatus
+import com.azure.android.communication.ui.chat.repository.MessageRepository
+import com.azure.android.communication.ui.chat.repository.MessageWatermarks
+import com.azure.android.communication.ui.chat.service.sdk.wrapper.ChatMessageType
+import com.azure.android.communication.ui.chat.service.sdk.wrapper.CommunicationIdentifier
+import org.junit.Assert
+import org.junit.Test
+import org.mockito.kotlin.mock
+import org.threeten.bp.OffsetDateTime
+import org.threeten.bp.ZoneId
+import org.threeten.bp.ZoneOffset
+
+internal class MessageViewModelCacheUnitTest {
+
+    @Test
+    fun messageViewModelCache_build_when_messagesUnchanged_then_reuseViewModels() {
+        // arrange
+        val cache = createCache()
+        val messages = listOf(message("1", "a"), message("2", "a"), message("3", "b"))
+
+        // act
+        val first = cache.build(messages, "local", null, 0L, emptySet(), false)
+        val sameSnapshot = cache.build(messages, "local", null, 0L, emptySet(), false)
+        val second = cache.build(messages.toList(), "local", null, 0L, emptySet(), false)
+
+        // assert
+        Assert.assertSame(first, sameSnapshot)
+        Assert.assertEquals(3, first.size)
+        for (index in messages.indices) {
+            Assert.assertSame(first[index], second[index])
+        }
+        Assert.assertEquals(3L, cache.hits)
+        Assert.assertEquals(3L, cache.misses)
+    }
+
+    @Test
+    fun messageViewModelCache_build_when_messageInsertedOrReadReceiptMoves_then_rebuildOnlyAffectedViewModels() {
+        // arrange
+        val cache = createCache()
+        val message1 = message("1", "local", isCurrentUser = true)
+        val message3 = message("3", "local", isCurrentUser = true)
+        val message4 = message("4", "b")
+        val first = cache.build(listOf(message1, message3, message4), "local", null, 1L, emptySet(), false)
+
+        // act
+        val message2 = message("2", "b")
+        val second = cache.build(listOf(message1, message2, message3, message4), "local", null, 3L, emptySet(), false)
+
+        // assert
+        // message 1 lost the read receipt, message 3 got it and a new previous message
+        Assert.assertNotSame(first[0], second[0])
+        Assert.assertTrue(first[0].showReadReceipt)
+        Assert.assertFalse(second[0].showReadReceipt)
+        Assert.assertTrue(second[2].showReadReceipt)
+        Assert.assertTrue(second[2].showTime)
+        Assert.assertSame(first[2], second[3])
+        Assert.assertEquals(1L, cache.hits)
+    }
+
+    @Test
+    fun messageViewModelCache_build_when_snapshotChangeGiven_then_buildOnlyChangedRange() {
+        // arrange
+        val cache = createCache()
+        val repository = MessageRepository.createOrderStatisticTreeBackedRepository()
+        repository.addPage((1..200).map { message(it.toString(), "a") })
+        repository.refreshSnapshot()
+        val first = build(cache, repository.watermarks)
+
+        // act
+        repository.addMessage(message("201", "b"))
+        repository.refreshSnapshot()
+        val second = build(cache, repository.watermarks)
+
+        // assert
+        Assert.assertEquals(201, second.size)
+        Assert.assertSame(first[199], second[199])
+        Assert.assertTrue(second[200].showUsername)
+        Assert.assertEquals(0L, cache.hits)
+        Assert.assertEquals(201L, cache.misses)
+    }
+
+    @Test
+    fun messageViewModelCache_build_when_readReceiptMovesOnSameSnapshot_then_rebuildOnlyFlaggedViewModels() {
+        // arrange
+        val cache = createCache()
+        val repository = MessageRepository.createOrderStatisticTreeBackedRepository()
+        repository.addPage((1..200).map { message(it.toString(), "local", isCurrentUser = true) })
+        repository.refreshSnapshot()
+        val watermarks = repository.watermarks
+        val first = cache.build(watermarks.messages, "local", 200L, 10L, emptySet(), false)
+
+        // act
+        val second = cache.build(
+            watermarks.messages,
+            "local",
+            200L,
+            20L,
+            emptySet(),
+            false,
+            watermarks.previousMessages,
+            watermarks.change
+        )
+
+        // assert
+        Assert.assertFalse(second[9].showReadReceipt)
+        Assert.assertTrue(second[19].showReadReceipt)
+        Assert.assertSame(first[0], second[0])
+        // the latest local message is looked at again and kept
+        Assert.assertEquals(1L, cache.hits)
+        Assert.assertEquals(202L, cache.misses)
+    }
+
+    @Test
+    fun messageViewModelCache_build_when_timeZoneChanges_then_rebuildDateHeaders() {
+        // arrange
+        var zoneId: ZoneId = ZoneOffset.UTC
+        val cache = MessageViewModelCache(mock<Context>()) { zoneId }
+        // 23:30 UTC and 00:30 UTC the next day, the same day at UTC-2
+        val messages = listOf(
+            message("1", "a", createdOn = OffsetDateTime.of(2020, 1, 1, 23, 30, 0, 0, ZoneOffset.UTC)),
+            message("2", "a", createdOn = OffsetDateTime.of(2020, 1, 2, 0, 30, 0, 0, ZoneOffset.UTC)),
+        )
+        val first = cache.build(messages, "local", null, 0L, emptySet(), false)
+
+        // act
+        zoneId = ZoneOffset.ofHours(-2)
+        val second = cache.build(messages, "local", null, 0L, emptySet(), false)
+
+        // assert
+        Assert.assertNotSame(first, second)
+        Assert.assertNotSame(first[1], second[1])
+        Assert.assertNotNull(first[1].dateHeaderText)
+        Assert.assertNull(second[1].dateHeaderText)
+        Assert.assertEquals(4L, cache.misses)
+    }
+
+    private fun build(cache: MessageViewModelCache, watermarks: MessageWatermarks) = cache.build(
+        watermarks.messages,
+        "local",
+        watermarks.latestLocalUserMessageId,
+        0L,
+        emptySet(),
+        false,
+        watermarks.previousMessages,
+        watermarks.change
+    )
+
+    private fun createCache() = MessageViewModelCache(mock<Context>()) { ZoneOffset.UTC }
+
+    private fun message(
+        id: String,
+        senderId: String,
+        isCurrentUser: Boolean = false,
+        createdOn: OffsetDateTime = OffsetDateTime.of(2020, 1, 1, 12, 0, 0, 0, ZoneOffset.UTC),
+    ) = MessageInfoModel(
+        id = id,
+        content = "Message $id",
+        messageType = ChatMessageType.TEXT,
+        senderCommunicationIdentifier = CommunicationIdentifier.CommunicationUserIdentifier(senderId),
+        createdOn = createdOn,
+        sendStatus = if (isCurrentUser) MessageSendStatus.SENT else null,
+        isCurrentUser = isCurrentUser,
+    )
+}
@@ -5,13 +5,23 @@ package com.azure.android.communication.ui.chat.redux.middleware.repository
 
 import com.azure.android.communication.ui.chat.models.MessageInfoModel
 import com.azure.android.communication.ui.chat.redux.AppStore
+import com.azure.android.communication.ui.chat.redux.action.Action
 import com.azure.android.communication.ui.chat.redux.action.ChatAction
+import com.azure.android.communication.ui.chat.redux.action.RepositoryAction
 import com.azure.android.communication.ui.chat.redux.state.ReduxState
 import com.azure.android.communication.ui.chat.repository.MessageRepository
+import com.azure.android.communication.ui.chat.repository.cache.MessageCache
+import com.azure.android.communication.ui.chat.repository.cache.MessageCacheEvictionPolicy
+import com.azure.android.communication.ui.chat.repository.cache.MessageCacheStore
 import com.azure.android.communication.ui.chat.service.sdk.wrapper.ChatMessageType
 import org.junit.Assert
 import org.junit.Test
+import org.mockito.kotlin.any
+import org.mockito.kotlin.doAnswer
 import org.mockito.kotlin.mock
+import org.threeten.bp.OffsetDateTime
+import org.threeten.bp.ZoneOffset
+import java.util.concurrent.Executor
 
 internal class MessageRepositoryMiddlewareUnitTest {
 
@@ -50,4 +60,223 @@ internal class MessageRepositoryMiddlewareUnitTest {
             nextReceivedAction
         )
     }
+
+    @Test
+    fun messageRepositoryMiddleware_invoke_when_cacheLoaded_then_addMissingAndKeepNewerRevisions() {
+        // arrange
+        val messageRepository = MessageRepository.createOrderStatisticTreeBackedRepository()
+        messageRepository.addMessage(textMessage("2", "Edited on server", version = "20"))
+        val cache = InMemoryMessageCache()
+        cache.save(
+            "local",
+            "thread",
+            listOf(
+                textMessage("1", "Cached only", version = "10"),
+                textMessage("2", "Stale copy", version = "15"),
+                textMessage("3", "Cached edit", version = "30"),
+            )
+        )
+        val middleware = MessageRepositoryMiddlewareImpl(
+            messageRepository,
+            MessageCacheStore(cache, localIdentity = "local", threadId = "thread", executor = Executor { it.run() }) { 0L }
+        )
+        val dispatchedActions = mutableListOf<Action>()
+        val mockAppStore = mock<AppStore<ReduxState>> {
+            on { dispatch(any()) } doAnswer {
+                dispatchedActions.add(it.getArgument(0))
+                Unit
+            }
+        }
+        val dispatch = middleware.invoke(mockAppStore)(fun(_) {})
+
+        // act
+        dispatch(ChatAction.StartChat())
+        dispatch(dispatchedActions.filterIsInstance<RepositoryAction.CacheLoaded>().single())
+        dispatch(ChatAction.MessagesPageReceived(listOf(textMessage("3", "Page before edit", version = "25"))))
+
+        // assert
+        Assert.assertEquals(
+            listOf("Cached only", "Edited on server", "Cached edit"),
+            messageRepository.snapshotList.map { it.content }
+        )
+        Assert.assertEquals("Cached edit", cache.messages[3L]?.content)
+    }
+
+    @Test
+    fun messageRepositoryMiddleware_invoke_when_firstPageNewerThanCache_then_dropCachedMessagesAboveGap() {
+        // arrange
+        val messageRepository = MessageRepository.createOrderStatisticTreeBackedRepository()
+        val cache = InMemoryMessageCache()
+        cache.save("local", "thread", (1..3).map { textMessage("$it", "Cached $it", version = "$it") })
+        val middleware = MessageRepositoryMiddlewareImpl(
+            messageRepository,
+            MessageCacheStore(cache, localIdentity = "local", threadId = "thread", executor = Executor { it.run() }) { 0L }
+        )
+        val dispatchedActions = mutableListOf<Action>()
+        val mockAppStore = mock<AppStore<ReduxState>> {
+            on { dispatch(any()) } doAnswer {
+                dispatchedActions.add(it.getArgument(0))
+                Unit
+            }
+        }
+        val dispatch = middleware.invoke(mockAppStore)(fun(_) {})
+
+        // act
+        dispatch(ChatAction.StartChat())
+        dispatch(dispatchedActions.filterIsInstance<RepositoryAction.CacheLoaded>().single())
+        val beforePage = messageRepository.snapshotList.map { it.content }
+        dispatch(ChatAction.MessagesPageReceived((12 downTo 10).map { textMessage("$it", "Page $it", version = "$it") }))
+
+        // assert
+        Assert.assertEquals(listOf("Cached 1", "Cached 2", "Cached 3"), beforePage)
+        Assert.assertEquals(listOf("Page 10", "Page 11", "Page 12"), messageRepository.snapshotList.map { it.content })
+        Assert.assertEquals(listOf(1L, 2L, 3L, 10L, 11L, 12L), cache.messages.keys.toList())
+    }
+
+    @Test
+    fun messageRepositoryMiddleware_invoke_when_cachedMessagesDeletedOnServer_then_removeOnceCovered() {
+        // arrange
+        val messageRepository = MessageRepository.createOrderStatisticTreeBackedRepository()
+        val cache = InMemoryMessageCache()
+        cache.save("local", "thread", (1..5).map { textMessage("$it", "Cached $it", version = "$it") })
+        val middleware = MessageRepositoryMiddlewareImpl(
+            messageRepository,
+            MessageCacheStore(cache, localIdentity = "local", threadId = "thread", executor = Executor { it.run() }) { 0L }
+        )
+        val dispatchedActions = mutableListOf<Action>()
+        val mockAppStore = mock<AppStore<ReduxState>> {
+            on { dispatch(any()) } doAnswer {
+                dispatchedActions.add(it.getArgument(0))
+                Unit
+            }
+        }
+        val dispatch = middleware.invoke(mockAppStore)(fun(_) {})
+
+        // act
+        dispatch(ChatAction.StartChat())
+        dispatch(dispatchedActions.filterIsInstance<RepositoryAction.CacheLoaded>().single())
+        dispatch(ChatAction.MessagesPageReceived(listOf(5, 4, 2).map { textMessage("$it", "Page $it", version = "$it") }))
+        val afterPage = messageRepository.snapshotList.map { it.normalizedID }
+        dispatch(ChatAction.AllMessagesFetched())
+
+        // assert
+        Assert.assertEquals(listOf(1L, 2L, 4L, 5L), afterPage)
+        Assert.assertEquals(listOf(2L, 4L, 5L), messageRepository.snapshotList.map { it.normalizedID })
+        Assert.assertEquals(listOf(2L, 4L, 5L), cache.messages.keys.toList())
+    }
+
+    @Test
+    fun messageRepositoryMiddleware_invoke_when_catchUpReceived_then_applyLatestRevisionsWithOneUpdate() {
+        // arrange
+        val messageRepository = MessageRepository.createListBackedRepository()
+        messageRepository.addPage(
+            listOf(
+                textMessage("1", "Deleted while away", version = "10"),
+                textMessage("2", "Edited while away", version = "20"),
+                textMessage("3", "Unchanged", version = "30"),
+            )
+        )
+        messageRepository.refreshSnapshot()
+        val middleware = MessageRepositoryMiddlewareImpl(messageRepository)
+        val dispatchedActions = mutableListOf<Action>()
+        val mockAppStore = mock<AppStore<ReduxState>> {
+            on { dispatch(any()) } doAnswer {
+                dispatchedActions.add(it.getArgument(0))
+                Unit
+            }
+        }
+        val dispatch = middleware.invoke(mockAppStore)(fun(_) {})
+
+        // act
+        dispatch(
+            ChatAction.MessagesCatchUpReceived(
+                listOf(
+                    textMessage("4", "Received while away", version = "40"),
+                    textMessage("4", "Received while away", version = "40"),
+                    textMessage("3", "Unchanged", version = "30"),
+                    textMessage("2", "Edited while away", version = "25"),
+                    textMessage("2", "Edited twice while away", version = "26"),
+                    textMessage("1", "Deleted while away", version = "10").copy(
+                        deletedOn = OffsetDateTime.of(2022, 11, 21, 0, 0, 0, 0, ZoneOffset.UTC)
+                    ),
+                    textMessage("5", "Received and edited while away", version = "55").copy(
+                        editedOn = OffsetDateTime.of(2022, 11, 21, 0, 0, 0, 0, ZoneOffset.UTC)
+                    ),
+                )
+            )
+        )
+
+        // assert
+        Assert.assertEquals(
+            listOf("Edited twice while away", "Unchanged", "Received while away", "Received and edited while away"),
+            messageRepository.snapshotList.map { it.content }
+        )
+        Assert.assertEquals(1, dispatchedActions.filterIsInstance<RepositoryAction.RepositoryUpdated>().size)
+    }
+
+    @Test
+    fun messageRepositoryMiddleware_invoke_when_editedLocally_then_pendingUntilServerCopyOfEdit() {
+        // arrange
+        val messageRepository = MessageRepository.createOrderStatisticTreeBackedRepository()
+        messageRepository.addMessage(textMessage("1", "Original", version = "10"))
+        val cache = InMemoryMessageCache()
+        val middleware = MessageRepositoryMiddlewareImpl(
+            messageRepository,
+            MessageCacheStore(cache, localIdentity = "local", threadId = "thread", executor = Executor { it.run() }) { 0L }
+        )
+        val mockAppStore = mock<AppStore<ReduxState>> {}
+        val dispatch = middleware.invoke(mockAppStore)(fun(_) {})
+
+        // act
+        dispatch(ChatAction.MessageEdited(textMessage("1", "Local edit", version = "10"), isLocal = true))
+        val pendingMessage = messageRepository.findMessageById(1)
+        dispatch(ChatAction.MessagesPageReceived(listOf(textMessage("1", "Original", version = "10"))))
+        val afterStalePage = messageRepository.findMessageById(1)
+        dispatch(
+            ChatAction.MessageEdited(
+                textMessage("1", "Local edit", version = "12").copy(
+                    editedOn = OffsetDateTime.of(2022, 11, 21, 0, 0, 0, 0, ZoneOffset.UTC)
+                )
+            )
+        )
+        val serverMessage = messageRepository.findMessageById(1)
+
+        // assert
+        Assert.assertTrue(pendingMessage.isEditPending)
+        Assert.assertEquals(10L, pendingMessage.revision)
+        Assert.assertEquals("Local edit", afterStalePage.content)
+        Assert.assertFalse(serverMessage.isEditPending)
+        Assert.assertEquals("12", serverMessage.version)
+        Assert.assertEquals(listOf("Local edit"), cache.messages.values.map { it.content })
+    }
+
+    private fun textMessage(id: String, content: String, version: String) = MessageInfoModel(
+        id = id,
+        content = content,
+        messageType = ChatMessageType.TEXT,
+        version = version,
+    )
+
+    private class InMemoryMessageCache : MessageCache {
+        val messages = sortedMapOf<Long, MessageInfoModel>()
+
+        override fun load(localIdentity: String, threadId: String, limit: Int, nowMillis: Long) =
+            messages.values.toList().takeLast(limit)
+
+        override fun save(localIdentity: String, threadId: String, messages: List<MessageInfoModel>) {
+            messages.forEach { this.messages[it.normalizedID] = it }
+        }
+
+        override fun remove(localIdentity: String, threadId: String, messageIds: List<Long>) {
+            messageIds.forEach { messages.remove(it) }
+        }
+
+        override fun evict(policy: MessageCacheEvictionPolicy, nowMillis: Long) = Unit
+
+        override fun clear() {
+            messages.clear()
+        }
+
+        override fun close() = Unit
+    }
 }
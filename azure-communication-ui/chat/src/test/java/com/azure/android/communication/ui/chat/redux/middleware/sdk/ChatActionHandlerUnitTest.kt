@@ -20,9 +20,12 @@ import com.azure.android.communication.ui.chat.service.sdk.ChatSDK
 import com.azure.android.communication.ui.chat.service.sdk.wrapper.ChatMessageType
 import com.azure.android.communication.ui.chat.service.sdk.wrapper.SendChatMessageResult
 import java9.util.concurrent.CompletableFuture
+import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.ExperimentalCoroutinesApi
 import kotlinx.coroutines.delay
 import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.test.StandardTestDispatcher
+import kotlinx.coroutines.test.TestScope
 import org.junit.Assert.assertEquals
 import org.junit.Test
 import org.junit.runner.RunWith
@@ -471,7 +474,10 @@ internal class ChatActionHandlerUnitTest : ACSBaseTestCoroutine() {
             val mockChatService: ChatService = mock {
                 on { sendReadReceipt(messageInfoModel.normalizedID.toString()) } doReturn sendReadReceiptCompletableFuture
             }
-            val chatHandler = ChatActionHandler(mockChatService)
+            val chatHandler = ChatActionHandler(
+                mockChatService,
+                outboundSignalScheduler = createOutboundSignalScheduler(mockChatService),
+            )
 
             val action = ChatAction.MessageRead(messageInfoModel.normalizedID.toString())
 
@@ -480,6 +486,7 @@ internal class ChatActionHandlerUnitTest : ACSBaseTestCoroutine() {
 
             // act
             chatHandler.onAction(action, mockAppStore::dispatch, mockAppState)
+            testScheduler.advanceUntilIdle()
             sendReadReceiptCompletableFuture.complete(null)
 
             // assert
@@ -535,7 +542,10 @@ internal class ChatActionHandlerUnitTest : ACSBaseTestCoroutine() {
                 on { sendReadReceipt(messageInfoModel.normalizedID.toString()) } doReturn sendReadReceiptCompletableFuture
             }
 
-            val chatHandler = ChatActionHandler(mockChatService)
+            val chatHandler = ChatActionHandler(
+                mockChatService,
+                outboundSignalScheduler = createOutboundSignalScheduler(mockChatService),
+            )
 
             val action = ChatAction.MessageRead(messageInfoModel.normalizedID.toString())
 
@@ -546,6 +556,7 @@ internal class ChatActionHandlerUnitTest : ACSBaseTestCoroutine() {
 
             // act
             chatHandler.onAction(action, mockAppStore::dispatch, mockAppState)
+            testScheduler.advanceUntilIdle()
             sendReadReceiptCompletableFuture.completeExceptionally(error)
 
             // assert
@@ -664,4 +675,12 @@ internal class ChatActionHandlerUnitTest : ACSBaseTestCoroutine() {
                 verify(mockChatService, times(2)).sendTypingIndicator()
             }
         }
+
+    // read receipts wait for the end of their window, on the virtual time of the test
+    @ExperimentalCoroutinesApi
+    private fun TestScope.createOutboundSignalScheduler(chatService: ChatService) = OutboundSignalScheduler(
+        chatService = chatService,
+        coroutineScope = CoroutineScope(StandardTestDispatcher(testScheduler)),
+        currentTimeMillis = { testScheduler.currentTime },
+    )
 }
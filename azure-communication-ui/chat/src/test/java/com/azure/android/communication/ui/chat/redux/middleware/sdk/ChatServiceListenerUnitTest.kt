@@ -4,21 +4,28 @@
 package com.azure.android.communication.ui.chat.redux.middleware.sdk
 
 import com.azure.android.communication.ui.chat.ACSBaseTestCoroutine
+import com.azure.android.communication.ui.chat.mocking.BaseTestContextProvider
 import com.azure.android.communication.ui.chat.mocking.UnconfinedTestContextProvider
 import com.azure.android.communication.ui.chat.models.ChatEventModel
 import com.azure.android.communication.ui.chat.models.ChatThreadInfoModel
 import com.azure.android.communication.ui.chat.models.LocalParticipantInfoModel
 import com.azure.android.communication.ui.chat.models.MessagesPageModel
+import com.azure.android.communication.ui.chat.models.ParticipantTimestampInfoModel
 import com.azure.android.communication.ui.chat.redux.AppStore
+import com.azure.android.communication.ui.chat.redux.action.Action
 import com.azure.android.communication.ui.chat.redux.action.ChatAction
+import com.azure.android.communication.ui.chat.redux.action.ParticipantAction
 import com.azure.android.communication.ui.chat.redux.state.AppReduxState
 import com.azure.android.communication.ui.chat.redux.state.ChatStatus
 import com.azure.android.communication.ui.chat.redux.state.ReduxState
 import com.azure.android.communication.ui.chat.service.ChatService
 import com.azure.android.communication.ui.chat.service.sdk.wrapper.ChatEventType
+import com.azure.android.communication.ui.chat.service.sdk.wrapper.CommunicationIdentifier
 import kotlinx.coroutines.ExperimentalCoroutinesApi
 import kotlinx.coroutines.flow.MutableSharedFlow
 import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.test.StandardTestDispatcher
+import org.junit.Assert
 import org.junit.Test
 import org.junit.runner.RunWith
 import org.mockito.junit.MockitoJUnitRunner
@@ -100,7 +107,7 @@ class ChatServiceListenerUnitTest : ACSBaseTestCoroutine() {
             verify(
                 mockAppStore,
                 times(1)
-            ).dispatch(argThat { action -> action is ChatAction.TopicUpdated && action.topic == "Topic" })
+            ).dispatchBatch(argThat { actions -> actions.any { it is ChatAction.TopicUpdated && it.topic == "Topic" } })
         }
     }
 
@@ -139,7 +146,109 @@ class ChatServiceListenerUnitTest : ACSBaseTestCoroutine() {
             verify(
                 mockAppStore,
                 times(1)
-            ).dispatch(argThat { action -> action is ChatAction.ThreadDeleted })
+            ).dispatchBatch(argThat { actions -> actions.any { it is ChatAction.ThreadDeleted } })
         }
     }
+
+    @ExperimentalCoroutinesApi
+    @Test
+    fun chatServiceListener_typingIndicators_when_participantsStopTyping_then_removeExpiredInOneAction() {
+        runScopedTest {
+            // arrange
+            val chatEventSharedFlow = MutableSharedFlow<ChatEventModel>(extraBufferCapacity = 8)
+            val mockChatService: ChatService = mock {
+                on { getChatEventSharedFlow() } doReturn chatEventSharedFlow
+            }
+            val handler = ChatServiceListener(
+                mockChatService,
+                BaseTestContextProvider(StandardTestDispatcher(testScheduler))
+            )
+            val dispatched = mutableListOf<Action>()
+            val mockAppStore = mockTypingAppStore(dispatched)
+            handler.subscribe(mockAppStore)
+            testScheduler.runCurrent()
+
+            // act
+            chatEventSharedFlow.emit(typingEvent("A"))
+            chatEventSharedFlow.emit(typingEvent("B"))
+            testScheduler.advanceTimeBy(7_999)
+            testScheduler.runCurrent()
+            val removedBeforeExpiry = dispatched.filterIsInstance<ParticipantAction.RemoveParticipantsTyping>()
+            testScheduler.advanceTimeBy(1_000)
+            testScheduler.runCurrent()
+
+            // assert
+            Assert.assertEquals(0, removedBeforeExpiry.size)
+            val removed = dispatched.filterIsInstance<ParticipantAction.RemoveParticipantsTyping>()
+            Assert.assertEquals(1, removed.size)
+            Assert.assertEquals(setOf("A", "B"), removed.single().participantIds.toSet())
+
+            handler.unsubscribe()
+        }
+    }
+
+    @ExperimentalCoroutinesApi
+    @Test
+    fun chatServiceListener_typingIndicators_when_participantKeepsTyping_then_expiryIsExtended() {
+        runScopedTest {
+            // arrange
+            val chatEventSharedFlow = MutableSharedFlow<ChatEventModel>(extraBufferCapacity = 8)
+            val mockChatService: ChatService = mock {
+                on { getChatEventSharedFlow() } doReturn chatEventSharedFlow
+            }
+            val handler = ChatServiceListener(
+                mockChatService,
+                BaseTestContextProvider(StandardTestDispatcher(testScheduler))
+            )
+            val dispatched = mutableListOf<Action>()
+            val mockAppStore = mockTypingAppStore(dispatched)
+            handler.subscribe(mockAppStore)
+            testScheduler.runCurrent()
+
+            // act
+            chatEventSharedFlow.emit(typingEvent("A"))
+            testScheduler.advanceTimeBy(5_000)
+            testScheduler.runCurrent()
+            chatEventSharedFlow.emit(typingEvent("A"))
+            testScheduler.advanceTimeBy(5_000)
+            testScheduler.runCurrent()
+            val removedAfterFirstTimeout = dispatched.filterIsInstance<ParticipantAction.RemoveParticipantsTyping>()
+            testScheduler.advanceTimeBy(4_000)
+            testScheduler.runCurrent()
+
+            // assert
+            Assert.assertEquals(0, removedAfterFirstTimeout.size)
+            val removed = dispatched.filterIsInstance<ParticipantAction.RemoveParticipantsTyping>()
+            Assert.assertEquals(listOf(listOf("A")), removed.map { it.participantIds })
+
+            handler.unsubscribe()
+        }
+    }
+
+    private fun mockTypingAppStore(dispatched: MutableList<Action>): AppStore<ReduxState> {
+        val initialState = AppReduxState(
+            threadID = "abc:123",
+            localParticipantDisplayName = "you",
+            localParticipantIdentifier = "123"
+        )
+        return mock {
+            on { dispatch(any()) } doAnswer {
+                dispatched.add(it.getArgument(0))
+                Unit
+            }
+            on { dispatchBatch(any()) } doAnswer {
+                dispatched.addAll(it.getArgument<List<Action>>(0))
+                Unit
+            }
+            on { getCurrentState() } doReturn initialState
+        }
+    }
+
+    private fun typingEvent(participantId: String) = ChatEventModel(
+        ChatEventType.TYPING_INDICATOR_RECEIVED,
+        ParticipantTimestampInfoModel(
+            CommunicationIdentifier.UnknownIdentifier(participantId),
+            OffsetDateTime.MIN
+        )
+    )
 }
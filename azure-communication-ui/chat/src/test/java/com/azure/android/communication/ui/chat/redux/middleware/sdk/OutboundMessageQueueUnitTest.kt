@@ -0,0 +1,395 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.chat.redux.middleware.sdk
+
+import com.azure.android.communication.ui.chat.ACSBaseTestCoroutine
+import com.azure.android.communication.ui.chat.models.MessageInfoModel
+import com.azure.android.communication.ui.chat.models.MessageSendStatus
+import com.azure.android.communication.ui.chat.repository.cache.OutboundMessageStore
+import com.azure.android.communication.ui.chat.service.ChatService
+import com.azure.android.communication.ui.chat.service.sdk.wrapper.ChatMessageType
+import com.azure.android.communication.ui.chat.service.sdk.wrapper.SendChatMessageResult
+import java9.util.concurrent.CompletableFuture
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.test.StandardTestDispatcher
+import org.junit.Assert
+import org.junit.Test
+import org.mockito.kotlin.any
+import org.mockito.kotlin.doAnswer
+import org.mockito.kotlin.mock
+import java.util.concurrent.Executor
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+internal class OutboundMessageQueueUnitTest : ACSBaseTestCoroutine() {
+
+    private class InMemoryOutboundMessageStore : OutboundMessageStore {
+        val messages = LinkedHashMap<Pair<String, Long>, MessageInfoModel>()
+
+        override fun loadOutbound(threadId: String) =
+            messages.filterKeys { it.first == threadId }.values.sortedBy { it.normalizedID }
+
+        override fun saveOutbound(threadId: String, message: MessageInfoModel) {
+            messages[Pair(threadId, message.normalizedID)] = message
+        }
+
+        override fun removeOutbound(threadId: String, internalId: Long) {
+            messages.remove(Pair(threadId, internalId))
+        }
+
+        override fun clearOutbound() {
+            messages.clear()
+        }
+    }
+
+    private class RecordingListener : OutboundMessageListener {
+        val events = mutableListOf<String>()
+
+        override fun onSent(message: MessageInfoModel, id: String) {
+            events.add("sent ${message.content} $id")
+        }
+
+        override fun onError(error: Throwable) {
+            events.add("error ${error.message}")
+        }
+
+        override fun onFailed(message: MessageInfoModel) {
+            events.add("failed ${message.content}")
+        }
+
+        override fun onResumed(message: MessageInfoModel) {
+            events.add("resumed ${message.content}")
+        }
+    }
+
+    private val directExecutor = Executor { it.run() }
+
+    private fun message(internalId: Long, content: String) = MessageInfoModel(
+        internalId = internalId.toString(),
+        messageType = ChatMessageType.TEXT,
+        content = content,
+        sendStatus = MessageSendStatus.SENDING,
+        isCurrentUser = true,
+    )
+
+    @Test
+    @ExperimentalCoroutinesApi
+    fun outboundMessageQueue_enqueue_then_sendThreadsConcurrentlyAndEachThreadInOrder() {
+        runScopedTest {
+            // arrange
+            val sent = mutableListOf<String>()
+            val futures = mutableListOf<CompletableFuture<SendChatMessageResult>>()
+            val mockChatService: ChatService = mock {
+                on { sendMessage(any()) } doAnswer {
+                    sent.add(it.getArgument<MessageInfoModel>(0).content!!)
+                    CompletableFuture<SendChatMessageResult>().also { future -> futures.add(future) }
+                }
+            }
+            val store = InMemoryOutboundMessageStore()
+            val queue = OutboundMessageQueue(
+                mockChatService,
+                CoroutineScope(StandardTestDispatcher(testScheduler)),
+                store = store,
+                maxConcurrentSends = 2,
+                storeExecutor = directExecutor,
+            )
+            val listener = RecordingListener()
+
+            // act
+            queue.enqueue("a", message(1, "a1"), listener)
+            queue.enqueue("a", message(2, "a2"), listener)
+            queue.enqueue("b", message(3, "b1"), listener)
+            queue.enqueue("c", message(4, "c1"), listener)
+            queue.enqueue("a", message(1, "a1"), listener)
+            val sentBeforeResponses = sent.toList()
+            val storedBeforeResponses = store.messages.size
+            futures[0].complete(SendChatMessageResult("101"))
+            futures[1].complete(SendChatMessageResult("103"))
+            futures[2].complete(SendChatMessageResult("104"))
+            futures[3].complete(SendChatMessageResult("102"))
+
+            // assert
+            Assert.assertEquals(listOf("a1", "b1"), sentBeforeResponses)
+            Assert.assertEquals(4, storedBeforeResponses)
+            Assert.assertEquals(listOf("a1", "b1", "c1", "a2"), sent)
+            Assert.assertEquals(
+                listOf("sent a1 101", "sent b1 103", "sent c1 104", "sent a2 102"),
+                listener.events
+            )
+            Assert.assertEquals(0, store.messages.size)
+            Assert.assertEquals(4L, queue.getMetrics().sentMessages)
+        }
+    }
+
+    @Test
+    @ExperimentalCoroutinesApi
+    fun outboundMessageQueue_sendFails_then_retryWithBackoffParkAndResumeOnRetryNow() {
+        runScopedTest {
+            // arrange
+            val sendTimes = mutableListOf<Long>()
+            val futures = mutableListOf<CompletableFuture<SendChatMessageResult>>()
+            val mockChatService: ChatService = mock {
+                on { sendMessage(any()) } doAnswer {
+                    sendTimes.add(testScheduler.currentTime)
+                    CompletableFuture<SendChatMessageResult>().also { future -> futures.add(future) }
+                }
+            }
+            val store = InMemoryOutboundMessageStore()
+            val queue = OutboundMessageQueue(
+                mockChatService,
+                CoroutineScope(StandardTestDispatcher(testScheduler)),
+                store = store,
+                maxAttempts = 2,
+                initialBackoffMillis = 100,
+                storeExecutor = directExecutor,
+            )
+            val listener = RecordingListener()
+
+            // act
+            queue.enqueue("a", message(1, "a1"), listener)
+            futures[0].completeExceptionally(Exception("offline"))
+            testScheduler.advanceTimeBy(101)
+            testScheduler.runCurrent()
+            futures[1].completeExceptionally(Exception("offline"))
+            testScheduler.advanceTimeBy(10_000)
+            testScheduler.runCurrent()
+            val sendsWhileParked = sendTimes.size
+            val storedWhileParked = store.messages.size
+            queue.retryNow(listener)
+            futures[2].complete(SendChatMessageResult("101"))
+
+            // assert
+            Assert.assertEquals(2, sendsWhileParked)
+            Assert.assertTrue(sendTimes[1] in 50L..100L)
+            Assert.assertEquals(1, storedWhileParked)
+            Assert.assertEquals(
+                listOf("error offline", "failed a1", "resumed a1", "sent a1 101"),
+                listener.events
+            )
+            Assert.assertEquals(0, store.messages.size)
+            val metrics = queue.getMetrics()
+            Assert.assertEquals(1L, metrics.retriedSends)
+            Assert.assertEquals(1L, metrics.failedMessages)
+        }
+    }
+
+    @Test
+    @ExperimentalCoroutinesApi
+    fun outboundMessageQueue_restoreAndEcho_then_sendStoredFirstAndConfirmOnResponse() {
+        runScopedTest {
+            // arrange
+            val sent = mutableListOf<String>()
+            val futures = mutableListOf<CompletableFuture<SendChatMessageResult>>()
+            val mockChatService: ChatService = mock {
+                on { sendMessage(any()) } doAnswer {
+                    sent.add(it.getArgument<MessageInfoModel>(0).content!!)
+                    CompletableFuture<SendChatMessageResult>().also { future -> futures.add(future) }
+                }
+            }
+            val store = InMemoryOutboundMessageStore()
+            store.saveOutbound("a", message(1, "a1"))
+            val queue = OutboundMessageQueue(
+                mockChatService,
+                CoroutineScope(StandardTestDispatcher(testScheduler)),
+                store = store,
+                storeExecutor = directExecutor,
+            )
+            val listener = RecordingListener()
+
+            // act
+            queue.restore("a", listener)
+            queue.enqueue("a", message(2, "a2"), listener)
+            queue.onMessageReceived(echo("101", "a1", outboundInternalId = 1))
+            val eventsAfterEcho = listener.events.toList()
+            val sentBeforeResponse = sent.toList()
+            futures[0].complete(SendChatMessageResult("101"))
+            futures[1].complete(SendChatMessageResult("102"))
+
+            // assert
+            Assert.assertEquals(listOf("resumed a1"), eventsAfterEcho)
+            Assert.assertEquals(listOf("a1"), sentBeforeResponse)
+            Assert.assertEquals(listOf("a1", "a2"), sent)
+            Assert.assertEquals(
+                listOf("resumed a1", "sent a1 101", "sent a2 102"),
+                listener.events
+            )
+            Assert.assertEquals(0, store.messages.size)
+            Assert.assertEquals(1L, queue.getMetrics().reconciledMessages)
+        }
+    }
+
+    @Test
+    @ExperimentalCoroutinesApi
+    fun outboundMessageQueue_echoOfSameContent_when_sendFails_then_messageStaysQueued() {
+        runScopedTest {
+            // arrange
+            val futures = mutableListOf<CompletableFuture<SendChatMessageResult>>()
+            val mockChatService: ChatService = mock {
+                on { sendMessage(any()) } doAnswer {
+                    CompletableFuture<SendChatMessageResult>().also { future -> futures.add(future) }
+                }
+            }
+            val store = InMemoryOutboundMessageStore()
+            val queue = OutboundMessageQueue(
+                mockChatService,
+                CoroutineScope(StandardTestDispatcher(testScheduler)),
+                store = store,
+                initialBackoffMillis = 100,
+                storeExecutor = directExecutor,
+            )
+            val listener = RecordingListener()
+
+            // act
+            queue.enqueue("a", message(1, "hi"), listener)
+            // the same text sent from another device of the user
+            queue.onMessageReceived(echo("201", "hi"))
+            futures[0].completeExceptionally(Exception("offline"))
+            testScheduler.advanceTimeBy(101)
+            testScheduler.runCurrent()
+            futures[1].complete(SendChatMessageResult("202"))
+
+            // assert
+            Assert.assertEquals(listOf("error offline", "sent hi 202"), listener.events)
+            Assert.assertEquals(0, store.messages.size)
+            Assert.assertEquals(0L, queue.getMetrics().reconciledMessages)
+        }
+    }
+
+    @Test
+    @ExperimentalCoroutinesApi
+    fun outboundMessageQueue_sendRejected_then_failMessageAndSendNext() {
+        runScopedTest {
+            // arrange
+            val sent = mutableListOf<String>()
+            val futures = mutableListOf<CompletableFuture<SendChatMessageResult>>()
+            val mockChatService: ChatService = mock {
+                on { sendMessage(any()) } doAnswer {
+                    sent.add(it.getArgument<MessageInfoModel>(0).content!!)
+                    CompletableFuture<SendChatMessageResult>().also { future -> futures.add(future) }
+                }
+            }
+            val store = InMemoryOutboundMessageStore()
+            val queue = OutboundMessageQueue(
+                mockChatService,
+                CoroutineScope(StandardTestDispatcher(testScheduler)),
+                store = store,
+                storeExecutor = directExecutor,
+                isRetryable = { it.message != "rejected" },
+            )
+            val listener = RecordingListener()
+
+            // act
+            queue.enqueue("a", message(1, "a1"), listener)
+            queue.enqueue("a", message(2, "a2"), listener)
+            futures[0].completeExceptionally(Exception("rejected"))
+            futures[1].complete(SendChatMessageResult("102"))
+
+            // assert
+            Assert.assertEquals(listOf("a1", "a2"), sent)
+            Assert.assertEquals(
+                listOf("error rejected", "failed a1", "sent a2 102"),
+                listener.events
+            )
+            Assert.assertEquals(0, store.messages.size)
+            Assert.assertEquals(0L, queue.getMetrics().retriedSends)
+            Assert.assertEquals(1L, queue.getMetrics().failedMessages)
+        }
+    }
+
+    @Test
+    @ExperimentalCoroutinesApi
+    fun outboundMessageQueue_echo_when_sendFailsOrWaitsForRetry_then_confirmWithoutResending() {
+        runScopedTest {
+            // arrange
+            val sent = mutableListOf<String>()
+            val futures = mutableListOf<CompletableFuture<SendChatMessageResult>>()
+            val mockChatService: ChatService = mock {
+                on { sendMessage(any()) } doAnswer {
+                    sent.add(it.getArgument<MessageInfoModel>(0).content!!)
+                    CompletableFuture<SendChatMessageResult>().also { future -> futures.add(future) }
+                }
+            }
+            val store = InMemoryOutboundMessageStore()
+            val queue = OutboundMessageQueue(
+                mockChatService,
+                CoroutineScope(StandardTestDispatcher(testScheduler)),
+                store = store,
+                initialBackoffMillis = 100,
+                storeExecutor = directExecutor,
+            )
+            val listener = RecordingListener()
+
+            // act
+            queue.enqueue("a", message(1, "a1"), listener)
+            queue.enqueue("b", message(2, "b1"), listener)
+            // a1 reached the server but its send timed out
+            queue.onMessageReceived(echo("101", "a1", outboundInternalId = 1))
+            futures[0].completeExceptionally(Exception("timeout"))
+            // b1 too, and its echo arrives while it waits for the retry
+            futures[1].completeExceptionally(Exception("timeout"))
+            queue.onMessageReceived(echo("102", "b1", outboundInternalId = 2))
+            testScheduler.advanceTimeBy(10_000)
+            testScheduler.runCurrent()
+
+            // assert
+            Assert.assertEquals(listOf("a1", "b1"), sent)
+            Assert.assertEquals(
+                listOf("sent a1 101", "error timeout", "sent b1 102"),
+                listener.events
+            )
+            Assert.assertEquals(0, store.messages.size)
+            Assert.assertEquals(2L, queue.getMetrics().reconciledMessages)
+        }
+    }
+
+    @Test
+    @ExperimentalCoroutinesApi
+    fun outboundMessageQueue_close_when_sendInFlight_then_storeResultBeforeOnClosed() {
+        runScopedTest {
+            // arrange
+            val futures = mutableListOf<CompletableFuture<SendChatMessageResult>>()
+            val mockChatService: ChatService = mock {
+                on { sendMessage(any()) } doAnswer {
+                    CompletableFuture<SendChatMessageResult>().also { future -> futures.add(future) }
+                }
+            }
+            val store = InMemoryOutboundMessageStore()
+            val storeExecutor = Executors.newSingleThreadExecutor()
+            val queue = OutboundMessageQueue(
+                mockChatService,
+                CoroutineScope(StandardTestDispatcher(testScheduler)),
+                store = store,
+                maxConcurrentSends = 1,
+                storeExecutor = storeExecutor,
+            )
+            val listener = RecordingListener()
+            var storedWhenClosed: Int? = null
+
+            // act
+            queue.enqueue("a", message(1, "a1"), listener)
+            queue.enqueue("a", message(2, "a2"), listener)
+            queue.close { storedWhenClosed = store.messages.size }
+            val isTerminatedWhileInFlight = storeExecutor.awaitTermination(100, TimeUnit.MILLISECONDS)
+            futures[0].complete(SendChatMessageResult("101"))
+            val isTerminated = storeExecutor.awaitTermination(1, TimeUnit.SECONDS)
+
+            // assert
+            Assert.assertFalse(isTerminatedWhileInFlight)
+            Assert.assertTrue(isTerminated)
+            Assert.assertEquals(1, futures.size)
+            Assert.assertEquals(listOf("sent a1 101"), listener.events)
+            Assert.assertEquals(1, storedWhenClosed)
+            Assert.assertEquals(listOf(2L), store.messages.keys.map { it.second })
+        }
+    }
+
+    private fun echo(id: String, content: String, outboundInternalId: Long? = null) = MessageInfoModel(
+        id = id,
+        messageType = ChatMessageType.TEXT,
+        content = content,
+        isCurrentUser = true,
+        outboundInternalId = outboundInternalId?.toString(),
+    )
+}
@@ -0,0 +1,177 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.chat.redux.middleware.sdk
+
+import com.azure.android.communication.ui.chat.ACSBaseTestCoroutine
+import com.azure.android.communication.ui.chat.service.ChatService
+import java9.util.concurrent.CompletableFuture
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.test.StandardTestDispatcher
+import org.junit.Assert
+import org.junit.Test
+import org.mockito.kotlin.any
+import org.mockito.kotlin.doAnswer
+import org.mockito.kotlin.mock
+
+internal class OutboundSignalSchedulerUnitTest : ACSBaseTestCoroutine() {
+
+    @Test
+    @ExperimentalCoroutinesApi
+    fun outboundSignalScheduler_onMessageRead_when_scrolling_then_sendLatestMessageAtEndOfWindow() {
+        runScopedTest {
+            // arrange
+            val sentIds = mutableListOf<String>()
+            val sendTimes = mutableListOf<Long>()
+            val futures = mutableListOf<CompletableFuture<Void>>()
+            val mockChatService: ChatService = mock {
+                on { sendReadReceipt(any()) } doAnswer {
+                    sentIds.add(it.getArgument(0))
+                    sendTimes.add(testScheduler.currentTime)
+                    CompletableFuture<Void>().also { future -> futures.add(future) }
+                }
+            }
+            val scheduler = OutboundSignalScheduler(
+                mockChatService,
+                CoroutineScope(StandardTestDispatcher(testScheduler)),
+                readReceiptWindowMillis = 1000,
+                currentTimeMillis = { testScheduler.currentTime },
+            )
+            val failures = mutableListOf<Throwable>()
+
+            // act
+            listOf("1", "2", "3", "4").forEach { scheduler.onMessageRead(it) { failures.add(it) } }
+            testScheduler.advanceTimeBy(999)
+            testScheduler.runCurrent()
+            val sentWithinWindow = sentIds.toList()
+            testScheduler.advanceTimeBy(1)
+            testScheduler.runCurrent()
+            futures.single().complete(null)
+            listOf("3", "4", "5", "6").forEach { scheduler.onMessageRead(it) { failures.add(it) } }
+            testScheduler.advanceTimeBy(5000)
+            testScheduler.runCurrent()
+
+            // assert
+            Assert.assertEquals(emptyList<String>(), sentWithinWindow)
+            Assert.assertEquals(listOf("4", "6"), sentIds)
+            Assert.assertEquals(listOf(1000L, 2000L), sendTimes)
+            Assert.assertEquals(0, failures.size)
+            val metrics = scheduler.getMetrics()
+            Assert.assertEquals(2L, metrics.sentReadReceipts)
+            Assert.assertEquals(6L, metrics.suppressedReadReceipts)
+        }
+    }
+
+    @Test
+    @ExperimentalCoroutinesApi
+    fun outboundSignalScheduler_onMessageRead_when_readWhileInFlight_then_sendAfterItsOwnWindow() {
+        runScopedTest {
+            // arrange
+            val sendTimes = mutableListOf<Long>()
+            val futures = mutableListOf<CompletableFuture<Void>>()
+            val mockChatService: ChatService = mock {
+                on { sendReadReceipt(any()) } doAnswer {
+                    sendTimes.add(testScheduler.currentTime)
+                    CompletableFuture<Void>().also { future -> futures.add(future) }
+                }
+            }
+            val scheduler = OutboundSignalScheduler(
+                mockChatService,
+                CoroutineScope(StandardTestDispatcher(testScheduler)),
+                readReceiptWindowMillis = 500,
+                currentTimeMillis = { testScheduler.currentTime },
+            )
+
+            // act
+            scheduler.onMessageRead("1") { }
+            testScheduler.advanceTimeBy(500)
+            testScheduler.runCurrent()
+            testScheduler.advanceTimeBy(100)
+            scheduler.onMessageRead("2") { }
+            testScheduler.advanceTimeBy(800)
+            futures.single().complete(null)
+            testScheduler.advanceTimeBy(1000)
+            testScheduler.runCurrent()
+
+            // assert
+            // the second receipt waited longer than its window for the first one, it is sent at once
+            Assert.assertEquals(listOf(500L, 1400L), sendTimes)
+        }
+    }
+
+    @Test
+    @ExperimentalCoroutinesApi
+    fun outboundSignalScheduler_onMessageRead_when_sendFails_then_retryWithBackoffAndReportOnce() {
+        runScopedTest {
+            // arrange
+            val sendTimes = mutableListOf<Long>()
+            val futures = mutableListOf<CompletableFuture<Void>>()
+            val mockChatService: ChatService = mock {
+                on { sendReadReceipt(any()) } doAnswer {
+                    sendTimes.add(testScheduler.currentTime)
+                    CompletableFuture<Void>().also { future -> futures.add(future) }
+                }
+            }
+            val scheduler = OutboundSignalScheduler(
+                mockChatService,
+                CoroutineScope(StandardTestDispatcher(testScheduler)),
+                readReceiptWindowMillis = 0,
+                initialBackoffMillis = 100,
+                currentTimeMillis = { testScheduler.currentTime },
+            )
+            val failures = mutableListOf<Throwable>()
+
+            // act
+            scheduler.onMessageRead("7") { failures.add(it) }
+            futures[0].completeExceptionally(Exception("first"))
+            testScheduler.advanceTimeBy(100)
+            testScheduler.runCurrent()
+            futures[1].completeExceptionally(Exception("second"))
+            testScheduler.advanceTimeBy(200)
+            testScheduler.runCurrent()
+            futures[2].complete(null)
+            scheduler.onMessageRead("7") { failures.add(it) }
+
+            // assert
+            Assert.assertEquals(listOf(0L, 100L, 300L), sendTimes)
+            Assert.assertEquals(listOf("first"), failures.map { it.message })
+            val metrics = scheduler.getMetrics()
+            Assert.assertEquals(3L, metrics.sentReadReceipts)
+            Assert.assertEquals(2L, metrics.retriedReadReceipts)
+            Assert.assertEquals(1L, metrics.suppressedReadReceipts)
+        }
+    }
+
+    @Test
+    @ExperimentalCoroutinesApi
+    fun outboundSignalScheduler_onTyping_when_withinInterval_then_suppress() {
+        runScopedTest {
+            // arrange
+            var sent = 0
+            val mockChatService: ChatService = mock {
+                on { sendTypingIndicator() } doAnswer {
+                    sent++
+                    CompletableFuture.completedFuture(null)
+                }
+            }
+            val scheduler = OutboundSignalScheduler(
+                mockChatService,
+                CoroutineScope(StandardTestDispatcher(testScheduler)),
+                typingNotificationIntervalMillis = 8000,
+                currentTimeMillis = { testScheduler.currentTime },
+            )
+
+            // act
+            scheduler.onTyping { }
+            testScheduler.advanceTimeBy(7999)
+            scheduler.onTyping { }
+            testScheduler.advanceTimeBy(1)
+            scheduler.onTyping { }
+
+            // assert
+            Assert.assertEquals(2, sent)
+            Assert.assertEquals(1L, scheduler.getMetrics().suppressedTypingNotifications)
+        }
+    }
+}
@@ -0,0 +1,52 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.chat.redux.middleware.sdk
+
+import org.junit.Assert
+import org.junit.Test
+
+class TypingIndicatorTimerWheelUnitTest {
+
+    @Test
+    fun typingIndicatorTimerWheel_advance_when_timeoutLongerThanWheel_then_expireOnDeadlineOnly() {
+        // arrange
+        val wheel = TypingIndicatorTimerWheel(wheelSize = 4)
+
+        // act
+        val startedTicking = wheel.schedule("A", timeoutTicks = 2)
+        val alreadyTicking = wheel.schedule("B", timeoutTicks = 6)
+        val ticks = (1..6).map { wheel.advance() }
+
+        // assert
+        Assert.assertTrue(startedTicking)
+        Assert.assertFalse(alreadyTicking)
+        Assert.assertEquals(
+            listOf(emptyList(), listOf("A"), emptyList(), emptyList(), emptyList(), listOf("B")),
+            ticks.map { it.expiredParticipantIds }
+        )
+        Assert.assertEquals(listOf(false, false, false, false, false, true), ticks.map { it.isIdle })
+    }
+
+    @Test
+    fun typingIndicatorTimerWheel_schedule_when_rescheduledOrCancelled_then_expireOnce() {
+        // arrange
+        val wheel = TypingIndicatorTimerWheel()
+        wheel.schedule("A", timeoutTicks = 2)
+        wheel.schedule("B", timeoutTicks = 2)
+        wheel.schedule("C", timeoutTicks = 2)
+
+        // act
+        wheel.advance()
+        wheel.schedule("A", timeoutTicks = 2)
+        wheel.cancel(listOf("B"))
+        val second = wheel.advance()
+        val third = wheel.advance()
+
+        // assert
+        Assert.assertEquals(listOf("C"), second.expiredParticipantIds)
+        Assert.assertEquals(listOf("A"), third.expiredParticipantIds)
+        Assert.assertTrue(third.isIdle)
+        Assert.assertTrue(wheel.schedule("D", timeoutTicks = 2))
+    }
+}
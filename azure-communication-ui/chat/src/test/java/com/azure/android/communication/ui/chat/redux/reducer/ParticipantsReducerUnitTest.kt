@@ -10,6 +10,7 @@ import com.azure.android.communication.ui.chat.models.RemoteParticipantInfoModel
 import com.azure.android.communication.ui.chat.redux.action.ChatAction
 import com.azure.android.communication.ui.chat.redux.action.ParticipantAction
 import com.azure.android.communication.ui.chat.redux.state.ParticipantsState
+import com.azure.android.communication.ui.chat.redux.state.ReadReceiptMap
 import com.azure.android.communication.ui.chat.service.sdk.wrapper.ChatMessageType
 import com.azure.android.communication.ui.chat.service.sdk.wrapper.CommunicationIdentifier
 import org.junit.Assert
@@ -50,33 +51,15 @@ class ParticipantsReducerUnitTest {
             participants = listOf(userOne, userTwo).associateBy { it.userIdentifier.id },
             participantTyping = mapOf(
                 Pair(
-                    userOne.userIdentifier.id + OffsetDateTime.of(
-                        2022,
-                        3,
-                        26,
-                        1,
-                        0,
-                        1,
-                        0,
-                        org.threeten.bp.ZoneOffset.ofHours(2)
-                    ),
+                    userOne.userIdentifier.id,
                     userOne.displayName!!
                 ),
                 Pair(
-                    userTwo.userIdentifier.id + OffsetDateTime.of(
-                        2022,
-                        3,
-                        26,
-                        1,
-                        0,
-                        1,
-                        0,
-                        org.threeten.bp.ZoneOffset.ofHours(2)
-                    ),
+                    userTwo.userIdentifier.id,
                     userTwo.displayName!!
                 )
             ),
-            participantsReadReceiptMap = mapOf(
+            participantsReadReceiptMap = ReadReceiptMap.from(mapOf(
                 Pair(
                     userOne.userIdentifier.id,
                     OffsetDateTime.of(
@@ -90,7 +73,7 @@ class ParticipantsReducerUnitTest {
                         org.threeten.bp.ZoneOffset.ofHours(2)
                     )
                 )
-            ),
+            )),
             latestReadMessageTimestamp = OffsetDateTime.of(
                 2022,
                 3,
@@ -125,33 +108,15 @@ class ParticipantsReducerUnitTest {
             participants = listOf(userOne, userTwo).associateBy { it.userIdentifier.id },
             participantTyping = mapOf(
                 Pair(
-                    userOne.userIdentifier.id + OffsetDateTime.of(
-                        2022,
-                        3,
-                        26,
-                        1,
-                        0,
-                        1,
-                        0,
-                        org.threeten.bp.ZoneOffset.ofHours(2)
-                    ),
+                    userOne.userIdentifier.id,
                     userOne.displayName!!
                 ),
                 Pair(
-                    userTwo.userIdentifier.id + OffsetDateTime.of(
-                        2022,
-                        3,
-                        26,
-                        1,
-                        0,
-                        1,
-                        0,
-                        org.threeten.bp.ZoneOffset.ofHours(2)
-                    ),
+                    userTwo.userIdentifier.id,
                     userTwo.displayName!!
                 )
             ),
-            participantsReadReceiptMap = mapOf(
+            participantsReadReceiptMap = ReadReceiptMap.from(mapOf(
                 Pair(
                     userOne.userIdentifier.id,
                     OffsetDateTime.of(
@@ -165,7 +130,7 @@ class ParticipantsReducerUnitTest {
                         org.threeten.bp.ZoneOffset.ofHours(2)
                     )
                 )
-            ),
+            )),
             latestReadMessageTimestamp = OffsetDateTime.of(
                 2022,
                 3,
@@ -210,33 +175,15 @@ class ParticipantsReducerUnitTest {
             participants = listOf(userOne, userTwo).associateBy { it.userIdentifier.id },
             participantTyping = mapOf(
                 Pair(
-                    userOne.userIdentifier.id + OffsetDateTime.of(
-                        2022,
-                        3,
-                        26,
-                        1,
-                        0,
-                        1,
-                        0,
-                        org.threeten.bp.ZoneOffset.ofHours(2)
-                    ),
+                    userOne.userIdentifier.id,
                     userOne.displayName!!
                 ),
                 Pair(
-                    userTwo.userIdentifier.id + OffsetDateTime.of(
-                        2022,
-                        3,
-                        26,
-                        1,
-                        0,
-                        1,
-                        0,
-                        org.threeten.bp.ZoneOffset.ofHours(2)
-                    ),
+                    userTwo.userIdentifier.id,
                     userTwo.displayName!!
                 )
             ),
-            participantsReadReceiptMap = mapOf(
+            participantsReadReceiptMap = ReadReceiptMap.from(mapOf(
                 Pair(
                     userOne.userIdentifier.id,
                     OffsetDateTime.of(
@@ -250,7 +197,7 @@ class ParticipantsReducerUnitTest {
                         org.threeten.bp.ZoneOffset.ofHours(2)
                     )
                 )
-            ),
+            )),
             latestReadMessageTimestamp = OffsetDateTime.of(
                 2022,
                 3,
@@ -300,33 +247,15 @@ class ParticipantsReducerUnitTest {
             ).associateBy { it.userIdentifier.id },
             participantTyping = mapOf(
                 Pair(
-                    userOne.userIdentifier.id + OffsetDateTime.of(
-                        2022,
-                        3,
-                        26,
-                        1,
-                        0,
-                        1,
-                        0,
-                        org.threeten.bp.ZoneOffset.ofHours(2)
-                    ),
+                    userOne.userIdentifier.id,
                     userOne.displayName!!
                 ),
                 Pair(
-                    userTwo.userIdentifier.id + OffsetDateTime.of(
-                        2022,
-                        3,
-                        26,
-                        1,
-                        0,
-                        1,
-                        0,
-                        org.threeten.bp.ZoneOffset.ofHours(2)
-                    ),
+                    userTwo.userIdentifier.id,
                     userTwo.displayName!!
                 )
             ),
-            participantsReadReceiptMap = mapOf(
+            participantsReadReceiptMap = ReadReceiptMap.from(mapOf(
                 Pair(
                     userOne.userIdentifier.id,
                     OffsetDateTime.of(
@@ -340,7 +269,7 @@ class ParticipantsReducerUnitTest {
                         org.threeten.bp.ZoneOffset.ofHours(2)
                     )
                 )
-            ),
+            )),
             latestReadMessageTimestamp = OffsetDateTime.of(
                 2022,
                 3,
@@ -376,7 +305,7 @@ class ParticipantsReducerUnitTest {
         val previousState = ParticipantsState(
             participants = listOf(userOne, userTwo).associateBy { it.userIdentifier.id },
             participantTyping = mapOf(),
-            participantsReadReceiptMap = mapOf(),
+            participantsReadReceiptMap = ReadReceiptMap.EMPTY,
             latestReadMessageTimestamp = OffsetDateTime.MIN,
             localParticipantInfoModel,
             mutableSetOf(),
@@ -396,16 +325,7 @@ class ParticipantsReducerUnitTest {
             "invalid participantTyping: ${newState.participantTyping}",
             mapOf(
                 Pair(
-                    userOne.userIdentifier.id + OffsetDateTime.of(
-                        2001,
-                        3,
-                        26,
-                        1,
-                        0,
-                        1,
-                        0,
-                        org.threeten.bp.ZoneOffset.ofHours(2)
-                    ),
+                    userOne.userIdentifier.id,
                     userOne.displayName!!
                 )
             ),
@@ -421,7 +341,7 @@ class ParticipantsReducerUnitTest {
         val previousState = ParticipantsState(
             participants = listOf(userOne, userTwo).associateBy { it.userIdentifier.id },
             participantTyping = mapOf(),
-            participantsReadReceiptMap = mapOf(),
+            participantsReadReceiptMap = ReadReceiptMap.EMPTY,
             latestReadMessageTimestamp = OffsetDateTime.MIN,
             localParticipantInfoModel,
             mutableSetOf(),
@@ -462,20 +382,11 @@ class ParticipantsReducerUnitTest {
             participants = listOf(userOne, userTwo).associateBy { it.userIdentifier.id },
             participantTyping = mapOf(
                 Pair(
-                    userOne.userIdentifier.id + OffsetDateTime.of(
-                        2001,
-                        3,
-                        26,
-                        1,
-                        0,
-                        1,
-                        0,
-                        ZoneOffset.ofHours(2)
-                    ),
+                    userOne.userIdentifier.id,
                     userOne.displayName!!
                 )
             ),
-            participantsReadReceiptMap = mapOf(
+            participantsReadReceiptMap = ReadReceiptMap.from(mapOf(
                 Pair(
                     userOne.userIdentifier.id,
                     OffsetDateTime.of(
@@ -489,7 +400,7 @@ class ParticipantsReducerUnitTest {
                         org.threeten.bp.ZoneOffset.ofHours(2)
                     )
                 )
-            ),
+            )),
             latestReadMessageTimestamp = OffsetDateTime.of(
                 2022,
                 3,
@@ -519,20 +430,13 @@ class ParticipantsReducerUnitTest {
             newState.participantTyping,
             mapOf(
                 Pair(
-                    userOne.userIdentifier.id + OffsetDateTime.of(
-                        2001,
-                        3,
-                        26,
-                        1,
-                        0,
-                        1,
-                        0,
-                        org.threeten.bp.ZoneOffset.ofHours(2)
-                    ),
+                    userOne.userIdentifier.id,
                     userOne.displayName
                 )
             )
         )
+        // a participant typing again does not change the state
+        Assert.assertSame(previousState, newState)
     }
 
     @Test
@@ -544,20 +448,11 @@ class ParticipantsReducerUnitTest {
             participants = listOf(userOne, userTwo).associateBy { it.userIdentifier.id },
             participantTyping = mapOf(
                 Pair(
-                    userOne.userIdentifier.id + OffsetDateTime.of(
-                        2022,
-                        3,
-                        26,
-                        1,
-                        0,
-                        1,
-                        0,
-                        org.threeten.bp.ZoneOffset.ofHours(2)
-                    ),
+                    userOne.userIdentifier.id,
                     userOne.displayName!!
                 )
             ),
-            participantsReadReceiptMap = mapOf(
+            participantsReadReceiptMap = ReadReceiptMap.from(mapOf(
                 Pair(
                     userOne.userIdentifier.id,
                     OffsetDateTime.of(
@@ -571,7 +466,7 @@ class ParticipantsReducerUnitTest {
                         org.threeten.bp.ZoneOffset.ofHours(2)
                     )
                 )
-            ),
+            )),
             latestReadMessageTimestamp = OffsetDateTime.of(
                 2022,
                 3,
@@ -585,20 +480,8 @@ class ParticipantsReducerUnitTest {
             localParticipantInfoModel,
             mutableSetOf(),
         )
-        val action = ParticipantAction.RemoveParticipantTyping(
-            infoModel = ParticipantTimestampInfoModel(
-                userIdentifier = userOne.userIdentifier,
-                receivedOn = OffsetDateTime.of(
-                    2022,
-                    3,
-                    26,
-                    1,
-                    0,
-                    1,
-                    0,
-                    org.threeten.bp.ZoneOffset.ofHours(2)
-                )
-            )
+        val action = ParticipantAction.RemoveParticipantsTyping(
+            participantIds = listOf(userOne.userIdentifier.id)
         )
 
         // act
@@ -621,20 +504,11 @@ class ParticipantsReducerUnitTest {
             participants = listOf(userOne, userTwo).associateBy { it.userIdentifier.id },
             participantTyping = mapOf(
                 Pair(
-                    userOne.userIdentifier.id + OffsetDateTime.of(
-                        2022,
-                        3,
-                        26,
-                        1,
-                        0,
-                        1,
-                        0,
-                        org.threeten.bp.ZoneOffset.ofHours(2)
-                    ),
+                    userOne.userIdentifier.id,
                     userOne.displayName!!
                 )
             ),
-            participantsReadReceiptMap = mapOf(
+            participantsReadReceiptMap = ReadReceiptMap.from(mapOf(
                 Pair(
                     userOne.userIdentifier.id,
                     OffsetDateTime.of(
@@ -648,7 +522,7 @@ class ParticipantsReducerUnitTest {
                         org.threeten.bp.ZoneOffset.ofHours(2)
                     )
                 )
-            ),
+            )),
             latestReadMessageTimestamp = OffsetDateTime.of(
                 2022,
                 3,
@@ -662,11 +536,8 @@ class ParticipantsReducerUnitTest {
             localParticipantInfoModel,
             mutableSetOf(),
         )
-        val action = ParticipantAction.RemoveParticipantTyping(
-            infoModel = ParticipantTimestampInfoModel(
-                userIdentifier = userFour.userIdentifier,
-                receivedOn = OffsetDateTime.MIN
-            )
+        val action = ParticipantAction.RemoveParticipantsTyping(
+            participantIds = listOf(userFour.userIdentifier.id)
         )
 
         // act
@@ -689,12 +560,11 @@ class ParticipantsReducerUnitTest {
             participants = listOf(userOne, userTwo).associateBy { it.userIdentifier.id },
             participantTyping = mapOf(
                 Pair(
-                    userOne.userIdentifier.id +
-                        OffsetDateTime.of(2001, 3, 26, 1, 0, 1, 0, ZoneOffset.ofHours(2)),
+                    userOne.userIdentifier.id,
                     userOne.displayName!!
                 )
             ),
-            participantsReadReceiptMap = mapOf(
+            participantsReadReceiptMap = ReadReceiptMap.from(mapOf(
                 Pair(
                     userOne.userIdentifier.id,
                     OffsetDateTime.of(
@@ -708,7 +578,7 @@ class ParticipantsReducerUnitTest {
                         org.threeten.bp.ZoneOffset.ofHours(2)
                     )
                 )
-            ),
+            )),
             latestReadMessageTimestamp = OffsetDateTime.of(
                 2022,
                 3,
@@ -738,17 +608,7 @@ class ParticipantsReducerUnitTest {
             newState.participantTyping,
             mapOf(
                 Pair(
-                    userOne.userIdentifier.id +
-                        OffsetDateTime.of(
-                            2001,
-                            3,
-                            28,
-                            1,
-                            0,
-                            1,
-                            0,
-                            org.threeten.bp.ZoneOffset.ofHours(2)
-                        ),
+                    userOne.userIdentifier.id,
                     userOne.displayName
                 )
             )
@@ -764,12 +624,11 @@ class ParticipantsReducerUnitTest {
             participants = listOf(userOne, userTwo).associateBy { it.userIdentifier.id },
             participantTyping = mapOf(
                 Pair(
-                    userOne.userIdentifier.id +
-                        OffsetDateTime.of(2001, 3, 26, 1, 0, 1, 0, ZoneOffset.ofHours(2)),
+                    userOne.userIdentifier.id,
                     userOne.displayName!!
                 )
             ),
-            participantsReadReceiptMap = mapOf(
+            participantsReadReceiptMap = ReadReceiptMap.from(mapOf(
                 Pair(
                     userOne.userIdentifier.id,
                     OffsetDateTime.of(
@@ -783,7 +642,7 @@ class ParticipantsReducerUnitTest {
                         org.threeten.bp.ZoneOffset.ofHours(2)
                     )
                 )
-            ),
+            )),
             latestReadMessageTimestamp = OffsetDateTime.of(
                 2022,
                 3,
@@ -829,12 +688,11 @@ class ParticipantsReducerUnitTest {
             participants = listOf(userOne, userTwo).associateBy { it.userIdentifier.id },
             participantTyping = mapOf(
                 Pair(
-                    userOne.userIdentifier.id +
-                        OffsetDateTime.of(2001, 3, 28, 1, 0, 1, 0, ZoneOffset.ofHours(2)),
+                    userOne.userIdentifier.id,
                     userOne.displayName!!
                 )
             ),
-            participantsReadReceiptMap = mapOf(
+            participantsReadReceiptMap = ReadReceiptMap.from(mapOf(
                 Pair(
                     userOne.userIdentifier.id,
                     OffsetDateTime.of(
@@ -848,7 +706,7 @@ class ParticipantsReducerUnitTest {
                         org.threeten.bp.ZoneOffset.ofHours(2)
                     )
                 )
-            ),
+            )),
             latestReadMessageTimestamp = OffsetDateTime.of(
                 2022,
                 3,
@@ -884,17 +742,7 @@ class ParticipantsReducerUnitTest {
             newState.participantTyping,
             mapOf(
                 Pair(
-                    userOne.userIdentifier.id +
-                        OffsetDateTime.of(
-                            2001,
-                            3,
-                            28,
-                            1,
-                            0,
-                            1,
-                            0,
-                            ZoneOffset.ofHours(2)
-                        ),
+                    userOne.userIdentifier.id,
                     userOne.displayName
                 )
             )
@@ -909,7 +757,7 @@ class ParticipantsReducerUnitTest {
         val previousState = ParticipantsState(
             participants = listOf(userOne, userTwo).associateBy { it.userIdentifier.id },
             participantTyping = mapOf(),
-            participantsReadReceiptMap = mapOf(),
+            participantsReadReceiptMap = ReadReceiptMap.EMPTY,
             latestReadMessageTimestamp = OffsetDateTime.MIN,
             localParticipantInfoModel,
             mutableSetOf(),
@@ -944,4 +792,73 @@ class ParticipantsReducerUnitTest {
             newState.participantsReadReceiptMap
         )
     }
+
+    @Test
+    fun participantsReducer_reduce_when_slowestReaderRemoved_then_latestReadMessageTimestampAdvances() {
+        // arrange
+        val reducer = ParticipantsReducerImpl()
+        val localParticipantInfoModel = mock<LocalParticipantInfoModel> { }
+        val firstRead = OffsetDateTime.of(2022, 3, 26, 1, 0, 1, 0, ZoneOffset.UTC)
+        val secondRead = firstRead.plusMinutes(5)
+        var state = ParticipantsState(
+            participants = listOf(userOne, userTwo).associateBy { it.userIdentifier.id },
+            participantTyping = mapOf(),
+            participantsReadReceiptMap = ReadReceiptMap.from(mapOf(
+                Pair(userOne.userIdentifier.id, OffsetDateTime.MIN),
+                Pair(userTwo.userIdentifier.id, OffsetDateTime.MIN)
+            )),
+            latestReadMessageTimestamp = OffsetDateTime.MIN,
+            localParticipantInfoModel,
+            mutableSetOf(),
+        )
+
+        // act
+        state = reducer.reduce(
+            state,
+            ParticipantAction.ReadReceiptReceived(ParticipantTimestampInfoModel(userOne.userIdentifier, firstRead))
+        )
+        val afterFirstRead = state.latestReadMessageTimestamp
+        state = reducer.reduce(
+            state,
+            ParticipantAction.ReadReceiptReceived(ParticipantTimestampInfoModel(userTwo.userIdentifier, secondRead))
+        )
+        val afterSecondRead = state.latestReadMessageTimestamp
+        state = reducer.reduce(state, ParticipantAction.ParticipantsRemoved(listOf(userOne)))
+
+        // assert
+        Assert.assertEquals(firstRead, afterFirstRead)
+        Assert.assertEquals(firstRead, afterSecondRead)
+        Assert.assertEquals(secondRead, state.latestReadMessageTimestamp)
+        Assert.assertEquals(mapOf(Pair(userTwo.userIdentifier.id, secondRead)), state.participantsReadReceiptMap)
+    }
+
+    @Test
+    fun participantsReducer_reduce_when_fasterOrLastReaderRemoved_then_latestReadMessageTimestampKept() {
+        // arrange
+        val reducer = ParticipantsReducerImpl()
+        val localParticipantInfoModel = mock<LocalParticipantInfoModel> { }
+        val firstRead = OffsetDateTime.of(2022, 3, 26, 1, 0, 1, 0, ZoneOffset.UTC)
+        val secondRead = firstRead.plusMinutes(5)
+        val state = ParticipantsState(
+            participants = listOf(userOne, userTwo).associateBy { it.userIdentifier.id },
+            participantTyping = mapOf(),
+            participantsReadReceiptMap = ReadReceiptMap.from(mapOf(
+                Pair(userOne.userIdentifier.id, firstRead),
+                Pair(userTwo.userIdentifier.id, secondRead)
+            )),
+            latestReadMessageTimestamp = firstRead,
+            localParticipantInfoModel,
+            mutableSetOf(),
+        )
+
+        // act
+        val fasterReaderRemoved = reducer.reduce(state, ParticipantAction.ParticipantsRemoved(listOf(userTwo)))
+        val lastReaderRemoved =
+            reducer.reduce(fasterReaderRemoved, ParticipantAction.ParticipantsRemoved(listOf(userOne)))
+
+        // assert
+        Assert.assertEquals(firstRead, fasterReaderRemoved.latestReadMessageTimestamp)
+        Assert.assertEquals(firstRead, lastReaderRemoved.latestReadMessageTimestamp)
+        Assert.assertEquals(mapOf<String, OffsetDateTime>(), lastReaderRemoved.participantsReadReceiptMap)
+    }
 }
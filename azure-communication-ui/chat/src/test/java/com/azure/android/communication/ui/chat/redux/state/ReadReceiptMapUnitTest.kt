@@ -0,0 +1,70 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.chat.redux.state
+
+import org.junit.Assert
+import org.junit.Test
+import org.threeten.bp.OffsetDateTime
+import org.threeten.bp.ZoneOffset
+import kotlin.random.Random
+
+class ReadReceiptMapUnitTest {
+
+    @Test
+    fun readReceiptMap_putAndRemove_when_randomOperations_then_matchReferenceMap() {
+        // arrange
+        val random = Random(42)
+        val reference = HashMap<String, OffsetDateTime>()
+        var readReceipts = ReadReceiptMap.EMPTY
+
+        repeat(2_000) {
+            // act
+            val participantId = "participant-${random.nextInt(200)}"
+            val previous = readReceipts
+            val previousReference = HashMap(reference)
+            if (random.nextInt(4) == 0) {
+                readReceipts = readReceipts.remove(listOf(participantId))
+                reference.remove(participantId)
+            } else {
+                val time = time(random.nextLong(10_000))
+                readReceipts = readReceipts.put(participantId, time)
+                reference[participantId] = time
+            }
+
+            // assert
+            Assert.assertEquals(reference, readReceipts)
+            Assert.assertEquals(reference.values.minOrNull(), readReceipts.earliest)
+            Assert.assertEquals(previousReference, previous)
+        }
+        Assert.assertEquals(reference.keys.sorted(), readReceipts.keys.toList())
+    }
+
+    @Test
+    fun readReceiptMap_replaceAll_when_someEntriesMatch_then_onlyThoseAreRewritten() {
+        // arrange
+        val readReceipts = ReadReceiptMap.from(
+            mapOf(
+                "a" to OffsetDateTime.MIN,
+                "b" to time(5),
+                "c" to OffsetDateTime.MIN,
+                "d" to time(7),
+            )
+        )
+
+        // act
+        val replaced = readReceipts.replaceAll(OffsetDateTime.MIN, time(3))
+        val unchanged = replaced.replaceAll(OffsetDateTime.MIN, time(4))
+
+        // assert
+        Assert.assertEquals(
+            mapOf("a" to time(3), "b" to time(5), "c" to time(3), "d" to time(7)),
+            replaced
+        )
+        Assert.assertEquals(time(3), replaced.earliest)
+        Assert.assertEquals(OffsetDateTime.MIN, readReceipts.earliest)
+        Assert.assertSame(replaced, unchanged)
+    }
+
+    private fun time(minute: Long) = OffsetDateTime.of(2022, 11, 21, 0, 0, 0, 0, ZoneOffset.UTC).plusMinutes(minute)
+}
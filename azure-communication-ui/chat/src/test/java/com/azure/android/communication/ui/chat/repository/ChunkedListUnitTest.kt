@@ -0,0 +1,38 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.chat.repository
+
+import org.junit.Assert
+import org.junit.Test
+
+class ChunkedListUnitTest {
+
+    @Test
+    fun chunkedList_replaceRange_when_rangeSpansChunks_then_replacesItemsAndKeepsPreviousList() {
+        // arrange
+        val original = ChunkedList.of((0 until 300).toList())
+
+        // act
+        val updated = original.replaceRange(60, 140, listOf(-1, -2))
+
+        // assert
+        Assert.assertEquals(300, original.size)
+        Assert.assertEquals(222, updated.size)
+        Assert.assertEquals((0 until 60).toList() + listOf(-1, -2) + (140 until 300).toList(), updated)
+    }
+
+    @Test
+    fun chunkedList_replaceRange_when_appendingManyItems_then_splitsIntoChunks() {
+        // arrange
+        var list = ChunkedList.empty<Int>()
+
+        // act
+        list = list.replaceRange(0, 0, (0 until 10).toList())
+        list = list.replaceRange(10, 10, (10 until 500).toList())
+        list = list.replaceRange(499, 500, emptyList())
+
+        // assert
+        Assert.assertEquals((0 until 499).toList(), list)
+    }
+}
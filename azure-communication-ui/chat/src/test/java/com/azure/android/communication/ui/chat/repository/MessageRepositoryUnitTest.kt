@@ -4,6 +4,7 @@
 package com.azure.android.communication.ui.chat.repository
 
 import com.azure.android.communication.ui.chat.repository.storage.MessageRepositoryListBackedImpl
+import com.azure.android.communication.ui.chat.repository.storage.MessageRepositoryOrderStatisticTreeBackedImpl
 import com.azure.android.communication.ui.chat.repository.storage.MessageRepositoryTreeBackedImpl
 import com.azure.android.communication.ui.chat.repository.storage.MessageRepositorySkipListBackedImpl
 import org.junit.Assert
@@ -43,4 +44,15 @@ class MessageRepositoryUnitTest {
             skipListStorage.javaClass.isInstance(messageStorageWriter)
         )
     }
+
+    @Test
+    fun messageRepository_createOrderStatisticTreeStorage_unitTest() {
+        val orderStatisticTreeStorage: MessageRepository =
+            MessageRepository.createOrderStatisticTreeBackedRepository()
+        val messageStorageWriter = MessageRepositoryOrderStatisticTreeBackedImpl()
+        Assert.assertEquals(
+            true,
+            orderStatisticTreeStorage.javaClass.isInstance(messageStorageWriter)
+        )
+    }
 }
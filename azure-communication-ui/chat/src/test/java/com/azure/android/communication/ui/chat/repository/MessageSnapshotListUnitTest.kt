@@ -0,0 +1,86 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.chat.repository
+
+import com.azure.android.communication.ui.chat.models.MessageInfoModel
+import com.azure.android.communication.ui.chat.service.sdk.wrapper.ChatMessageType
+import org.junit.Assert
+import org.junit.Test
+
+class MessageSnapshotListUnitTest {
+
+    private fun message(id: Int, content: String = "Message $id") = MessageInfoModel(
+        id = id.toString(),
+        content = content,
+        messageType = ChatMessageType.TEXT
+    )
+
+    @Test
+    fun messageSnapshotList_insert_splitsChunksAndKeepsOrder() {
+        var snapshot = MessageSnapshotList.EMPTY
+        // insert in reverse to always hit the first chunk
+        for (i in 1000 downTo 1) {
+            snapshot = snapshot.insert(0, message(i))
+        }
+
+        Assert.assertEquals(1000, snapshot.size)
+        for (i in 0 until 1000) {
+            Assert.assertEquals((i + 1).toLong(), snapshot[i].normalizedID)
+        }
+        Assert.assertEquals(499, snapshot.lowerBound(500))
+    }
+
+    @Test
+    fun messageSnapshotList_set_doesNotModifyPreviousSnapshot() {
+        val original = MessageSnapshotList.of((1..200).map { message(it) })
+
+        val updated = original.set(150, message(151, "Edited"))
+
+        Assert.assertEquals("Message 151", original[150].content)
+        Assert.assertEquals("Edited", updated[150].content)
+        Assert.assertSame(original[0], updated[0])
+    }
+
+    @Test
+    fun messageSnapshotList_removeAt_dropsEmptyChunks() {
+        var snapshot = MessageSnapshotList.of((1..130).map { message(it) })
+
+        // empty the last chunk (messages 129, 130)
+        snapshot = snapshot.removeAt(129).removeAt(128)
+
+        Assert.assertEquals(128, snapshot.size)
+        Assert.assertEquals(128L, snapshot[127].normalizedID)
+    }
+
+    @Test
+    fun messageRepository_refreshSnapshot_reportsChangedRange() {
+        val repository = MessageRepository.createOrderStatisticTreeBackedRepository()
+        (1..10).forEach { repository.addMessage(message(it * 10)) }
+        repository.refreshSnapshot()
+        val previousSnapshot = repository.snapshotList
+
+        repository.addMessage(message(55))
+        repository.refreshSnapshot()
+
+        Assert.assertEquals(MessageSnapshotChange(5, 6, 1), repository.snapshotChange)
+        Assert.assertEquals(11, repository.snapshotList.size)
+        Assert.assertEquals(10, previousSnapshot.size)
+
+        repository.refreshSnapshot()
+        Assert.assertTrue(repository.snapshotChange.isEmpty)
+    }
+
+    @Test
+    fun messageRepository_refreshSnapshot_replaceMessage_reportsSingleIndex() {
+        val repository = MessageRepository.createOrderStatisticTreeBackedRepository()
+        (1..10).forEach { repository.addMessage(message(it)) }
+        repository.refreshSnapshot()
+
+        repository.replaceMessage(repository.get(3), message(4, "Edited"))
+        repository.refreshSnapshot()
+
+        Assert.assertEquals(MessageSnapshotChange(3, 4, 0), repository.snapshotChange)
+        Assert.assertEquals("Edited", repository.snapshotList[3].content)
+    }
+}
@@ -0,0 +1,144 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.chat.repository
+
+import com.azure.android.communication.ui.chat.models.MessageInfoModel
+import com.azure.android.communication.ui.chat.service.sdk.wrapper.ChatMessageType
+import com.azure.android.communication.ui.chat.utilities.findMessageIdxById
+import org.junit.Assert
+import org.junit.Test
+import org.threeten.bp.OffsetDateTime
+import org.threeten.bp.ZoneOffset
+
+internal class MessageWatermarksUnitTest {
+
+    @Test
+    fun messageWatermarks_when_messagesAddedEditedAndDeleted_then_matchFullScan() {
+        // arrange
+        val repository = MessageRepository.createOrderStatisticTreeBackedRepository()
+        repository.addPage((1L..20L).map { message(it, isCurrentUser = it % 4 == 0L) })
+        repository.refreshSnapshot()
+
+        // act
+        val afterPage = repository.watermarks
+        repository.removeMessage(message(20, isCurrentUser = true))
+        repository.replaceMessage(
+            message(16, isCurrentUser = true),
+            message(16, isCurrentUser = true).copy(editedOn = time(30))
+        )
+        repository.refreshSnapshot()
+        val afterChanges = repository.watermarks
+
+        // assert
+        Assert.assertEquals(20L, afterPage.latestLocalUserMessageId)
+        Assert.assertEquals(16L, afterChanges.latestLocalUserMessageId)
+        for (readUpTo in listOf(0L, 5L, 12L, 17L, 40L)) {
+            Assert.assertEquals(
+                getLastMessageIdReadByRemoteParticipantsByScan(afterChanges.messages, time(readUpTo)),
+                afterChanges.getLastMessageIdReadByRemoteParticipants(time(readUpTo))
+            )
+        }
+        for (lastReadId in listOf("", "1", "4", "10", "19", "99")) {
+            Assert.assertEquals(
+                getUnreadMessagesCountByScan(afterChanges.messages, lastReadId),
+                afterChanges.getUnreadMessagesCount(lastReadId)
+            )
+        }
+    }
+
+    @Test
+    fun messageWatermarks_when_tenThousandMessagesAndRepeatedReads_then_matchFullScan() {
+        // arrange
+        // the only local message is the oldest one, the worst case for a reverse scan
+        val repository = MessageRepository.createOrderStatisticTreeBackedRepository()
+        repository.addPage((1L..10_000L).map { message(it, isCurrentUser = it == 1L) })
+        repository.refreshSnapshot()
+        val watermarks = repository.watermarks
+        val readUpTo = time(0)
+
+        // act
+        // the second read of each value comes from the memoized result
+        val reads = (1..2).map {
+            listOf(
+                watermarks.latestLocalUserMessageId ?: 0L,
+                watermarks.getLastMessageIdReadByRemoteParticipants(readUpTo),
+                watermarks.getUnreadMessagesCount("5000").toLong(),
+            )
+        }
+
+        // assert
+        val scan = listOf(
+            watermarks.messages.findLast { it.isCurrentUser }?.normalizedID ?: 0L,
+            getLastMessageIdReadByRemoteParticipantsByScan(watermarks.messages, readUpTo),
+            getUnreadMessagesCountByScan(watermarks.messages, "5000").toLong(),
+        )
+        Assert.assertEquals(listOf(scan, scan), reads)
+    }
+
+    @Test
+    fun messageWatermarks_when_localMessageTimesOutOfIdOrder_then_matchFullScan() {
+        // arrange
+        // edits move read receipt times out of id order, later messages can need an earlier time
+        val repository = MessageRepository.createOrderStatisticTreeBackedRepository()
+        val editedMinutes = listOf(5L, 1L, 7L, 3L, 9L, 3L, 11L, 2L)
+        repository.addPage(
+            editedMinutes.mapIndexed { index, minute ->
+                message(index + 1L, isCurrentUser = true).copy(editedOn = time(minute))
+            }
+        )
+        repository.refreshSnapshot()
+
+        // act
+        val watermarks = repository.watermarks
+        val reads = (0L..12L).map { watermarks.getLastMessageIdReadByRemoteParticipants(time(it)) }
+
+        // assert
+        Assert.assertEquals(
+            (0L..12L).map { getLastMessageIdReadByRemoteParticipantsByScan(watermarks.messages, time(it)) },
+            reads
+        )
+        Assert.assertEquals(8L, watermarks.getLastMessageIdReadByRemoteParticipants(time(2)))
+    }
+
+    // The derivations buildChatScreenViewModel did on every rebuild before the watermarks
+    private fun getLastMessageIdReadByRemoteParticipantsByScan(
+        messages: List<MessageInfoModel>,
+        latestReadMessageTimestamp: OffsetDateTime,
+    ): Long {
+        messages.asReversed().forEach {
+            if ((it.messageType == ChatMessageType.TEXT || it.messageType == ChatMessageType.HTML) &&
+                it.isCurrentUser
+            ) {
+                val currentMessageTime = it.editedOn ?: it.createdOn
+                if (currentMessageTime != null && currentMessageTime <= latestReadMessageTimestamp) {
+                    return it.normalizedID
+                }
+            }
+        }
+        return 0
+    }
+
+    private fun getUnreadMessagesCountByScan(messages: List<MessageInfoModel>, lastReadId: String): Int {
+        if (lastReadId.isEmpty()) {
+            return 0
+        }
+        var internalLastReadIndex = messages.findMessageIdxById(lastReadId.toLong())
+        var selfCount = 0
+        while (internalLastReadIndex >= 0 && messages[internalLastReadIndex].isCurrentUser) {
+            internalLastReadIndex--
+            selfCount++
+        }
+        return if (internalLastReadIndex == -1) 0 else messages.size - internalLastReadIndex - 1 - selfCount
+    }
+
+    private fun message(id: Long, isCurrentUser: Boolean) = MessageInfoModel(
+        id = id.toString(),
+        content = "Message $id",
+        messageType = ChatMessageType.TEXT,
+        createdOn = time(id),
+        isCurrentUser = isCurrentUser,
+    )
+
+    private fun time(minute: Long) = OffsetDateTime.of(2022, 11, 21, 0, 0, 0, 0, ZoneOffset.UTC).plusMinutes(minute)
+}
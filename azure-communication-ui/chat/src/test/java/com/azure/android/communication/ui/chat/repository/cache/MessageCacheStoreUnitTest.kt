@@ -0,0 +1,29 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.chat.repository.cache
+
+import org.junit.Test
+import org.mockito.kotlin.inOrder
+import org.mockito.kotlin.mock
+
+internal class MessageCacheStoreUnitTest {
+
+    @Test
+    fun messageCacheStore_clear_when_invoked_then_closeCacheBeforeOnCleared() {
+        // arrange
+        val cache = mock<MessageCache>()
+        val onCleared = mock<() -> Unit>()
+        val store = MessageCacheStore(cache = cache, localIdentity = "local", threadId = "thread", executor = { it.run() })
+
+        // act
+        store.clear(onCleared)
+
+        // assert
+        inOrder(cache, onCleared) {
+            verify(cache).clear()
+            verify(cache).close()
+            verify(onCleared).invoke()
+        }
+    }
+}
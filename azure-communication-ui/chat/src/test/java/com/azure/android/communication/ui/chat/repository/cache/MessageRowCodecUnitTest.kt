@@ -0,0 +1,101 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.chat.repository.cache
+
+import com.azure.android.communication.ui.chat.models.MessageInfoModel
+import com.azure.android.communication.ui.chat.models.MessageSendStatus
+import com.azure.android.communication.ui.chat.models.RemoteParticipantInfoModel
+import com.azure.android.communication.ui.chat.service.sdk.wrapper.ChatMessageType
+import com.azure.android.communication.ui.chat.service.sdk.wrapper.CommunicationIdentifier
+import org.junit.Assert
+import org.junit.Test
+import org.threeten.bp.OffsetDateTime
+import org.threeten.bp.ZoneOffset
+
+internal class MessageRowCodecUnitTest {
+
+    @Test
+    fun messageRowCodec_decode_when_encodedMessage_then_returnEqualMessage() {
+        // arrange
+        val message = MessageInfoModel(
+            id = "1669000000000",
+            messageType = ChatMessageType.TEXT,
+            content = "x".repeat(70_000),
+            participants = listOf(
+                RemoteParticipantInfoModel(
+                    userIdentifier = CommunicationIdentifier.MicrosoftTeamsUserIdentifier("teams", true),
+                    displayName = "Teams User",
+                ),
+                RemoteParticipantInfoModel(
+                    userIdentifier = CommunicationIdentifier.PhoneNumberIdentifier("+15550100"),
+                    displayName = null,
+                ),
+                RemoteParticipantInfoModel(
+                    userIdentifier = CommunicationIdentifier.CommunicationUserIdentifier("local"),
+                    displayName = "Local User",
+                    isLocalUser = true,
+                ),
+            ),
+            version = "1669000000001",
+            senderDisplayName = "Sender",
+            createdOn = OffsetDateTime.of(2022, 11, 21, 3, 6, 40, 0, ZoneOffset.ofHours(-8)),
+            senderCommunicationIdentifier = CommunicationIdentifier.CommunicationUserIdentifier("local"),
+            editedOn = OffsetDateTime.of(2022, 11, 21, 3, 7, 0, 0, ZoneOffset.UTC),
+            sendStatus = MessageSendStatus.SENT,
+            isCurrentUser = true,
+        )
+
+        // act
+        val decoded = MessageRowCodec.decode(MessageRowCodec.ROW_FORMAT, MessageRowCodec.encode(message), "local")
+
+        // assert
+        Assert.assertEquals(message, decoded)
+    }
+
+    @Test
+    fun messageRowCodec_decode_when_readForAnotherIdentity_then_localUserWorkedOutForThatIdentity() {
+        // arrange
+        val message = MessageInfoModel(
+            id = "1",
+            content = "Message 1",
+            messageType = ChatMessageType.TEXT,
+            participants = listOf(
+                RemoteParticipantInfoModel(
+                    userIdentifier = CommunicationIdentifier.CommunicationUserIdentifier("first"),
+                    displayName = "First",
+                    isLocalUser = true,
+                ),
+                RemoteParticipantInfoModel(
+                    userIdentifier = CommunicationIdentifier.CommunicationUserIdentifier("second"),
+                    displayName = "Second",
+                ),
+            ),
+            senderCommunicationIdentifier = CommunicationIdentifier.CommunicationUserIdentifier("first"),
+            isCurrentUser = true,
+        )
+
+        // act
+        val decoded = MessageRowCodec.decode(MessageRowCodec.ROW_FORMAT, MessageRowCodec.encode(message), "second")
+
+        // assert
+        Assert.assertEquals(false, decoded?.isCurrentUser)
+        Assert.assertEquals(listOf(false, true), decoded?.participants?.map { it.isLocalUser })
+    }
+
+    @Test
+    fun messageRowCodec_decode_when_unknownRowFormatOrTruncatedRow_then_returnNull() {
+        // arrange
+        val payload = MessageRowCodec.encode(
+            MessageInfoModel(id = "1", content = "Message 1", messageType = ChatMessageType.TEXT)
+        )
+
+        // act
+        val unknownFormat = MessageRowCodec.decode(MessageRowCodec.ROW_FORMAT + 1, payload, "local")
+        val truncated = MessageRowCodec.decode(MessageRowCodec.ROW_FORMAT, payload.copyOf(payload.size / 2), "local")
+
+        // assert
+        Assert.assertNull(unknownFormat)
+        Assert.assertNull(truncated)
+    }
+}
@@ -0,0 +1,75 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.chat.repository.storage
+
+import com.azure.android.communication.ui.chat.models.MessageInfoModel
+import com.azure.android.communication.ui.chat.repository.MessageRepository
+import com.azure.android.communication.ui.chat.service.sdk.wrapper.ChatMessageType
+import org.junit.Assert
+import org.junit.Test
+import java.util.TreeSet
+import kotlin.random.Random
+
+internal class MessageRepositoryOrderStatisticTreeBackedImplStorageUnitTest {
+
+    private fun getMessageRepo(): MessageRepository {
+        return MessageRepository.createOrderStatisticTreeBackedRepository()
+    }
+
+    @Test
+    fun messageRepositoryListStorage_addPage_test() =
+        MessageRepositoryUnitTest.addPageTest(getMessageRepo())
+
+    @Test
+    fun messageRepositoryListStorage_removeMessage_test() =
+        MessageRepositoryUnitTest.removeMessageTest(getMessageRepo())
+
+    @Test
+    fun messageRepositoryListStorage_editMessage_test() =
+        MessageRepositoryUnitTest.editMessageTest(getMessageRepo())
+
+    @Test
+    fun messageRepositoryListStorage_removeMessageTest() =
+        MessageRepositoryUnitTest.removeMessageTest(getMessageRepo())
+
+    @Test
+    fun messageRepositoryListStorage_OutOfOrderTest() =
+        MessageRepositoryUnitTest.outOfOrderTest(getMessageRepo())
+
+    @Test
+    fun messageRepositoryListStorage_indexOfTest() =
+        MessageRepositoryUnitTest.indexOfTest(getMessageRepo())
+
+    @Test
+    fun messageRepositoryOrderStatisticTree_randomInsertRemove_matchesSortedOrder() {
+        val repository = MessageRepositoryOrderStatisticTreeBackedImpl()
+        val expected = TreeSet<Long>()
+        val random = Random(42)
+
+        for (i in 0 until 2000) {
+            val id = random.nextLong(1, 500)
+            val message = MessageInfoModel(
+                id = id.toString(),
+                content = "Message $id",
+                messageType = ChatMessageType.TEXT
+            )
+            if (random.nextInt(3) == 0) {
+                repository.removeMessage(message)
+                expected.remove(id)
+            } else {
+                repository.addMessage(message)
+                expected.add(id)
+            }
+        }
+
+        Assert.assertEquals(expected.size, repository.size)
+        expected.forEachIndexed { index, id ->
+            Assert.assertEquals(id, repository.get(index).normalizedID)
+            Assert.assertEquals(index, repository.searchIndexByID(id))
+        }
+
+        repository.refreshSnapshot()
+        Assert.assertEquals(expected.toList(), repository.snapshotList.map { it.normalizedID })
+    }
+}
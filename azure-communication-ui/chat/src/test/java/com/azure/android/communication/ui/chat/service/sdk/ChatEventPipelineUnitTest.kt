@@ -0,0 +1,131 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.chat.service.sdk
+
+import com.azure.android.communication.ui.chat.ACSBaseTestCoroutine
+import com.azure.android.communication.ui.chat.models.ChatEventModel
+import com.azure.android.communication.ui.chat.models.MessageInfoModel
+import com.azure.android.communication.ui.chat.service.sdk.wrapper.ChatEventType
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.test.StandardTestDispatcher
+import org.junit.Assert
+import org.junit.Test
+
+internal class ChatEventPipelineUnitTest : ACSBaseTestCoroutine() {
+
+    @Test
+    @ExperimentalCoroutinesApi
+    fun chatEventPipeline_offer_when_editsQueuedBehindReceive_then_emitInOrderWithLatestEditOnly() {
+        runScopedTest {
+            // arrange
+            val pipeline = ChatEventPipeline(CoroutineScope(StandardTestDispatcher(testScheduler)))
+            val emitted = mutableListOf<ChatEventModel>()
+            val collectJob = launch { pipeline.events.collect { emitted.add(it) } }
+
+            // act
+            pipeline.offer(messageEvent(ChatEventType.CHAT_MESSAGE_RECEIVED, "1", "Hello", version = "100"))
+            pipeline.offer(messageEvent(ChatEventType.CHAT_MESSAGE_EDITED, "1", "Hello there", version = "200"))
+            pipeline.offer(messageEvent(ChatEventType.CHAT_MESSAGE_RECEIVED, "2", "Second", version = "300"))
+            pipeline.offer(messageEvent(ChatEventType.CHAT_MESSAGE_EDITED, "1", "Hello again", version = "400"))
+            val queueDepth = pipeline.getMetrics().queueDepth
+            testScheduler.runCurrent()
+
+            // assert
+            Assert.assertEquals(4, queueDepth)
+            Assert.assertEquals(
+                listOf("Hello", "Second", "Hello again"),
+                emitted.map { (it.infoModel as MessageInfoModel).content }
+            )
+            val metrics = pipeline.getMetrics()
+            Assert.assertEquals(0, metrics.queueDepth)
+            Assert.assertEquals(3L, metrics.deliveredEvents)
+            Assert.assertEquals(1L, metrics.skippedEvents)
+
+            pipeline.close()
+            collectJob.cancel()
+            testScheduler.runCurrent()
+        }
+    }
+
+    @Test
+    @ExperimentalCoroutinesApi
+    fun chatEventPipeline_offer_when_eventOlderThanEmittedOrAfterDelete_then_skip() {
+        runScopedTest {
+            // arrange
+            val pipeline = ChatEventPipeline(CoroutineScope(StandardTestDispatcher(testScheduler)))
+            val emitted = mutableListOf<ChatEventModel>()
+            val collectJob = launch { pipeline.events.collect { emitted.add(it) } }
+
+            // act
+            pipeline.offer(messageEvent(ChatEventType.CHAT_MESSAGE_EDITED, "1", "Edited", version = "200"))
+            testScheduler.runCurrent()
+            pipeline.offer(messageEvent(ChatEventType.CHAT_MESSAGE_RECEIVED, "1", "Original", version = "100"))
+            pipeline.offer(messageEvent(ChatEventType.CHAT_MESSAGE_DELETED, "1", null, version = "300"))
+            testScheduler.runCurrent()
+            pipeline.offer(messageEvent(ChatEventType.CHAT_MESSAGE_EDITED, "1", "Too late", version = "400"))
+            testScheduler.runCurrent()
+
+            // assert
+            Assert.assertEquals(
+                listOf(ChatEventType.CHAT_MESSAGE_EDITED, ChatEventType.CHAT_MESSAGE_DELETED),
+                emitted.map { it.eventType }
+            )
+            Assert.assertEquals(2L, pipeline.getMetrics().skippedEvents)
+
+            pipeline.close()
+            collectJob.cancel()
+            testScheduler.runCurrent()
+        }
+    }
+
+    @Test
+    @ExperimentalCoroutinesApi
+    fun chatEventPipeline_offer_when_consumerBlockedWithSuspendPolicy_then_bufferBoundedAndDeliverInOrder() {
+        runScopedTest {
+            // arrange
+            val pipeline = ChatEventPipeline(CoroutineScope(StandardTestDispatcher(testScheduler)), capacity = 2)
+            val emitted = mutableListOf<ChatEventModel>()
+            val storeCaughtUp = CompletableDeferred<Unit>()
+            val collectJob = launch {
+                pipeline.events.collect {
+                    emitted.add(it)
+                    storeCaughtUp.await()
+                }
+            }
+
+            // act
+            // the consumer blocks on the first event, offering past the buffer must not block the caller
+            (1..20).forEach {
+                pipeline.offer(messageEvent(ChatEventType.CHAT_MESSAGE_RECEIVED, "$it", "Message $it", version = "$it"))
+                testScheduler.runCurrent()
+            }
+            val metricsWhileBlocked = pipeline.getMetrics()
+            storeCaughtUp.complete(Unit)
+            testScheduler.runCurrent()
+
+            // assert
+            // past the event being emitted: two queued, one held by the producer and two in the hand over
+            Assert.assertEquals(5, metricsWhileBlocked.maxQueueDepth)
+            Assert.assertEquals(13L, metricsWhileBlocked.droppedEvents)
+            Assert.assertEquals(
+                (1..7).map { "Message $it" },
+                emitted.map { (it.infoModel as MessageInfoModel).content }
+            )
+            Assert.assertEquals(0, pipeline.getMetrics().queueDepth)
+
+            pipeline.close()
+            collectJob.cancel()
+            testScheduler.runCurrent()
+        }
+    }
+
+    private fun messageEvent(type: ChatEventType, id: String, content: String?, version: String) =
+        ChatEventModel(
+            eventType = type,
+            infoModel = MessageInfoModel(id = id, content = content, version = version),
+        )
+}
@@ -0,0 +1,37 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.chat.service.sdk
+
+import org.junit.Assert
+import org.junit.Test
+
+internal class MessagePagePrefetchPolicyUnitTest {
+
+    @Test
+    fun messagePagePrefetchPolicy_getLookAheadPages_when_notScrolling_then_returnSinglePage() {
+        // arrange
+        val policy = MessagePagePrefetchPolicy(pageSize = 50)
+
+        // act
+        val lookAheadPages = policy.getLookAheadPages(0f)
+
+        // assert
+        Assert.assertEquals(1, lookAheadPages)
+    }
+
+    @Test
+    fun messagePagePrefetchPolicy_getLookAheadPages_when_flingingOnSlowNetwork_then_growUpToMax() {
+        // arrange
+        val policy = MessagePagePrefetchPolicy(pageSize = 50, maxLookAheadPages = 4)
+        repeat(20) { policy.onPageFetched(1000) }
+
+        // act
+        val moderateScroll = policy.getLookAheadPages(40f)
+        val fling = policy.getLookAheadPages(500f)
+
+        // assert
+        Assert.assertEquals(2, moderateScroll)
+        Assert.assertEquals(4, fling)
+    }
+}
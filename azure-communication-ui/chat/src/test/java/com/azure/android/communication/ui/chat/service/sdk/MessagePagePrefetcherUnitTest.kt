@@ -0,0 +1,119 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.chat.service.sdk
+
+import com.azure.android.communication.ui.chat.ACSBaseTestCoroutine
+import com.azure.android.communication.ui.chat.models.MessageInfoModel
+import com.azure.android.communication.ui.chat.service.sdk.wrapper.ChatMessageType
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.test.StandardTestDispatcher
+import org.junit.Assert
+import org.junit.Test
+
+internal class MessagePagePrefetcherUnitTest : ACSBaseTestCoroutine() {
+
+    @Test
+    @ExperimentalCoroutinesApi
+    fun messagePagePrefetcher_request_when_flinging_then_handOverEachPageBeforeFetchingTheNext() {
+        runScopedTest {
+            // arrange
+            val events = mutableListOf<String>()
+            val prefetcher = MessagePagePrefetcher(
+                coroutineScope = CoroutineScope(StandardTestDispatcher(testScheduler)),
+                policy = MessagePagePrefetchPolicy(pageSize = 50, maxLookAheadPages = 3),
+                fetchPage = { token ->
+                    events.add("fetch $token")
+                    val page = (token?.toInt() ?: 0) + 1
+                    MessageHistoryPage(listOf(message(page.toString())), page.toString())
+                },
+                onPage = { events.add("page ${it.messages?.single()?.normalizedID}") },
+                elapsedRealtimeMillis = { 0L },
+            )
+
+            // act
+            prefetcher.request(scrollItemsPerSecond = 1000f)
+            testScheduler.runCurrent()
+
+            // assert
+            Assert.assertEquals(
+                listOf("fetch null", "page 1", "fetch 1", "page 2", "fetch 2", "page 3"),
+                events
+            )
+        }
+    }
+
+    @Test
+    @ExperimentalCoroutinesApi
+    fun messagePagePrefetcher_request_when_firstPageReached_then_stopAndReportAllPagesFetched() {
+        runScopedTest {
+            // arrange
+            val fetchedTokens = mutableListOf<String?>()
+            val allPagesFetched = mutableListOf<Boolean>()
+            val prefetcher = MessagePagePrefetcher(
+                coroutineScope = CoroutineScope(StandardTestDispatcher(testScheduler)),
+                policy = MessagePagePrefetchPolicy(pageSize = 50, maxLookAheadPages = 3),
+                fetchPage = { token ->
+                    fetchedTokens.add(token)
+                    MessageHistoryPage(listOf(message("1")), if (token == null) "older" else null)
+                },
+                onPage = { allPagesFetched.add(it.allPagesFetched) },
+                elapsedRealtimeMillis = { 0L },
+            )
+
+            // act
+            prefetcher.request(scrollItemsPerSecond = 1000f)
+            testScheduler.runCurrent()
+            prefetcher.request(scrollItemsPerSecond = 1000f)
+            testScheduler.runCurrent()
+
+            // assert
+            Assert.assertEquals(listOf(null, "older"), fetchedTokens)
+            Assert.assertEquals(listOf(false, true), allPagesFetched)
+            Assert.assertTrue(prefetcher.allPagesFetched)
+        }
+    }
+
+    @Test
+    @ExperimentalCoroutinesApi
+    fun messagePagePrefetcher_request_when_fetchFails_then_reportErrorAndRetryOnNextRequest() {
+        runScopedTest {
+            // arrange
+            val error = IllegalStateException("offline")
+            var failNextFetch = true
+            val fetchedTokens = mutableListOf<String?>()
+            val throwables = mutableListOf<Throwable?>()
+            val prefetcher = MessagePagePrefetcher(
+                coroutineScope = CoroutineScope(StandardTestDispatcher(testScheduler)),
+                policy = MessagePagePrefetchPolicy(pageSize = 50, maxLookAheadPages = 3),
+                fetchPage = { token ->
+                    fetchedTokens.add(token)
+                    if (failNextFetch) {
+                        failNextFetch = false
+                        throw error
+                    }
+                    MessageHistoryPage(listOf(message("1")), "older")
+                },
+                onPage = { throwables.add(it.throwable) },
+                elapsedRealtimeMillis = { 0L },
+            )
+
+            // act
+            prefetcher.request(scrollItemsPerSecond = 1000f)
+            testScheduler.runCurrent()
+            prefetcher.request(scrollItemsPerSecond = 0f)
+            testScheduler.runCurrent()
+
+            // assert
+            Assert.assertEquals(listOf<String?>(null, null), fetchedTokens)
+            Assert.assertEquals(listOf(error, null), throwables)
+        }
+    }
+
+    private fun message(id: String) = MessageInfoModel(
+        id = id,
+        content = "Message $id",
+        messageType = ChatMessageType.TEXT,
+    )
+}
@@ -0,0 +1,58 @@
+// Copyright (c) Microsoft Corporation. All rights reserved.
+// Licensed under the MIT License.
+
+package com.azure.android.communication.ui.chat.utilities
+
+import org.junit.Assert
+import org.junit.Test
+
+internal class ScrollVelocityTrackerUnitTest {
+
+    @Test
+    fun scrollVelocityTracker_onScroll_when_scrolledSteadily_then_approachScrollSpeed() {
+        // arrange
+        val tracker = ScrollVelocityTracker()
+
+        // act
+        tracker.onScroll(0, timeMillis = 0)
+        val speedAtStart = tracker.getItemsPerSecond(0)
+        (1..10).forEach { tracker.onScroll(it * 5, timeMillis = it * 100L) }
+
+        // assert
+        Assert.assertEquals(0f, speedAtStart)
+        Assert.assertEquals(50f, tracker.getItemsPerSecond(1000), 0.1f)
+    }
+
+    @Test
+    fun scrollVelocityTracker_onScroll_when_pausedBeforeFling_then_doNotInheritOldSpeed() {
+        // arrange
+        val tracker = ScrollVelocityTracker()
+        tracker.onScroll(0, timeMillis = 0)
+        tracker.onScroll(100, timeMillis = 100)
+
+        // act
+        tracker.onScroll(101, timeMillis = 5000)
+        val speedAfterPause = tracker.getItemsPerSecond(5000)
+        tracker.onScroll(111, timeMillis = 5100)
+
+        // assert
+        Assert.assertEquals(0f, speedAfterPause)
+        Assert.assertEquals(50f, tracker.getItemsPerSecond(5100), 0.1f)
+    }
+
+    @Test
+    fun scrollVelocityTracker_getItemsPerSecond_when_notScrolledSinceIdleReset_then_returnZero() {
+        // arrange
+        val tracker = ScrollVelocityTracker()
+        tracker.onScroll(0, timeMillis = 0)
+        tracker.onScroll(100, timeMillis = 100)
+
+        // act
+        val whileScrolling = tracker.getItemsPerSecond(500)
+        val afterIdle = tracker.getItemsPerSecond(1200)
+
+        // assert
+        Assert.assertTrue(whileScrolling > 0f)
+        Assert.assertEquals(0f, afterIdle)
+    }
+}